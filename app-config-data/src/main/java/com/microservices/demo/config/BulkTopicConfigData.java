@@ -0,0 +1,18 @@
+package com.microservices.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "bulk-topic-config")
+public class BulkTopicConfigData {
+    private Boolean enabled;
+    private String topicName;
+    //A block is sent once it holds max-records tweets or max-bytes encoded bytes, or max-delay-ms after its first tweet.
+    private Integer maxRecords;
+    private Integer maxBytes;
+    private Long maxDelayMs;
+    private Long statsLogIntervalMs;
+}
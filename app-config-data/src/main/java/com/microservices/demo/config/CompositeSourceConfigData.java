@@ -0,0 +1,22 @@
+package com.microservices.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "composite-source-config")
+public class CompositeSourceConfigData {
+    private Boolean enabled;
+    private Map<String, Integer> sourceWeights = new LinkedHashMap<>();
+    private Integer queueCapacity;
+    private Integer workerThreads;
+    private Integer workerQueueCapacity;
+    private String replayFile;
+    private Long replaySleepMs;
+    private Long statsLogIntervalMs;
+}
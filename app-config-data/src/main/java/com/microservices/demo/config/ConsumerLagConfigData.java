@@ -0,0 +1,32 @@
+package com.microservices.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "consumer-lag-config")
+public class ConsumerLagConfigData {
+    private Boolean enabled;
+    //Consumer groups to watch, every group of the cluster if empty.
+    private List<String> groupIds;
+    //Only partitions of these topics count towards the lag, every topic if empty.
+    private List<String> topicNames;
+    private Long pollIntervalMs;
+    //Groups per committed offset fetch, the admin client sends one request per group coordinator for a batch.
+    private Integer groupsPerRequest;
+    private Integer maxInFlightRequests;
+    //Number of polls the lag trend is fitted over.
+    private Integer trendSamples;
+    private Boolean backpressureEnabled;
+    //Groups whose lag slows down ingestion, every watched group if empty.
+    private List<String> backpressureGroupIds;
+    //Ingestion slows down from the low lag on and is slowest from the high lag on.
+    private Long backpressureLagLow;
+    private Long backpressureLagHigh;
+    private Long backpressureMaxDelayMs;
+    private Long statsLogIntervalMs;
+}
@@ -0,0 +1,23 @@
+package com.microservices.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "event-time-reorder-config")
+public class EventTimeReorderConfigData {
+    private Boolean enabled;
+    //Event time a tweet may lag behind the newest tweet seen and still be sent in order.
+    private Long maxLatenessMs;
+    //Bounds of the buffer: wall clock time a tweet is held and tweets held at once.
+    private Long maxHoldMs;
+    private Integer maxBufferedRecords;
+    //Buffers by user id, each with its own lock and watermark. A divisor of the topic partitions keeps the
+    //watermark valid per partition.
+    private Integer shards;
+    //send or drop, for tweets arriving after the watermark passed their event time.
+    private String lateRecordAction;
+    private Long statsLogIntervalMs;
+}
@@ -0,0 +1,16 @@
+package com.microservices.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "flight-recorder-config")
+public class FlightRecorderConfigData {
+    private Boolean enabled;
+    private String settings;
+    private Long defaultDurationMs;
+    private Long maxDurationMs;
+    private Long eventThresholdMs;
+}
@@ -4,7 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Configuration
@@ -17,4 +19,7 @@ public class KafkaConfigData {
     private List<String> topicNamesToCreate;
     private Integer numberOfPartitions;
     private Short replicationFactor;
+    private Map<String, Map<String, String>> topicConfigProfiles = new LinkedHashMap<>();
+    private Map<String, String> topicProfiles = new LinkedHashMap<>();
+    private Boolean fixTopicConfigDrift;
 }
@@ -0,0 +1,35 @@
+package com.microservices.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "kafka-consumer-config")
+public class KafkaConsumerConfigData {
+    private String keyDeserializer;
+    private String valueDeserializer;
+    private String consumerGroupId;
+    private String autoOffsetReset;
+    private String specificAvroReaderKey;
+    private String specificAvroReader;
+    private String specificAvroValueTypeKey;
+    private String specificAvroValueType;
+    private Boolean batchListener;
+    private Boolean autoStartup;
+    private Integer concurrencyLevel;
+    private Integer sessionTimeoutMs;
+    private Integer heartbeatIntervalMs;
+    private Integer maxPollIntervalMs;
+    private Integer maxPollRecords;
+    private Integer maxPartitionFetchBytesDefault;
+    private Integer maxPartitionFetchBytesBoostFactor;
+    private Integer fetchMinBytes;
+    private Integer fetchMaxWaitMs;
+    private Long pollTimeoutMs;
+    private Integer commitBatchSize;
+    private Long commitIntervalMs;
+    //Directory of the zstd dictionaries of compressed record values, values are read as they are while not set.
+    private String zstdDictionaryDirectory;
+}
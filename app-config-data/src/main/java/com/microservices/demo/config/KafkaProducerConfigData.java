@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Map;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "kafka-producer-config")
@@ -17,4 +19,12 @@ public class KafkaProducerConfigData {
     private Integer lingerMs;
     private Integer requestTimeoutMs;
     private Integer retryCount;
+    private Integer reactiveMaxInFlight;
+    private Boolean jfrEvents;
+    //Trained zstd dictionary the record values are compressed with, off while no version is set.
+    private String zstdDictionaryDirectory;
+    private Integer zstdDictionaryVersion;
+    private Integer zstdDictionaryLevel;
+    //Producer properties per priority lane, on top of the properties above.
+    private Map<String, Map<String, String>> laneOverrides;
 }
@@ -0,0 +1,18 @@
+package com.microservices.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "keyword-shard-config")
+public class KeywordShardConfigData {
+    private Boolean enabled;
+    private String coordinationTopicName;
+    private String groupId;
+    private Integer slots;
+    private Long pollTimeoutMs;
+    private Integer sessionTimeoutMs;
+    private Long assignmentTimeoutMs;
+}
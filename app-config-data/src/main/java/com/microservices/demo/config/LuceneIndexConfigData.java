@@ -0,0 +1,18 @@
+package com.microservices.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "lucene-index-config")
+public class LuceneIndexConfigData {
+    private String indexPath;
+    private Long partitionDurationMs;
+    private Long retentionMs;
+    private Long refreshIntervalMs;
+    private Long commitIntervalMs;
+    private Double ramBufferSizeMb;
+    private Integer maxSearchResults;
+}
@@ -0,0 +1,22 @@
+package com.microservices.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "near-duplicate-config")
+public class NearDuplicateConfigData {
+    private Boolean enabled;
+    private String action;
+    private Integer maxHammingDistance;
+    //Word tokens a text needs to be checked, shorter texts hash too alike to tell duplicates apart.
+    private Integer minTokens;
+    private Long windowMs;
+    private Integer capacity;
+    private Integer tableBits;
+    private Integer maxProbes;
+    private Integer lockStripes;
+    private Long statsLogIntervalMs;
+}
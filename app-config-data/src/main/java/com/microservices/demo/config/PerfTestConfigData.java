@@ -0,0 +1,26 @@
+package com.microservices.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "perf-test-config")
+public class PerfTestConfigData {
+    private Boolean enabled;
+    private String topicPrefix;
+    private Integer recordsPerRun;
+    private Integer warmupRecords;
+    private List<Integer> recordSizes;
+    private List<Integer> batchSizes;
+    private List<Integer> lingerMs;
+    private List<Integer> partitionCounts;
+    private Long targetRecordsPerSecond;
+    private Double headroom;
+    private String planTopicName;
+    private Boolean applyPartitionCount;
+    private Boolean deleteTopics;
+}
@@ -0,0 +1,20 @@
+package com.microservices.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "priority-lane-config")
+public class PriorityLaneConfigData {
+    private Boolean enabled;
+    private String defaultLane;
+    //Tweet filter expressions per lane, a tweet goes to the first lane with a matching expression.
+    private Map<String, List<String>> rules;
+    private Integer queueCapacity;
+    private Long statsLogIntervalMs;
+}
@@ -10,7 +10,10 @@ import org.springframework.context.annotation.Configuration;
 public class RetryConfigData {
     private Long initialIntervalMs;
     private Long maxIntervalMs;
-    private Double multiplier;
     private Integer maxAttempts;
-    private Long sleepTimeMs;
+    private Integer schedulerThreads;
+    private Double retryBudgetRatio;
+    private Integer retryBudgetMaxTokens;
+    private Integer circuitOpenThreshold;
+    private Long circuitOpenMs;
 }
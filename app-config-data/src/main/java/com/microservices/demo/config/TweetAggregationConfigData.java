@@ -0,0 +1,17 @@
+package com.microservices.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "tweet-aggregation-config")
+public class TweetAggregationConfigData {
+    private Boolean enabled;
+    private String topicName;
+    private Long windowMs;
+    private Integer initialUserCapacity;
+    //Accumulators the recording threads are striped over by thread id.
+    private Integer accumulatorStripes;
+}
@@ -0,0 +1,17 @@
+package com.microservices.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "tweet-filter-config")
+public class TweetFilterConfigData {
+    private Boolean enabled;
+    private Long statsLogIntervalMs;
+    private Map<String, String> rules = new LinkedHashMap<>();
+}
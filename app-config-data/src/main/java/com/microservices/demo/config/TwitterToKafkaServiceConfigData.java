@@ -5,18 +5,37 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "twitter-to-kafka-service")
 public class TwitterToKafkaServiceConfigData {
     private List<String> twitterKeywords;
+    private String twitterKeywordsFile;
+    private Long keywordRefreshIntervalMs;
     private String welcomeMessage;
     private String twitterV2BaseUrl;
     private String twitterV2RulesBaseUrl;
     private String twitterV2BearerToken;
     private Boolean enableMockTweets;
+    private Boolean enableV2Reactive;
+    private Boolean enableAvroModelRecycling;
     private Integer mockMinTweetLength;
     private Integer mockMaxTweetLength;
     private Long mockSleepMs;
+    private Integer mockUserPopulation;
+    private Double mockUserZipfExponent;
+    private Map<String, Double> mockKeywordWeights;
+    private Double mockTweetLengthMedian;
+    private Double mockTweetLengthSigma;
+    private String mockRateSchedule;
+    private Long mockRatePeriodMs;
+    private Double mockRateAmplitude;
+    private Double mockRateSpikeFactor;
+    private Long mockRateSpikeDurationMs;
+    private Integer twitterV2WorkerThreads;
+    private Integer twitterV2WorkerQueueCapacity;
+    private Integer twitterV2ReactiveParseThreads;
+    private Integer twitterV2ReactivePrefetch;
 }
@@ -0,0 +1,21 @@
+package com.microservices.demo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "user-profile-config")
+public class UserProfileConfigData {
+    private Boolean enabled;
+    private String topicName;
+    private List<String> stampedAttributes;
+    private Long memoryBudgetBytes;
+    private Boolean offHeap;
+    private Long pollTimeoutMs;
+    private Long initialLoadTimeoutMs;
+    private Long statsLogIntervalMs;
+}
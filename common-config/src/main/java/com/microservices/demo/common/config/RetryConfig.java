@@ -1,11 +1,13 @@
 package com.microservices.demo.common.config;
 
+import com.microservices.demo.common.retry.AsyncRetryExecutor;
 import com.microservices.demo.config.RetryConfigData;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.retry.backoff.ExponentialBackOffPolicy;
-import org.springframework.retry.policy.SimpleRetryPolicy;
-import org.springframework.retry.support.RetryTemplate;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 public class RetryConfig {
@@ -15,23 +17,24 @@ public class RetryConfig {
         this.retryConfigData = retryConfigData;
     }
 
-    @Bean
-    public RetryTemplate retryTemplate() {
-        final RetryTemplate retryTemplate = new RetryTemplate();
-
-        //Increase wait time before retry after every unsuccessful attempt.
-        final ExponentialBackOffPolicy exponentialBackOffPolicy = new ExponentialBackOffPolicy();
-        exponentialBackOffPolicy.setInitialInterval(retryConfigData.getInitialIntervalMs());
-        exponentialBackOffPolicy.setMaxInterval(retryConfigData.getMaxIntervalMs());
-        exponentialBackOffPolicy.setMultiplier(retryConfigData.getMultiplier());
-
-        retryTemplate.setBackOffPolicy(exponentialBackOffPolicy);
-
-        final SimpleRetryPolicy simpleRetryPolicy = new SimpleRetryPolicy();
-        simpleRetryPolicy.setMaxAttempts(retryConfigData.getMaxAttempts());
-
-        retryTemplate.setRetryPolicy(simpleRetryPolicy);
-
-        return retryTemplate;
+    @Bean(destroyMethod = "shutdown")
+    public AsyncRetryExecutor asyncRetryExecutor() {
+        //Waiting between attempts is done by scheduling the next attempt, no thread sleeps while backing off.
+        final AtomicInteger threadIndex = new AtomicInteger();
+        final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
+                retryConfigData.getSchedulerThreads(), runnable -> {
+                    final Thread thread = new Thread(runnable, "retry-scheduler-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        return new AsyncRetryExecutor(scheduler,
+                retryConfigData.getInitialIntervalMs(),
+                retryConfigData.getMaxIntervalMs(),
+                retryConfigData.getMaxAttempts(),
+                retryConfigData.getRetryBudgetRatio(),
+                retryConfigData.getRetryBudgetMaxTokens(),
+                retryConfigData.getCircuitOpenThreshold(),
+                retryConfigData.getCircuitOpenMs());
     }
 }
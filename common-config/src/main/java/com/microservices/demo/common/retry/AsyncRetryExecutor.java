@@ -0,0 +1,124 @@
+package com.microservices.demo.common.retry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Retries asynchronous operations without blocking a thread between attempts: the next attempt is scheduled on a
+ * shared scheduler. Delays use decorrelated jitter, so instances recovering from the same outage do not retry in
+ * lockstep. Every dependency has its own retry budget and circuit, see {@link DependencyRetryState}.
+ */
+public class AsyncRetryExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncRetryExecutor.class);
+    private final ScheduledExecutorService scheduler;
+    private final long initialIntervalMs;
+    private final long maxIntervalMs;
+    private final int maxAttempts;
+    private final Supplier<DependencyRetryState> stateFactory;
+    private final Map<String, DependencyRetryState> states = new ConcurrentHashMap<>();
+
+    public AsyncRetryExecutor(final ScheduledExecutorService scheduler,
+                              final long initialIntervalMs,
+                              final long maxIntervalMs,
+                              final int maxAttempts,
+                              final double retryBudgetRatio,
+                              final int retryBudgetMaxTokens,
+                              final int circuitOpenThreshold,
+                              final long circuitOpenMs) {
+        this.scheduler = scheduler;
+        this.initialIntervalMs = initialIntervalMs;
+        this.maxIntervalMs = maxIntervalMs;
+        this.maxAttempts = maxAttempts;
+        this.stateFactory = () -> new DependencyRetryState(retryBudgetRatio, retryBudgetMaxTokens,
+                circuitOpenThreshold, circuitOpenMs);
+    }
+
+    /**
+     * Runs the operation until it completes successfully.
+     *
+     * @see #execute(String, Supplier, Predicate)
+     */
+    public <T> CompletableFuture<T> execute(final String dependency, final Supplier<CompletableFuture<T>> operation) {
+        return execute(dependency, operation, value -> true);
+    }
+
+    /**
+     * Runs the operation until it completes with a result accepted by the given predicate.
+     *
+     * @param dependency name of the called dependency, retry budget and circuit are kept per dependency
+     * @param operation  starts one attempt
+     * @param isDone     tells whether a result is final or the operation should be attempted again
+     * @return the accepted result, or a {@link RetryException} once attempts or budget are exhausted or the circuit
+     * of the dependency is open
+     */
+    public <T> CompletableFuture<T> execute(final String dependency,
+                                            final Supplier<CompletableFuture<T>> operation,
+                                            final Predicate<T> isDone) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final DependencyRetryState state = states.computeIfAbsent(dependency, name -> stateFactory.get());
+        if (!state.allowRequest(System.currentTimeMillis())) {
+            result.completeExceptionally(new RetryException("Circuit is open for " + dependency + "!."));
+        } else {
+            attempt(dependency, state, operation, isDone, result, 1, initialIntervalMs);
+        }
+        return result;
+    }
+
+    public boolean isCircuitOpen(final String dependency) {
+        final DependencyRetryState state = states.get(dependency);
+        return state != null && state.isCircuitOpen(System.currentTimeMillis());
+    }
+
+    private <T> void attempt(final String dependency,
+                             final DependencyRetryState state,
+                             final Supplier<CompletableFuture<T>> operation,
+                             final Predicate<T> isDone,
+                             final CompletableFuture<T> result,
+                             final int attempt,
+                             final long previousDelayMs) {
+        CompletableFuture<T> attemptFuture;
+        try {
+            attemptFuture = operation.get();
+        } catch (final RuntimeException e) {
+            attemptFuture = CompletableFuture.failedFuture(e);
+        }
+        attemptFuture.whenComplete((value, throwable) -> {
+            if (throwable == null && isDone.test(value)) {
+                state.onSuccess(attempt == 1);
+                result.complete(value);
+            } else if (attempt >= maxAttempts) {
+                state.onFailure(System.currentTimeMillis());
+                result.completeExceptionally(new RetryException(
+                        "Reached max number of retries for " + dependency + "!.", throwable));
+            } else if (!state.tryAcquireRetry()) {
+                state.onFailure(System.currentTimeMillis());
+                result.completeExceptionally(new RetryException(
+                        "Retry budget exhausted for " + dependency + "!.", throwable));
+            } else {
+                final long delayMs = nextDelay(previousDelayMs);
+                LOGGER.info("Attempt {} for {} failed, retrying in {} ms.", attempt, dependency, delayMs);
+                scheduler.schedule(() -> attempt(dependency, state, operation, isDone, result, attempt + 1, delayMs),
+                        delayMs, TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    //Decorrelated jitter: a random delay between the initial interval and three times the previous delay.
+    private long nextDelay(final long previousDelayMs) {
+        final long upperBound = Math.max(initialIntervalMs + 1, Math.min(maxIntervalMs, previousDelayMs * 3));
+        return Math.min(maxIntervalMs, ThreadLocalRandom.current().nextLong(initialIntervalMs, upperBound));
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
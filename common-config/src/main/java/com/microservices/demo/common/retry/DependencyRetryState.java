@@ -0,0 +1,70 @@
+package com.microservices.demo.common.retry;
+
+/**
+ * Retry budget and circuit state of one dependency.
+ * <p>
+ * The budget is a token bucket: every first attempt success deposits a fraction of a token and every retry
+ * withdraws a whole one, so retries stay a bounded share of the traffic. The bucket starts full and holds at
+ * most maxTokens, which bounds the retries of a burst of failures. After a number of consecutive failed
+ * operations the circuit opens and calls fail fast, once the open period is over a single probe is let through.
+ */
+class DependencyRetryState {
+    private final double budgetRatio;
+    private final double maxTokens;
+    private final int circuitOpenThreshold;
+    private final long circuitOpenMs;
+    private double tokens;
+    private int consecutiveFailures;
+    private long circuitOpenUntil;
+    private boolean probeInFlight;
+
+    DependencyRetryState(final double budgetRatio,
+                         final int maxTokens,
+                         final int circuitOpenThreshold,
+                         final long circuitOpenMs) {
+        this.budgetRatio = budgetRatio;
+        this.maxTokens = maxTokens;
+        this.circuitOpenThreshold = circuitOpenThreshold;
+        this.circuitOpenMs = circuitOpenMs;
+        this.tokens = maxTokens;
+    }
+
+    synchronized boolean allowRequest(final long now) {
+        if (consecutiveFailures < circuitOpenThreshold) {
+            return true;
+        }
+        if (now < circuitOpenUntil || probeInFlight) {
+            return false;
+        }
+        probeInFlight = true;
+        return true;
+    }
+
+    synchronized boolean tryAcquireRetry() {
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        return true;
+    }
+
+    synchronized void onSuccess(final boolean firstAttempt) {
+        if (firstAttempt) {
+            tokens = Math.min(maxTokens, tokens + budgetRatio);
+        }
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    synchronized void onFailure(final long now) {
+        ++consecutiveFailures;
+        probeInFlight = false;
+        if (consecutiveFailures >= circuitOpenThreshold) {
+            circuitOpenUntil = now + circuitOpenMs;
+        }
+    }
+
+    synchronized boolean isCircuitOpen(final long now) {
+        return consecutiveFailures >= circuitOpenThreshold && now < circuitOpenUntil;
+    }
+}
@@ -0,0 +1,14 @@
+package com.microservices.demo.common.retry;
+
+/**
+ * Exception class for operations that could not be completed by the async retry executor
+ */
+public class RetryException extends RuntimeException {
+    public RetryException(final String message) {
+        super(message);
+    }
+
+    public RetryException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
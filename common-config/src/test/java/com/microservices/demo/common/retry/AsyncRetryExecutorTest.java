@@ -0,0 +1,113 @@
+package com.microservices.demo.common.retry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncRetryExecutorTest {
+    private static final long INITIAL_INTERVAL_MS = 20L;
+    private static final long MAX_INTERVAL_MS = 50L;
+    private AsyncRetryExecutor executor;
+
+    @AfterEach
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void backsOffBetweenAttemptsUntilSuccess() throws Exception {
+        executor = executor(5, 10, 100);
+        final List<Long> attemptNanos = new CopyOnWriteArrayList<>();
+        final String result = executor.execute("dependency", () -> {
+            attemptNanos.add(System.nanoTime());
+            return attemptNanos.size() < 3 ? CompletableFuture.failedFuture(new IllegalStateException("down"))
+                    : CompletableFuture.completedFuture("up");
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals("up", result);
+        assertEquals(3, attemptNanos.size());
+        for (int i = 1; i < attemptNanos.size(); ++i) {
+            final long delayMs = TimeUnit.NANOSECONDS.toMillis(attemptNanos.get(i) - attemptNanos.get(i - 1));
+            assertTrue(delayMs >= INITIAL_INTERVAL_MS, "Retried after " + delayMs + " ms");
+        }
+    }
+
+    @Test
+    public void retriesUntilResultIsAccepted() throws Exception {
+        executor = executor(5, 10, 100);
+        final AtomicInteger attempts = new AtomicInteger();
+        final int result = executor.execute("dependency",
+                () -> CompletableFuture.completedFuture(attempts.incrementAndGet()), value -> value == 2)
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, result);
+    }
+
+    @Test
+    public void failsAfterMaxAttempts() {
+        executor = executor(3, 10, 100);
+        final AtomicInteger attempts = new AtomicInteger();
+        final ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> executor.execute("dependency", () -> failingAttempt(attempts)).get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(RetryException.class, exception.getCause());
+        assertEquals("Reached max number of retries for dependency!.", exception.getCause().getMessage());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void failsWhenRetryBudgetIsExhausted() {
+        executor = executor(5, 1, 100);
+        final AtomicInteger attempts = new AtomicInteger();
+        final ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> executor.execute("dependency", () -> failingAttempt(attempts)).get(5, TimeUnit.SECONDS));
+
+        assertEquals("Retry budget exhausted for dependency!.", exception.getCause().getMessage());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    public void opensCircuitPerDependencyAndRecovers() throws Exception {
+        executor = executor(1, 10, 1);
+        final AtomicInteger attempts = new AtomicInteger();
+        assertThrows(ExecutionException.class,
+                () -> executor.execute("down", () -> failingAttempt(attempts)).get(5, TimeUnit.SECONDS));
+        assertTrue(executor.isCircuitOpen("down"));
+        assertFalse(executor.isCircuitOpen("up"));
+
+        final ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> executor.execute("down", () -> failingAttempt(attempts)).get(5, TimeUnit.SECONDS));
+        assertEquals("Circuit is open for down!.", exception.getCause().getMessage());
+        assertEquals(1, attempts.get());
+        assertEquals("ok", executor.execute("up", () -> CompletableFuture.completedFuture("ok"))
+                .get(5, TimeUnit.SECONDS));
+
+        TimeUnit.MILLISECONDS.sleep(150L);
+        assertEquals("ok", executor.execute("down", () -> CompletableFuture.completedFuture("ok"))
+                .get(5, TimeUnit.SECONDS));
+        assertFalse(executor.isCircuitOpen("down"));
+    }
+
+    private static CompletableFuture<String> failingAttempt(final AtomicInteger attempts) {
+        attempts.incrementAndGet();
+        return CompletableFuture.failedFuture(new IllegalStateException("down"));
+    }
+
+    private static AsyncRetryExecutor executor(final int maxAttempts,
+                                               final int retryBudgetMaxTokens,
+                                               final int circuitOpenThreshold) {
+        return new AsyncRetryExecutor(Executors.newSingleThreadScheduledExecutor(), INITIAL_INTERVAL_MS,
+                MAX_INTERVAL_MS, maxAttempts, 0.2, retryBudgetMaxTokens, circuitOpenThreshold, 100L);
+    }
+}
@@ -0,0 +1,63 @@
+package com.microservices.demo.common.retry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyRetryStateTest {
+
+    @Test
+    public void exhaustsAndRefillsRetryBudget() {
+        final DependencyRetryState state = new DependencyRetryState(0.5, 2, 100, 1000L);
+        assertTrue(state.tryAcquireRetry());
+        assertTrue(state.tryAcquireRetry());
+        assertFalse(state.tryAcquireRetry());
+
+        state.onSuccess(false);
+        assertFalse(state.tryAcquireRetry());
+        state.onSuccess(true);
+        state.onSuccess(true);
+        assertTrue(state.tryAcquireRetry());
+        assertFalse(state.tryAcquireRetry());
+    }
+
+    @Test
+    public void capsRetryBudgetAtMaxTokens() {
+        final DependencyRetryState state = new DependencyRetryState(1.0, 2, 100, 1000L);
+        for (int i = 0; i < 10; ++i) {
+            state.onSuccess(true);
+        }
+        assertTrue(state.tryAcquireRetry());
+        assertTrue(state.tryAcquireRetry());
+        assertFalse(state.tryAcquireRetry());
+    }
+
+    @Test
+    public void opensCircuitAndRecoversThroughSingleProbe() {
+        final DependencyRetryState state = new DependencyRetryState(0.5, 2, 2, 1000L);
+        state.onFailure(0L);
+        assertFalse(state.isCircuitOpen(0L));
+        assertTrue(state.allowRequest(0L));
+        state.onFailure(0L);
+        assertTrue(state.isCircuitOpen(999L));
+        assertFalse(state.allowRequest(999L));
+
+        assertFalse(state.isCircuitOpen(1000L));
+        assertTrue(state.allowRequest(1000L));
+        assertFalse(state.allowRequest(1000L));
+        state.onSuccess(true);
+        assertTrue(state.allowRequest(1000L));
+        assertTrue(state.allowRequest(1000L));
+    }
+
+    @Test
+    public void reopensCircuitWhenProbeFails() {
+        final DependencyRetryState state = new DependencyRetryState(0.5, 2, 1, 1000L);
+        state.onFailure(0L);
+        assertTrue(state.allowRequest(1000L));
+        state.onFailure(1000L);
+        assertTrue(state.isCircuitOpen(1999L));
+        assertFalse(state.allowRequest(1999L));
+        assertTrue(state.allowRequest(2000L));
+    }
+}
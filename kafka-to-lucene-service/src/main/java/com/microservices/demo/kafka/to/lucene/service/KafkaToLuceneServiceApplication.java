@@ -0,0 +1,16 @@
+package com.microservices.demo.kafka.to.lucene.service;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@EnableScheduling
+@SpringBootApplication
+@ComponentScan(basePackages = {"com.microservices.demo"})
+public class KafkaToLuceneServiceApplication {
+
+    public static void main(final String[] args) {
+        SpringApplication.run(KafkaToLuceneServiceApplication.class, args);
+    }
+}
@@ -0,0 +1,29 @@
+package com.microservices.demo.kafka.to.lucene.service.api;
+
+import com.microservices.demo.kafka.to.lucene.service.index.TimePartitionedTweetIndex;
+import com.microservices.demo.kafka.to.lucene.service.index.TweetDocument;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Keyword search over the indexed tweets, e.g. GET /tweets/search?q=elasticsearch AND java&max=20
+ */
+@RestController
+@RequestMapping("/tweets")
+public class TweetSearchController {
+    private final TimePartitionedTweetIndex tweetIndex;
+
+    public TweetSearchController(final TimePartitionedTweetIndex tweetIndex) {
+        this.tweetIndex = tweetIndex;
+    }
+
+    @GetMapping("/search")
+    public List<TweetDocument> search(@RequestParam("q") final String query,
+                                      @RequestParam(value = "max", defaultValue = "20") final int max) {
+        return tweetIndex.search(query, max);
+    }
+}
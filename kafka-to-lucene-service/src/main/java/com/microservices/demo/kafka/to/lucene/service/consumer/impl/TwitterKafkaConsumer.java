@@ -0,0 +1,60 @@
+package com.microservices.demo.kafka.to.lucene.service.consumer.impl;
+
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.consumer.config.service.KafkaConsumer;
+import com.microservices.demo.kafka.to.lucene.service.index.TimePartitionedTweetIndex;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes every consumed batch with one bulk update of the lucene index.
+ * The kafka group offsets are only a fallback, on assignment the consumer seeks to the offsets stored with the last
+ * lucene commit, so tweets indexed but not yet committed are read again instead of getting lost.
+ */
+@Service
+public class TwitterKafkaConsumer implements KafkaConsumer<Long, TwitterAvroModel>, ConsumerSeekAware {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TwitterKafkaConsumer.class);
+    private final KafkaConfigData kafkaConfigData;
+    private final TimePartitionedTweetIndex tweetIndex;
+
+    public TwitterKafkaConsumer(final KafkaConfigData kafkaConfigData,
+                                final TimePartitionedTweetIndex tweetIndex) {
+        this.kafkaConfigData = kafkaConfigData;
+        this.tweetIndex = tweetIndex;
+    }
+
+    @Override
+    @KafkaListener(id = "${kafka-consumer-config.consumer-group-id}", topics = "${kafka-config.topic-name}")
+    public void receive(@Payload final List<TwitterAvroModel> messages,
+                        @Header(KafkaHeaders.RECEIVED_KEY) final List<Long> keys,
+                        @Header(KafkaHeaders.RECEIVED_PARTITION) final List<Integer> partitions,
+                        @Header(KafkaHeaders.OFFSET) final List<Long> offsets) {
+        LOGGER.debug("{} messages received with keys {}, partitions {} and offsets {}",
+                messages.size(), keys, partitions, offsets);
+        tweetIndex.index(kafkaConfigData.getTopicName(), messages, partitions, offsets);
+    }
+
+    @Override
+    public void onPartitionsAssigned(final Map<TopicPartition, Long> assignments,
+                                     final ConsumerSeekCallback callback) {
+        assignments.keySet().forEach(topicPartition -> {
+            final Long committedOffset = tweetIndex.getCommittedOffset(topicPartition.topic(),
+                    topicPartition.partition());
+            if (committedOffset != null) {
+                LOGGER.info("Seeking {} to offset {} of the lucene index", topicPartition, committedOffset + 1);
+                callback.seek(topicPartition.topic(), topicPartition.partition(), committedOffset + 1);
+            }
+        });
+    }
+}
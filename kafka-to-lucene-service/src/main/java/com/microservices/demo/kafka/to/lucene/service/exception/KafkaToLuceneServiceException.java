@@ -0,0 +1,15 @@
+package com.microservices.demo.kafka.to.lucene.service.exception;
+
+public class KafkaToLuceneServiceException extends RuntimeException {
+    public KafkaToLuceneServiceException() {
+        super();
+    }
+
+    public KafkaToLuceneServiceException(final String message) {
+        super(message);
+    }
+
+    public KafkaToLuceneServiceException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,87 @@
+package com.microservices.demo.kafka.to.lucene.service.index;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.IOUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Lucene index of the tweets created in one time range, stored in its own directory.
+ * Retention drops whole partitions, so expired tweets never have to be deleted document by document.
+ */
+class IndexPartition implements Closeable {
+    private final long start;
+    private final Path path;
+    private final MMapDirectory directory;
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+
+    IndexPartition(final long start, final Path path, final Analyzer analyzer, final double ramBufferSizeMb)
+            throws IOException {
+        this.start = start;
+        this.path = path;
+        this.directory = new MMapDirectory(path);
+        final IndexWriterConfig indexWriterConfig = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                .setRAMBufferSizeMB(ramBufferSizeMb);
+        this.indexWriter = new IndexWriter(directory, indexWriterConfig);
+        this.searcherManager = new SearcherManager(indexWriter, new SearcherFactory());
+    }
+
+    /**
+     * Adds the documents to the in memory buffer of the writer, replacing documents with the same id.
+     * They become searchable with the next {@link #refresh()} and durable with the next {@link #commit()}.
+     */
+    void index(final List<Document> documents, final List<Term> ids) throws IOException {
+        for (int i = 0; i < documents.size(); ++i) {
+            indexWriter.updateDocument(ids.get(i), documents.get(i));
+        }
+    }
+
+    void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    void commit() throws IOException {
+        if (indexWriter.hasUncommittedChanges()) {
+            indexWriter.commit();
+        }
+    }
+
+    IndexSearcher acquire() throws IOException {
+        return searcherManager.acquire();
+    }
+
+    void release(final IndexSearcher indexSearcher) throws IOException {
+        searcherManager.release(indexSearcher);
+    }
+
+    long getStart() {
+        return start;
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOUtils.close(searcherManager, indexWriter, directory);
+    }
+
+    /**
+     * Closes the partition and removes its files.
+     */
+    void delete() throws IOException {
+        indexWriter.rollback();
+        IOUtils.close(searcherManager, directory);
+        IOUtils.rm(path);
+    }
+}
@@ -0,0 +1,309 @@
+package com.microservices.demo.kafka.to.lucene.service.index;
+
+import com.microservices.demo.config.LuceneIndexConfigData;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.to.lucene.service.exception.KafkaToLuceneServiceException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.MultiReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Embedded full text index of the tweets, split into one lucene index per time range of tweet creation.
+ * Documents are buffered by the index writers, made searchable every refresh-interval-ms and made durable every
+ * commit-interval-ms. The kafka offsets of the durable documents are written next to the index, so after a restart
+ * consumption starts right after the last committed document.
+ */
+@Component
+public class TimePartitionedTweetIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimePartitionedTweetIndex.class);
+    private static final String PARTITION_PREFIX = "tweets-";
+    private static final String OFFSETS_FILE = "offsets.properties";
+    private static final String ID_FIELD = "id";
+    private static final String USER_ID_FIELD = "userId";
+    private static final String TEXT_FIELD = "text";
+    private static final String CREATED_AT_FIELD = "createdAt";
+    private final LuceneIndexConfigData luceneIndexConfigData;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final ConcurrentSkipListMap<Long, IndexPartition> partitions = new ConcurrentSkipListMap<>();
+    private final Map<String, Long> indexedOffsets = new ConcurrentHashMap<>();
+    private final Map<String, Long> committedOffsets = new ConcurrentHashMap<>();
+    //Indexing and searching share the partitions, dropping an expired partition needs them exclusively.
+    private final ReadWriteLock partitionLock = new ReentrantReadWriteLock();
+    private Path indexPath;
+
+    public TimePartitionedTweetIndex(final LuceneIndexConfigData luceneIndexConfigData) {
+        this.luceneIndexConfigData = luceneIndexConfigData;
+    }
+
+    @PostConstruct
+    public void init() {
+        indexPath = Path.of(luceneIndexConfigData.getIndexPath());
+        try {
+            Files.createDirectories(indexPath);
+            try (DirectoryStream<Path> partitionPaths = Files.newDirectoryStream(indexPath, PARTITION_PREFIX + "*")) {
+                for (final Path partitionPath : partitionPaths) {
+                    final long start = Long.parseLong(partitionPath.getFileName().toString()
+                            .substring(PARTITION_PREFIX.length()));
+                    partitions.put(start, openPartition(start));
+                }
+            }
+            loadCommittedOffsets();
+        } catch (final IOException e) {
+            throw new KafkaToLuceneServiceException("Could not open lucene index at " + indexPath + "!.", e);
+        }
+        LOGGER.info("Opened lucene index at {} with {} partition(s), committed offsets {}", indexPath,
+                partitions.size(), committedOffsets);
+    }
+
+    @PreDestroy
+    public void close() {
+        commit();
+        for (final IndexPartition partition : partitions.values()) {
+            try {
+                partition.close();
+            } catch (final IOException e) {
+                LOGGER.error("Error while closing lucene index partition {}", partition.getStart(), e);
+            }
+        }
+    }
+
+    /**
+     * Adds one consumed batch to the index, every tweet to the partition of its creation time.
+     * Tweets older than the retention are skipped.
+     */
+    public void index(final String topic,
+                      final List<TwitterAvroModel> messages,
+                      final List<Integer> kafkaPartitions,
+                      final List<Long> offsets) {
+        final long oldestRetained = getPartitionStart(System.currentTimeMillis() - luceneIndexConfigData.getRetentionMs());
+        final Map<Long, List<Document>> documentsByPartition = new HashMap<>();
+        final Map<Long, List<Term>> idsByPartition = new HashMap<>();
+        for (final TwitterAvroModel message : messages) {
+            final long createdAt = message.getCreatedAt() == null ? System.currentTimeMillis() : message.getCreatedAt();
+            final long partitionStart = getPartitionStart(createdAt);
+            if (partitionStart >= oldestRetained) {
+                documentsByPartition.computeIfAbsent(partitionStart, start -> new ArrayList<>())
+                        .add(toDocument(message, createdAt));
+                idsByPartition.computeIfAbsent(partitionStart, start -> new ArrayList<>())
+                        .add(new Term(ID_FIELD, String.valueOf(message.getId())));
+            }
+        }
+
+        partitionLock.readLock().lock();
+        try {
+            for (final Map.Entry<Long, List<Document>> documents : documentsByPartition.entrySet()) {
+                getOrOpenPartition(documents.getKey()).index(documents.getValue(),
+                        idsByPartition.get(documents.getKey()));
+            }
+        } catch (final IOException e) {
+            throw new KafkaToLuceneServiceException("Error while indexing tweets!.", e);
+        } finally {
+            partitionLock.readLock().unlock();
+        }
+        for (int i = 0; i < offsets.size(); ++i) {
+            indexedOffsets.merge(getOffsetKey(topic, kafkaPartitions.get(i)), offsets.get(i), Math::max);
+        }
+    }
+
+    /**
+     * @return offset of the last durable tweet of the kafka partition, or null if nothing was committed yet
+     */
+    public Long getCommittedOffset(final String topic, final int kafkaPartition) {
+        return committedOffsets.get(getOffsetKey(topic, kafkaPartition));
+    }
+
+    /**
+     * Searches the text of all partitions with the lucene query syntax, newest partition first on equal score.
+     */
+    public List<TweetDocument> search(final String query, final int maxResults) {
+        final List<TweetDocument> results = new ArrayList<>();
+        final int limit = Math.min(maxResults, luceneIndexConfigData.getMaxSearchResults());
+        partitionLock.readLock().lock();
+        final List<IndexPartition> searchedPartitions = new ArrayList<>(partitions.descendingMap().values());
+        final List<IndexSearcher> searchers = new ArrayList<>(searchedPartitions.size());
+        try {
+            final IndexReader[] readers = new IndexReader[searchedPartitions.size()];
+            for (final IndexPartition partition : searchedPartitions) {
+                final IndexSearcher partitionSearcher = partition.acquire();
+                searchers.add(partitionSearcher);
+                readers[searchers.size() - 1] = partitionSearcher.getIndexReader();
+            }
+            try (MultiReader multiReader = new MultiReader(readers, false)) {
+                final IndexSearcher indexSearcher = new IndexSearcher(multiReader);
+                final TopDocs topDocs = indexSearcher.search(new QueryParser(TEXT_FIELD, analyzer).parse(query), limit);
+                for (final ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    results.add(toTweetDocument(indexSearcher.doc(scoreDoc.doc)));
+                }
+            }
+        } catch (final ParseException e) {
+            throw new KafkaToLuceneServiceException("Invalid search query '" + query + "'!.", e);
+        } catch (final IOException e) {
+            throw new KafkaToLuceneServiceException("Error while searching tweets!.", e);
+        } finally {
+            for (int i = 0; i < searchers.size(); ++i) {
+                try {
+                    searchedPartitions.get(i).release(searchers.get(i));
+                } catch (final IOException e) {
+                    LOGGER.error("Error while releasing lucene searcher!.", e);
+                }
+            }
+            partitionLock.readLock().unlock();
+        }
+        return results;
+    }
+
+    /**
+     * Near real time refresh, makes the buffered documents searchable without committing them.
+     */
+    @Scheduled(fixedDelayString = "${lucene-index-config.refresh-interval-ms:1000}")
+    public void refresh() {
+        for (final IndexPartition partition : partitions.values()) {
+            try {
+                partition.refresh();
+            } catch (final IOException e) {
+                LOGGER.error("Error while refreshing lucene index partition {}", partition.getStart(), e);
+            }
+        }
+    }
+
+    /**
+     * Makes the indexed documents durable and then stores the kafka offsets they were read at.
+     */
+    @Scheduled(fixedDelayString = "${lucene-index-config.commit-interval-ms:30000}")
+    public synchronized void commit() {
+        //Taken before the commit, so every stored offset belongs to a committed document.
+        final Map<String, Long> offsets = new HashMap<>(indexedOffsets);
+        partitionLock.readLock().lock();
+        try {
+            for (final IndexPartition partition : partitions.values()) {
+                partition.commit();
+            }
+            storeCommittedOffsets(offsets);
+        } catch (final IOException e) {
+            LOGGER.error("Error while committing lucene index!.", e);
+        } finally {
+            partitionLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the partitions that only hold tweets older than the retention.
+     */
+    @Scheduled(fixedDelayString = "${lucene-index-config.partition-duration-ms:3600000}")
+    public void dropExpiredPartitions() {
+        final long oldestRetained = getPartitionStart(System.currentTimeMillis() - luceneIndexConfigData.getRetentionMs());
+        partitionLock.writeLock().lock();
+        try {
+            final Map<Long, IndexPartition> expired = partitions.headMap(oldestRetained);
+            for (final IndexPartition partition : new ArrayList<>(expired.values())) {
+                LOGGER.info("Dropping expired lucene index partition {}", partition.getStart());
+                partitions.remove(partition.getStart());
+                partition.delete();
+            }
+        } catch (final IOException e) {
+            LOGGER.error("Error while dropping expired lucene index partitions!.", e);
+        } finally {
+            partitionLock.writeLock().unlock();
+        }
+    }
+
+    private IndexPartition getOrOpenPartition(final long start) {
+        return partitions.computeIfAbsent(start, partitionStart -> {
+            try {
+                return openPartition(partitionStart);
+            } catch (final IOException e) {
+                throw new KafkaToLuceneServiceException("Could not open lucene index partition " + start + "!.", e);
+            }
+        });
+    }
+
+    private IndexPartition openPartition(final long start) throws IOException {
+        return new IndexPartition(start, indexPath.resolve(PARTITION_PREFIX + start), analyzer,
+                luceneIndexConfigData.getRamBufferSizeMb());
+    }
+
+    private long getPartitionStart(final long timestamp) {
+        final long partitionDurationMs = luceneIndexConfigData.getPartitionDurationMs();
+        return timestamp - Math.floorMod(timestamp, partitionDurationMs);
+    }
+
+    private void loadCommittedOffsets() throws IOException {
+        final Path offsetsPath = indexPath.resolve(OFFSETS_FILE);
+        if (Files.exists(offsetsPath)) {
+            final Properties properties = new Properties();
+            try (InputStream inputStream = Files.newInputStream(offsetsPath)) {
+                properties.load(inputStream);
+            }
+            properties.forEach((key, value) -> committedOffsets.put((String) key, Long.valueOf((String) value)));
+            indexedOffsets.putAll(committedOffsets);
+        }
+    }
+
+    private void storeCommittedOffsets(final Map<String, Long> offsets) throws IOException {
+        final Properties properties = new Properties();
+        offsets.forEach((key, value) -> properties.setProperty(key, String.valueOf(value)));
+        final Path temporaryPath = indexPath.resolve(OFFSETS_FILE + ".tmp");
+        try (OutputStream outputStream = Files.newOutputStream(temporaryPath)) {
+            properties.store(outputStream, "Kafka offsets of the committed lucene index");
+        }
+        Files.move(temporaryPath, indexPath.resolve(OFFSETS_FILE), StandardCopyOption.ATOMIC_MOVE);
+        committedOffsets.putAll(offsets);
+    }
+
+    private static String getOffsetKey(final String topic, final int kafkaPartition) {
+        return topic + "-" + kafkaPartition;
+    }
+
+    private static Document toDocument(final TwitterAvroModel message, final long createdAt) {
+        final Document document = new Document();
+        document.add(new StringField(ID_FIELD, String.valueOf(message.getId()), Field.Store.YES));
+        document.add(new StoredField(USER_ID_FIELD, message.getUserId()));
+        document.add(new TextField(TEXT_FIELD, message.getText() == null ? "" : message.getText(), Field.Store.YES));
+        document.add(new LongPoint(CREATED_AT_FIELD, createdAt));
+        document.add(new StoredField(CREATED_AT_FIELD, createdAt));
+        return document;
+    }
+
+    private static TweetDocument toTweetDocument(final Document document) {
+        return new TweetDocument(Long.parseLong(document.get(ID_FIELD)),
+                document.getField(USER_ID_FIELD).numericValue().longValue(),
+                document.get(TEXT_FIELD),
+                document.getField(CREATED_AT_FIELD).numericValue().longValue());
+    }
+}
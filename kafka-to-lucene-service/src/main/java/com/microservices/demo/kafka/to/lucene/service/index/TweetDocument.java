@@ -0,0 +1,7 @@
+package com.microservices.demo.kafka.to.lucene.service.index;
+
+/**
+ * Stored fields of an indexed tweet, as returned by a search.
+ */
+public record TweetDocument(long id, long userId, String text, long createdAt) {
+}
@@ -0,0 +1,103 @@
+package com.microservices.demo.kafka.to.lucene.service.index;
+
+import com.microservices.demo.config.LuceneIndexConfigData;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Indexed tweets per second in batches of the consumer size, and keyword query latency on the resulting index.
+ * Run with: mvn test -Pperformance
+ */
+@Tag("performance")
+class TimePartitionedTweetIndexPerformanceTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimePartitionedTweetIndexPerformanceTest.class);
+    private static final int TWEET_COUNT = Integer.getInteger("performance.tweet-count", 500_000);
+    private static final int BATCH_SIZE = 2000;
+    private static final int QUERY_COUNT = 2000;
+    private static final String[] WORDS = {"Java", "Kafka", "Elasticsearch", "Spring", "Lucene", "microservices",
+            "stream", "index", "search", "cluster", "latency", "throughput", "record", "topic", "partition"};
+
+    @TempDir
+    Path indexPath;
+
+    @Test
+    public void indexesAndSearches() {
+        final TimePartitionedTweetIndex tweetIndex = new TimePartitionedTweetIndex(config());
+        tweetIndex.init();
+        final long now = System.currentTimeMillis();
+
+        final long indexStart = System.nanoTime();
+        for (int batchStart = 0; batchStart < TWEET_COUNT; batchStart += BATCH_SIZE) {
+            final List<TwitterAvroModel> messages = new ArrayList<>(BATCH_SIZE);
+            final List<Integer> partitions = new ArrayList<>(BATCH_SIZE);
+            final List<Long> offsets = new ArrayList<>(BATCH_SIZE);
+            for (int i = batchStart; i < Math.min(batchStart + BATCH_SIZE, TWEET_COUNT); ++i) {
+                //Spread over the last six hours, so several partitions are written and searched.
+                messages.add(tweet(i, now - (long) i * TimeUnit.HOURS.toMillis(6) / TWEET_COUNT));
+                partitions.add(0);
+                offsets.add((long) i);
+            }
+            tweetIndex.index("twitter-topic", messages, partitions, offsets);
+        }
+        tweetIndex.refresh();
+        final long indexNanos = System.nanoTime() - indexStart;
+        LOGGER.info("Indexed {} tweets in {} ms, {} tweets/sec", TWEET_COUNT,
+                TimeUnit.NANOSECONDS.toMillis(indexNanos), TWEET_COUNT * 1_000_000_000L / indexNanos);
+
+        final long[] latencies = new long[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; ++i) {
+            final String query = WORDS[i % WORDS.length] + " AND " + WORDS[(i * 7 + 3) % WORDS.length];
+            final long queryStart = System.nanoTime();
+            final List<TweetDocument> results = tweetIndex.search(query, 20);
+            latencies[i] = System.nanoTime() - queryStart;
+            assertFalse(results.isEmpty(), "No result for " + query);
+        }
+        Arrays.sort(latencies);
+        LOGGER.info("{} queries, p50 {} us, p99 {} us", QUERY_COUNT,
+                TimeUnit.NANOSECONDS.toMicros(latencies[QUERY_COUNT / 2]),
+                TimeUnit.NANOSECONDS.toMicros(latencies[QUERY_COUNT * 99 / 100]));
+
+        tweetIndex.commit();
+        assertEquals(TWEET_COUNT - 1L, tweetIndex.getCommittedOffset("twitter-topic", 0));
+        tweetIndex.close();
+    }
+
+    private LuceneIndexConfigData config() {
+        final LuceneIndexConfigData luceneIndexConfigData = new LuceneIndexConfigData();
+        luceneIndexConfigData.setIndexPath(indexPath.toString());
+        luceneIndexConfigData.setPartitionDurationMs(TimeUnit.HOURS.toMillis(1));
+        luceneIndexConfigData.setRetentionMs(TimeUnit.DAYS.toMillis(1));
+        luceneIndexConfigData.setRefreshIntervalMs(1000L);
+        luceneIndexConfigData.setCommitIntervalMs(30000L);
+        luceneIndexConfigData.setRamBufferSizeMb(64.0);
+        luceneIndexConfigData.setMaxSearchResults(100);
+        return luceneIndexConfigData;
+    }
+
+    private static TwitterAvroModel tweet(final long id, final long createdAt) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 12; ++i) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return TwitterAvroModel.newBuilder()
+                .setId(id)
+                .setUserId(id % 10_000)
+                .setText(text.toString())
+                .setCreatedAt(createdAt)
+                .build();
+    }
+}
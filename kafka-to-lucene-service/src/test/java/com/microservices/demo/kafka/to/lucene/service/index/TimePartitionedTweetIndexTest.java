@@ -0,0 +1,107 @@
+package com.microservices.demo.kafka.to.lucene.service.index;
+
+import com.microservices.demo.config.LuceneIndexConfigData;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.to.lucene.service.exception.KafkaToLuceneServiceException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimePartitionedTweetIndexTest {
+    private static final String TOPIC = "twitter-topic";
+
+    @TempDir
+    Path indexPath;
+
+    @Test
+    public void findsTweetsAfterRefreshAndReplacesRedeliveredOnes() {
+        final TimePartitionedTweetIndex tweetIndex = open(TimeUnit.DAYS.toMillis(1));
+        final long now = System.currentTimeMillis();
+        tweetIndex.index(TOPIC, List.of(tweet(1L, "Kafka streams with Java", now),
+                tweet(2L, "Lucene search", now - TimeUnit.HOURS.toMillis(3))), List.of(0, 0), List.of(0L, 1L));
+        assertTrue(tweetIndex.search("kafka", 10).isEmpty());
+
+        tweetIndex.refresh();
+        assertEquals(List.of(new TweetDocument(1L, 1L, "Kafka streams with Java", now)),
+                tweetIndex.search("kafka", 10));
+        assertEquals(2, tweetIndex.search("kafka OR lucene", 10).size());
+
+        tweetIndex.index(TOPIC, List.of(tweet(1L, "Kafka streams with Java", now)), List.of(0), List.of(0L));
+        tweetIndex.refresh();
+        assertEquals(1, tweetIndex.search("kafka", 10).size());
+        tweetIndex.close();
+    }
+
+    @Test
+    public void skipsAndDropsTweetsOlderThanRetention() {
+        final long now = System.currentTimeMillis();
+        final TimePartitionedTweetIndex tweetIndex = open(TimeUnit.HOURS.toMillis(3));
+        tweetIndex.index(TOPIC, List.of(tweet(1L, "old kafka tweet", now - TimeUnit.HOURS.toMillis(5)),
+                tweet(2L, "recent kafka tweet", now - TimeUnit.HOURS.toMillis(2))), List.of(0, 0), List.of(0L, 1L));
+        tweetIndex.refresh();
+        assertEquals(List.of(2L), tweetIndex.search("kafka", 10).stream().map(TweetDocument::id).toList());
+        tweetIndex.close();
+
+        final TimePartitionedTweetIndex reopened = open(TimeUnit.MINUTES.toMillis(1));
+        reopened.dropExpiredPartitions();
+        assertTrue(reopened.search("kafka", 10).isEmpty());
+        reopened.close();
+    }
+
+    @Test
+    public void restoresCommittedOffsetsAfterRestart() {
+        final long now = System.currentTimeMillis();
+        final TimePartitionedTweetIndex tweetIndex = open(TimeUnit.DAYS.toMillis(1));
+        tweetIndex.index(TOPIC, List.of(tweet(1L, "first", now), tweet(2L, "second", now)), List.of(0, 1),
+                List.of(5L, 7L));
+        assertNull(tweetIndex.getCommittedOffset(TOPIC, 0));
+        tweetIndex.commit();
+        tweetIndex.index(TOPIC, List.of(tweet(3L, "third", now)), List.of(0), List.of(6L));
+        assertEquals(5L, tweetIndex.getCommittedOffset(TOPIC, 0));
+        tweetIndex.close();
+
+        final TimePartitionedTweetIndex reopened = open(TimeUnit.DAYS.toMillis(1));
+        assertEquals(6L, reopened.getCommittedOffset(TOPIC, 0));
+        assertEquals(7L, reopened.getCommittedOffset(TOPIC, 1));
+        assertNull(reopened.getCommittedOffset(TOPIC, 2));
+        assertEquals(3, reopened.search("first OR second OR third", 10).size());
+        reopened.close();
+    }
+
+    @Test
+    public void rejectsInvalidQuery() {
+        final TimePartitionedTweetIndex tweetIndex = open(TimeUnit.DAYS.toMillis(1));
+        final KafkaToLuceneServiceException exception = assertThrows(KafkaToLuceneServiceException.class,
+                () -> tweetIndex.search("kafka AND (", 10));
+        assertEquals("Invalid search query 'kafka AND ('!.", exception.getMessage());
+        tweetIndex.close();
+    }
+
+    private TimePartitionedTweetIndex open(final long retentionMs) {
+        final LuceneIndexConfigData luceneIndexConfigData = new LuceneIndexConfigData();
+        luceneIndexConfigData.setIndexPath(indexPath.toString());
+        luceneIndexConfigData.setPartitionDurationMs(TimeUnit.HOURS.toMillis(1));
+        luceneIndexConfigData.setRetentionMs(retentionMs);
+        luceneIndexConfigData.setRefreshIntervalMs(1000L);
+        luceneIndexConfigData.setCommitIntervalMs(30000L);
+        luceneIndexConfigData.setRamBufferSizeMb(16.0);
+        luceneIndexConfigData.setMaxSearchResults(100);
+        final TimePartitionedTweetIndex tweetIndex = new TimePartitionedTweetIndex(luceneIndexConfigData);
+        tweetIndex.init();
+        return tweetIndex;
+    }
+
+    private static TwitterAvroModel tweet(final long id, final String text, final long createdAt) {
+        return TwitterAvroModel.newBuilder()
+                .setId(id)
+                .setUserId(id)
+                .setText(text)
+                .setCreatedAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.microservices.demo.kafka.admin.api;
+
+import com.microservices.demo.kafka.admin.lag.ConsumerLagMonitor;
+import com.microservices.demo.kafka.admin.lag.ConsumerLagSnapshot;
+import com.microservices.demo.kafka.admin.lag.GroupLag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Lag of the last poll, e.g. curl "localhost:8080/admin/consumer-lag/twitter-topic-lucene-consumer"
+ */
+@RestController
+@RequestMapping("/admin")
+@ConditionalOnExpression("${consumer-lag-config.enabled:false}")
+public class ConsumerLagController {
+    private final ConsumerLagMonitor consumerLagMonitor;
+
+    public ConsumerLagController(final ConsumerLagMonitor consumerLagMonitor) {
+        this.consumerLagMonitor = consumerLagMonitor;
+    }
+
+    @GetMapping("/consumer-lag")
+    public ConsumerLagSnapshot getLag() {
+        return consumerLagMonitor.getSnapshot();
+    }
+
+    @GetMapping("/consumer-lag/{groupId}")
+    public GroupLag getGroupLag(@PathVariable("groupId") final String groupId) {
+        return consumerLagMonitor.getGroupLag(groupId).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.NOT_FOUND, "No lag of consumer group " + groupId + "."));
+    }
+}
@@ -1,100 +1,255 @@
 package com.microservices.demo.kafka.admin.client;
 
+import com.microservices.demo.common.retry.AsyncRetryExecutor;
 import com.microservices.demo.config.KafkaConfigData;
-import com.microservices.demo.config.RetryConfigData;
 import com.microservices.demo.kafka.admin.exception.KafkaClientException;
 import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AlterConfigOp;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
 import org.apache.kafka.clients.admin.CreateTopicsResult;
+import org.apache.kafka.clients.admin.NewPartitions;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.admin.TopicListing;
+import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.errors.TopicExistsException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
-import org.springframework.retry.RetryContext;
-import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
 public class KafkaAdminClient {
     private static final Logger LOGGER = LoggerFactory.getLogger(KafkaAdminClient.class);
 
     private final KafkaConfigData kafkaConfigData;
-    private final RetryConfigData retryConfigData;
     private final AdminClient adminClient;
-    private final RetryTemplate retryTemplate;
+    private final AsyncRetryExecutor retryExecutor;
     private final WebClient webClient;
+    private static final String KAFKA_DEPENDENCY = "kafka-admin";
+    private static final String SCHEMA_REGISTRY_DEPENDENCY = "schema-registry";
     private static final String TOPIC_READING_ATTEMPTS_EXHAUSTED =
             "Reached max number of retires for reading kafka topic(s)!.";
 
     public KafkaAdminClient(final KafkaConfigData kafkaConfigData,
-                            final RetryConfigData retryConfigData,
                             final AdminClient adminClient,
-                            final RetryTemplate retryTemplate,
+                            final AsyncRetryExecutor retryExecutor,
                             final WebClient webClient) {
         this.kafkaConfigData = kafkaConfigData;
-        this.retryConfigData = retryConfigData;
         this.adminClient = adminClient;
-        this.retryTemplate = retryTemplate;
+        this.retryExecutor = retryExecutor;
         this.webClient = webClient;
     }
 
     public void createTopics() {
-        try {
-            retryTemplate.execute(this::doCreateTopics);
-        } catch (final Throwable e) {
-            throw new KafkaClientException("Reached max number of retries for creating kafka topic(s)!.", e);
-        }
-        checkTopicsCreated();
+        join(createTopicsAsync());
     }
 
     public void checkSchemaRegistry() {
-        int retryCount = 1;
-        final Integer maxRetry = retryConfigData.getMaxAttempts();
-        final Integer multiplier = retryConfigData.getMultiplier().intValue();
-        Long sleepTimeMs = retryConfigData.getSleepTimeMs();
-        while (getSchemaRegistryStatus().is2xxSuccessful()) {
-            checkMaxRetry(retryCount++, maxRetry);
-            sleep(sleepTimeMs);
-            sleepTimeMs *= multiplier;
+        join(checkSchemaRegistryAsync());
+    }
+
+    /**
+     * Creates the configured topics with the config of their profile and completes once all of them are listed by
+     * the cluster and their config matches the profile.
+     */
+    public CompletableFuture<Void> createTopicsAsync() {
+        final AtomicInteger attempt = new AtomicInteger();
+        return retryExecutor.execute(KAFKA_DEPENDENCY,
+                        () -> CompletableFuture.completedFuture(doCreateTopics(attempt.incrementAndGet())))
+                .exceptionally(e -> {
+                    throw new KafkaClientException("Reached max number of retries for creating kafka topic(s)!.", e);
+                })
+                .thenCompose(result -> checkTopicsCreated())
+                .thenCompose(result -> checkTopicConfigsAsync());
+    }
+
+    /**
+     * Creates a topic that is not part of the configured ones, with the configured replication factor.
+     * An existing topic is kept as it is.
+     */
+    public void createTopic(final String topicName, final int partitions) {
+        LOGGER.info("Creating topic {} with {} partition(s).", topicName, partitions);
+        join(retryExecutor.execute(KAFKA_DEPENDENCY, () -> adminClient.createTopics(List.of(new NewTopic(topicName,
+                        partitions, kafkaConfigData.getReplicationFactor()))).all().toCompletionStage()
+                        .toCompletableFuture()
+                        .exceptionally(e -> {
+                            final Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                            if (cause instanceof TopicExistsException) {
+                                LOGGER.warn("Topic {} already exists.", topicName);
+                                return null;
+                            }
+                            throw new CompletionException(cause);
+                        }))
+                .exceptionally(e -> {
+                    throw new KafkaClientException(String.format("Error while creating kafka topic %s!.", topicName),
+                            e);
+                }));
+    }
+
+    public void deleteTopic(final String topicName) {
+        LOGGER.info("Deleting topic {}.", topicName);
+        join(adminClient.deleteTopics(List.of(topicName)).all().toCompletionStage().toCompletableFuture()
+                .exceptionally(e -> {
+                    throw new KafkaClientException(String.format("Error while deleting kafka topic %s!.", topicName),
+                            e);
+                }));
+    }
+
+    public int getPartitionCount(final String topicName) {
+        return join(retryExecutor.execute(KAFKA_DEPENDENCY, () -> adminClient.describeTopics(List.of(topicName))
+                        .allTopicNames().toCompletionStage().toCompletableFuture())
+                .thenApply(topics -> topics.get(topicName).partitions().size())
+                .exceptionally(e -> {
+                    throw new KafkaClientException(String.format("Error while describing kafka topic %s!.",
+                            topicName), e);
+                }));
+    }
+
+    /**
+     * Raises the partition count of a topic. Kafka can not remove partitions, so a lower count is only logged.
+     * Adding partitions moves keys to other partitions, so per key ordering is lost for keys in flight.
+     *
+     * @return true if partitions were added
+     */
+    public boolean increasePartitions(final String topicName, final int partitions) {
+        final int current = getPartitionCount(topicName);
+        if (partitions <= current) {
+            LOGGER.warn("Topic {} already has {} partition(s), not changing it to {}.", topicName, current,
+                    partitions);
+            return false;
         }
+        LOGGER.info("Increasing partitions of topic {} from {} to {}.", topicName, current, partitions);
+        join(adminClient.createPartitions(Map.of(topicName, NewPartitions.increaseTo(partitions))).all()
+                .toCompletionStage().toCompletableFuture()
+                .exceptionally(e -> {
+                    throw new KafkaClientException(String.format("Error while increasing partitions of kafka " +
+                            "topic %s!.", topicName), e);
+                }));
+        return true;
     }
 
-    private HttpStatusCode getSchemaRegistryStatus() {
-        try {
-            return webClient.get()
-                    .uri(kafkaConfigData.getSchemaRegistryUrl())
-                    .exchange()
-                    .map(ClientResponse::statusCode)
-                    .block();
-        } catch (final Exception e) {
-            return HttpStatus.SERVICE_UNAVAILABLE;
+    /**
+     * Compares the config of every topic that has a profile with that profile. Differences are logged, and set
+     * back to the profile values if fix-topic-config-drift is enabled.
+     */
+    public CompletableFuture<Void> checkTopicConfigsAsync() {
+        final Map<ConfigResource, Map<String, String>> profileConfigs = new LinkedHashMap<>();
+        for (final String topic : kafkaConfigData.getTopicNamesToCreate()) {
+            final Map<String, String> topicConfig = getTopicConfig(topic);
+            if (!topicConfig.isEmpty()) {
+                profileConfigs.put(new ConfigResource(ConfigResource.Type.TOPIC, topic), topicConfig);
+            }
+        }
+        if (profileConfigs.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
         }
+        return retryExecutor.execute(KAFKA_DEPENDENCY, () -> adminClient.describeConfigs(profileConfigs.keySet())
+                        .all().toCompletionStage().toCompletableFuture())
+                .exceptionally(e -> {
+                    throw new KafkaClientException("Reached max number of retries for reading kafka topic config(s)!.",
+                            e);
+                })
+                .thenCompose(topicConfigs -> fixTopicConfigDrift(profileConfigs, topicConfigs));
+    }
+
+    /**
+     * Completes once the schema registry answers with a successful status.
+     */
+    public CompletableFuture<HttpStatusCode> checkSchemaRegistryAsync() {
+        return retryExecutor.execute(SCHEMA_REGISTRY_DEPENDENCY, this::getSchemaRegistryStatus,
+                        HttpStatusCode::is2xxSuccessful)
+                .exceptionally(e -> {
+                    throw new KafkaClientException("Reached max number of retries for reaching schema registry!.", e);
+                });
+    }
+
+    private CompletableFuture<HttpStatusCode> getSchemaRegistryStatus() {
+        return webClient.get()
+                .uri(kafkaConfigData.getSchemaRegistryUrl())
+                .exchangeToMono(response -> Mono.just(response.statusCode()))
+                .onErrorReturn(HttpStatus.SERVICE_UNAVAILABLE)
+                .toFuture();
     }
 
     //Wait until topics created or max retry attempts reached.
     //Custom retry logic cause the createTopics is an asynchronous operation.
-    private void checkTopicsCreated() {
-        Collection<TopicListing> topics = getTopics();
-        int retryCount = 1;
-        final Integer maxRetry = retryConfigData.getMaxAttempts();
-        final Integer multiplier = retryConfigData.getMultiplier().intValue();
-        Long sleepTimeMs = retryConfigData.getSleepTimeMs();
-        for (final String topic : kafkaConfigData.getTopicNamesToCreate()) {
-            while (!isTopicCreated(topics, topic)) {
-                checkMaxRetry(retryCount++, maxRetry);
-                sleep(sleepTimeMs);
-                sleepTimeMs *= multiplier;
-                topics = getTopics();
+    private CompletableFuture<Void> checkTopicsCreated() {
+        final AtomicInteger attempt = new AtomicInteger();
+        return retryExecutor.execute(KAFKA_DEPENDENCY, () -> getTopics(attempt.incrementAndGet()),
+                        topics -> kafkaConfigData.getTopicNamesToCreate().stream()
+                                .allMatch(topic -> isTopicCreated(topics, topic)))
+                .handle((topics, e) -> {
+                    if (e != null) {
+                        throw new KafkaClientException(TOPIC_READING_ATTEMPTS_EXHAUSTED, e);
+                    }
+                    return null;
+                });
+    }
+
+    private CompletableFuture<Void> fixTopicConfigDrift(final Map<ConfigResource, Map<String, String>> profileConfigs,
+                                                        final Map<ConfigResource, Config> topicConfigs) {
+        final Map<ConfigResource, Collection<AlterConfigOp>> alterations = new LinkedHashMap<>();
+        profileConfigs.forEach((topic, profileConfig) -> {
+            final Config topicConfig = topicConfigs.get(topic);
+            final List<AlterConfigOp> topicAlterations = new ArrayList<>();
+            profileConfig.forEach((name, value) -> {
+                final ConfigEntry entry = topicConfig == null ? null : topicConfig.get(name);
+                if (entry == null || !value.equals(entry.value())) {
+                    LOGGER.warn("Config {} of topic {} is {}, profile wants {}", name, topic.name(),
+                            entry == null ? null : entry.value(), value);
+                    topicAlterations.add(new AlterConfigOp(new ConfigEntry(name, value), AlterConfigOp.OpType.SET));
+                }
+            });
+            if (!topicAlterations.isEmpty()) {
+                alterations.put(topic, topicAlterations);
             }
+        });
+        if (alterations.isEmpty()) {
+            LOGGER.info("Config of topic(s) {} matches their profile.", profileConfigs.keySet().stream()
+                    .map(ConfigResource::name).toList());
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!Boolean.TRUE.equals(kafkaConfigData.getFixTopicConfigDrift())) {
+            LOGGER.warn("Config drift found for topic(s) {}, fix-topic-config-drift is disabled.",
+                    alterations.keySet().stream().map(ConfigResource::name).toList());
+            return CompletableFuture.completedFuture(null);
+        }
+        return adminClient.incrementalAlterConfigs(alterations).all().toCompletionStage().toCompletableFuture()
+                .handle((result, e) -> {
+                    if (e != null) {
+                        throw new KafkaClientException("Error while fixing kafka topic config drift!.", e);
+                    }
+                    LOGGER.info("Fixed config drift of topic(s) {}", alterations.keySet().stream()
+                            .map(ConfigResource::name).toList());
+                    return null;
+                });
+    }
+
+    private Map<String, String> getTopicConfig(final String topic) {
+        final String profile = kafkaConfigData.getTopicProfiles().get(topic);
+        if (profile == null) {
+            return Map.of();
+        }
+        final Map<String, String> topicConfig = kafkaConfigData.getTopicConfigProfiles().get(profile);
+        if (topicConfig == null) {
+            throw new KafkaClientException(
+                    String.format("Topic %s uses unknown config profile %s!.", topic, profile));
         }
+        return topicConfig;
     }
 
     private static boolean isTopicCreated(final Collection<TopicListing> topics, final String topic) {
@@ -105,49 +260,37 @@ public class KafkaAdminClient {
         }
     }
 
-    private static void checkMaxRetry(final int retry, final Integer maxRetry) {
-        if (retry > maxRetry) {
-            throw new KafkaClientException(TOPIC_READING_ATTEMPTS_EXHAUSTED);
-        }
-    }
-
-    private static void sleep(final Long sleepTimeMs) {
+    private static <T> T join(final CompletableFuture<T> future) {
         try {
-            Thread.sleep(sleepTimeMs);
-        } catch (final InterruptedException e) {
-            throw new KafkaClientException("Error while sleeping while waiting for new topics to be created!.");
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof KafkaClientException kafkaClientException) {
+                throw kafkaClientException;
+            }
+            throw new KafkaClientException("Error while waiting for kafka admin operation!.", e.getCause());
         }
     }
 
-    private CreateTopicsResult doCreateTopics(final RetryContext retryContext) {
+    private CreateTopicsResult doCreateTopics(final int attempt) {
         final List<String> topicNames = kafkaConfigData.getTopicNamesToCreate();
-        LOGGER.info("Creating {} topic(s), attempt {}.", topicNames.size(), retryContext.getRetryCount());
+        LOGGER.info("Creating {} topic(s), attempt {}.", topicNames.size(), attempt);
 
         final List<NewTopic> kafkaTopics = topicNames.stream().map(topic -> new NewTopic(
-                topic, kafkaConfigData.getNumberOfPartitions(), kafkaConfigData.getReplicationFactor())).toList();
+                topic, kafkaConfigData.getNumberOfPartitions(), kafkaConfigData.getReplicationFactor())
+                .configs(getTopicConfig(topic))).toList();
         return adminClient.createTopics(kafkaTopics);
     }
 
-    private Collection<TopicListing> getTopics() {
-        final Collection<TopicListing> topics;
-        try {
-            topics = retryTemplate.execute(this::doGetTopics);
-        } catch (final Throwable e) {
-            throw new KafkaClientException(TOPIC_READING_ATTEMPTS_EXHAUSTED, e);
-        }
-        return topics;
-    }
-
-    private Collection<TopicListing> doGetTopics(final RetryContext retryContext)
-            throws ExecutionException, InterruptedException {
-        LOGGER.info("Reading kafka topic {}, attempt {}", kafkaConfigData.getTopicNamesToCreate().toArray(),
-                retryContext.getRetryCount());
-        Collection<TopicListing> topics = adminClient.listTopics().listings().get();
-        if (topics != null) {
-            topics.forEach(topic -> {
-                LOGGER.debug("Topic with name {}.", topic.name());
-            });
-        }
-        return topics;
+    private CompletableFuture<Collection<TopicListing>> getTopics(final int attempt) {
+        LOGGER.info("Reading kafka topic {}, attempt {}", kafkaConfigData.getTopicNamesToCreate().toArray(), attempt);
+        return adminClient.listTopics().listings().toCompletionStage().toCompletableFuture()
+                .thenApply(topics -> {
+                    if (topics != null) {
+                        topics.forEach(topic -> {
+                            LOGGER.debug("Topic with name {}.", topic.name());
+                        });
+                    }
+                    return topics;
+                });
     }
 }
@@ -3,12 +3,11 @@ package com.microservices.demo.kafka.admin.config;
 import com.microservices.demo.config.KafkaConfigData;
 import org.apache.kafka.clients.CommonClientConfigs;
 import org.apache.kafka.clients.admin.AdminClient;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.retry.annotation.EnableRetry;
 
 import java.util.Map;
 
-@EnableRetry
 @Configuration
 public class KafkaAdminConfig {
     private final KafkaConfigData kafkaConfigData;
@@ -16,7 +15,8 @@ public class KafkaAdminConfig {
         this.kafkaConfigData = kafkaConfigData;
     }
 
-    private AdminClient adminClient() {
+    @Bean
+    public AdminClient adminClient() {
         return AdminClient.create(Map.of(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG,
                 kafkaConfigData.getBootstrapServers()));
     }
@@ -0,0 +1,28 @@
+package com.microservices.demo.kafka.admin.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.microservices.demo.ConsumerLag")
+@Label("Consumer Lag")
+@Category({"Microservices Demo", "Kafka Admin"})
+@Description("Lag of a consumer group as of one lag poll")
+public class ConsumerLagEvent extends Event {
+    @Label("Group Id")
+    public String groupId;
+
+    @Label("Total Lag")
+    public long totalLag;
+
+    @Label("Max Partition Lag")
+    public long maxPartitionLag;
+
+    @Label("Lag Per Second")
+    public double lagPerSecond;
+
+    @Label("Partitions")
+    public int partitions;
+}
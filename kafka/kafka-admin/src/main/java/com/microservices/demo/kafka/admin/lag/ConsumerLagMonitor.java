@@ -0,0 +1,304 @@
+package com.microservices.demo.kafka.admin.lag;
+
+import com.microservices.demo.config.ConsumerLagConfigData;
+import com.microservices.demo.kafka.admin.exception.KafkaClientException;
+import com.microservices.demo.kafka.admin.jfr.ConsumerLagEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsSpec;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Polls the committed offsets of the watched consumer groups and the log end offsets of their partitions, and keeps
+ * the per partition and per group lag and lag trend of the last poll.
+ * <p>
+ * Nothing is fetched per partition: committed offsets are fetched for groups-per-request groups at once, with at
+ * most max-in-flight-requests batches outstanding, and the end offsets of all partitions of all groups are fetched
+ * by one list offsets call, which the admin client splits into one request per partition leader. A poll of hundreds
+ * of groups is a handful of requests per broker.
+ * <p>
+ * Every poll emits a {@link ConsumerLagEvent} per group, and {@link #getBackpressureLevel()} turns the lag into a
+ * signal the ingestion side can slow down on.
+ */
+@Component
+@ConditionalOnExpression("${consumer-lag-config.enabled:false}")
+public class ConsumerLagMonitor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConsumerLagMonitor.class);
+    //Without a poll for this many intervals the lag is unknown, it must not keep ingestion slowed down.
+    private static final int STALE_POLL_INTERVALS = 3;
+    private final ConsumerLagConfigData consumerLagConfigData;
+    private final AdminClient adminClient;
+    //Only touched by the poller thread.
+    private final Map<String, LagTrend> trends = new HashMap<>();
+    private final Set<String> failedGroups = ConcurrentHashMap.newKeySet();
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder failedPolls = new LongAdder();
+    private volatile ConsumerLagSnapshot snapshot = ConsumerLagSnapshot.EMPTY;
+    private ScheduledExecutorService poller;
+
+    public ConsumerLagMonitor(final ConsumerLagConfigData consumerLagConfigData,
+                              final AdminClient adminClient) {
+        this.consumerLagConfigData = consumerLagConfigData;
+        this.adminClient = adminClient;
+    }
+
+    @PostConstruct
+    public void init() {
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "consumer-lag-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::poll, 0L, consumerLagConfigData.getPollIntervalMs(),
+                TimeUnit.MILLISECONDS);
+        LOGGER.info("Polling lag of consumer group(s) {} every {} ms", isEmpty(consumerLagConfigData.getGroupIds())
+                ? "all" : consumerLagConfigData.getGroupIds(), consumerLagConfigData.getPollIntervalMs());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    public ConsumerLagSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public Optional<GroupLag> getGroupLag(final String groupId) {
+        return snapshot.groups().stream().filter(groupLag -> groupLag.groupId().equals(groupId)).findFirst();
+    }
+
+    /**
+     * Maps the highest total lag of the backpressure groups linearly from 0 at backpressure-lag-low to 1 at
+     * backpressure-lag-high. A snapshot older than a few poll intervals gives 0.
+     *
+     * @return how much ingestion should slow down, between 0 and 1
+     */
+    public double getBackpressureLevel() {
+        final ConsumerLagSnapshot current = snapshot;
+        if (System.currentTimeMillis() - current.timestampMs()
+                > STALE_POLL_INTERVALS * consumerLagConfigData.getPollIntervalMs()) {
+            return 0.0;
+        }
+        final List<String> groupIds = consumerLagConfigData.getBackpressureGroupIds();
+        final long lag = current.groups().stream()
+                .filter(groupLag -> isEmpty(groupIds) || groupIds.contains(groupLag.groupId()))
+                .mapToLong(GroupLag::totalLag)
+                .max()
+                .orElse(0L);
+        return backpressureLevel(lag, consumerLagConfigData.getBackpressureLagLow(),
+                consumerLagConfigData.getBackpressureLagHigh());
+    }
+
+    @Scheduled(fixedRateString = "${consumer-lag-config.stats-log-interval-ms:60000}",
+            initialDelayString = "${consumer-lag-config.stats-log-interval-ms:60000}")
+    public void logStats() {
+        final ConsumerLagSnapshot current = snapshot;
+        final Optional<GroupLag> top = current.groups().stream().findFirst();
+        LOGGER.info("Consumer lag: {} group(s), total lag {}, highest {} with {} record(s) trending {} per second, " +
+                        "{} poll(s) of which {} failed, last poll {} ms", current.groups().size(),
+                current.groups().stream().mapToLong(GroupLag::totalLag).sum(),
+                top.map(GroupLag::groupId).orElse("-"), top.map(GroupLag::totalLag).orElse(0L),
+                String.format("%.1f", top.map(GroupLag::lagPerSecond).orElse(0.0)), polls.sum(), failedPolls.sum(),
+                current.pollDurationMs());
+    }
+
+    static double backpressureLevel(final long lag, final long lagLow, final long lagHigh) {
+        if (lag <= lagLow) {
+            return 0.0;
+        }
+        if (lag >= lagHigh) {
+            return 1.0;
+        }
+        return (double) (lag - lagLow) / (lagHigh - lagLow);
+    }
+
+    /**
+     * Partitions without a committed offset or without an end offset are left out, a committed offset past the end
+     * offset, e.g. while the end offset was read from a lagging leader, counts as no lag.
+     */
+    static GroupLag groupLag(final String groupId,
+                             final Map<TopicPartition, OffsetAndMetadata> committedOffsets,
+                             final Map<TopicPartition, Long> endOffsets,
+                             final double lagPerSecond) {
+        final List<PartitionLag> partitions = new ArrayList<>(committedOffsets.size());
+        long totalLag = 0L;
+        long maxPartitionLag = 0L;
+        for (final Map.Entry<TopicPartition, OffsetAndMetadata> entry : committedOffsets.entrySet()) {
+            final Long endOffset = endOffsets.get(entry.getKey());
+            if (entry.getValue() == null || endOffset == null) {
+                continue;
+            }
+            final long committedOffset = entry.getValue().offset();
+            final long lag = Math.max(0L, endOffset - committedOffset);
+            partitions.add(new PartitionLag(entry.getKey().topic(), entry.getKey().partition(), committedOffset,
+                    endOffset, lag));
+            totalLag += lag;
+            maxPartitionLag = Math.max(maxPartitionLag, lag);
+        }
+        partitions.sort(Comparator.comparing(PartitionLag::topic).thenComparingInt(PartitionLag::partition));
+        return new GroupLag(groupId, totalLag, maxPartitionLag, lagPerSecond, partitions);
+    }
+
+    private void poll() {
+        final long startNanos = System.nanoTime();
+        try {
+            final List<String> groupIds = listGroupIds();
+            final Map<String, Map<TopicPartition, OffsetAndMetadata>> committedOffsets =
+                    fetchCommittedOffsets(groupIds);
+            final Map<TopicPartition, Long> endOffsets = fetchEndOffsets(committedOffsets);
+            final long timestampMs = System.currentTimeMillis();
+            trends.keySet().retainAll(committedOffsets.keySet());
+            final List<GroupLag> groups = new ArrayList<>(committedOffsets.size());
+            committedOffsets.forEach((groupId, offsets) -> {
+                final LagTrend trend = trends.computeIfAbsent(groupId,
+                        id -> new LagTrend(consumerLagConfigData.getTrendSamples()));
+                final GroupLag withoutTrend = groupLag(groupId, offsets, endOffsets, 0.0);
+                trend.add(timestampMs, withoutTrend.totalLag());
+                groups.add(new GroupLag(groupId, withoutTrend.totalLag(), withoutTrend.maxPartitionLag(),
+                        trend.slopePerSecond(), withoutTrend.partitions()));
+            });
+            groups.sort(Comparator.comparingLong(GroupLag::totalLag).reversed());
+            snapshot = new ConsumerLagSnapshot(timestampMs,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), List.copyOf(groups));
+            polls.increment();
+            groups.forEach(ConsumerLagMonitor::commitLagEvent);
+        } catch (final RuntimeException e) {
+            failedPolls.increment();
+            LOGGER.error("Error while polling consumer lag", e);
+        }
+    }
+
+    private List<String> listGroupIds() {
+        final List<String> groupIds = consumerLagConfigData.getGroupIds();
+        if (!isEmpty(groupIds)) {
+            return groupIds;
+        }
+        return adminClient.listConsumerGroups().all().toCompletionStage().toCompletableFuture()
+                .thenApply(listings -> listings.stream().map(ConsumerGroupListing::groupId).toList())
+                .exceptionally(e -> {
+                    throw new KafkaClientException("Error while listing consumer groups!.", e);
+                })
+                .join();
+    }
+
+    /**
+     * Groups whose fetch failed, e.g. while their coordinator moves, are left out of this poll and logged once.
+     */
+    private Map<String, Map<TopicPartition, OffsetAndMetadata>> fetchCommittedOffsets(final List<String> groupIds) {
+        final int batchSize = Math.max(1, consumerLagConfigData.getGroupsPerRequest());
+        final Semaphore inFlight = new Semaphore(Math.max(1, consumerLagConfigData.getMaxInFlightRequests()));
+        final Map<String, Map<TopicPartition, OffsetAndMetadata>> committedOffsets = new ConcurrentHashMap<>();
+        final List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int from = 0; from < groupIds.size(); from += batchSize) {
+            final List<String> batch = groupIds.subList(from, Math.min(groupIds.size(), from + batchSize));
+            inFlight.acquireUninterruptibly();
+            final ListConsumerGroupOffsetsResult result = adminClient.listConsumerGroupOffsets(batch.stream()
+                    .collect(Collectors.toMap(groupId -> groupId, groupId -> new ListConsumerGroupOffsetsSpec())));
+            final CompletableFuture<?>[] groups = batch.stream()
+                    .map(groupId -> result.partitionsToOffsetAndMetadata(groupId).toCompletionStage()
+                            .toCompletableFuture()
+                            .handle((offsets, e) -> {
+                                if (e != null) {
+                                    if (failedGroups.add(groupId)) {
+                                        LOGGER.warn("Error while fetching committed offsets of group {}", groupId,
+                                                e);
+                                    }
+                                    return null;
+                                }
+                                failedGroups.remove(groupId);
+                                committedOffsets.put(groupId, watchedPartitions(offsets));
+                                return null;
+                            }))
+                    .toArray(CompletableFuture[]::new);
+            batches.add(CompletableFuture.allOf(groups)
+                    .whenComplete((ignored, e) -> inFlight.release()));
+        }
+        CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).join();
+        return committedOffsets;
+    }
+
+    private Map<TopicPartition, Long> fetchEndOffsets(
+            final Map<String, Map<TopicPartition, OffsetAndMetadata>> committedOffsets) {
+        final Set<TopicPartition> partitions = new HashSet<>();
+        committedOffsets.values().forEach(offsets -> partitions.addAll(offsets.keySet()));
+        if (partitions.isEmpty()) {
+            return Map.of();
+        }
+        final ListOffsetsResult result = adminClient.listOffsets(partitions.stream()
+                .collect(Collectors.toMap(partition -> partition, partition -> OffsetSpec.latest())));
+        final Map<TopicPartition, Long> endOffsets = new ConcurrentHashMap<>();
+        //A deleted topic fails only its own partitions, they are left out.
+        CompletableFuture.allOf(partitions.stream()
+                        .map(partition -> result.partitionResult(partition).toCompletionStage().toCompletableFuture()
+                                .handle((info, e) -> {
+                                    if (e != null) {
+                                        LOGGER.debug("No end offset of partition {}", partition, e);
+                                    } else {
+                                        endOffsets.put(partition, info.offset());
+                                    }
+                                    return null;
+                                }))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+        return endOffsets;
+    }
+
+    private Map<TopicPartition, OffsetAndMetadata> watchedPartitions(
+            final Map<TopicPartition, OffsetAndMetadata> offsets) {
+        final List<String> topicNames = consumerLagConfigData.getTopicNames();
+        final Map<TopicPartition, OffsetAndMetadata> watched = new HashMap<>();
+        offsets.forEach((partition, offset) -> {
+            if (offset != null && (isEmpty(topicNames) || topicNames.contains(partition.topic()))) {
+                watched.put(partition, offset);
+            }
+        });
+        return watched;
+    }
+
+    private static void commitLagEvent(final GroupLag groupLag) {
+        final ConsumerLagEvent event = new ConsumerLagEvent();
+        if (event.shouldCommit()) {
+            event.groupId = groupLag.groupId();
+            event.totalLag = groupLag.totalLag();
+            event.maxPartitionLag = groupLag.maxPartitionLag();
+            event.lagPerSecond = groupLag.lagPerSecond();
+            event.partitions = groupLag.partitions().size();
+            event.commit();
+        }
+    }
+
+    private static boolean isEmpty(final List<String> values) {
+        return values == null || values.isEmpty();
+    }
+}
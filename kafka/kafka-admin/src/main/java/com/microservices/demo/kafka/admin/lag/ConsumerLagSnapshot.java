@@ -0,0 +1,10 @@
+package com.microservices.demo.kafka.admin.lag;
+
+import java.util.List;
+
+/**
+ * Lag of all watched groups as of one poll, groups ordered by their total lag, highest first.
+ */
+public record ConsumerLagSnapshot(long timestampMs, long pollDurationMs, List<GroupLag> groups) {
+    public static final ConsumerLagSnapshot EMPTY = new ConsumerLagSnapshot(0L, 0L, List.of());
+}
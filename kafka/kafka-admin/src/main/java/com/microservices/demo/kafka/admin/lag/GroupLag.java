@@ -0,0 +1,11 @@
+package com.microservices.demo.kafka.admin.lag;
+
+import java.util.List;
+
+/**
+ * Lag of a consumer group over all its partitions. The trend is the change of the total lag in records per second,
+ * positive while the group falls behind.
+ */
+public record GroupLag(String groupId, long totalLag, long maxPartitionLag, double lagPerSecond,
+                       List<PartitionLag> partitions) {
+}
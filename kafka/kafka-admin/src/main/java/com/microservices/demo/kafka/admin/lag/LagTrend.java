@@ -0,0 +1,51 @@
+package com.microservices.demo.kafka.admin.lag;
+
+/**
+ * Least squares slope of the last samples of a group's total lag. A fitted line over several polls instead of the
+ * difference of the last two keeps one slow commit from flipping the trend. Not thread safe.
+ */
+class LagTrend {
+    private final long[] timesMs;
+    private final long[] lags;
+    private int count;
+    private int next;
+
+    LagTrend(final int samples) {
+        this.timesMs = new long[Math.max(2, samples)];
+        this.lags = new long[timesMs.length];
+    }
+
+    void add(final long timeMs, final long lag) {
+        timesMs[next] = timeMs;
+        lags[next] = lag;
+        next = (next + 1) % timesMs.length;
+        count = Math.min(count + 1, timesMs.length);
+    }
+
+    /**
+     * @return lag change in records per second, 0 until two samples were added
+     */
+    double slopePerSecond() {
+        if (count < 2) {
+            return 0.0;
+        }
+        //Times relative to the first sample, epoch millis squared would lose precision.
+        final long origin = timesMs[count < timesMs.length ? 0 : next];
+        double meanTime = 0.0;
+        double meanLag = 0.0;
+        for (int i = 0; i < count; i++) {
+            meanTime += timesMs[i] - origin;
+            meanLag += lags[i];
+        }
+        meanTime /= count;
+        meanLag /= count;
+        double covariance = 0.0;
+        double variance = 0.0;
+        for (int i = 0; i < count; i++) {
+            final double time = timesMs[i] - origin - meanTime;
+            covariance += time * (lags[i] - meanLag);
+            variance += time * time;
+        }
+        return variance == 0.0 ? 0.0 : covariance / variance * 1000.0;
+    }
+}
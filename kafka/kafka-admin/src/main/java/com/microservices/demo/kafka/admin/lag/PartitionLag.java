@@ -0,0 +1,7 @@
+package com.microservices.demo.kafka.admin.lag;
+
+/**
+ * Lag of a consumer group on one partition, the records between its committed offset and the log end offset.
+ */
+public record PartitionLag(String topic, int partition, long committedOffset, long endOffset, long lag) {
+}
@@ -0,0 +1,154 @@
+package com.microservices.demo.kafka.admin.client;
+
+import com.microservices.demo.common.retry.AsyncRetryExecutor;
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.kafka.admin.exception.KafkaClientException;
+import org.apache.kafka.clients.admin.AlterConfigOp;
+import org.apache.kafka.clients.admin.AlterConfigsOptions;
+import org.apache.kafka.clients.admin.AlterConfigsResult;
+import org.apache.kafka.clients.admin.Config;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.MockAdminClient;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.config.ConfigResource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KafkaAdminClientTest {
+    private static final Node BROKER = new Node(0, "localhost", 9092);
+    private static final String PROFILED_TOPIC = "twitter-topic";
+    private static final String PLAIN_TOPIC = "plain-topic";
+    private static final Map<String, String> PROFILE = Map.of(
+            "min.insync.replicas", "2",
+            "retention.ms", "604800000",
+            "cleanup.policy", "delete");
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final AsyncRetryExecutor retryExecutor =
+            new AsyncRetryExecutor(scheduler, 10L, 50L, 3, 1.0, 10, 10, 1000L);
+
+    @AfterEach
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void leavesTopicsMatchingTheirProfileAlone() {
+        final MockAdminClient adminClient = adminClient(PROFILE);
+
+        client(adminClient, true).checkTopicConfigsAsync().join();
+
+        assertEquals(PROFILE, topicConfig(adminClient, PROFILED_TOPIC));
+    }
+
+    @Test
+    public void onlyLogsDriftWhenFixingIsDisabled() {
+        final Map<String, String> drifted = Map.of("min.insync.replicas", "1", "retention.ms", "604800000");
+        for (final Boolean fixTopicConfigDrift : new Boolean[] {false, null}) {
+            final MockAdminClient adminClient = adminClient(drifted);
+
+            client(adminClient, fixTopicConfigDrift).checkTopicConfigsAsync().join();
+
+            assertEquals(drifted, topicConfig(adminClient, PROFILED_TOPIC));
+        }
+    }
+
+    @Test
+    public void setsDifferentAndMissingEntriesWhenFixingIsEnabled() {
+        //min.insync.replicas differs from the profile, cleanup.policy is missing.
+        final MockAdminClient adminClient = adminClient(Map.of("min.insync.replicas", "1",
+                "retention.ms", "604800000", "segment.bytes", "1073741824"));
+
+        client(adminClient, true).checkTopicConfigsAsync().join();
+
+        final Map<String, String> expected = new HashMap<>(PROFILE);
+        expected.put("segment.bytes", "1073741824");
+        assertEquals(expected, topicConfig(adminClient, PROFILED_TOPIC));
+        assertEquals(Map.of("retention.ms", "1000"), topicConfig(adminClient, PLAIN_TOPIC));
+    }
+
+    @Test
+    public void failsWhenTheDriftCanNotBeFixed() {
+        final MockAdminClient adminClient = new DeniedAlterAdminClient();
+        addTopic(adminClient, PROFILED_TOPIC, Map.of());
+
+        final CompletionException e = assertThrows(CompletionException.class,
+                () -> client(adminClient, true).checkTopicConfigsAsync().join());
+        assertInstanceOf(KafkaClientException.class, e.getCause());
+    }
+
+    @Test
+    public void rejectsTopicsWithAnUnknownProfile() {
+        final MockAdminClient adminClient = adminClient(PROFILE);
+        final KafkaConfigData kafkaConfigData = kafkaConfig(true);
+        kafkaConfigData.getTopicProfiles().put(PLAIN_TOPIC, "missing-profile");
+
+        assertThrows(KafkaClientException.class,
+                () -> new KafkaAdminClient(kafkaConfigData, adminClient, retryExecutor, null)
+                        .checkTopicConfigsAsync());
+    }
+
+    private KafkaAdminClient client(final MockAdminClient adminClient, final Boolean fixTopicConfigDrift) {
+        return new KafkaAdminClient(kafkaConfig(fixTopicConfigDrift), adminClient, retryExecutor, null);
+    }
+
+    private static KafkaConfigData kafkaConfig(final Boolean fixTopicConfigDrift) {
+        final KafkaConfigData kafkaConfigData = new KafkaConfigData();
+        kafkaConfigData.setTopicNamesToCreate(List.of(PROFILED_TOPIC, PLAIN_TOPIC));
+        kafkaConfigData.setFixTopicConfigDrift(fixTopicConfigDrift);
+        kafkaConfigData.getTopicProfiles().put(PROFILED_TOPIC, "high-throughput");
+        kafkaConfigData.getTopicConfigProfiles().put("high-throughput", PROFILE);
+        return kafkaConfigData;
+    }
+
+    private static MockAdminClient adminClient(final Map<String, String> profiledTopicConfig) {
+        final MockAdminClient adminClient = new MockAdminClient(List.of(BROKER), BROKER);
+        addTopic(adminClient, PROFILED_TOPIC, profiledTopicConfig);
+        addTopic(adminClient, PLAIN_TOPIC, Map.of("retention.ms", "1000"));
+        return adminClient;
+    }
+
+    private static void addTopic(final MockAdminClient adminClient, final String topic,
+                                 final Map<String, String> config) {
+        adminClient.addTopic(false, topic,
+                List.of(new TopicPartitionInfo(0, BROKER, List.of(BROKER), List.of(BROKER))), config);
+    }
+
+    private static Map<String, String> topicConfig(final MockAdminClient adminClient, final String topic) {
+        final ConfigResource resource = new ConfigResource(ConfigResource.Type.TOPIC, topic);
+        final Config config = adminClient.describeConfigs(List.of(resource)).all().toCompletionStage()
+                .toCompletableFuture().join().get(resource);
+        final Map<String, String> entries = new HashMap<>();
+        for (final ConfigEntry entry : config.entries()) {
+            entries.put(entry.name(), entry.value());
+        }
+        return entries;
+    }
+
+    /**
+     * Fails every alter like a broker denying ALTER_CONFIGS, by altering a topic the mock does not know.
+     */
+    private static final class DeniedAlterAdminClient extends MockAdminClient {
+
+        private DeniedAlterAdminClient() {
+            super(List.of(BROKER), BROKER);
+        }
+
+        @Override
+        public synchronized AlterConfigsResult incrementalAlterConfigs(
+                final Map<ConfigResource, Collection<AlterConfigOp>> configs, final AlterConfigsOptions options) {
+            return super.incrementalAlterConfigs(Map.of(new ConfigResource(ConfigResource.Type.TOPIC,
+                    "denied-topic"), List.of()), options);
+        }
+    }
+}
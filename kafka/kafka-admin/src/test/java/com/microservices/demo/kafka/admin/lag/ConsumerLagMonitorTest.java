@@ -0,0 +1,65 @@
+package com.microservices.demo.kafka.admin.lag;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsumerLagMonitorTest {
+    private static final TopicPartition PARTITION_0 = new TopicPartition("twitter-topic", 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition("twitter-topic", 1);
+    private static final TopicPartition PARTITION_2 = new TopicPartition("twitter-topic", 2);
+
+    @Test
+    public void sumsPartitionLagOfAGroup() {
+        final Map<TopicPartition, OffsetAndMetadata> committed = new HashMap<>();
+        committed.put(PARTITION_1, new OffsetAndMetadata(40L));
+        committed.put(PARTITION_0, new OffsetAndMetadata(90L));
+        committed.put(PARTITION_2, new OffsetAndMetadata(10L));
+
+        final GroupLag groupLag = ConsumerLagMonitor.groupLag("group", committed,
+                Map.of(PARTITION_0, 100L, PARTITION_1, 100L), 2.5);
+
+        assertEquals(70L, groupLag.totalLag());
+        assertEquals(60L, groupLag.maxPartitionLag());
+        assertEquals(2.5, groupLag.lagPerSecond());
+        assertEquals(List.of(new PartitionLag("twitter-topic", 0, 90L, 100L, 10L),
+                new PartitionLag("twitter-topic", 1, 40L, 100L, 60L)), groupLag.partitions());
+    }
+
+    @Test
+    public void countsCommittedOffsetPastTheEndAsNoLag() {
+        final GroupLag groupLag = ConsumerLagMonitor.groupLag("group",
+                Map.of(PARTITION_0, new OffsetAndMetadata(105L)), Map.of(PARTITION_0, 100L), 0.0);
+
+        assertEquals(0L, groupLag.totalLag());
+    }
+
+    @Test
+    public void scalesBackpressureBetweenLowAndHighLag() {
+        assertEquals(0.0, ConsumerLagMonitor.backpressureLevel(1_000L, 1_000L, 5_000L));
+        assertEquals(0.5, ConsumerLagMonitor.backpressureLevel(3_000L, 1_000L, 5_000L));
+        assertEquals(1.0, ConsumerLagMonitor.backpressureLevel(9_000L, 1_000L, 5_000L));
+    }
+
+    @Test
+    public void fitsLagTrendOverTheLastSamples() {
+        final LagTrend trend = new LagTrend(3);
+        trend.add(1_000L, 500L);
+        assertEquals(0.0, trend.slopePerSecond());
+
+        trend.add(2_000L, 600L);
+        trend.add(3_000L, 700L);
+        assertEquals(100.0, trend.slopePerSecond(), 1e-9);
+
+        //The first sample drops out, the lag now falls by 200 per second.
+        trend.add(4_000L, 500L);
+        trend.add(5_000L, 300L);
+        assertEquals(-200.0, trend.slopePerSecond(), 1e-9);
+    }
+}
@@ -0,0 +1,100 @@
+package com.microservices.demo.kafka.consumer.config;
+
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.config.KafkaConsumerConfigData;
+import com.microservices.demo.kafka.codec.ZstdDictionaryCodec;
+import com.microservices.demo.kafka.consumer.config.zstd.ZstdDictionaryDeserializer;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class KafkaConsumerConfig<K extends Serializable, V extends SpecificRecordBase> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaConsumerConfig.class);
+    private final KafkaConfigData kafkaConfigData;
+    private final KafkaConsumerConfigData kafkaConsumerConfigData;
+
+    public KafkaConsumerConfig(final KafkaConfigData kafkaConfigData,
+                               final KafkaConsumerConfigData kafkaConsumerConfigData) {
+        this.kafkaConfigData = kafkaConfigData;
+        this.kafkaConsumerConfigData = kafkaConsumerConfigData;
+    }
+
+    @Bean
+    public Map<String, Object> consumerConfigs() {
+        final Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConfigData.getBootstrapServers());
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, kafkaConsumerConfigData.getKeyDeserializer());
+        if (kafkaConsumerConfigData.getZstdDictionaryDirectory() != null) {
+            props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ZstdDictionaryDeserializer.class.getName());
+            props.put(ZstdDictionaryCodec.DELEGATE_CONFIG, kafkaConsumerConfigData.getValueDeserializer());
+            props.put(ZstdDictionaryCodec.DIRECTORY_CONFIG, kafkaConsumerConfigData.getZstdDictionaryDirectory());
+        } else {
+            props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, kafkaConsumerConfigData.getValueDeserializer());
+        }
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, kafkaConsumerConfigData.getConsumerGroupId());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, kafkaConsumerConfigData.getAutoOffsetReset());
+        props.put(kafkaConfigData.getSchemaRegistryUrlKey(), kafkaConfigData.getSchemaRegistryUrl());
+        props.put(kafkaConsumerConfigData.getSpecificAvroReaderKey(), kafkaConsumerConfigData.getSpecificAvroReader());
+        //A fixed reader class, so the deserializer resolves the reader schema once instead of per writer schema.
+        if (kafkaConsumerConfigData.getSpecificAvroValueType() != null) {
+            props.put(kafkaConsumerConfigData.getSpecificAvroValueTypeKey(),
+                    kafkaConsumerConfigData.getSpecificAvroValueType());
+        }
+        props.put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, kafkaConsumerConfigData.getSessionTimeoutMs());
+        props.put(ConsumerConfig.HEARTBEAT_INTERVAL_MS_CONFIG, kafkaConsumerConfigData.getHeartbeatIntervalMs());
+        props.put(ConsumerConfig.MAX_POLL_INTERVAL_MS_CONFIG, kafkaConsumerConfigData.getMaxPollIntervalMs());
+        props.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG,
+                kafkaConsumerConfigData.getMaxPartitionFetchBytesDefault() *
+                        kafkaConsumerConfigData.getMaxPartitionFetchBytesBoostFactor());
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, kafkaConsumerConfigData.getMaxPollRecords());
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, kafkaConsumerConfigData.getFetchMinBytes());
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, kafkaConsumerConfigData.getFetchMaxWaitMs());
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return props;
+    }
+
+    @Bean
+    public ConsumerFactory<K, V> consumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(consumerConfigs());
+    }
+
+    /**
+     * Batch listener container factory. With the concurrency level set to the partition count every partition is
+     * read by its own thread. Offsets are committed asynchronously once commit-batch-size records were handled or
+     * commit-interval-ms passed, instead of once per record.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<K, V> kafkaListenerContainerFactory() {
+        final ConcurrentKafkaListenerContainerFactory<K, V> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setBatchListener(kafkaConsumerConfigData.getBatchListener());
+        factory.setConcurrency(kafkaConsumerConfigData.getConcurrencyLevel());
+        factory.setAutoStartup(kafkaConsumerConfigData.getAutoStartup());
+
+        final ContainerProperties containerProperties = factory.getContainerProperties();
+        containerProperties.setPollTimeout(kafkaConsumerConfigData.getPollTimeoutMs());
+        containerProperties.setAckMode(ContainerProperties.AckMode.COUNT_TIME);
+        containerProperties.setAckCount(kafkaConsumerConfigData.getCommitBatchSize());
+        containerProperties.setAckTime(kafkaConsumerConfigData.getCommitIntervalMs());
+        containerProperties.setSyncCommits(false);
+        containerProperties.setCommitCallback((offsets, exception) -> {
+            if (exception != null) {
+                LOGGER.warn("Error while committing offsets {}, they are committed again with the next batch.",
+                        offsets, exception);
+            }
+        });
+        return factory;
+    }
+}
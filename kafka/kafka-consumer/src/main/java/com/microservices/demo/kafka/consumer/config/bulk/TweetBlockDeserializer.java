@@ -0,0 +1,39 @@
+package com.microservices.demo.kafka.consumer.config.bulk;
+
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.codec.TweetBlockCodec;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.util.List;
+
+/**
+ * Unpacks the tweet blocks of the bulk topic, set as value deserializer of consumers reading it. Every record
+ * value becomes the list of its tweets, in the order they were packed.
+ */
+public class TweetBlockDeserializer implements Deserializer<List<TwitterAvroModel>> {
+    private final TweetBlockCodec codec = new TweetBlockCodec();
+
+    @Override
+    public List<TwitterAvroModel> deserialize(final String topic, final byte[] data) {
+        throw new SerializationException("Tweet block of topic " + topic + " without schema header!.");
+    }
+
+    @Override
+    public List<TwitterAvroModel> deserialize(final String topic, final Headers headers, final byte[] data) {
+        final Header header = headers.lastHeader(TweetBlockCodec.SCHEMA_HEADER);
+        if (header == null) {
+            return deserialize(topic, data);
+        }
+        if (data == null) {
+            return List.of();
+        }
+        try {
+            return codec.read(TweetBlockCodec.decodeFingerprint(header.value()), data);
+        } catch (final RuntimeException e) {
+            throw new SerializationException("Tweet block of topic " + topic + " could not be read!.", e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.microservices.demo.kafka.consumer.config.service;
+
+import org.apache.avro.specific.SpecificRecordBase;
+
+import java.io.Serializable;
+import java.util.List;
+
+public interface KafkaConsumer<K extends Serializable, V extends SpecificRecordBase> {
+    void receive(List<V> messages, List<K> keys, List<Integer> partitions, List<Long> offsets);
+}
@@ -0,0 +1,69 @@
+package com.microservices.demo.kafka.consumer.config.zstd;
+
+import com.microservices.demo.kafka.codec.ZstdDictionaryCodec;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.utils.Utils;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Deserializer decompressing records written with a zstd dictionary before handing them to the configured
+ * deserializer. The dictionary is picked by the version header of each record, records without the header were
+ * not compressed and are passed on as they are.
+ */
+public class ZstdDictionaryDeserializer implements Deserializer<Object> {
+    private Deserializer<Object> delegate;
+    private ZstdDictionaryCodec codec;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void configure(final Map<String, ?> configs, final boolean isKey) {
+        try {
+            delegate = Utils.newInstance((String) configs.get(ZstdDictionaryCodec.DELEGATE_CONFIG),
+                    Deserializer.class);
+        } catch (final ClassNotFoundException e) {
+            throw new IllegalArgumentException("Deserializer " + configs.get(ZstdDictionaryCodec.DELEGATE_CONFIG) +
+                    " not found!.", e);
+        }
+        delegate.configure(configs, isKey);
+        codec = new ZstdDictionaryCodec(Path.of((String) configs.get(ZstdDictionaryCodec.DIRECTORY_CONFIG)),
+                ZstdDictionaryCodec.DEFAULT_LEVEL);
+    }
+
+    @Override
+    public Object deserialize(final String topic, final byte[] data) {
+        return delegate.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(final String topic, final Headers headers, final byte[] data) {
+        final Header header = headers.lastHeader(ZstdDictionaryCodec.VERSION_HEADER);
+        if (header == null || data == null) {
+            return delegate.deserialize(topic, headers, data);
+        }
+        final int version = ZstdDictionaryCodec.decodeVersion(header.value());
+        final byte[] bytes;
+        try {
+            bytes = codec.decompress(version, data);
+        } catch (final UncheckedIOException e) {
+            throw new SerializationException("No zstd dictionary for version " + version + " of a record in topic " +
+                    topic + "!.", e);
+        } catch (final RuntimeException e) {
+            throw new SerializationException("Record in topic " + topic + " could not be decompressed with zstd " +
+                    "dictionary version " + version + "!.", e);
+        }
+        return delegate.deserialize(topic, headers, bytes);
+    }
+
+    @Override
+    public void close() {
+        if (delegate != null) {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.microservices.demo.kafka.consumer.config;
+
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.config.KafkaConsumerConfigData;
+import com.microservices.demo.config.KafkaProducerConfigData;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.producer.config.KafkaProducerConfig;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Records per second consumed by one consumer group from a single node, for a few max.poll.records settings.
+ * Run with: mvn test -Pperformance
+ */
+@Tag("performance")
+@EmbeddedKafka(count = 1, partitions = 3, topics = KafkaConsumerThroughputTest.TOPIC_NAME)
+class KafkaConsumerThroughputTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaConsumerThroughputTest.class);
+    static final String TOPIC_NAME = "twitter-topic";
+    private static final int RECORD_COUNT = Integer.getInteger("performance.record-count", 200_000);
+    private static final int[] MAX_POLL_RECORDS = {500, 2000, 5000};
+    private static final long CONSUME_TIMEOUT_MS = 120_000L;
+
+    @BeforeAll
+    static void produceRecords(final EmbeddedKafkaBroker broker) {
+        final KafkaTemplate<Long, TwitterAvroModel> kafkaTemplate = new KafkaProducerConfig<Long, TwitterAvroModel>(
+                kafkaConfig(broker), producerConfig()).kafkaTemplate();
+        for (int i = 0; i < RECORD_COUNT; ++i) {
+            final TwitterAvroModel model = TwitterAvroModel.newBuilder()
+                    .setId(i)
+                    .setUserId(i % 1000)
+                    .setText("Java records make Kafka consumers simple " + i)
+                    .setCreatedAt(System.currentTimeMillis())
+                    .build();
+            kafkaTemplate.send(TOPIC_NAME, model.getUserId(), model);
+        }
+        kafkaTemplate.flush();
+        kafkaTemplate.destroy();
+    }
+
+    @Test
+    public void consumesWithBatchListener(final EmbeddedKafkaBroker broker) throws Exception {
+        for (final int maxPollRecords : MAX_POLL_RECORDS) {
+            final KafkaConsumerConfig<Long, TwitterAvroModel> consumerConfig =
+                    new KafkaConsumerConfig<>(kafkaConfig(broker), consumerConfig(maxPollRecords));
+            final ConcurrentMessageListenerContainer<Long, TwitterAvroModel> container =
+                    consumerConfig.kafkaListenerContainerFactory().createContainer(TOPIC_NAME);
+            final LongAdder consumed = new LongAdder();
+            final AtomicLong firstRecordNanos = new AtomicLong();
+            container.getContainerProperties().setMessageListener(
+                    (BatchMessageListener<Long, TwitterAvroModel>) records -> {
+                        firstRecordNanos.compareAndSet(0L, System.nanoTime());
+                        consumed.add(records.size());
+                    });
+
+            container.start();
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CONSUME_TIMEOUT_MS);
+            while (consumed.sum() < RECORD_COUNT && System.nanoTime() < deadline) {
+                Thread.sleep(10L);
+            }
+            final long elapsedNanos = System.nanoTime() - firstRecordNanos.get();
+            container.stop();
+
+            assertEquals(RECORD_COUNT, consumed.sum(), "Not every record was consumed");
+            LOGGER.info("max.poll.records {}: consumed {} records in {} ms, {} records/sec", maxPollRecords,
+                    RECORD_COUNT, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    RECORD_COUNT * 1_000_000_000L / elapsedNanos);
+        }
+    }
+
+    private static KafkaConfigData kafkaConfig(final EmbeddedKafkaBroker broker) {
+        final KafkaConfigData kafkaConfigData = new KafkaConfigData();
+        kafkaConfigData.setBootstrapServers(broker.getBrokersAsString());
+        kafkaConfigData.setSchemaRegistryUrlKey("schema.registry.url");
+        kafkaConfigData.setSchemaRegistryUrl("mock://consumer-benchmark");
+        kafkaConfigData.setTopicName(TOPIC_NAME);
+        return kafkaConfigData;
+    }
+
+    private static KafkaProducerConfigData producerConfig() {
+        final KafkaProducerConfigData producerConfigData = new KafkaProducerConfigData();
+        producerConfigData.setKeySerializerClass("org.apache.kafka.common.serialization.LongSerializer");
+        producerConfigData.setValueSerializerClass("io.confluent.kafka.serializers.KafkaAvroSerializer");
+        producerConfigData.setCompressionType("snappy");
+        producerConfigData.setAcks("1");
+        producerConfigData.setBatchSize(16384);
+        producerConfigData.setBatchSizeBoostFactor(100);
+        producerConfigData.setLingerMs(5);
+        producerConfigData.setRequestTimeoutMs(60000);
+        producerConfigData.setRetryCount(5);
+        producerConfigData.setReactiveMaxInFlight(1024);
+        return producerConfigData;
+    }
+
+    private static KafkaConsumerConfigData consumerConfig(final int maxPollRecords) {
+        final KafkaConsumerConfigData consumerConfigData = new KafkaConsumerConfigData();
+        consumerConfigData.setKeyDeserializer("org.apache.kafka.common.serialization.LongDeserializer");
+        consumerConfigData.setValueDeserializer("io.confluent.kafka.serializers.KafkaAvroDeserializer");
+        consumerConfigData.setConsumerGroupId("consumer-benchmark-" + maxPollRecords);
+        consumerConfigData.setAutoOffsetReset("earliest");
+        consumerConfigData.setSpecificAvroReaderKey("specific.avro.reader");
+        consumerConfigData.setSpecificAvroReader("true");
+        consumerConfigData.setSpecificAvroValueTypeKey("specific.avro.value.type");
+        consumerConfigData.setSpecificAvroValueType(TwitterAvroModel.class.getName());
+        consumerConfigData.setBatchListener(true);
+        consumerConfigData.setAutoStartup(true);
+        consumerConfigData.setConcurrencyLevel(3);
+        consumerConfigData.setSessionTimeoutMs(10000);
+        consumerConfigData.setHeartbeatIntervalMs(3000);
+        consumerConfigData.setMaxPollIntervalMs(300000);
+        consumerConfigData.setMaxPollRecords(maxPollRecords);
+        consumerConfigData.setMaxPartitionFetchBytesDefault(1048576);
+        consumerConfigData.setMaxPartitionFetchBytesBoostFactor(4);
+        consumerConfigData.setFetchMinBytes(65536);
+        consumerConfigData.setFetchMaxWaitMs(100);
+        consumerConfigData.setPollTimeoutMs(150L);
+        consumerConfigData.setCommitBatchSize(maxPollRecords * 4);
+        consumerConfigData.setCommitIntervalMs(1000L);
+        return consumerConfigData;
+    }
+}
@@ -0,0 +1,111 @@
+package com.microservices.demo.kafka.consumer.config.bulk;
+
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.codec.TweetBlockCodec;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TweetBlockDeserializerTest {
+    private static final String TOPIC_NAME = "twitter-bulk-topic";
+    //The tweet schema before hashtags, near duplicates and user profiles were added.
+    private static final Schema FIRST_TWEET_SCHEMA = new Schema.Parser().parse("""
+            {"namespace": "com.microservices.demo.kafka.avro.model", "type": "record", "name": "TwitterAvroModel",
+             "fields": [{"name": "userId", "type": "long"}, {"name": "id", "type": "long"},
+                        {"name": "text", "type": ["null", "string"]},
+                        {"name": "createdAt", "type": ["null", "long"]}]}""");
+
+    @Test
+    public void unpacksTweetsInPackedOrder() {
+        final TweetBlockCodec.BlockWriter writer = new TweetBlockCodec.BlockWriter(1024);
+        for (long id = 1; id <= 3; ++id) {
+            writer.append(tweet(id));
+        }
+        final List<TwitterAvroModel> tweets =
+                new TweetBlockDeserializer().deserialize(TOPIC_NAME, headers(TweetBlockCodec.SCHEMA_FINGERPRINT),
+                        writer.toBlock());
+
+        assertEquals(List.of(tweet(1L), tweet(2L), tweet(3L)), tweets);
+    }
+
+    @Test
+    public void reusesWriterAfterReset() {
+        final TweetBlockCodec.BlockWriter writer = new TweetBlockCodec.BlockWriter(1024);
+        writer.append(tweet(1L));
+        writer.toBlock();
+        writer.reset();
+        writer.append(tweet(2L));
+
+        assertEquals(1, writer.getRecordCount());
+        assertEquals(List.of(tweet(2L)), new TweetBlockCodec().read(TweetBlockCodec.SCHEMA_FINGERPRINT,
+                writer.toBlock()));
+    }
+
+    @Test
+    public void resolvesBlocksOfAnAddedWriterSchema() throws IOException {
+        final ByteArrayOutputStream block = new ByteArrayOutputStream();
+        final BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(block, null);
+        final ByteArrayOutputStream records = new ByteArrayOutputStream();
+        final BinaryEncoder recordEncoder = EncoderFactory.get().directBinaryEncoder(records, null);
+        final GenericRecord oldTweet = new GenericData.Record(FIRST_TWEET_SCHEMA);
+        oldTweet.put("userId", 7L);
+        oldTweet.put("id", 1L);
+        oldTweet.put("text", "written before hashtags");
+        oldTweet.put("createdAt", 1000L);
+        new GenericDatumWriter<GenericRecord>(FIRST_TWEET_SCHEMA).write(oldTweet, recordEncoder);
+        encoder.writeLong(1L);
+        encoder.writeLong(records.size());
+        records.writeTo(block);
+        final long fingerprint = SchemaNormalization.parsingFingerprint64(FIRST_TWEET_SCHEMA);
+
+        final TweetBlockCodec codec = new TweetBlockCodec();
+        assertThrows(IllegalArgumentException.class, () -> codec.read(fingerprint, block.toByteArray()));
+        codec.addWriterSchema(FIRST_TWEET_SCHEMA);
+        final TwitterAvroModel tweet = codec.read(fingerprint, block.toByteArray()).get(0);
+
+        assertEquals("written before hashtags", tweet.getText());
+        assertEquals(List.of(), tweet.getHashtags());
+        assertNull(tweet.getRegion());
+    }
+
+    @Test
+    public void rejectsBlocksOfUnknownSchema() {
+        final TweetBlockDeserializer deserializer = new TweetBlockDeserializer();
+        assertThrows(SerializationException.class,
+                () -> deserializer.deserialize(TOPIC_NAME, headers(42L), new byte[]{2, 2, 0}));
+        assertThrows(SerializationException.class,
+                () -> deserializer.deserialize(TOPIC_NAME, new RecordHeaders(), new byte[]{2, 2, 0}));
+    }
+
+    private static Headers headers(final long fingerprint) {
+        final Headers headers = new RecordHeaders();
+        headers.add(TweetBlockCodec.SCHEMA_HEADER, TweetBlockCodec.encodeFingerprint(fingerprint));
+        return headers;
+    }
+
+    private static TwitterAvroModel tweet(final long id) {
+        return TwitterAvroModel.newBuilder()
+                .setId(id)
+                .setUserId(id % 2)
+                .setText("Kafka tweet " + id)
+                .setCreatedAt(1000L + id)
+                .setHashtags(List.of("kafka"))
+                .setMentions(List.of())
+                .setUrls(List.of())
+                .build();
+    }
+}
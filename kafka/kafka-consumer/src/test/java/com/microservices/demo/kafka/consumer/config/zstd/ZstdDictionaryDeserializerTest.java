@@ -0,0 +1,103 @@
+package com.microservices.demo.kafka.consumer.config.zstd;
+
+import com.microservices.demo.kafka.codec.ZstdDictionaryCodec;
+import com.microservices.demo.kafka.codec.ZstdDictionaryTrainer;
+import com.microservices.demo.kafka.producer.config.zstd.ZstdDictionarySerializer;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZstdDictionaryDeserializerTest {
+    private static final String TOPIC_NAME = "twitter-topic";
+    private static final String[] WORDS = {"java", "kafka", "microservices", "spring", "boot", "stream", "event",
+            "latency", "throughput", "partition", "consumer", "producer", "#kafka", "#java", "@springboot"};
+
+    @TempDir
+    Path dictionaryDirectory;
+
+    @Test
+    public void roundTripsWithTheDictionaryNamedInTheHeader() throws IOException {
+        ZstdDictionaryTrainer.save(dictionaryDirectory, 1, ZstdDictionaryTrainer.train(samples(1L), 4096));
+        ZstdDictionaryTrainer.save(dictionaryDirectory, 2, ZstdDictionaryTrainer.train(samples(2L), 4096));
+        try (ZstdDictionarySerializer serializerV1 = serializer(1);
+             ZstdDictionarySerializer serializerV2 = serializer(2);
+             ZstdDictionaryDeserializer deserializer = deserializer()) {
+            final String text = "Kafka producer latency on a java spring boot stream #kafka @springboot";
+            final Headers headersV1 = new RecordHeaders();
+            final byte[] compressedV1 = serializerV1.serialize(TOPIC_NAME, headersV1, text);
+            final Headers headersV2 = new RecordHeaders();
+            final byte[] compressedV2 = serializerV2.serialize(TOPIC_NAME, headersV2, text);
+
+            assertEquals(1, ZstdDictionaryCodec.decodeVersion(
+                    headersV1.lastHeader(ZstdDictionaryCodec.VERSION_HEADER).value()));
+            assertEquals(2, ZstdDictionaryCodec.decodeVersion(
+                    headersV2.lastHeader(ZstdDictionaryCodec.VERSION_HEADER).value()));
+            assertTrue(compressedV1.length < text.getBytes(StandardCharsets.UTF_8).length);
+            assertEquals(text, deserializer.deserialize(TOPIC_NAME, headersV1, compressedV1));
+            assertEquals(text, deserializer.deserialize(TOPIC_NAME, headersV2, compressedV2));
+        }
+    }
+
+    @Test
+    public void passesRecordsWithoutHeaderThrough() throws IOException {
+        ZstdDictionaryTrainer.save(dictionaryDirectory, 1, ZstdDictionaryTrainer.train(samples(1L), 4096));
+        try (ZstdDictionarySerializer serializer = serializer(1);
+             ZstdDictionaryDeserializer deserializer = deserializer()) {
+            final byte[] plain = serializer.serialize(TOPIC_NAME, "written without headers");
+            assertEquals("written without headers",
+                    deserializer.deserialize(TOPIC_NAME, new RecordHeaders(), plain));
+        }
+    }
+
+    @Test
+    public void rejectsUnknownDictionaryVersion() {
+        try (ZstdDictionaryDeserializer deserializer = deserializer()) {
+            final Headers headers = new RecordHeaders();
+            headers.add(ZstdDictionaryCodec.VERSION_HEADER, ZstdDictionaryCodec.encodeVersion(7));
+            assertThrows(SerializationException.class,
+                    () -> deserializer.deserialize(TOPIC_NAME, headers, new byte[]{1, 2, 3}));
+        }
+    }
+
+    private ZstdDictionarySerializer serializer(final int version) {
+        final ZstdDictionarySerializer serializer = new ZstdDictionarySerializer();
+        serializer.configure(Map.of(ZstdDictionaryCodec.DELEGATE_CONFIG, StringSerializer.class.getName(),
+                ZstdDictionaryCodec.DIRECTORY_CONFIG, dictionaryDirectory.toString(),
+                ZstdDictionaryCodec.VERSION_CONFIG, version), false);
+        return serializer;
+    }
+
+    private ZstdDictionaryDeserializer deserializer() {
+        final ZstdDictionaryDeserializer deserializer = new ZstdDictionaryDeserializer();
+        deserializer.configure(Map.of(ZstdDictionaryCodec.DELEGATE_CONFIG, StringDeserializer.class.getName(),
+                ZstdDictionaryCodec.DIRECTORY_CONFIG, dictionaryDirectory.toString()), false);
+        return deserializer;
+    }
+
+    private static List<byte[]> samples(final long seed) {
+        final Random random = new Random(seed);
+        final List<byte[]> samples = new ArrayList<>();
+        for (int i = 0; i < 2000; ++i) {
+            final StringBuilder text = new StringBuilder();
+            for (int word = 0; word < 12; ++word) {
+                text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            samples.add(text.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return samples;
+    }
+}
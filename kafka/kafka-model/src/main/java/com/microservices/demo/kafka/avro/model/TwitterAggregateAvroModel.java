@@ -0,0 +1,938 @@
+/**
+ * Autogenerated by Avro
+ *
+ * DO NOT EDIT DIRECTLY
+ */
+package com.microservices.demo.kafka.avro.model;
+
+import org.apache.avro.generic.GenericArray;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.util.Utf8;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.message.SchemaStore;
+
+@org.apache.avro.specific.AvroGenerated
+public class TwitterAggregateAvroModel extends org.apache.avro.specific.SpecificRecordBase implements org.apache.avro.specific.SpecificRecord {
+  private static final long serialVersionUID = 5909652775825643592L;
+
+
+  public static final org.apache.avro.Schema SCHEMA$ = new org.apache.avro.Schema.Parser().parse("{\"type\":\"record\",\"name\":\"TwitterAggregateAvroModel\",\"namespace\":\"com.microservices.demo.kafka.avro.model\",\"fields\":[{\"name\":\"windowStart\",\"type\":\"long\"},{\"name\":\"windowEnd\",\"type\":\"long\"},{\"name\":\"tweetCount\",\"type\":\"long\"},{\"name\":\"userIds\",\"type\":{\"type\":\"array\",\"items\":\"long\"}},{\"name\":\"userCounts\",\"type\":{\"type\":\"array\",\"items\":\"int\"}},{\"name\":\"keywords\",\"type\":{\"type\":\"array\",\"items\":{\"type\":\"string\",\"avro.java.string\":\"String\"}}},{\"name\":\"keywordCounts\",\"type\":{\"type\":\"array\",\"items\":\"int\"}}]}");
+  public static org.apache.avro.Schema getClassSchema() { return SCHEMA$; }
+
+  private static final SpecificData MODEL$ = new SpecificData();
+
+  private static final BinaryMessageEncoder<TwitterAggregateAvroModel> ENCODER =
+      new BinaryMessageEncoder<TwitterAggregateAvroModel>(MODEL$, SCHEMA$);
+
+  private static final BinaryMessageDecoder<TwitterAggregateAvroModel> DECODER =
+      new BinaryMessageDecoder<TwitterAggregateAvroModel>(MODEL$, SCHEMA$);
+
+  /**
+   * Return the BinaryMessageEncoder instance used by this class.
+   * @return the message encoder used by this class
+   */
+  public static BinaryMessageEncoder<TwitterAggregateAvroModel> getEncoder() {
+    return ENCODER;
+  }
+
+  /**
+   * Return the BinaryMessageDecoder instance used by this class.
+   * @return the message decoder used by this class
+   */
+  public static BinaryMessageDecoder<TwitterAggregateAvroModel> getDecoder() {
+    return DECODER;
+  }
+
+  /**
+   * Create a new BinaryMessageDecoder instance for this class that uses the specified {@link SchemaStore}.
+   * @param resolver a {@link SchemaStore} used to find schemas by fingerprint
+   * @return a BinaryMessageDecoder instance for this class backed by the given SchemaStore
+   */
+  public static BinaryMessageDecoder<TwitterAggregateAvroModel> createDecoder(SchemaStore resolver) {
+    return new BinaryMessageDecoder<TwitterAggregateAvroModel>(MODEL$, SCHEMA$, resolver);
+  }
+
+  /**
+   * Serializes this TwitterAggregateAvroModel to a ByteBuffer.
+   * @return a buffer holding the serialized data for this instance
+   * @throws java.io.IOException if this instance could not be serialized
+   */
+  public java.nio.ByteBuffer toByteBuffer() throws java.io.IOException {
+    return ENCODER.encode(this);
+  }
+
+  /**
+   * Deserializes a TwitterAggregateAvroModel from a ByteBuffer.
+   * @param b a byte buffer holding serialized data for an instance of this class
+   * @return a TwitterAggregateAvroModel instance decoded from the given buffer
+   * @throws java.io.IOException if the given bytes could not be deserialized into an instance of this class
+   */
+  public static TwitterAggregateAvroModel fromByteBuffer(
+      java.nio.ByteBuffer b) throws java.io.IOException {
+    return DECODER.decode(b);
+  }
+
+  private long windowStart;
+  private long windowEnd;
+  private long tweetCount;
+  private java.util.List<java.lang.Long> userIds;
+  private java.util.List<java.lang.Integer> userCounts;
+  private java.util.List<java.lang.String> keywords;
+  private java.util.List<java.lang.Integer> keywordCounts;
+
+  /**
+   * Default constructor.  Note that this does not initialize fields
+   * to their default values from the schema.  If that is desired then
+   * one should use <code>newBuilder()</code>.
+   */
+  public TwitterAggregateAvroModel() {}
+
+  /**
+   * All-args constructor.
+   * @param windowStart The new value for windowStart
+   * @param windowEnd The new value for windowEnd
+   * @param tweetCount The new value for tweetCount
+   * @param userIds The new value for userIds
+   * @param userCounts The new value for userCounts
+   * @param keywords The new value for keywords
+   * @param keywordCounts The new value for keywordCounts
+   */
+  public TwitterAggregateAvroModel(java.lang.Long windowStart, java.lang.Long windowEnd, java.lang.Long tweetCount, java.util.List<java.lang.Long> userIds, java.util.List<java.lang.Integer> userCounts, java.util.List<java.lang.String> keywords, java.util.List<java.lang.Integer> keywordCounts) {
+    this.windowStart = windowStart;
+    this.windowEnd = windowEnd;
+    this.tweetCount = tweetCount;
+    this.userIds = userIds;
+    this.userCounts = userCounts;
+    this.keywords = keywords;
+    this.keywordCounts = keywordCounts;
+  }
+
+  public org.apache.avro.specific.SpecificData getSpecificData() { return MODEL$; }
+  public org.apache.avro.Schema getSchema() { return SCHEMA$; }
+  // Used by DatumWriter.  Applications should not call.
+  public java.lang.Object get(int field$) {
+    switch (field$) {
+    case 0: return windowStart;
+    case 1: return windowEnd;
+    case 2: return tweetCount;
+    case 3: return userIds;
+    case 4: return userCounts;
+    case 5: return keywords;
+    case 6: return keywordCounts;
+    default: throw new IndexOutOfBoundsException("Invalid index: " + field$);
+    }
+  }
+
+  // Used by DatumReader.  Applications should not call.
+  @SuppressWarnings(value="unchecked")
+  public void put(int field$, java.lang.Object value$) {
+    switch (field$) {
+    case 0: windowStart = (java.lang.Long)value$; break;
+    case 1: windowEnd = (java.lang.Long)value$; break;
+    case 2: tweetCount = (java.lang.Long)value$; break;
+    case 3: userIds = (java.util.List<java.lang.Long>)value$; break;
+    case 4: userCounts = (java.util.List<java.lang.Integer>)value$; break;
+    case 5: keywords = (java.util.List<java.lang.String>)value$; break;
+    case 6: keywordCounts = (java.util.List<java.lang.Integer>)value$; break;
+    default: throw new IndexOutOfBoundsException("Invalid index: " + field$);
+    }
+  }
+
+  /**
+   * Gets the value of the 'windowStart' field.
+   * @return The value of the 'windowStart' field.
+   */
+  public long getWindowStart() {
+    return windowStart;
+  }
+
+
+  /**
+   * Sets the value of the 'windowStart' field.
+   * @param value the value to set.
+   */
+  public void setWindowStart(long value) {
+    this.windowStart = value;
+  }
+
+  /**
+   * Gets the value of the 'windowEnd' field.
+   * @return The value of the 'windowEnd' field.
+   */
+  public long getWindowEnd() {
+    return windowEnd;
+  }
+
+
+  /**
+   * Sets the value of the 'windowEnd' field.
+   * @param value the value to set.
+   */
+  public void setWindowEnd(long value) {
+    this.windowEnd = value;
+  }
+
+  /**
+   * Gets the value of the 'tweetCount' field.
+   * @return The value of the 'tweetCount' field.
+   */
+  public long getTweetCount() {
+    return tweetCount;
+  }
+
+
+  /**
+   * Sets the value of the 'tweetCount' field.
+   * @param value the value to set.
+   */
+  public void setTweetCount(long value) {
+    this.tweetCount = value;
+  }
+
+  /**
+   * Gets the value of the 'userIds' field.
+   * @return The value of the 'userIds' field.
+   */
+  public java.util.List<java.lang.Long> getUserIds() {
+    return userIds;
+  }
+
+
+  /**
+   * Sets the value of the 'userIds' field.
+   * @param value the value to set.
+   */
+  public void setUserIds(java.util.List<java.lang.Long> value) {
+    this.userIds = value;
+  }
+
+  /**
+   * Gets the value of the 'userCounts' field.
+   * @return The value of the 'userCounts' field.
+   */
+  public java.util.List<java.lang.Integer> getUserCounts() {
+    return userCounts;
+  }
+
+
+  /**
+   * Sets the value of the 'userCounts' field.
+   * @param value the value to set.
+   */
+  public void setUserCounts(java.util.List<java.lang.Integer> value) {
+    this.userCounts = value;
+  }
+
+  /**
+   * Gets the value of the 'keywords' field.
+   * @return The value of the 'keywords' field.
+   */
+  public java.util.List<java.lang.String> getKeywords() {
+    return keywords;
+  }
+
+
+  /**
+   * Sets the value of the 'keywords' field.
+   * @param value the value to set.
+   */
+  public void setKeywords(java.util.List<java.lang.String> value) {
+    this.keywords = value;
+  }
+
+  /**
+   * Gets the value of the 'keywordCounts' field.
+   * @return The value of the 'keywordCounts' field.
+   */
+  public java.util.List<java.lang.Integer> getKeywordCounts() {
+    return keywordCounts;
+  }
+
+
+  /**
+   * Sets the value of the 'keywordCounts' field.
+   * @param value the value to set.
+   */
+  public void setKeywordCounts(java.util.List<java.lang.Integer> value) {
+    this.keywordCounts = value;
+  }
+
+  /**
+   * Creates a new TwitterAggregateAvroModel RecordBuilder.
+   * @return A new TwitterAggregateAvroModel RecordBuilder
+   */
+  public static com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder newBuilder() {
+    return new com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder();
+  }
+
+  /**
+   * Creates a new TwitterAggregateAvroModel RecordBuilder by copying an existing Builder.
+   * @param other The existing builder to copy.
+   * @return A new TwitterAggregateAvroModel RecordBuilder
+   */
+  public static com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder newBuilder(com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder other) {
+    if (other == null) {
+      return new com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder();
+    } else {
+      return new com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder(other);
+    }
+  }
+
+  /**
+   * Creates a new TwitterAggregateAvroModel RecordBuilder by copying an existing TwitterAggregateAvroModel instance.
+   * @param other The existing instance to copy.
+   * @return A new TwitterAggregateAvroModel RecordBuilder
+   */
+  public static com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder newBuilder(com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel other) {
+    if (other == null) {
+      return new com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder();
+    } else {
+      return new com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder(other);
+    }
+  }
+
+  /**
+   * RecordBuilder for TwitterAggregateAvroModel instances.
+   */
+  @org.apache.avro.specific.AvroGenerated
+  public static class Builder extends org.apache.avro.specific.SpecificRecordBuilderBase<TwitterAggregateAvroModel>
+    implements org.apache.avro.data.RecordBuilder<TwitterAggregateAvroModel> {
+
+    private long windowStart;
+    private long windowEnd;
+    private long tweetCount;
+    private java.util.List<java.lang.Long> userIds;
+    private java.util.List<java.lang.Integer> userCounts;
+    private java.util.List<java.lang.String> keywords;
+    private java.util.List<java.lang.Integer> keywordCounts;
+
+    /** Creates a new Builder */
+    private Builder() {
+      super(SCHEMA$, MODEL$);
+    }
+
+    /**
+     * Creates a Builder by copying an existing Builder.
+     * @param other The existing Builder to copy.
+     */
+    private Builder(com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder other) {
+      super(other);
+      if (isValidValue(fields()[0], other.windowStart)) {
+        this.windowStart = data().deepCopy(fields()[0].schema(), other.windowStart);
+        fieldSetFlags()[0] = other.fieldSetFlags()[0];
+      }
+      if (isValidValue(fields()[1], other.windowEnd)) {
+        this.windowEnd = data().deepCopy(fields()[1].schema(), other.windowEnd);
+        fieldSetFlags()[1] = other.fieldSetFlags()[1];
+      }
+      if (isValidValue(fields()[2], other.tweetCount)) {
+        this.tweetCount = data().deepCopy(fields()[2].schema(), other.tweetCount);
+        fieldSetFlags()[2] = other.fieldSetFlags()[2];
+      }
+      if (isValidValue(fields()[3], other.userIds)) {
+        this.userIds = data().deepCopy(fields()[3].schema(), other.userIds);
+        fieldSetFlags()[3] = other.fieldSetFlags()[3];
+      }
+      if (isValidValue(fields()[4], other.userCounts)) {
+        this.userCounts = data().deepCopy(fields()[4].schema(), other.userCounts);
+        fieldSetFlags()[4] = other.fieldSetFlags()[4];
+      }
+      if (isValidValue(fields()[5], other.keywords)) {
+        this.keywords = data().deepCopy(fields()[5].schema(), other.keywords);
+        fieldSetFlags()[5] = other.fieldSetFlags()[5];
+      }
+      if (isValidValue(fields()[6], other.keywordCounts)) {
+        this.keywordCounts = data().deepCopy(fields()[6].schema(), other.keywordCounts);
+        fieldSetFlags()[6] = other.fieldSetFlags()[6];
+      }
+    }
+
+    /**
+     * Creates a Builder by copying an existing TwitterAggregateAvroModel instance
+     * @param other The existing instance to copy.
+     */
+    private Builder(com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel other) {
+      super(SCHEMA$, MODEL$);
+      if (isValidValue(fields()[0], other.windowStart)) {
+        this.windowStart = data().deepCopy(fields()[0].schema(), other.windowStart);
+        fieldSetFlags()[0] = true;
+      }
+      if (isValidValue(fields()[1], other.windowEnd)) {
+        this.windowEnd = data().deepCopy(fields()[1].schema(), other.windowEnd);
+        fieldSetFlags()[1] = true;
+      }
+      if (isValidValue(fields()[2], other.tweetCount)) {
+        this.tweetCount = data().deepCopy(fields()[2].schema(), other.tweetCount);
+        fieldSetFlags()[2] = true;
+      }
+      if (isValidValue(fields()[3], other.userIds)) {
+        this.userIds = data().deepCopy(fields()[3].schema(), other.userIds);
+        fieldSetFlags()[3] = true;
+      }
+      if (isValidValue(fields()[4], other.userCounts)) {
+        this.userCounts = data().deepCopy(fields()[4].schema(), other.userCounts);
+        fieldSetFlags()[4] = true;
+      }
+      if (isValidValue(fields()[5], other.keywords)) {
+        this.keywords = data().deepCopy(fields()[5].schema(), other.keywords);
+        fieldSetFlags()[5] = true;
+      }
+      if (isValidValue(fields()[6], other.keywordCounts)) {
+        this.keywordCounts = data().deepCopy(fields()[6].schema(), other.keywordCounts);
+        fieldSetFlags()[6] = true;
+      }
+    }
+
+    /**
+      * Gets the value of the 'windowStart' field.
+      * @return The value.
+      */
+    public long getWindowStart() {
+      return windowStart;
+    }
+
+
+    /**
+      * Sets the value of the 'windowStart' field.
+      * @param value The value of 'windowStart'.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder setWindowStart(long value) {
+      validate(fields()[0], value);
+      this.windowStart = value;
+      fieldSetFlags()[0] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'windowStart' field has been set.
+      * @return True if the 'windowStart' field has been set, false otherwise.
+      */
+    public boolean hasWindowStart() {
+      return fieldSetFlags()[0];
+    }
+
+
+    /**
+      * Clears the value of the 'windowStart' field.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder clearWindowStart() {
+      fieldSetFlags()[0] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'windowEnd' field.
+      * @return The value.
+      */
+    public long getWindowEnd() {
+      return windowEnd;
+    }
+
+
+    /**
+      * Sets the value of the 'windowEnd' field.
+      * @param value The value of 'windowEnd'.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder setWindowEnd(long value) {
+      validate(fields()[1], value);
+      this.windowEnd = value;
+      fieldSetFlags()[1] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'windowEnd' field has been set.
+      * @return True if the 'windowEnd' field has been set, false otherwise.
+      */
+    public boolean hasWindowEnd() {
+      return fieldSetFlags()[1];
+    }
+
+
+    /**
+      * Clears the value of the 'windowEnd' field.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder clearWindowEnd() {
+      fieldSetFlags()[1] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'tweetCount' field.
+      * @return The value.
+      */
+    public long getTweetCount() {
+      return tweetCount;
+    }
+
+
+    /**
+      * Sets the value of the 'tweetCount' field.
+      * @param value The value of 'tweetCount'.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder setTweetCount(long value) {
+      validate(fields()[2], value);
+      this.tweetCount = value;
+      fieldSetFlags()[2] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'tweetCount' field has been set.
+      * @return True if the 'tweetCount' field has been set, false otherwise.
+      */
+    public boolean hasTweetCount() {
+      return fieldSetFlags()[2];
+    }
+
+
+    /**
+      * Clears the value of the 'tweetCount' field.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder clearTweetCount() {
+      fieldSetFlags()[2] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'userIds' field.
+      * @return The value.
+      */
+    public java.util.List<java.lang.Long> getUserIds() {
+      return userIds;
+    }
+
+
+    /**
+      * Sets the value of the 'userIds' field.
+      * @param value The value of 'userIds'.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder setUserIds(java.util.List<java.lang.Long> value) {
+      validate(fields()[3], value);
+      this.userIds = value;
+      fieldSetFlags()[3] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'userIds' field has been set.
+      * @return True if the 'userIds' field has been set, false otherwise.
+      */
+    public boolean hasUserIds() {
+      return fieldSetFlags()[3];
+    }
+
+
+    /**
+      * Clears the value of the 'userIds' field.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder clearUserIds() {
+      userIds = null;
+      fieldSetFlags()[3] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'userCounts' field.
+      * @return The value.
+      */
+    public java.util.List<java.lang.Integer> getUserCounts() {
+      return userCounts;
+    }
+
+
+    /**
+      * Sets the value of the 'userCounts' field.
+      * @param value The value of 'userCounts'.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder setUserCounts(java.util.List<java.lang.Integer> value) {
+      validate(fields()[4], value);
+      this.userCounts = value;
+      fieldSetFlags()[4] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'userCounts' field has been set.
+      * @return True if the 'userCounts' field has been set, false otherwise.
+      */
+    public boolean hasUserCounts() {
+      return fieldSetFlags()[4];
+    }
+
+
+    /**
+      * Clears the value of the 'userCounts' field.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder clearUserCounts() {
+      userCounts = null;
+      fieldSetFlags()[4] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'keywords' field.
+      * @return The value.
+      */
+    public java.util.List<java.lang.String> getKeywords() {
+      return keywords;
+    }
+
+
+    /**
+      * Sets the value of the 'keywords' field.
+      * @param value The value of 'keywords'.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder setKeywords(java.util.List<java.lang.String> value) {
+      validate(fields()[5], value);
+      this.keywords = value;
+      fieldSetFlags()[5] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'keywords' field has been set.
+      * @return True if the 'keywords' field has been set, false otherwise.
+      */
+    public boolean hasKeywords() {
+      return fieldSetFlags()[5];
+    }
+
+
+    /**
+      * Clears the value of the 'keywords' field.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder clearKeywords() {
+      keywords = null;
+      fieldSetFlags()[5] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'keywordCounts' field.
+      * @return The value.
+      */
+    public java.util.List<java.lang.Integer> getKeywordCounts() {
+      return keywordCounts;
+    }
+
+
+    /**
+      * Sets the value of the 'keywordCounts' field.
+      * @param value The value of 'keywordCounts'.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder setKeywordCounts(java.util.List<java.lang.Integer> value) {
+      validate(fields()[6], value);
+      this.keywordCounts = value;
+      fieldSetFlags()[6] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'keywordCounts' field has been set.
+      * @return True if the 'keywordCounts' field has been set, false otherwise.
+      */
+    public boolean hasKeywordCounts() {
+      return fieldSetFlags()[6];
+    }
+
+
+    /**
+      * Clears the value of the 'keywordCounts' field.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel.Builder clearKeywordCounts() {
+      keywordCounts = null;
+      fieldSetFlags()[6] = false;
+      return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public TwitterAggregateAvroModel build() {
+      try {
+        TwitterAggregateAvroModel record = new TwitterAggregateAvroModel();
+        record.windowStart = fieldSetFlags()[0] ? this.windowStart : (java.lang.Long) defaultValue(fields()[0]);
+        record.windowEnd = fieldSetFlags()[1] ? this.windowEnd : (java.lang.Long) defaultValue(fields()[1]);
+        record.tweetCount = fieldSetFlags()[2] ? this.tweetCount : (java.lang.Long) defaultValue(fields()[2]);
+        record.userIds = fieldSetFlags()[3] ? this.userIds : (java.util.List<java.lang.Long>) defaultValue(fields()[3]);
+        record.userCounts = fieldSetFlags()[4] ? this.userCounts : (java.util.List<java.lang.Integer>) defaultValue(fields()[4]);
+        record.keywords = fieldSetFlags()[5] ? this.keywords : (java.util.List<java.lang.String>) defaultValue(fields()[5]);
+        record.keywordCounts = fieldSetFlags()[6] ? this.keywordCounts : (java.util.List<java.lang.Integer>) defaultValue(fields()[6]);
+        return record;
+      } catch (org.apache.avro.AvroMissingFieldException e) {
+        throw e;
+      } catch (java.lang.Exception e) {
+        throw new org.apache.avro.AvroRuntimeException(e);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static final org.apache.avro.io.DatumWriter<TwitterAggregateAvroModel>
+    WRITER$ = (org.apache.avro.io.DatumWriter<TwitterAggregateAvroModel>)MODEL$.createDatumWriter(SCHEMA$);
+
+  @Override public void writeExternal(java.io.ObjectOutput out)
+    throws java.io.IOException {
+    WRITER$.write(this, SpecificData.getEncoder(out));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static final org.apache.avro.io.DatumReader<TwitterAggregateAvroModel>
+    READER$ = (org.apache.avro.io.DatumReader<TwitterAggregateAvroModel>)MODEL$.createDatumReader(SCHEMA$);
+
+  @Override public void readExternal(java.io.ObjectInput in)
+    throws java.io.IOException {
+    READER$.read(this, SpecificData.getDecoder(in));
+  }
+
+  @Override protected boolean hasCustomCoders() { return true; }
+
+  @Override public void customEncode(org.apache.avro.io.Encoder out)
+    throws java.io.IOException
+  {
+    out.writeLong(this.windowStart);
+
+    out.writeLong(this.windowEnd);
+
+    out.writeLong(this.tweetCount);
+
+    long size0 = this.userIds.size();
+    out.writeArrayStart();
+    out.setItemCount(size0);
+    long actualSize0 = 0;
+    for (java.lang.Long e0: this.userIds) {
+      actualSize0++;
+      out.startItem();
+      out.writeLong(e0);
+    }
+    out.writeArrayEnd();
+    if (actualSize0 != size0)
+      throw new java.util.ConcurrentModificationException("Array-size written was " + size0 + ", but element count was " + actualSize0 + ".");
+
+    long size1 = this.userCounts.size();
+    out.writeArrayStart();
+    out.setItemCount(size1);
+    long actualSize1 = 0;
+    for (java.lang.Integer e1: this.userCounts) {
+      actualSize1++;
+      out.startItem();
+      out.writeInt(e1);
+    }
+    out.writeArrayEnd();
+    if (actualSize1 != size1)
+      throw new java.util.ConcurrentModificationException("Array-size written was " + size1 + ", but element count was " + actualSize1 + ".");
+
+    long size2 = this.keywords.size();
+    out.writeArrayStart();
+    out.setItemCount(size2);
+    long actualSize2 = 0;
+    for (java.lang.String e2: this.keywords) {
+      actualSize2++;
+      out.startItem();
+      out.writeString(e2);
+    }
+    out.writeArrayEnd();
+    if (actualSize2 != size2)
+      throw new java.util.ConcurrentModificationException("Array-size written was " + size2 + ", but element count was " + actualSize2 + ".");
+
+    long size3 = this.keywordCounts.size();
+    out.writeArrayStart();
+    out.setItemCount(size3);
+    long actualSize3 = 0;
+    for (java.lang.Integer e3: this.keywordCounts) {
+      actualSize3++;
+      out.startItem();
+      out.writeInt(e3);
+    }
+    out.writeArrayEnd();
+    if (actualSize3 != size3)
+      throw new java.util.ConcurrentModificationException("Array-size written was " + size3 + ", but element count was " + actualSize3 + ".");
+
+  }
+
+  @Override public void customDecode(org.apache.avro.io.ResolvingDecoder in)
+    throws java.io.IOException
+  {
+    org.apache.avro.Schema.Field[] fieldOrder = in.readFieldOrderIfDiff();
+    if (fieldOrder == null) {
+      this.windowStart = in.readLong();
+
+      this.windowEnd = in.readLong();
+
+      this.tweetCount = in.readLong();
+
+      long size0 = in.readArrayStart();
+      java.util.List<java.lang.Long> a0 = this.userIds;
+      if (a0 == null) {
+        a0 = new SpecificData.Array<java.lang.Long>((int)size0, SCHEMA$.getField("userIds").schema());
+        this.userIds = a0;
+      } else a0.clear();
+      SpecificData.Array<java.lang.Long> ga0 = (a0 instanceof SpecificData.Array ? (SpecificData.Array<java.lang.Long>)a0 : null);
+      for ( ; 0 < size0; size0 = in.arrayNext()) {
+        for ( ; size0 != 0; size0--) {
+          java.lang.Long e0 = (ga0 != null ? ga0.peek() : null);
+          e0 = in.readLong();
+          a0.add(e0);
+        }
+      }
+
+      long size1 = in.readArrayStart();
+      java.util.List<java.lang.Integer> a1 = this.userCounts;
+      if (a1 == null) {
+        a1 = new SpecificData.Array<java.lang.Integer>((int)size1, SCHEMA$.getField("userCounts").schema());
+        this.userCounts = a1;
+      } else a1.clear();
+      SpecificData.Array<java.lang.Integer> ga1 = (a1 instanceof SpecificData.Array ? (SpecificData.Array<java.lang.Integer>)a1 : null);
+      for ( ; 0 < size1; size1 = in.arrayNext()) {
+        for ( ; size1 != 0; size1--) {
+          java.lang.Integer e1 = (ga1 != null ? ga1.peek() : null);
+          e1 = in.readInt();
+          a1.add(e1);
+        }
+      }
+
+      long size2 = in.readArrayStart();
+      java.util.List<java.lang.String> a2 = this.keywords;
+      if (a2 == null) {
+        a2 = new SpecificData.Array<java.lang.String>((int)size2, SCHEMA$.getField("keywords").schema());
+        this.keywords = a2;
+      } else a2.clear();
+      SpecificData.Array<java.lang.String> ga2 = (a2 instanceof SpecificData.Array ? (SpecificData.Array<java.lang.String>)a2 : null);
+      for ( ; 0 < size2; size2 = in.arrayNext()) {
+        for ( ; size2 != 0; size2--) {
+          java.lang.String e2 = (ga2 != null ? ga2.peek() : null);
+          e2 = in.readString();
+          a2.add(e2);
+        }
+      }
+
+      long size3 = in.readArrayStart();
+      java.util.List<java.lang.Integer> a3 = this.keywordCounts;
+      if (a3 == null) {
+        a3 = new SpecificData.Array<java.lang.Integer>((int)size3, SCHEMA$.getField("keywordCounts").schema());
+        this.keywordCounts = a3;
+      } else a3.clear();
+      SpecificData.Array<java.lang.Integer> ga3 = (a3 instanceof SpecificData.Array ? (SpecificData.Array<java.lang.Integer>)a3 : null);
+      for ( ; 0 < size3; size3 = in.arrayNext()) {
+        for ( ; size3 != 0; size3--) {
+          java.lang.Integer e3 = (ga3 != null ? ga3.peek() : null);
+          e3 = in.readInt();
+          a3.add(e3);
+        }
+      }
+
+    } else {
+      for (int i = 0; i < 7; i++) {
+        switch (fieldOrder[i].pos()) {
+        case 0:
+          this.windowStart = in.readLong();
+          break;
+
+        case 1:
+          this.windowEnd = in.readLong();
+          break;
+
+        case 2:
+          this.tweetCount = in.readLong();
+          break;
+
+        case 3:
+          long size0 = in.readArrayStart();
+          java.util.List<java.lang.Long> a0 = this.userIds;
+          if (a0 == null) {
+            a0 = new SpecificData.Array<java.lang.Long>((int)size0, SCHEMA$.getField("userIds").schema());
+            this.userIds = a0;
+          } else a0.clear();
+          SpecificData.Array<java.lang.Long> ga0 = (a0 instanceof SpecificData.Array ? (SpecificData.Array<java.lang.Long>)a0 : null);
+          for ( ; 0 < size0; size0 = in.arrayNext()) {
+            for ( ; size0 != 0; size0--) {
+              java.lang.Long e0 = (ga0 != null ? ga0.peek() : null);
+              e0 = in.readLong();
+              a0.add(e0);
+            }
+          }
+          break;
+
+        case 4:
+          long size1 = in.readArrayStart();
+          java.util.List<java.lang.Integer> a1 = this.userCounts;
+          if (a1 == null) {
+            a1 = new SpecificData.Array<java.lang.Integer>((int)size1, SCHEMA$.getField("userCounts").schema());
+            this.userCounts = a1;
+          } else a1.clear();
+          SpecificData.Array<java.lang.Integer> ga1 = (a1 instanceof SpecificData.Array ? (SpecificData.Array<java.lang.Integer>)a1 : null);
+          for ( ; 0 < size1; size1 = in.arrayNext()) {
+            for ( ; size1 != 0; size1--) {
+              java.lang.Integer e1 = (ga1 != null ? ga1.peek() : null);
+              e1 = in.readInt();
+              a1.add(e1);
+            }
+          }
+          break;
+
+        case 5:
+          long size2 = in.readArrayStart();
+          java.util.List<java.lang.String> a2 = this.keywords;
+          if (a2 == null) {
+            a2 = new SpecificData.Array<java.lang.String>((int)size2, SCHEMA$.getField("keywords").schema());
+            this.keywords = a2;
+          } else a2.clear();
+          SpecificData.Array<java.lang.String> ga2 = (a2 instanceof SpecificData.Array ? (SpecificData.Array<java.lang.String>)a2 : null);
+          for ( ; 0 < size2; size2 = in.arrayNext()) {
+            for ( ; size2 != 0; size2--) {
+              java.lang.String e2 = (ga2 != null ? ga2.peek() : null);
+              e2 = in.readString();
+              a2.add(e2);
+            }
+          }
+          break;
+
+        case 6:
+          long size3 = in.readArrayStart();
+          java.util.List<java.lang.Integer> a3 = this.keywordCounts;
+          if (a3 == null) {
+            a3 = new SpecificData.Array<java.lang.Integer>((int)size3, SCHEMA$.getField("keywordCounts").schema());
+            this.keywordCounts = a3;
+          } else a3.clear();
+          SpecificData.Array<java.lang.Integer> ga3 = (a3 instanceof SpecificData.Array ? (SpecificData.Array<java.lang.Integer>)a3 : null);
+          for ( ; 0 < size3; size3 = in.arrayNext()) {
+            for ( ; size3 != 0; size3--) {
+              java.lang.Integer e3 = (ga3 != null ? ga3.peek() : null);
+              e3 = in.readInt();
+              a3.add(e3);
+            }
+          }
+          break;
+
+        default:
+          throw new java.io.IOException("Corrupt ResolvingDecoder.");
+        }
+      }
+    }
+  }
+}
+
+
+
+
+
+
+
+
+
+
@@ -14,10 +14,10 @@ import org.apache.avro.message.SchemaStore;
 
 @org.apache.avro.specific.AvroGenerated
 public class TwitterAvroModel extends org.apache.avro.specific.SpecificRecordBase implements org.apache.avro.specific.SpecificRecord {
-  private static final long serialVersionUID = -5190598237215532904L;
+  private static final long serialVersionUID = 1410880101780184376L;
 
 
-  public static final org.apache.avro.Schema SCHEMA$ = new org.apache.avro.Schema.Parser().parse("{\"type\":\"record\",\"name\":\"TwitterAvroModel\",\"namespace\":\"com.microservices.demo.kafka.avro.model\",\"fields\":[{\"name\":\"userId\",\"type\":\"long\"},{\"name\":\"id\",\"type\":\"long\"},{\"name\":\"text\",\"type\":[\"null\",{\"type\":\"string\",\"avro.java.string\":\"String\"}]},{\"name\":\"createdAt\",\"type\":[\"null\",\"long\"],\"logicalType\":[\"null\",\"date\"]}]}");
+  public static final org.apache.avro.Schema SCHEMA$ = new org.apache.avro.Schema.Parser().parse("{\"type\":\"record\",\"name\":\"TwitterAvroModel\",\"namespace\":\"com.microservices.demo.kafka.avro.model\",\"fields\":[{\"name\":\"userId\",\"type\":\"long\"},{\"name\":\"id\",\"type\":\"long\"},{\"name\":\"text\",\"type\":[\"null\",{\"type\":\"string\",\"avro.java.string\":\"String\"}]},{\"name\":\"createdAt\",\"type\":[\"null\",\"long\"],\"logicalType\":[\"null\",\"date\"]},{\"name\":\"nearDuplicate\",\"type\":\"boolean\",\"default\":false},{\"name\":\"hashtags\",\"type\":{\"type\":\"array\",\"items\":{\"type\":\"string\",\"avro.java.string\":\"String\"}},\"default\":[]},{\"name\":\"mentions\",\"type\":{\"type\":\"array\",\"items\":{\"type\":\"string\",\"avro.java.string\":\"String\"}},\"default\":[]},{\"name\":\"urls\",\"type\":{\"type\":\"array\",\"items\":{\"type\":\"string\",\"avro.java.string\":\"String\"}},\"default\":[]},{\"name\":\"followerTier\",\"type\":[\"null\",\"int\"],\"default\":null},{\"name\":\"region\",\"type\":[\"null\",{\"type\":\"string\",\"avro.java.string\":\"String\"}],\"default\":null},{\"name\":\"botScore\",\"type\":[\"null\",\"float\"],\"default\":null}]}");
   public static org.apache.avro.Schema getClassSchema() { return SCHEMA$; }
 
   private static final SpecificData MODEL$ = new SpecificData();
@@ -77,6 +77,13 @@ public class TwitterAvroModel extends org.apache.avro.specific.SpecificRecordBas
   private long id;
   private java.lang.String text;
   private java.lang.Long createdAt;
+  private boolean nearDuplicate;
+  private java.util.List<java.lang.String> hashtags;
+  private java.util.List<java.lang.String> mentions;
+  private java.util.List<java.lang.String> urls;
+  private java.lang.Integer followerTier;
+  private java.lang.String region;
+  private java.lang.Float botScore;
 
   /**
    * Default constructor.  Note that this does not initialize fields
@@ -91,12 +98,26 @@ public class TwitterAvroModel extends org.apache.avro.specific.SpecificRecordBas
    * @param id The new value for id
    * @param text The new value for text
    * @param createdAt The new value for createdAt
+   * @param nearDuplicate The new value for nearDuplicate
+   * @param hashtags The new value for hashtags
+   * @param mentions The new value for mentions
+   * @param urls The new value for urls
+   * @param followerTier The new value for followerTier
+   * @param region The new value for region
+   * @param botScore The new value for botScore
    */
-  public TwitterAvroModel(java.lang.Long userId, java.lang.Long id, java.lang.String text, java.lang.Long createdAt) {
+  public TwitterAvroModel(java.lang.Long userId, java.lang.Long id, java.lang.String text, java.lang.Long createdAt, java.lang.Boolean nearDuplicate, java.util.List<java.lang.String> hashtags, java.util.List<java.lang.String> mentions, java.util.List<java.lang.String> urls, java.lang.Integer followerTier, java.lang.String region, java.lang.Float botScore) {
     this.userId = userId;
     this.id = id;
     this.text = text;
     this.createdAt = createdAt;
+    this.nearDuplicate = nearDuplicate;
+    this.hashtags = hashtags;
+    this.mentions = mentions;
+    this.urls = urls;
+    this.followerTier = followerTier;
+    this.region = region;
+    this.botScore = botScore;
   }
 
   public org.apache.avro.specific.SpecificData getSpecificData() { return MODEL$; }
@@ -108,6 +129,13 @@ public class TwitterAvroModel extends org.apache.avro.specific.SpecificRecordBas
     case 1: return id;
     case 2: return text;
     case 3: return createdAt;
+    case 4: return nearDuplicate;
+    case 5: return hashtags;
+    case 6: return mentions;
+    case 7: return urls;
+    case 8: return followerTier;
+    case 9: return region;
+    case 10: return botScore;
     default: throw new IndexOutOfBoundsException("Invalid index: " + field$);
     }
   }
@@ -120,6 +148,13 @@ public class TwitterAvroModel extends org.apache.avro.specific.SpecificRecordBas
     case 1: id = (java.lang.Long)value$; break;
     case 2: text = value$ != null ? value$.toString() : null; break;
     case 3: createdAt = (java.lang.Long)value$; break;
+    case 4: nearDuplicate = (java.lang.Boolean)value$; break;
+    case 5: hashtags = (java.util.List<java.lang.String>)value$; break;
+    case 6: mentions = (java.util.List<java.lang.String>)value$; break;
+    case 7: urls = (java.util.List<java.lang.String>)value$; break;
+    case 8: followerTier = (java.lang.Integer)value$; break;
+    case 9: region = value$ != null ? value$.toString() : null; break;
+    case 10: botScore = (java.lang.Float)value$; break;
     default: throw new IndexOutOfBoundsException("Invalid index: " + field$);
     }
   }
@@ -192,6 +227,125 @@ public class TwitterAvroModel extends org.apache.avro.specific.SpecificRecordBas
     this.createdAt = value;
   }
 
+  /**
+   * Gets the value of the 'nearDuplicate' field.
+   * @return The value of the 'nearDuplicate' field.
+   */
+  public boolean getNearDuplicate() {
+    return nearDuplicate;
+  }
+
+
+  /**
+   * Sets the value of the 'nearDuplicate' field.
+   * @param value the value to set.
+   */
+  public void setNearDuplicate(boolean value) {
+    this.nearDuplicate = value;
+  }
+
+  /**
+   * Gets the value of the 'hashtags' field.
+   * @return The value of the 'hashtags' field.
+   */
+  public java.util.List<java.lang.String> getHashtags() {
+    return hashtags;
+  }
+
+
+  /**
+   * Sets the value of the 'hashtags' field.
+   * @param value the value to set.
+   */
+  public void setHashtags(java.util.List<java.lang.String> value) {
+    this.hashtags = value;
+  }
+
+  /**
+   * Gets the value of the 'mentions' field.
+   * @return The value of the 'mentions' field.
+   */
+  public java.util.List<java.lang.String> getMentions() {
+    return mentions;
+  }
+
+
+  /**
+   * Sets the value of the 'mentions' field.
+   * @param value the value to set.
+   */
+  public void setMentions(java.util.List<java.lang.String> value) {
+    this.mentions = value;
+  }
+
+  /**
+   * Gets the value of the 'urls' field.
+   * @return The value of the 'urls' field.
+   */
+  public java.util.List<java.lang.String> getUrls() {
+    return urls;
+  }
+
+
+  /**
+   * Sets the value of the 'urls' field.
+   * @param value the value to set.
+   */
+  public void setUrls(java.util.List<java.lang.String> value) {
+    this.urls = value;
+  }
+
+  /**
+   * Gets the value of the 'followerTier' field.
+   * @return The value of the 'followerTier' field.
+   */
+  public java.lang.Integer getFollowerTier() {
+    return followerTier;
+  }
+
+
+  /**
+   * Sets the value of the 'followerTier' field.
+   * @param value the value to set.
+   */
+  public void setFollowerTier(java.lang.Integer value) {
+    this.followerTier = value;
+  }
+
+  /**
+   * Gets the value of the 'region' field.
+   * @return The value of the 'region' field.
+   */
+  public java.lang.String getRegion() {
+    return region;
+  }
+
+
+  /**
+   * Sets the value of the 'region' field.
+   * @param value the value to set.
+   */
+  public void setRegion(java.lang.String value) {
+    this.region = value;
+  }
+
+  /**
+   * Gets the value of the 'botScore' field.
+   * @return The value of the 'botScore' field.
+   */
+  public java.lang.Float getBotScore() {
+    return botScore;
+  }
+
+
+  /**
+   * Sets the value of the 'botScore' field.
+   * @param value the value to set.
+   */
+  public void setBotScore(java.lang.Float value) {
+    this.botScore = value;
+  }
+
   /**
    * Creates a new TwitterAvroModel RecordBuilder.
    * @return A new TwitterAvroModel RecordBuilder
@@ -237,6 +391,13 @@ public class TwitterAvroModel extends org.apache.avro.specific.SpecificRecordBas
     private long id;
     private java.lang.String text;
     private java.lang.Long createdAt;
+    private boolean nearDuplicate;
+    private java.util.List<java.lang.String> hashtags;
+    private java.util.List<java.lang.String> mentions;
+    private java.util.List<java.lang.String> urls;
+    private java.lang.Integer followerTier;
+    private java.lang.String region;
+    private java.lang.Float botScore;
 
     /** Creates a new Builder */
     private Builder() {
@@ -265,6 +426,34 @@ public class TwitterAvroModel extends org.apache.avro.specific.SpecificRecordBas
         this.createdAt = data().deepCopy(fields()[3].schema(), other.createdAt);
         fieldSetFlags()[3] = other.fieldSetFlags()[3];
       }
+      if (isValidValue(fields()[4], other.nearDuplicate)) {
+        this.nearDuplicate = data().deepCopy(fields()[4].schema(), other.nearDuplicate);
+        fieldSetFlags()[4] = other.fieldSetFlags()[4];
+      }
+      if (isValidValue(fields()[5], other.hashtags)) {
+        this.hashtags = data().deepCopy(fields()[5].schema(), other.hashtags);
+        fieldSetFlags()[5] = other.fieldSetFlags()[5];
+      }
+      if (isValidValue(fields()[6], other.mentions)) {
+        this.mentions = data().deepCopy(fields()[6].schema(), other.mentions);
+        fieldSetFlags()[6] = other.fieldSetFlags()[6];
+      }
+      if (isValidValue(fields()[7], other.urls)) {
+        this.urls = data().deepCopy(fields()[7].schema(), other.urls);
+        fieldSetFlags()[7] = other.fieldSetFlags()[7];
+      }
+      if (isValidValue(fields()[8], other.followerTier)) {
+        this.followerTier = data().deepCopy(fields()[8].schema(), other.followerTier);
+        fieldSetFlags()[8] = other.fieldSetFlags()[8];
+      }
+      if (isValidValue(fields()[9], other.region)) {
+        this.region = data().deepCopy(fields()[9].schema(), other.region);
+        fieldSetFlags()[9] = other.fieldSetFlags()[9];
+      }
+      if (isValidValue(fields()[10], other.botScore)) {
+        this.botScore = data().deepCopy(fields()[10].schema(), other.botScore);
+        fieldSetFlags()[10] = other.fieldSetFlags()[10];
+      }
     }
 
     /**
@@ -289,6 +478,34 @@ public class TwitterAvroModel extends org.apache.avro.specific.SpecificRecordBas
         this.createdAt = data().deepCopy(fields()[3].schema(), other.createdAt);
         fieldSetFlags()[3] = true;
       }
+      if (isValidValue(fields()[4], other.nearDuplicate)) {
+        this.nearDuplicate = data().deepCopy(fields()[4].schema(), other.nearDuplicate);
+        fieldSetFlags()[4] = true;
+      }
+      if (isValidValue(fields()[5], other.hashtags)) {
+        this.hashtags = data().deepCopy(fields()[5].schema(), other.hashtags);
+        fieldSetFlags()[5] = true;
+      }
+      if (isValidValue(fields()[6], other.mentions)) {
+        this.mentions = data().deepCopy(fields()[6].schema(), other.mentions);
+        fieldSetFlags()[6] = true;
+      }
+      if (isValidValue(fields()[7], other.urls)) {
+        this.urls = data().deepCopy(fields()[7].schema(), other.urls);
+        fieldSetFlags()[7] = true;
+      }
+      if (isValidValue(fields()[8], other.followerTier)) {
+        this.followerTier = data().deepCopy(fields()[8].schema(), other.followerTier);
+        fieldSetFlags()[8] = true;
+      }
+      if (isValidValue(fields()[9], other.region)) {
+        this.region = data().deepCopy(fields()[9].schema(), other.region);
+        fieldSetFlags()[9] = true;
+      }
+      if (isValidValue(fields()[10], other.botScore)) {
+        this.botScore = data().deepCopy(fields()[10].schema(), other.botScore);
+        fieldSetFlags()[10] = true;
+      }
     }
 
     /**
@@ -449,6 +666,285 @@ public class TwitterAvroModel extends org.apache.avro.specific.SpecificRecordBas
       return this;
     }
 
+    /**
+      * Gets the value of the 'nearDuplicate' field.
+      * @return The value.
+      */
+    public boolean getNearDuplicate() {
+      return nearDuplicate;
+    }
+
+
+    /**
+      * Sets the value of the 'nearDuplicate' field.
+      * @param value The value of 'nearDuplicate'.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAvroModel.Builder setNearDuplicate(boolean value) {
+      validate(fields()[4], value);
+      this.nearDuplicate = value;
+      fieldSetFlags()[4] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'nearDuplicate' field has been set.
+      * @return True if the 'nearDuplicate' field has been set, false otherwise.
+      */
+    public boolean hasNearDuplicate() {
+      return fieldSetFlags()[4];
+    }
+
+
+    /**
+      * Clears the value of the 'nearDuplicate' field.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAvroModel.Builder clearNearDuplicate() {
+      fieldSetFlags()[4] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'hashtags' field.
+      * @return The value.
+      */
+    public java.util.List<java.lang.String> getHashtags() {
+      return hashtags;
+    }
+
+
+    /**
+      * Sets the value of the 'hashtags' field.
+      * @param value The value of 'hashtags'.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAvroModel.Builder setHashtags(java.util.List<java.lang.String> value) {
+      validate(fields()[5], value);
+      this.hashtags = value;
+      fieldSetFlags()[5] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'hashtags' field has been set.
+      * @return True if the 'hashtags' field has been set, false otherwise.
+      */
+    public boolean hasHashtags() {
+      return fieldSetFlags()[5];
+    }
+
+
+    /**
+      * Clears the value of the 'hashtags' field.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAvroModel.Builder clearHashtags() {
+      hashtags = null;
+      fieldSetFlags()[5] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'mentions' field.
+      * @return The value.
+      */
+    public java.util.List<java.lang.String> getMentions() {
+      return mentions;
+    }
+
+
+    /**
+      * Sets the value of the 'mentions' field.
+      * @param value The value of 'mentions'.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAvroModel.Builder setMentions(java.util.List<java.lang.String> value) {
+      validate(fields()[6], value);
+      this.mentions = value;
+      fieldSetFlags()[6] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'mentions' field has been set.
+      * @return True if the 'mentions' field has been set, false otherwise.
+      */
+    public boolean hasMentions() {
+      return fieldSetFlags()[6];
+    }
+
+
+    /**
+      * Clears the value of the 'mentions' field.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAvroModel.Builder clearMentions() {
+      mentions = null;
+      fieldSetFlags()[6] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'urls' field.
+      * @return The value.
+      */
+    public java.util.List<java.lang.String> getUrls() {
+      return urls;
+    }
+
+
+    /**
+      * Sets the value of the 'urls' field.
+      * @param value The value of 'urls'.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAvroModel.Builder setUrls(java.util.List<java.lang.String> value) {
+      validate(fields()[7], value);
+      this.urls = value;
+      fieldSetFlags()[7] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'urls' field has been set.
+      * @return True if the 'urls' field has been set, false otherwise.
+      */
+    public boolean hasUrls() {
+      return fieldSetFlags()[7];
+    }
+
+
+    /**
+      * Clears the value of the 'urls' field.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAvroModel.Builder clearUrls() {
+      urls = null;
+      fieldSetFlags()[7] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'followerTier' field.
+      * @return The value.
+      */
+    public java.lang.Integer getFollowerTier() {
+      return followerTier;
+    }
+
+
+    /**
+      * Sets the value of the 'followerTier' field.
+      * @param value The value of 'followerTier'.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAvroModel.Builder setFollowerTier(java.lang.Integer value) {
+      validate(fields()[8], value);
+      this.followerTier = value;
+      fieldSetFlags()[8] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'followerTier' field has been set.
+      * @return True if the 'followerTier' field has been set, false otherwise.
+      */
+    public boolean hasFollowerTier() {
+      return fieldSetFlags()[8];
+    }
+
+
+    /**
+      * Clears the value of the 'followerTier' field.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAvroModel.Builder clearFollowerTier() {
+      followerTier = null;
+      fieldSetFlags()[8] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'region' field.
+      * @return The value.
+      */
+    public java.lang.String getRegion() {
+      return region;
+    }
+
+
+    /**
+      * Sets the value of the 'region' field.
+      * @param value The value of 'region'.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAvroModel.Builder setRegion(java.lang.String value) {
+      validate(fields()[9], value);
+      this.region = value;
+      fieldSetFlags()[9] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'region' field has been set.
+      * @return True if the 'region' field has been set, false otherwise.
+      */
+    public boolean hasRegion() {
+      return fieldSetFlags()[9];
+    }
+
+
+    /**
+      * Clears the value of the 'region' field.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAvroModel.Builder clearRegion() {
+      region = null;
+      fieldSetFlags()[9] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'botScore' field.
+      * @return The value.
+      */
+    public java.lang.Float getBotScore() {
+      return botScore;
+    }
+
+
+    /**
+      * Sets the value of the 'botScore' field.
+      * @param value The value of 'botScore'.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAvroModel.Builder setBotScore(java.lang.Float value) {
+      validate(fields()[10], value);
+      this.botScore = value;
+      fieldSetFlags()[10] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'botScore' field has been set.
+      * @return True if the 'botScore' field has been set, false otherwise.
+      */
+    public boolean hasBotScore() {
+      return fieldSetFlags()[10];
+    }
+
+
+    /**
+      * Clears the value of the 'botScore' field.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.TwitterAvroModel.Builder clearBotScore() {
+      botScore = null;
+      fieldSetFlags()[10] = false;
+      return this;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public TwitterAvroModel build() {
@@ -458,6 +954,13 @@ public class TwitterAvroModel extends org.apache.avro.specific.SpecificRecordBas
         record.id = fieldSetFlags()[1] ? this.id : (java.lang.Long) defaultValue(fields()[1]);
         record.text = fieldSetFlags()[2] ? this.text : (java.lang.String) defaultValue(fields()[2]);
         record.createdAt = fieldSetFlags()[3] ? this.createdAt : (java.lang.Long) defaultValue(fields()[3]);
+        record.nearDuplicate = fieldSetFlags()[4] ? this.nearDuplicate : (java.lang.Boolean) defaultValue(fields()[4]);
+        record.hashtags = fieldSetFlags()[5] ? this.hashtags : (java.util.List<java.lang.String>) defaultValue(fields()[5]);
+        record.mentions = fieldSetFlags()[6] ? this.mentions : (java.util.List<java.lang.String>) defaultValue(fields()[6]);
+        record.urls = fieldSetFlags()[7] ? this.urls : (java.util.List<java.lang.String>) defaultValue(fields()[7]);
+        record.followerTier = fieldSetFlags()[8] ? this.followerTier : (java.lang.Integer) defaultValue(fields()[8]);
+        record.region = fieldSetFlags()[9] ? this.region : (java.lang.String) defaultValue(fields()[9]);
+        record.botScore = fieldSetFlags()[10] ? this.botScore : (java.lang.Float) defaultValue(fields()[10]);
         return record;
       } catch (org.apache.avro.AvroMissingFieldException e) {
         throw e;
@@ -510,6 +1013,71 @@ public class TwitterAvroModel extends org.apache.avro.specific.SpecificRecordBas
       out.writeLong(this.createdAt);
     }
 
+    out.writeBoolean(this.nearDuplicate);
+
+    long size0 = this.hashtags.size();
+    out.writeArrayStart();
+    out.setItemCount(size0);
+    long actualSize0 = 0;
+    for (java.lang.String e0: this.hashtags) {
+      actualSize0++;
+      out.startItem();
+      out.writeString(e0);
+    }
+    out.writeArrayEnd();
+    if (actualSize0 != size0)
+      throw new java.util.ConcurrentModificationException("Array-size written was " + size0 + ", but element count was " + actualSize0 + ".");
+
+    long size1 = this.mentions.size();
+    out.writeArrayStart();
+    out.setItemCount(size1);
+    long actualSize1 = 0;
+    for (java.lang.String e1: this.mentions) {
+      actualSize1++;
+      out.startItem();
+      out.writeString(e1);
+    }
+    out.writeArrayEnd();
+    if (actualSize1 != size1)
+      throw new java.util.ConcurrentModificationException("Array-size written was " + size1 + ", but element count was " + actualSize1 + ".");
+
+    long size2 = this.urls.size();
+    out.writeArrayStart();
+    out.setItemCount(size2);
+    long actualSize2 = 0;
+    for (java.lang.String e2: this.urls) {
+      actualSize2++;
+      out.startItem();
+      out.writeString(e2);
+    }
+    out.writeArrayEnd();
+    if (actualSize2 != size2)
+      throw new java.util.ConcurrentModificationException("Array-size written was " + size2 + ", but element count was " + actualSize2 + ".");
+
+    if (this.followerTier == null) {
+      out.writeIndex(0);
+      out.writeNull();
+    } else {
+      out.writeIndex(1);
+      out.writeInt(this.followerTier);
+    }
+
+    if (this.region == null) {
+      out.writeIndex(0);
+      out.writeNull();
+    } else {
+      out.writeIndex(1);
+      out.writeString(this.region);
+    }
+
+    if (this.botScore == null) {
+      out.writeIndex(0);
+      out.writeNull();
+    } else {
+      out.writeIndex(1);
+      out.writeFloat(this.botScore);
+    }
+
   }
 
   @Override public void customDecode(org.apache.avro.io.ResolvingDecoder in)
@@ -535,8 +1103,76 @@ public class TwitterAvroModel extends org.apache.avro.specific.SpecificRecordBas
         this.createdAt = in.readLong();
       }
 
+      this.nearDuplicate = in.readBoolean();
+
+      long size0 = in.readArrayStart();
+      java.util.List<java.lang.String> a0 = this.hashtags;
+      if (a0 == null) {
+        a0 = new SpecificData.Array<java.lang.String>((int)size0, SCHEMA$.getField("hashtags").schema());
+        this.hashtags = a0;
+      } else a0.clear();
+      SpecificData.Array<java.lang.String> ga0 = (a0 instanceof SpecificData.Array ? (SpecificData.Array<java.lang.String>)a0 : null);
+      for ( ; 0 < size0; size0 = in.arrayNext()) {
+        for ( ; size0 != 0; size0--) {
+          java.lang.String e0 = (ga0 != null ? ga0.peek() : null);
+          e0 = in.readString();
+          a0.add(e0);
+        }
+      }
+
+      long size1 = in.readArrayStart();
+      java.util.List<java.lang.String> a1 = this.mentions;
+      if (a1 == null) {
+        a1 = new SpecificData.Array<java.lang.String>((int)size1, SCHEMA$.getField("mentions").schema());
+        this.mentions = a1;
+      } else a1.clear();
+      SpecificData.Array<java.lang.String> ga1 = (a1 instanceof SpecificData.Array ? (SpecificData.Array<java.lang.String>)a1 : null);
+      for ( ; 0 < size1; size1 = in.arrayNext()) {
+        for ( ; size1 != 0; size1--) {
+          java.lang.String e1 = (ga1 != null ? ga1.peek() : null);
+          e1 = in.readString();
+          a1.add(e1);
+        }
+      }
+
+      long size2 = in.readArrayStart();
+      java.util.List<java.lang.String> a2 = this.urls;
+      if (a2 == null) {
+        a2 = new SpecificData.Array<java.lang.String>((int)size2, SCHEMA$.getField("urls").schema());
+        this.urls = a2;
+      } else a2.clear();
+      SpecificData.Array<java.lang.String> ga2 = (a2 instanceof SpecificData.Array ? (SpecificData.Array<java.lang.String>)a2 : null);
+      for ( ; 0 < size2; size2 = in.arrayNext()) {
+        for ( ; size2 != 0; size2--) {
+          java.lang.String e2 = (ga2 != null ? ga2.peek() : null);
+          e2 = in.readString();
+          a2.add(e2);
+        }
+      }
+
+      if (in.readIndex() != 1) {
+        in.readNull();
+        this.followerTier = null;
+      } else {
+        this.followerTier = in.readInt();
+      }
+
+      if (in.readIndex() != 1) {
+        in.readNull();
+        this.region = null;
+      } else {
+        this.region = in.readString();
+      }
+
+      if (in.readIndex() != 1) {
+        in.readNull();
+        this.botScore = null;
+      } else {
+        this.botScore = in.readFloat();
+      }
+
     } else {
-      for (int i = 0; i < 4; i++) {
+      for (int i = 0; i < 11; i++) {
         switch (fieldOrder[i].pos()) {
         case 0:
           this.userId = in.readLong();
@@ -564,6 +1200,88 @@ public class TwitterAvroModel extends org.apache.avro.specific.SpecificRecordBas
           }
           break;
 
+        case 4:
+          this.nearDuplicate = in.readBoolean();
+          break;
+
+        case 5:
+          long size0 = in.readArrayStart();
+          java.util.List<java.lang.String> a0 = this.hashtags;
+          if (a0 == null) {
+            a0 = new SpecificData.Array<java.lang.String>((int)size0, SCHEMA$.getField("hashtags").schema());
+            this.hashtags = a0;
+          } else a0.clear();
+          SpecificData.Array<java.lang.String> ga0 = (a0 instanceof SpecificData.Array ? (SpecificData.Array<java.lang.String>)a0 : null);
+          for ( ; 0 < size0; size0 = in.arrayNext()) {
+            for ( ; size0 != 0; size0--) {
+              java.lang.String e0 = (ga0 != null ? ga0.peek() : null);
+              e0 = in.readString();
+              a0.add(e0);
+            }
+          }
+          break;
+
+        case 6:
+          long size1 = in.readArrayStart();
+          java.util.List<java.lang.String> a1 = this.mentions;
+          if (a1 == null) {
+            a1 = new SpecificData.Array<java.lang.String>((int)size1, SCHEMA$.getField("mentions").schema());
+            this.mentions = a1;
+          } else a1.clear();
+          SpecificData.Array<java.lang.String> ga1 = (a1 instanceof SpecificData.Array ? (SpecificData.Array<java.lang.String>)a1 : null);
+          for ( ; 0 < size1; size1 = in.arrayNext()) {
+            for ( ; size1 != 0; size1--) {
+              java.lang.String e1 = (ga1 != null ? ga1.peek() : null);
+              e1 = in.readString();
+              a1.add(e1);
+            }
+          }
+          break;
+
+        case 7:
+          long size2 = in.readArrayStart();
+          java.util.List<java.lang.String> a2 = this.urls;
+          if (a2 == null) {
+            a2 = new SpecificData.Array<java.lang.String>((int)size2, SCHEMA$.getField("urls").schema());
+            this.urls = a2;
+          } else a2.clear();
+          SpecificData.Array<java.lang.String> ga2 = (a2 instanceof SpecificData.Array ? (SpecificData.Array<java.lang.String>)a2 : null);
+          for ( ; 0 < size2; size2 = in.arrayNext()) {
+            for ( ; size2 != 0; size2--) {
+              java.lang.String e2 = (ga2 != null ? ga2.peek() : null);
+              e2 = in.readString();
+              a2.add(e2);
+            }
+          }
+          break;
+
+        case 8:
+          if (in.readIndex() != 1) {
+            in.readNull();
+            this.followerTier = null;
+          } else {
+            this.followerTier = in.readInt();
+          }
+          break;
+
+        case 9:
+          if (in.readIndex() != 1) {
+            in.readNull();
+            this.region = null;
+          } else {
+            this.region = in.readString();
+          }
+          break;
+
+        case 10:
+          if (in.readIndex() != 1) {
+            in.readNull();
+            this.botScore = null;
+          } else {
+            this.botScore = in.readFloat();
+          }
+          break;
+
         default:
           throw new java.io.IOException("Corrupt ResolvingDecoder.");
         }
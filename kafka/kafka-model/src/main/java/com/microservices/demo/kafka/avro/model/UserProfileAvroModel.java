@@ -0,0 +1,600 @@
+/**
+ * Autogenerated by Avro
+ *
+ * DO NOT EDIT DIRECTLY
+ */
+package com.microservices.demo.kafka.avro.model;
+
+import org.apache.avro.generic.GenericArray;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.util.Utf8;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.message.SchemaStore;
+
+@org.apache.avro.specific.AvroGenerated
+public class UserProfileAvroModel extends org.apache.avro.specific.SpecificRecordBase implements org.apache.avro.specific.SpecificRecord {
+  private static final long serialVersionUID = 5820872572048188308L;
+
+
+  public static final org.apache.avro.Schema SCHEMA$ = new org.apache.avro.Schema.Parser().parse("{\"type\":\"record\",\"name\":\"UserProfileAvroModel\",\"namespace\":\"com.microservices.demo.kafka.avro.model\",\"fields\":[{\"name\":\"userId\",\"type\":\"long\"},{\"name\":\"followerTier\",\"type\":[\"null\",\"int\"],\"default\":null},{\"name\":\"region\",\"type\":[\"null\",{\"type\":\"string\",\"avro.java.string\":\"String\"}],\"default\":null},{\"name\":\"botScore\",\"type\":[\"null\",\"float\"],\"default\":null}]}");
+  public static org.apache.avro.Schema getClassSchema() { return SCHEMA$; }
+
+  private static final SpecificData MODEL$ = new SpecificData();
+
+  private static final BinaryMessageEncoder<UserProfileAvroModel> ENCODER =
+      new BinaryMessageEncoder<UserProfileAvroModel>(MODEL$, SCHEMA$);
+
+  private static final BinaryMessageDecoder<UserProfileAvroModel> DECODER =
+      new BinaryMessageDecoder<UserProfileAvroModel>(MODEL$, SCHEMA$);
+
+  /**
+   * Return the BinaryMessageEncoder instance used by this class.
+   * @return the message encoder used by this class
+   */
+  public static BinaryMessageEncoder<UserProfileAvroModel> getEncoder() {
+    return ENCODER;
+  }
+
+  /**
+   * Return the BinaryMessageDecoder instance used by this class.
+   * @return the message decoder used by this class
+   */
+  public static BinaryMessageDecoder<UserProfileAvroModel> getDecoder() {
+    return DECODER;
+  }
+
+  /**
+   * Create a new BinaryMessageDecoder instance for this class that uses the specified {@link SchemaStore}.
+   * @param resolver a {@link SchemaStore} used to find schemas by fingerprint
+   * @return a BinaryMessageDecoder instance for this class backed by the given SchemaStore
+   */
+  public static BinaryMessageDecoder<UserProfileAvroModel> createDecoder(SchemaStore resolver) {
+    return new BinaryMessageDecoder<UserProfileAvroModel>(MODEL$, SCHEMA$, resolver);
+  }
+
+  /**
+   * Serializes this UserProfileAvroModel to a ByteBuffer.
+   * @return a buffer holding the serialized data for this instance
+   * @throws java.io.IOException if this instance could not be serialized
+   */
+  public java.nio.ByteBuffer toByteBuffer() throws java.io.IOException {
+    return ENCODER.encode(this);
+  }
+
+  /**
+   * Deserializes a UserProfileAvroModel from a ByteBuffer.
+   * @param b a byte buffer holding serialized data for an instance of this class
+   * @return a UserProfileAvroModel instance decoded from the given buffer
+   * @throws java.io.IOException if the given bytes could not be deserialized into an instance of this class
+   */
+  public static UserProfileAvroModel fromByteBuffer(
+      java.nio.ByteBuffer b) throws java.io.IOException {
+    return DECODER.decode(b);
+  }
+
+  private long userId;
+  private java.lang.Integer followerTier;
+  private java.lang.String region;
+  private java.lang.Float botScore;
+
+  /**
+   * Default constructor.  Note that this does not initialize fields
+   * to their default values from the schema.  If that is desired then
+   * one should use <code>newBuilder()</code>.
+   */
+  public UserProfileAvroModel() {}
+
+  /**
+   * All-args constructor.
+   * @param userId The new value for userId
+   * @param followerTier The new value for followerTier
+   * @param region The new value for region
+   * @param botScore The new value for botScore
+   */
+  public UserProfileAvroModel(java.lang.Long userId, java.lang.Integer followerTier, java.lang.String region, java.lang.Float botScore) {
+    this.userId = userId;
+    this.followerTier = followerTier;
+    this.region = region;
+    this.botScore = botScore;
+  }
+
+  public org.apache.avro.specific.SpecificData getSpecificData() { return MODEL$; }
+  public org.apache.avro.Schema getSchema() { return SCHEMA$; }
+  // Used by DatumWriter.  Applications should not call.
+  public java.lang.Object get(int field$) {
+    switch (field$) {
+    case 0: return userId;
+    case 1: return followerTier;
+    case 2: return region;
+    case 3: return botScore;
+    default: throw new IndexOutOfBoundsException("Invalid index: " + field$);
+    }
+  }
+
+  // Used by DatumReader.  Applications should not call.
+  @SuppressWarnings(value="unchecked")
+  public void put(int field$, java.lang.Object value$) {
+    switch (field$) {
+    case 0: userId = (java.lang.Long)value$; break;
+    case 1: followerTier = (java.lang.Integer)value$; break;
+    case 2: region = value$ != null ? value$.toString() : null; break;
+    case 3: botScore = (java.lang.Float)value$; break;
+    default: throw new IndexOutOfBoundsException("Invalid index: " + field$);
+    }
+  }
+
+  /**
+   * Gets the value of the 'userId' field.
+   * @return The value of the 'userId' field.
+   */
+  public long getUserId() {
+    return userId;
+  }
+
+
+  /**
+   * Sets the value of the 'userId' field.
+   * @param value the value to set.
+   */
+  public void setUserId(long value) {
+    this.userId = value;
+  }
+
+  /**
+   * Gets the value of the 'followerTier' field.
+   * @return The value of the 'followerTier' field.
+   */
+  public java.lang.Integer getFollowerTier() {
+    return followerTier;
+  }
+
+
+  /**
+   * Sets the value of the 'followerTier' field.
+   * @param value the value to set.
+   */
+  public void setFollowerTier(java.lang.Integer value) {
+    this.followerTier = value;
+  }
+
+  /**
+   * Gets the value of the 'region' field.
+   * @return The value of the 'region' field.
+   */
+  public java.lang.String getRegion() {
+    return region;
+  }
+
+
+  /**
+   * Sets the value of the 'region' field.
+   * @param value the value to set.
+   */
+  public void setRegion(java.lang.String value) {
+    this.region = value;
+  }
+
+  /**
+   * Gets the value of the 'botScore' field.
+   * @return The value of the 'botScore' field.
+   */
+  public java.lang.Float getBotScore() {
+    return botScore;
+  }
+
+
+  /**
+   * Sets the value of the 'botScore' field.
+   * @param value the value to set.
+   */
+  public void setBotScore(java.lang.Float value) {
+    this.botScore = value;
+  }
+
+  /**
+   * Creates a new UserProfileAvroModel RecordBuilder.
+   * @return A new UserProfileAvroModel RecordBuilder
+   */
+  public static com.microservices.demo.kafka.avro.model.UserProfileAvroModel.Builder newBuilder() {
+    return new com.microservices.demo.kafka.avro.model.UserProfileAvroModel.Builder();
+  }
+
+  /**
+   * Creates a new UserProfileAvroModel RecordBuilder by copying an existing Builder.
+   * @param other The existing builder to copy.
+   * @return A new UserProfileAvroModel RecordBuilder
+   */
+  public static com.microservices.demo.kafka.avro.model.UserProfileAvroModel.Builder newBuilder(com.microservices.demo.kafka.avro.model.UserProfileAvroModel.Builder other) {
+    if (other == null) {
+      return new com.microservices.demo.kafka.avro.model.UserProfileAvroModel.Builder();
+    } else {
+      return new com.microservices.demo.kafka.avro.model.UserProfileAvroModel.Builder(other);
+    }
+  }
+
+  /**
+   * Creates a new UserProfileAvroModel RecordBuilder by copying an existing UserProfileAvroModel instance.
+   * @param other The existing instance to copy.
+   * @return A new UserProfileAvroModel RecordBuilder
+   */
+  public static com.microservices.demo.kafka.avro.model.UserProfileAvroModel.Builder newBuilder(com.microservices.demo.kafka.avro.model.UserProfileAvroModel other) {
+    if (other == null) {
+      return new com.microservices.demo.kafka.avro.model.UserProfileAvroModel.Builder();
+    } else {
+      return new com.microservices.demo.kafka.avro.model.UserProfileAvroModel.Builder(other);
+    }
+  }
+
+  /**
+   * RecordBuilder for UserProfileAvroModel instances.
+   */
+  @org.apache.avro.specific.AvroGenerated
+  public static class Builder extends org.apache.avro.specific.SpecificRecordBuilderBase<UserProfileAvroModel>
+    implements org.apache.avro.data.RecordBuilder<UserProfileAvroModel> {
+
+    private long userId;
+    private java.lang.Integer followerTier;
+    private java.lang.String region;
+    private java.lang.Float botScore;
+
+    /** Creates a new Builder */
+    private Builder() {
+      super(SCHEMA$, MODEL$);
+    }
+
+    /**
+     * Creates a Builder by copying an existing Builder.
+     * @param other The existing Builder to copy.
+     */
+    private Builder(com.microservices.demo.kafka.avro.model.UserProfileAvroModel.Builder other) {
+      super(other);
+      if (isValidValue(fields()[0], other.userId)) {
+        this.userId = data().deepCopy(fields()[0].schema(), other.userId);
+        fieldSetFlags()[0] = other.fieldSetFlags()[0];
+      }
+      if (isValidValue(fields()[1], other.followerTier)) {
+        this.followerTier = data().deepCopy(fields()[1].schema(), other.followerTier);
+        fieldSetFlags()[1] = other.fieldSetFlags()[1];
+      }
+      if (isValidValue(fields()[2], other.region)) {
+        this.region = data().deepCopy(fields()[2].schema(), other.region);
+        fieldSetFlags()[2] = other.fieldSetFlags()[2];
+      }
+      if (isValidValue(fields()[3], other.botScore)) {
+        this.botScore = data().deepCopy(fields()[3].schema(), other.botScore);
+        fieldSetFlags()[3] = other.fieldSetFlags()[3];
+      }
+    }
+
+    /**
+     * Creates a Builder by copying an existing UserProfileAvroModel instance
+     * @param other The existing instance to copy.
+     */
+    private Builder(com.microservices.demo.kafka.avro.model.UserProfileAvroModel other) {
+      super(SCHEMA$, MODEL$);
+      if (isValidValue(fields()[0], other.userId)) {
+        this.userId = data().deepCopy(fields()[0].schema(), other.userId);
+        fieldSetFlags()[0] = true;
+      }
+      if (isValidValue(fields()[1], other.followerTier)) {
+        this.followerTier = data().deepCopy(fields()[1].schema(), other.followerTier);
+        fieldSetFlags()[1] = true;
+      }
+      if (isValidValue(fields()[2], other.region)) {
+        this.region = data().deepCopy(fields()[2].schema(), other.region);
+        fieldSetFlags()[2] = true;
+      }
+      if (isValidValue(fields()[3], other.botScore)) {
+        this.botScore = data().deepCopy(fields()[3].schema(), other.botScore);
+        fieldSetFlags()[3] = true;
+      }
+    }
+
+    /**
+      * Gets the value of the 'userId' field.
+      * @return The value.
+      */
+    public long getUserId() {
+      return userId;
+    }
+
+
+    /**
+      * Sets the value of the 'userId' field.
+      * @param value The value of 'userId'.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.UserProfileAvroModel.Builder setUserId(long value) {
+      validate(fields()[0], value);
+      this.userId = value;
+      fieldSetFlags()[0] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'userId' field has been set.
+      * @return True if the 'userId' field has been set, false otherwise.
+      */
+    public boolean hasUserId() {
+      return fieldSetFlags()[0];
+    }
+
+
+    /**
+      * Clears the value of the 'userId' field.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.UserProfileAvroModel.Builder clearUserId() {
+      fieldSetFlags()[0] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'followerTier' field.
+      * @return The value.
+      */
+    public java.lang.Integer getFollowerTier() {
+      return followerTier;
+    }
+
+
+    /**
+      * Sets the value of the 'followerTier' field.
+      * @param value The value of 'followerTier'.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.UserProfileAvroModel.Builder setFollowerTier(java.lang.Integer value) {
+      validate(fields()[1], value);
+      this.followerTier = value;
+      fieldSetFlags()[1] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'followerTier' field has been set.
+      * @return True if the 'followerTier' field has been set, false otherwise.
+      */
+    public boolean hasFollowerTier() {
+      return fieldSetFlags()[1];
+    }
+
+
+    /**
+      * Clears the value of the 'followerTier' field.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.UserProfileAvroModel.Builder clearFollowerTier() {
+      followerTier = null;
+      fieldSetFlags()[1] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'region' field.
+      * @return The value.
+      */
+    public java.lang.String getRegion() {
+      return region;
+    }
+
+
+    /**
+      * Sets the value of the 'region' field.
+      * @param value The value of 'region'.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.UserProfileAvroModel.Builder setRegion(java.lang.String value) {
+      validate(fields()[2], value);
+      this.region = value;
+      fieldSetFlags()[2] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'region' field has been set.
+      * @return True if the 'region' field has been set, false otherwise.
+      */
+    public boolean hasRegion() {
+      return fieldSetFlags()[2];
+    }
+
+
+    /**
+      * Clears the value of the 'region' field.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.UserProfileAvroModel.Builder clearRegion() {
+      region = null;
+      fieldSetFlags()[2] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'botScore' field.
+      * @return The value.
+      */
+    public java.lang.Float getBotScore() {
+      return botScore;
+    }
+
+
+    /**
+      * Sets the value of the 'botScore' field.
+      * @param value The value of 'botScore'.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.UserProfileAvroModel.Builder setBotScore(java.lang.Float value) {
+      validate(fields()[3], value);
+      this.botScore = value;
+      fieldSetFlags()[3] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'botScore' field has been set.
+      * @return True if the 'botScore' field has been set, false otherwise.
+      */
+    public boolean hasBotScore() {
+      return fieldSetFlags()[3];
+    }
+
+
+    /**
+      * Clears the value of the 'botScore' field.
+      * @return This builder.
+      */
+    public com.microservices.demo.kafka.avro.model.UserProfileAvroModel.Builder clearBotScore() {
+      botScore = null;
+      fieldSetFlags()[3] = false;
+      return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public UserProfileAvroModel build() {
+      try {
+        UserProfileAvroModel record = new UserProfileAvroModel();
+        record.userId = fieldSetFlags()[0] ? this.userId : (java.lang.Long) defaultValue(fields()[0]);
+        record.followerTier = fieldSetFlags()[1] ? this.followerTier : (java.lang.Integer) defaultValue(fields()[1]);
+        record.region = fieldSetFlags()[2] ? this.region : (java.lang.String) defaultValue(fields()[2]);
+        record.botScore = fieldSetFlags()[3] ? this.botScore : (java.lang.Float) defaultValue(fields()[3]);
+        return record;
+      } catch (org.apache.avro.AvroMissingFieldException e) {
+        throw e;
+      } catch (java.lang.Exception e) {
+        throw new org.apache.avro.AvroRuntimeException(e);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static final org.apache.avro.io.DatumWriter<UserProfileAvroModel>
+    WRITER$ = (org.apache.avro.io.DatumWriter<UserProfileAvroModel>)MODEL$.createDatumWriter(SCHEMA$);
+
+  @Override public void writeExternal(java.io.ObjectOutput out)
+    throws java.io.IOException {
+    WRITER$.write(this, SpecificData.getEncoder(out));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static final org.apache.avro.io.DatumReader<UserProfileAvroModel>
+    READER$ = (org.apache.avro.io.DatumReader<UserProfileAvroModel>)MODEL$.createDatumReader(SCHEMA$);
+
+  @Override public void readExternal(java.io.ObjectInput in)
+    throws java.io.IOException {
+    READER$.read(this, SpecificData.getDecoder(in));
+  }
+
+  @Override protected boolean hasCustomCoders() { return true; }
+
+  @Override public void customEncode(org.apache.avro.io.Encoder out)
+    throws java.io.IOException
+  {
+    out.writeLong(this.userId);
+
+    if (this.followerTier == null) {
+      out.writeIndex(0);
+      out.writeNull();
+    } else {
+      out.writeIndex(1);
+      out.writeInt(this.followerTier);
+    }
+
+    if (this.region == null) {
+      out.writeIndex(0);
+      out.writeNull();
+    } else {
+      out.writeIndex(1);
+      out.writeString(this.region);
+    }
+
+    if (this.botScore == null) {
+      out.writeIndex(0);
+      out.writeNull();
+    } else {
+      out.writeIndex(1);
+      out.writeFloat(this.botScore);
+    }
+
+  }
+
+  @Override public void customDecode(org.apache.avro.io.ResolvingDecoder in)
+    throws java.io.IOException
+  {
+    org.apache.avro.Schema.Field[] fieldOrder = in.readFieldOrderIfDiff();
+    if (fieldOrder == null) {
+      this.userId = in.readLong();
+
+      if (in.readIndex() != 1) {
+        in.readNull();
+        this.followerTier = null;
+      } else {
+        this.followerTier = in.readInt();
+      }
+
+      if (in.readIndex() != 1) {
+        in.readNull();
+        this.region = null;
+      } else {
+        this.region = in.readString();
+      }
+
+      if (in.readIndex() != 1) {
+        in.readNull();
+        this.botScore = null;
+      } else {
+        this.botScore = in.readFloat();
+      }
+
+    } else {
+      for (int i = 0; i < 4; i++) {
+        switch (fieldOrder[i].pos()) {
+        case 0:
+          this.userId = in.readLong();
+          break;
+
+        case 1:
+          if (in.readIndex() != 1) {
+            in.readNull();
+            this.followerTier = null;
+          } else {
+            this.followerTier = in.readInt();
+          }
+          break;
+
+        case 2:
+          if (in.readIndex() != 1) {
+            in.readNull();
+            this.region = null;
+          } else {
+            this.region = in.readString();
+          }
+          break;
+
+        case 3:
+          if (in.readIndex() != 1) {
+            in.readNull();
+            this.botScore = null;
+          } else {
+            this.botScore = in.readFloat();
+          }
+          break;
+
+        default:
+          throw new java.io.IOException("Corrupt ResolvingDecoder.");
+        }
+      }
+    }
+  }
+}
+
+
+
+
+
+
+
+
+
+
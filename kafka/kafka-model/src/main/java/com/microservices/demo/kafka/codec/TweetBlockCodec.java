@@ -0,0 +1,131 @@
+package com.microservices.demo.kafka.codec;
+
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificDatumWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Packs many tweets into the value of one kafka record as an avro container block: the record count, the byte
+ * size and the binary encoded tweets, as in an avro data file but without the file header and sync marker. The
+ * kafka record checksum already covers the block.
+ * <p>
+ * Instead of the schema every block carries the 64 bit parsing fingerprint of its writer schema in the
+ * {@link #SCHEMA_HEADER} record header. Readers resolve blocks of every writer schema they were given against the
+ * current tweet schema.
+ */
+public class TweetBlockCodec {
+    public static final String SCHEMA_HEADER = "tweet-block-schema";
+    public static final long SCHEMA_FINGERPRINT =
+            SchemaNormalization.parsingFingerprint64(TwitterAvroModel.getClassSchema());
+    private final Map<Long, SpecificDatumReader<TwitterAvroModel>> readers = new ConcurrentHashMap<>();
+
+    public TweetBlockCodec() {
+        addWriterSchema(TwitterAvroModel.getClassSchema());
+    }
+
+    /**
+     * Makes blocks written with an older or newer tweet schema readable.
+     */
+    public void addWriterSchema(final Schema writerSchema) {
+        readers.put(SchemaNormalization.parsingFingerprint64(writerSchema),
+                new SpecificDatumReader<>(writerSchema, TwitterAvroModel.getClassSchema()));
+    }
+
+    public List<TwitterAvroModel> read(final long schemaFingerprint, final byte[] block) {
+        final SpecificDatumReader<TwitterAvroModel> reader = readers.get(schemaFingerprint);
+        if (reader == null) {
+            throw new IllegalArgumentException("Unknown writer schema with fingerprint " + schemaFingerprint +
+                    " of a tweet block!.");
+        }
+        try {
+            final BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(block, null);
+            final long count = decoder.readLong();
+            final long byteSize = decoder.readLong();
+            if (count < 0 || byteSize < 0 || byteSize > block.length) {
+                throw new IllegalArgumentException("Corrupt tweet block header, " + count + " record(s) in " +
+                        byteSize + " bytes!.");
+            }
+            final List<TwitterAvroModel> models = new ArrayList<>((int) count);
+            for (long i = 0; i < count; ++i) {
+                models.add(reader.read(null, decoder));
+            }
+            return models;
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Tweet block could not be read!.", e);
+        }
+    }
+
+    public static byte[] encodeFingerprint(final long fingerprint) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(fingerprint).array();
+    }
+
+    public static long decodeFingerprint(final byte[] header) {
+        return ByteBuffer.wrap(header).getLong();
+    }
+
+    /**
+     * Collects encoded tweets of one block, reused after {@link #reset()}. Not thread safe.
+     */
+    public static class BlockWriter {
+        private final SpecificDatumWriter<TwitterAvroModel> writer =
+                new SpecificDatumWriter<>(TwitterAvroModel.getClassSchema());
+        private final ByteArrayOutputStream records;
+        private final BinaryEncoder encoder;
+        private int recordCount;
+
+        public BlockWriter(final int initialBytes) {
+            this.records = new ByteArrayOutputStream(initialBytes);
+            this.encoder = EncoderFactory.get().directBinaryEncoder(records, null);
+        }
+
+        public void append(final TwitterAvroModel model) {
+            try {
+                writer.write(model, encoder);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Tweet with id " + model.getId() + " could not be encoded!.", e);
+            }
+            ++recordCount;
+        }
+
+        public int getRecordCount() {
+            return recordCount;
+        }
+
+        public int getByteSize() {
+            return records.size();
+        }
+
+        public byte[] toBlock() {
+            final ByteArrayOutputStream block = new ByteArrayOutputStream(records.size() + 20);
+            final BinaryEncoder blockEncoder = EncoderFactory.get().directBinaryEncoder(block, null);
+            try {
+                blockEncoder.writeLong(recordCount);
+                blockEncoder.writeLong(records.size());
+                records.writeTo(block);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Tweet block could not be written!.", e);
+            }
+            return block.toByteArray();
+        }
+
+        public void reset() {
+            records.reset();
+            recordCount = 0;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.microservices.demo.kafka.codec;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compresses single serialized records with a zstd dictionary trained on a sample of them.
+ * <p>
+ * Records of a few hundred bytes barely compress on their own and small producer batches do not give batch
+ * compression much to work with, a dictionary gives every record the shared context up front. Dictionaries are
+ * versioned files named v&lt;version&gt;.zdict in one directory. The version a record was compressed with travels
+ * in the {@link #VERSION_HEADER} record header, so a dictionary can be retrained and rolled out while records of
+ * the previous one are still read. Dictionaries are loaded on first use and kept.
+ */
+public class ZstdDictionaryCodec {
+    public static final String VERSION_HEADER = "zstd-dictionary-version";
+    public static final String DIRECTORY_CONFIG = "zstd.dictionary.directory";
+    public static final String VERSION_CONFIG = "zstd.dictionary.version";
+    public static final String LEVEL_CONFIG = "zstd.dictionary.level";
+    public static final String DELEGATE_CONFIG = "zstd.dictionary.delegate";
+    public static final int DEFAULT_LEVEL = 3;
+    //Guards against a corrupt frame header announcing a huge record.
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+    private final Path directory;
+    private final int level;
+    private final Map<Integer, ZstdDictCompress> compressors = new ConcurrentHashMap<>();
+    private final Map<Integer, ZstdDictDecompress> decompressors = new ConcurrentHashMap<>();
+
+    public ZstdDictionaryCodec(final Path directory, final int level) {
+        this.directory = directory;
+        this.level = level;
+    }
+
+    public static Path getDictionaryFile(final Path directory, final int version) {
+        return directory.resolve("v" + version + ".zdict");
+    }
+
+    public byte[] compress(final int version, final byte[] payload) {
+        final ZstdDictCompress compressor =
+                compressors.computeIfAbsent(version, v -> new ZstdDictCompress(readDictionary(v), level));
+        return Zstd.compress(payload, compressor);
+    }
+
+    public byte[] decompress(final int version, final byte[] compressed) {
+        final ZstdDictDecompress decompressor =
+                decompressors.computeIfAbsent(version, v -> new ZstdDictDecompress(readDictionary(v)));
+        final long size = Zstd.decompressedSize(compressed);
+        if (size <= 0 || size > MAX_RECORD_BYTES) {
+            throw new ZstdException(-1L, "Invalid decompressed size " + size + " of zstd dictionary record!.");
+        }
+        return Zstd.decompress(compressed, decompressor, (int) size);
+    }
+
+    public static byte[] encodeVersion(final int version) {
+        return ByteBuffer.allocate(Integer.BYTES).putInt(version).array();
+    }
+
+    public static int decodeVersion(final byte[] header) {
+        return ByteBuffer.wrap(header).getInt();
+    }
+
+    private byte[] readDictionary(final int version) {
+        final Path file = getDictionaryFile(directory, version);
+        try {
+            return Files.readAllBytes(file);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Zstd dictionary " + file + " could not be read!.", e);
+        }
+    }
+}
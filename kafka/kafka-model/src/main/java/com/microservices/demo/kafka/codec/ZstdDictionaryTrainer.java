@@ -0,0 +1,63 @@
+package com.microservices.demo.kafka.codec;
+
+import com.github.luben.zstd.ZstdDictTrainer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Trains the dictionaries of {@link ZstdDictionaryCodec} offline on a sample of serialized records.
+ * <p>
+ * Run with a directory holding one serialized record per file, the same layout the zstd command line expects for
+ * zstd --train:
+ * java -cp kafka-model.jar:zstd-jni.jar com.microservices.demo.kafka.codec.ZstdDictionaryTrainer
+ * &lt;sample-dir&gt; &lt;dictionary-dir&gt; &lt;version&gt; [dictionary-bytes]
+ */
+public final class ZstdDictionaryTrainer {
+    public static final int DEFAULT_DICTIONARY_BYTES = 16 * 1024;
+
+    private ZstdDictionaryTrainer() {
+    }
+
+    public static byte[] train(final Collection<byte[]> samples, final int dictionaryBytes) {
+        final int sampleBytes = samples.stream().mapToInt(sample -> sample.length).sum();
+        final ZstdDictTrainer trainer = new ZstdDictTrainer(sampleBytes, dictionaryBytes);
+        samples.forEach(trainer::addSample);
+        return trainer.trainSamples();
+    }
+
+    /**
+     * Writes the dictionary as the given version, an existing version is never overwritten because records
+     * compressed with it may still be in the topic.
+     */
+    public static Path save(final Path directory, final int version, final byte[] dictionary) throws IOException {
+        Files.createDirectories(directory);
+        return Files.write(ZstdDictionaryCodec.getDictionaryFile(directory, version), dictionary,
+                StandardOpenOption.CREATE_NEW);
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: ZstdDictionaryTrainer <sample-dir> <dictionary-dir> <version> " +
+                    "[dictionary-bytes]");
+            System.exit(1);
+        }
+        final List<byte[]> samples = new ArrayList<>();
+        try (Stream<Path> files = Files.list(Path.of(args[0]))) {
+            for (final Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                samples.add(Files.readAllBytes(file));
+            }
+        }
+        final int dictionaryBytes = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_DICTIONARY_BYTES;
+        final byte[] dictionary = train(samples, dictionaryBytes);
+        final Path file = save(Path.of(args[1]), Integer.parseInt(args[2]), dictionary);
+        System.out.println("Trained " + dictionary.length + " byte dictionary on " + samples.size() +
+                " samples: " + file);
+    }
+}
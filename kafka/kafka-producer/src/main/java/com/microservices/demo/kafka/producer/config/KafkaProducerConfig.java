@@ -2,6 +2,9 @@ package com.microservices.demo.kafka.producer.config;
 
 import com.microservices.demo.config.KafkaConfigData;
 import com.microservices.demo.config.KafkaProducerConfigData;
+import com.microservices.demo.kafka.codec.ZstdDictionaryCodec;
+import com.microservices.demo.kafka.producer.config.jfr.JfrTimedSerializer;
+import com.microservices.demo.kafka.producer.config.zstd.ZstdDictionarySerializer;
 import org.apache.avro.specific.SpecificRecordBase;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.springframework.context.annotation.Bean;
@@ -9,6 +12,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import reactor.kafka.sender.SenderOptions;
 
 import java.io.Serializable;
 import java.util.HashMap;
@@ -31,7 +36,22 @@ public class KafkaProducerConfig<K extends Serializable, V extends SpecificRecor
         properties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConfigData.getBootstrapServers());
         properties.put(kafkaConfigData.getSchemaRegistryUrlKey(), kafkaConfigData.getSchemaRegistryUrl());
         properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, kafkaProducerConfigData.getKeySerializerClass());
-        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, kafkaProducerConfigData.getValueSerializerClass());
+        String valueSerializerClass = kafkaProducerConfigData.getValueSerializerClass();
+        if (kafkaProducerConfigData.getZstdDictionaryVersion() != null) {
+            properties.put(ZstdDictionaryCodec.DELEGATE_CONFIG, valueSerializerClass);
+            properties.put(ZstdDictionaryCodec.DIRECTORY_CONFIG, kafkaProducerConfigData.getZstdDictionaryDirectory());
+            properties.put(ZstdDictionaryCodec.VERSION_CONFIG, kafkaProducerConfigData.getZstdDictionaryVersion());
+            if (kafkaProducerConfigData.getZstdDictionaryLevel() != null) {
+                properties.put(ZstdDictionaryCodec.LEVEL_CONFIG, kafkaProducerConfigData.getZstdDictionaryLevel());
+            }
+            valueSerializerClass = ZstdDictionarySerializer.class.getName();
+        }
+        //Wraps the compression as well, so the serialize event includes it and reports the compressed size.
+        if (Boolean.TRUE.equals(kafkaProducerConfigData.getJfrEvents())) {
+            properties.put(JfrTimedSerializer.DELEGATE_CONFIG, valueSerializerClass);
+            valueSerializerClass = JfrTimedSerializer.class.getName();
+        }
+        properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, valueSerializerClass);
         properties.put(ProducerConfig.ACKS_CONFIG, kafkaProducerConfigData.getAcks());
         properties.put(ProducerConfig.BATCH_SIZE_CONFIG, kafkaProducerConfigData.getBatchSize() *
                 kafkaProducerConfigData.getBatchSizeBoostFactor());
@@ -51,4 +71,50 @@ public class KafkaProducerConfig<K extends Serializable, V extends SpecificRecor
     public KafkaTemplate<K, V> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
+
+    /**
+     * @return the properties above with the given properties applied on top
+     */
+    public Map<String, Object> producerConfig(final Map<String, ?> overrides) {
+        //Copied, the producer config bean is shared with the default template.
+        final Map<String, Object> properties = new HashMap<>(producerConfig());
+        properties.putAll(overrides);
+        return properties;
+    }
+
+    /**
+     * @return a template with its own producer instance using the overridden properties
+     */
+    public KafkaTemplate<K, V> kafkaTemplate(final Map<String, ?> overrides) {
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerConfig(overrides)));
+    }
+
+    /**
+     * Producer properties of a priority lane: the properties above with the lane overrides applied.
+     */
+    public Map<String, Object> laneProducerConfig(final String lane) {
+        final Map<String, Object> overrides = new HashMap<>();
+        final Map<String, Map<String, String>> laneOverrides = kafkaProducerConfigData.getLaneOverrides();
+        if (laneOverrides != null && laneOverrides.get(lane) != null) {
+            overrides.putAll(laneOverrides.get(lane));
+        }
+        overrides.put(ProducerConfig.CLIENT_ID_CONFIG, "producer-lane-" + lane);
+        return producerConfig(overrides);
+    }
+
+    /**
+     * @return a template with its own producer instance for the lane, not shared with any other template
+     */
+    public KafkaTemplate<K, V> laneKafkaTemplate(final String lane) {
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(laneProducerConfig(lane)));
+    }
+
+    @Bean
+    public ReactiveKafkaProducerTemplate<K, V> reactiveKafkaProducerTemplate() {
+        //The underlying producer is only created on first send, so this costs nothing when not used.
+        final SenderOptions<K, V> senderOptions = SenderOptions.<K, V>create(producerConfig())
+                .maxInFlight(kafkaProducerConfigData.getReactiveMaxInFlight())
+                .stopOnError(false);
+        return new ReactiveKafkaProducerTemplate<>(senderOptions);
+    }
 }
@@ -0,0 +1,212 @@
+package com.microservices.demo.kafka.producer.config.bulk;
+
+import com.microservices.demo.config.BulkTopicConfigData;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.codec.TweetBlockCodec;
+import com.microservices.demo.kafka.producer.config.KafkaProducerConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Packs tweets into blocks of many tweets per kafka record on the bulk topic, so the per record overhead of the
+ * batch, the broker index and the consumer fetch is paid once per block instead of once per tweet.
+ * <p>
+ * There is one open block per partition of the bulk topic. A tweet goes to the block of the partition its key
+ * hashes to, with the hash of the default partitioner, and blocks are sent to their partition in the order they
+ * fill, so the tweets of one key stay in order. The price is latency: a tweet waits in its block until the block
+ * is full or max-delay-ms passed, the stats log reports that wait.
+ */
+@Component
+@ConditionalOnExpression("${bulk-topic-config.enabled:false}")
+public class TweetBlockPacker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TweetBlockPacker.class);
+    private final BulkTopicConfigData bulkTopicConfigData;
+    private final KafkaTemplate<Long, byte[]> kafkaTemplate;
+    private final Map<Integer, OpenBlock> openBlocks = new ConcurrentHashMap<>();
+    private final LongAdder packedTweets = new LongAdder();
+    private final LongAdder sentBlocks = new LongAdder();
+    private final LongAdder sentBytes = new LongAdder();
+    private final LongAdder failedBlocks = new LongAdder();
+    private final LongAdder packDelayNanos = new LongAdder();
+    private final LongAccumulator maxPackDelayNanos = new LongAccumulator(Math::max, 0L);
+    private final LongAdder ackLatencyNanos = new LongAdder();
+    private final LongAdder ackedBlocks = new LongAdder();
+    private volatile int partitionCount;
+    private ScheduledExecutorService blockCloser;
+
+    public TweetBlockPacker(final BulkTopicConfigData bulkTopicConfigData,
+                            final KafkaProducerConfig<Long, TwitterAvroModel> kafkaProducerConfig) {
+        this.bulkTopicConfigData = bulkTopicConfigData;
+        //Blocks are already encoded, the producer only has to copy the bytes.
+        this.kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(kafkaProducerConfig.producerConfig(
+                Map.of(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName(),
+                        ProducerConfig.CLIENT_ID_CONFIG, "producer-bulk"))));
+    }
+
+    @PostConstruct
+    public void init() {
+        refreshPartitionCount();
+        final long maxDelayMs = bulkTopicConfigData.getMaxDelayMs();
+        blockCloser = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "tweet-block-closer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long tickMs = Math.max(1L, maxDelayMs / 4);
+        blockCloser.scheduleAtFixedRate(this::sendExpiredBlocks, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        LOGGER.info("Packing tweets into blocks of up to {} tweets or {} bytes, sent after at most {} ms, to topic " +
+                        "{} with {} partition(s)", bulkTopicConfigData.getMaxRecords(),
+                bulkTopicConfigData.getMaxBytes(), maxDelayMs, bulkTopicConfigData.getTopicName(), partitionCount);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        LOGGER.info("Sending open tweet blocks and closing bulk producer!.");
+        if (blockCloser != null) {
+            blockCloser.shutdownNow();
+        }
+        openBlocks.values().forEach(OpenBlock::send);
+        kafkaTemplate.flush();
+        kafkaTemplate.destroy();
+    }
+
+    /**
+     * Encodes the tweet into the open block of its partition, the model can be reused once this returns.
+     * Sends the block when it is full.
+     */
+    public void add(final Long key, final TwitterAvroModel model) {
+        final int partition = partitionFor(key);
+        openBlocks.computeIfAbsent(partition, OpenBlock::new).add(model);
+        packedTweets.increment();
+    }
+
+    @Scheduled(fixedRateString = "${bulk-topic-config.stats-log-interval-ms:60000}",
+            initialDelayString = "${bulk-topic-config.stats-log-interval-ms:60000}")
+    public void logStats() {
+        final long blocks = sentBlocks.sum();
+        final long acked = ackedBlocks.sum();
+        LOGGER.info("Tweet blocks: packed {} tweet(s) into {} block(s), {} tweets and {} bytes per block, {} failed, " +
+                        "block wait avg {} ms max {} ms, block ack avg {} ms", packedTweets.sum(), blocks,
+                blocks == 0 ? 0 : packedTweets.sum() / blocks, blocks == 0 ? 0 : sentBytes.sum() / blocks,
+                failedBlocks.sum(), blocks == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(packDelayNanos.sum() / blocks),
+                TimeUnit.NANOSECONDS.toMillis(maxPackDelayNanos.get()),
+                acked == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(ackLatencyNanos.sum() / acked));
+    }
+
+    Map<MetricName, ? extends Metric> getProducerMetrics() {
+        return kafkaTemplate.metrics();
+    }
+
+    int partitionFor(final Long key) {
+        final int partitions = partitionCount;
+        if (key == null) {
+            return ThreadLocalRandom.current().nextInt(partitions);
+        }
+        //Same bytes as the LongSerializer and same hash as the default partitioner of the record topic.
+        final byte[] keyBytes = ByteBuffer.allocate(Long.BYTES).putLong(key).array();
+        return Utils.toPositive(Utils.murmur2(keyBytes)) % partitions;
+    }
+
+    private void sendExpiredBlocks() {
+        try {
+            refreshPartitionCount();
+            final long deadlineNanos =
+                    System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(bulkTopicConfigData.getMaxDelayMs());
+            openBlocks.values().forEach(block -> block.sendIfOpenedBefore(deadlineNanos));
+        } catch (final RuntimeException e) {
+            LOGGER.error("Error while sending expired tweet blocks", e);
+        }
+    }
+
+    //Partitions can only be added, tweets of a key move to another partition then, as with the default partitioner.
+    private void refreshPartitionCount() {
+        final List<?> partitions = kafkaTemplate.partitionsFor(bulkTopicConfigData.getTopicName());
+        partitionCount = partitions.size();
+    }
+
+    /**
+     * Block of one partition being filled. Sending happens under the block lock, so blocks of a partition enter the
+     * producer in the order they were filled.
+     */
+    private final class OpenBlock {
+        private final int partition;
+        private final TweetBlockCodec.BlockWriter writer;
+        private long openedNanos;
+
+        private OpenBlock(final int partition) {
+            this.partition = partition;
+            this.writer = new TweetBlockCodec.BlockWriter(bulkTopicConfigData.getMaxBytes());
+        }
+
+        private synchronized void add(final TwitterAvroModel model) {
+            if (writer.getRecordCount() == 0) {
+                openedNanos = System.nanoTime();
+            }
+            writer.append(model);
+            if (writer.getRecordCount() >= bulkTopicConfigData.getMaxRecords()
+                    || writer.getByteSize() >= bulkTopicConfigData.getMaxBytes()) {
+                send();
+            }
+        }
+
+        private synchronized void sendIfOpenedBefore(final long deadlineNanos) {
+            if (writer.getRecordCount() > 0 && openedNanos - deadlineNanos <= 0) {
+                send();
+            }
+        }
+
+        private synchronized void send() {
+            if (writer.getRecordCount() == 0) {
+                return;
+            }
+            final byte[] block = writer.toBlock();
+            final int tweetCount = writer.getRecordCount();
+            writer.reset();
+            final long sendNanos = System.nanoTime();
+            final long waitNanos = sendNanos - openedNanos;
+            packDelayNanos.add(waitNanos);
+            maxPackDelayNanos.accumulate(waitNanos);
+            sentBlocks.increment();
+            sentBytes.add(block.length);
+            final ProducerRecord<Long, byte[]> record =
+                    new ProducerRecord<>(bulkTopicConfigData.getTopicName(), partition, null, block);
+            record.headers().add(new RecordHeader(TweetBlockCodec.SCHEMA_HEADER,
+                    TweetBlockCodec.encodeFingerprint(TweetBlockCodec.SCHEMA_FINGERPRINT)));
+            kafkaTemplate.send(record).whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    failedBlocks.increment();
+                    LOGGER.error("Error while sending block of {} tweet(s) to partition {} of topic {}", tweetCount,
+                            partition, bulkTopicConfigData.getTopicName(), throwable);
+                } else {
+                    ackedBlocks.increment();
+                    ackLatencyNanos.add(System.nanoTime() - sendNanos);
+                }
+            });
+        }
+    }
+}
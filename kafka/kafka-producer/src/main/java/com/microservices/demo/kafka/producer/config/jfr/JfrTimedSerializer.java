@@ -0,0 +1,76 @@
+package com.microservices.demo.kafka.producer.config.jfr;
+
+import org.apache.avro.Schema;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.utils.Utils;
+
+import java.util.Map;
+
+/**
+ * Serializer wrapping the configured serializer with a {@link KafkaSerializeEvent}, so serialization shows up
+ * separately from the rest of the producer send in a flight recording.
+ */
+public class JfrTimedSerializer implements Serializer<Object> {
+    public static final String DELEGATE_CONFIG = "jfr.timed.serializer.delegate";
+    private Serializer<Object> delegate;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void configure(final Map<String, ?> configs, final boolean isKey) {
+        try {
+            delegate = Utils.newInstance((String) configs.get(DELEGATE_CONFIG), Serializer.class);
+        } catch (final ClassNotFoundException e) {
+            throw new IllegalArgumentException("Serializer " + configs.get(DELEGATE_CONFIG) + " not found!.", e);
+        }
+        delegate.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(final String topic, final Object data) {
+        final KafkaSerializeEvent event = new KafkaSerializeEvent();
+        event.begin();
+        final byte[] bytes = delegate.serialize(topic, data);
+        commit(event, topic, data, bytes);
+        return bytes;
+    }
+
+    @Override
+    public byte[] serialize(final String topic, final Headers headers, final Object data) {
+        final KafkaSerializeEvent event = new KafkaSerializeEvent();
+        event.begin();
+        final byte[] bytes = delegate.serialize(topic, headers, data);
+        commit(event, topic, data, bytes);
+        return bytes;
+    }
+
+    @Override
+    public void close() {
+        if (delegate != null) {
+            delegate.close();
+        }
+    }
+
+    private static void commit(final KafkaSerializeEvent event, final String topic, final Object data,
+                               final byte[] bytes) {
+        event.end();
+        //Everything below only runs while a recording has the event enabled and the threshold was reached.
+        if (event.shouldCommit()) {
+            event.topic = topic;
+            event.recordId = getRecordId(data);
+            event.size = bytes == null ? 0 : bytes.length;
+            event.commit();
+        }
+    }
+
+    private static long getRecordId(final Object data) {
+        if (data instanceof SpecificRecordBase record) {
+            final Schema.Field idField = record.getSchema().getField("id");
+            if (idField != null && record.get(idField.pos()) instanceof Long id) {
+                return id;
+            }
+        }
+        return 0L;
+    }
+}
@@ -0,0 +1,28 @@
+package com.microservices.demo.kafka.producer.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.microservices.demo.KafkaAck")
+@Label("Kafka Ack")
+@Category({"Microservices Demo", "Kafka Producer"})
+@Description("Producer send until the broker acknowledged or rejected the record")
+public class KafkaAckEvent extends Event {
+    @Label("Topic")
+    public String topic;
+
+    @Label("Tweet Id")
+    public long tweetId;
+
+    @Label("Partition")
+    public int partition;
+
+    @Label("Offset")
+    public long offset;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,20 @@
+package com.microservices.demo.kafka.producer.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.microservices.demo.KafkaEnqueue")
+@Label("Kafka Enqueue")
+@Category({"Microservices Demo", "Kafka Producer"})
+@Description("Producer send until the record is in the accumulator, including serialization and any blocking " +
+        "on metadata or a full buffer")
+public class KafkaEnqueueEvent extends Event {
+    @Label("Topic")
+    public String topic;
+
+    @Label("Tweet Id")
+    public long tweetId;
+}
@@ -0,0 +1,25 @@
+package com.microservices.demo.kafka.producer.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.microservices.demo.KafkaSerialize")
+@Label("Kafka Serialize")
+@Category({"Microservices Demo", "Kafka Producer"})
+@Description("Serialization of a record value, runs inside the producer send")
+public class KafkaSerializeEvent extends Event {
+    @Label("Topic")
+    public String topic;
+
+    @Label("Record Id")
+    @Description("Id field of the record, 0 if it has none")
+    public long recordId;
+
+    @Label("Size")
+    @DataAmount
+    public int size;
+}
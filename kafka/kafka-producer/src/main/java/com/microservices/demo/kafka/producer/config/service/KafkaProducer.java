@@ -1,9 +1,18 @@
 package com.microservices.demo.kafka.producer.config.service;
 
 import org.apache.avro.specific.SpecificRecordBase;
+import org.apache.kafka.common.header.Header;
 
 import java.io.Serializable;
+import java.util.List;
 
 public interface KafkaProducer<K extends Serializable, V extends SpecificRecordBase> {
     void send(final String topicName, K key, V message);
+
+    /**
+     * Sends the message with the given record headers, producers that do not write headers ignore them.
+     */
+    default void send(final String topicName, final K key, final V message, final List<Header> headers) {
+        send(topicName, key, message);
+    }
 }
@@ -0,0 +1,17 @@
+package com.microservices.demo.kafka.producer.config.service;
+
+import org.apache.avro.specific.SpecificRecordBase;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import reactor.core.publisher.Flux;
+
+import java.io.Serializable;
+import java.util.function.Function;
+
+public interface ReactiveKafkaProducer<K extends Serializable, V extends SpecificRecordBase> {
+    /**
+     * Sends every message of the given stream, requesting new messages only as the in flight ones get acknowledged.
+     *
+     * @return metadata of the acknowledged records, failed records are logged and skipped
+     */
+    Flux<RecordMetadata> send(final String topicName, Function<V, K> keyMapper, Flux<V> messages);
+}
@@ -0,0 +1,38 @@
+package com.microservices.demo.kafka.producer.config.service.impl;
+
+import com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel;
+import com.microservices.demo.kafka.producer.config.service.KafkaProducer;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+public class TwitterAggregateKafkaProducer implements KafkaProducer<Long, TwitterAggregateAvroModel> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TwitterAggregateKafkaProducer.class);
+    private final KafkaTemplate<Long, TwitterAggregateAvroModel> kafkaTemplate;
+
+    public TwitterAggregateKafkaProducer(final KafkaTemplate<Long, TwitterAggregateAvroModel> kafkaTemplate) {
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    @Override
+    public void send(final String topicName, final Long key, final TwitterAggregateAvroModel message) {
+        LOGGER.info("Sending aggregate of window {} - {} with {} tweet(s), to topic: {}", message.getWindowStart(),
+                message.getWindowEnd(), message.getTweetCount(), topicName);
+        kafkaTemplate.send(topicName, key, message).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                LOGGER.error("Error while sending aggregate of window {} to topic {}", key, topicName, throwable);
+            } else {
+                final RecordMetadata recordMetadata = result.getRecordMetadata();
+                LOGGER.debug("Received new Metadata. Topic: {}; Partition: {}; Offset: {}; Timestamp: {}",
+                        recordMetadata.topic(),
+                        recordMetadata.partition(),
+                        recordMetadata.offset(),
+                        recordMetadata.timestamp());
+            }
+        });
+    }
+}
@@ -1,15 +1,22 @@
 package com.microservices.demo.kafka.producer.config.service.impl;
 
 import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.producer.config.bulk.TweetBlockPacker;
+import com.microservices.demo.kafka.producer.config.jfr.KafkaAckEvent;
+import com.microservices.demo.kafka.producer.config.jfr.KafkaEnqueueEvent;
 import com.microservices.demo.kafka.producer.config.service.KafkaProducer;
 import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.header.Header;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 @Service
@@ -17,26 +24,64 @@ public class TwitterKafkaProducer implements KafkaProducer<Long, TwitterAvroMode
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TwitterKafkaProducer.class);
     private final KafkaTemplate<Long, TwitterAvroModel> kafkaTemplate;
+    private final Optional<TweetBlockPacker> tweetBlockPacker;
 
-    public TwitterKafkaProducer(final KafkaTemplate<Long, TwitterAvroModel> kafkaTemplate) {
+    public TwitterKafkaProducer(final KafkaTemplate<Long, TwitterAvroModel> kafkaTemplate,
+                                final Optional<TweetBlockPacker> tweetBlockPacker) {
         this.kafkaTemplate = kafkaTemplate;
+        this.tweetBlockPacker = tweetBlockPacker;
     }
 
+    /**
+     * Sends the tweet as its own record, or in bulk topic mode packs it into a block for the bulk topic instead.
+     */
     @Override
     public void send(final String topicName, final Long key, final TwitterAvroModel message) {
+        send(topicName, key, message, List.of());
+    }
+
+    /**
+     * Blocks carry no per tweet headers, in bulk topic mode the headers are dropped.
+     */
+    @Override
+    public void send(final String topicName, final Long key, final TwitterAvroModel message,
+                     final List<Header> headers) {
+        if (tweetBlockPacker.isPresent()) {
+            LOGGER.debug("Packing message with id {} into a tweet block", message.getId());
+            tweetBlockPacker.get().add(key, message);
+            return;
+        }
         LOGGER.info("Sending message: {}, to topic: {}", message, topicName);
+        final KafkaAckEvent ackEvent = new KafkaAckEvent();
+        ackEvent.begin();
+        final KafkaEnqueueEvent enqueueEvent = new KafkaEnqueueEvent();
+        enqueueEvent.begin();
         final CompletableFuture<SendResult<Long, TwitterAvroModel>> kafkaResultFuture =
-                kafkaTemplate.send(topicName, key, message);
+                headers.isEmpty() ? kafkaTemplate.send(topicName, key, message)
+                        : kafkaTemplate.send(new ProducerRecord<Long, TwitterAvroModel>(topicName, null, key, message,
+                        headers));
+        enqueueEvent.end();
+        if (enqueueEvent.shouldCommit()) {
+            enqueueEvent.topic = topicName;
+            enqueueEvent.tweetId = message.getId();
+            enqueueEvent.commit();
+        }
 
-        addCallback(topicName, message, kafkaResultFuture);
+        //The message may be recycled by the caller once send returns, so only its id is kept for the callback.
+        //The ack event is only kept while a recording has it enabled.
+        addCallback(topicName, message.getId(), kafkaResultFuture, ackEvent.isEnabled() ? ackEvent : null);
     }
 
     private static void addCallback(final String topicName,
-                                    final TwitterAvroModel message,
-                                    final CompletableFuture<SendResult<Long, TwitterAvroModel>> kafkaResultFuture) {
+                                    final long messageId,
+                                    final CompletableFuture<SendResult<Long, TwitterAvroModel>> kafkaResultFuture,
+                                    final KafkaAckEvent ackEvent) {
         kafkaResultFuture.whenComplete((result, throwable) -> {
+            if (ackEvent != null) {
+                commitAckEvent(ackEvent, topicName, messageId, result, throwable);
+            }
             if (throwable != null) {
-                LOGGER.error("Error while sending message {} to topic {}", message, topicName, throwable);
+                LOGGER.error("Error while sending message with id {} to topic {}", messageId, topicName, throwable);
             } else {
                 final RecordMetadata recordMetadata = result.getRecordMetadata();
                 LOGGER.debug("Received new Metadata. Topic: {}; Partition: {}; Offset: {}; Timestamp: {}, at Time {}.",
@@ -49,6 +94,24 @@ public class TwitterKafkaProducer implements KafkaProducer<Long, TwitterAvroMode
         });
     }
 
+    private static void commitAckEvent(final KafkaAckEvent ackEvent,
+                                       final String topicName,
+                                       final long messageId,
+                                       final SendResult<Long, TwitterAvroModel> result,
+                                       final Throwable throwable) {
+        ackEvent.end();
+        if (ackEvent.shouldCommit()) {
+            ackEvent.topic = topicName;
+            ackEvent.tweetId = messageId;
+            ackEvent.success = throwable == null;
+            if (throwable == null) {
+                ackEvent.partition = result.getRecordMetadata().partition();
+                ackEvent.offset = result.getRecordMetadata().offset();
+            }
+            ackEvent.commit();
+        }
+    }
+
     @PreDestroy
     public void close() {
         if (kafkaTemplate != null) {
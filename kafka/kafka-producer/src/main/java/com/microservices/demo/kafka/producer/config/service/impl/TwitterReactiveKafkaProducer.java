@@ -0,0 +1,55 @@
+package com.microservices.demo.kafka.producer.config.service.impl;
+
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.producer.config.service.ReactiveKafkaProducer;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+
+import java.util.function.Function;
+
+@Service
+public class TwitterReactiveKafkaProducer implements ReactiveKafkaProducer<Long, TwitterAvroModel> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TwitterReactiveKafkaProducer.class);
+    private final ReactiveKafkaProducerTemplate<Long, TwitterAvroModel> reactiveKafkaProducerTemplate;
+
+    public TwitterReactiveKafkaProducer(
+            final ReactiveKafkaProducerTemplate<Long, TwitterAvroModel> reactiveKafkaProducerTemplate) {
+        this.reactiveKafkaProducerTemplate = reactiveKafkaProducerTemplate;
+    }
+
+    @Override
+    public Flux<RecordMetadata> send(final String topicName,
+                                     final Function<TwitterAvroModel, Long> keyMapper,
+                                     final Flux<TwitterAvroModel> messages) {
+        final Flux<SenderRecord<Long, TwitterAvroModel, Long>> records = messages.map(message ->
+                SenderRecord.create(new ProducerRecord<>(topicName, keyMapper.apply(message), message),
+                        message.getId()));
+        return reactiveKafkaProducerTemplate.send(records)
+                .filter(result -> {
+                    if (result.exception() != null) {
+                        LOGGER.error("Error while sending message with id {} to topic {}", result.correlationMetadata(),
+                                topicName, result.exception());
+                        return false;
+                    }
+                    return true;
+                })
+                .map(SenderResult::recordMetadata);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (reactiveKafkaProducerTemplate != null) {
+            LOGGER.info("Closing reactive kafka producer!.");
+            reactiveKafkaProducerTemplate.close();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.microservices.demo.kafka.producer.config.zstd;
+
+import com.microservices.demo.kafka.codec.ZstdDictionaryCodec;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.utils.Utils;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Serializer compressing the bytes of the configured serializer with a trained zstd dictionary and stamping the
+ * dictionary version into the record headers. Without headers the version can not travel with the record, so the
+ * bytes are passed on uncompressed and the consumer reads them as they are.
+ */
+public class ZstdDictionarySerializer implements Serializer<Object> {
+    private Serializer<Object> delegate;
+    private ZstdDictionaryCodec codec;
+    private int version;
+    private byte[] versionHeader;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void configure(final Map<String, ?> configs, final boolean isKey) {
+        try {
+            delegate = Utils.newInstance((String) configs.get(ZstdDictionaryCodec.DELEGATE_CONFIG), Serializer.class);
+        } catch (final ClassNotFoundException e) {
+            throw new IllegalArgumentException("Serializer " + configs.get(ZstdDictionaryCodec.DELEGATE_CONFIG) +
+                    " not found!.", e);
+        }
+        delegate.configure(configs, isKey);
+        final Object level = configs.get(ZstdDictionaryCodec.LEVEL_CONFIG);
+        codec = new ZstdDictionaryCodec(Path.of((String) configs.get(ZstdDictionaryCodec.DIRECTORY_CONFIG)),
+                level == null ? ZstdDictionaryCodec.DEFAULT_LEVEL : Integer.parseInt(level.toString()));
+        version = Integer.parseInt(configs.get(ZstdDictionaryCodec.VERSION_CONFIG).toString());
+        versionHeader = ZstdDictionaryCodec.encodeVersion(version);
+        //Fails on startup instead of on the first send when the dictionary is missing.
+        codec.compress(version, new byte[0]);
+    }
+
+    @Override
+    public byte[] serialize(final String topic, final Object data) {
+        return delegate.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(final String topic, final Headers headers, final Object data) {
+        final byte[] bytes = delegate.serialize(topic, headers, data);
+        if (bytes == null) {
+            return null;
+        }
+        headers.remove(ZstdDictionaryCodec.VERSION_HEADER);
+        headers.add(ZstdDictionaryCodec.VERSION_HEADER, versionHeader);
+        return codec.compress(version, bytes);
+    }
+
+    @Override
+    public void close() {
+        if (delegate != null) {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.microservices.demo.kafka.producer.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-JVM TCP proxy in front of one target that plays a fault schedule on every connection.
+ * <p>
+ * Each direction of a connection has a reader and a writer thread. The reader queues chunks stamped with the time
+ * they are due, so added latency delays bytes without lowering throughput. The writer holds chunks back while the
+ * network is stalled and paces them to the bandwidth limit. The bounded queue pushes back on the sender's socket
+ * like a full tcp window.
+ */
+class FaultInjectingProxy implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FaultInjectingProxy.class);
+    private static final int CHUNK_BYTES = 16 * 1024;
+    private static final int MAX_QUEUED_CHUNKS = 256;
+    private static final long TICK_MICROS = 500L;
+    private static final Chunk END_OF_STREAM = new Chunk(new byte[0], 0L);
+    private static final FaultSchedule PASS_THROUGH = FaultSchedule.builder("pass-through").build();
+    private final String targetHost;
+    private final int targetPort;
+    private final ServerSocket serverSocket;
+    private final ExecutorService pumps = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "fault-proxy-pump");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "fault-proxy-ticker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong acceptedConnections = new AtomicLong();
+    private final AtomicLong resetConnections = new AtomicLong();
+    private final AtomicLong forwardedBytes = new AtomicLong();
+    private volatile FaultSchedule.Phase phase = PASS_THROUGH.getPhase(0);
+    private volatile boolean running = true;
+    private FaultSchedule schedule = PASS_THROUGH;
+    private long scheduleStartNanos = System.nanoTime();
+    private int phaseIndex;
+
+    FaultInjectingProxy(final String targetHost, final int targetPort) throws IOException {
+        this.targetHost = targetHost;
+        this.targetPort = targetPort;
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        final Thread acceptor = new Thread(this::accept, "fault-proxy-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        ticker.scheduleAtFixedRate(this::tick, TICK_MICROS, TICK_MICROS, TimeUnit.MICROSECONDS);
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Starts playing the schedule from its first phase, replacing the schedule that was playing.
+     */
+    synchronized void play(final FaultSchedule newSchedule) {
+        LOGGER.info("Playing fault schedule {} for {} ms", newSchedule.getName(), newSchedule.getDurationMs());
+        schedule = newSchedule;
+        scheduleStartNanos = System.nanoTime();
+        phaseIndex = -1;
+        tick();
+    }
+
+    /**
+     * Forwards everything without faults from now on.
+     */
+    void heal() {
+        play(PASS_THROUGH);
+    }
+
+    long getAcceptedConnections() {
+        return acceptedConnections.get();
+    }
+
+    long getResetConnections() {
+        return resetConnections.get();
+    }
+
+    long getForwardedBytes() {
+        return forwardedBytes.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        ticker.shutdownNow();
+        closeQuietly(serverSocket);
+        connections.forEach(Connection::close);
+        pumps.shutdownNow();
+    }
+
+    private synchronized void tick() {
+        final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scheduleStartNanos);
+        final int index = schedule.phaseIndexAt(elapsedMs);
+        if (index != phaseIndex) {
+            phaseIndex = index;
+            phase = schedule.getPhase(index);
+            if (phase.resetOnStart) {
+                connections.forEach(Connection::reset);
+            }
+        }
+    }
+
+    private void accept() {
+        while (running) {
+            try {
+                final Socket client = serverSocket.accept();
+                final Socket upstream = new Socket(targetHost, targetPort);
+                client.setTcpNoDelay(true);
+                upstream.setTcpNoDelay(true);
+                acceptedConnections.incrementAndGet();
+                final Connection connection = new Connection(client, upstream);
+                connections.add(connection);
+                connection.start();
+            } catch (final IOException e) {
+                if (running) {
+                    LOGGER.warn("Fault proxy could not accept a connection!.", e);
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(final AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (final Exception e) {
+            LOGGER.debug("Error while closing {}", closeable, e);
+        }
+    }
+
+    private static void parkUntil(final long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private final class Connection {
+        private final Socket client;
+        private final Socket upstream;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Connection(final Socket client, final Socket upstream) {
+            this.client = client;
+            this.upstream = upstream;
+        }
+
+        private void start() {
+            new Pipe(this, client, upstream).start();
+            new Pipe(this, upstream, client).start();
+        }
+
+        //Linger 0 makes close send a RST instead of a FIN, like a broker crash or a middlebox dropping the flow.
+        private void reset() {
+            try {
+                client.setSoLinger(true, 0);
+                upstream.setSoLinger(true, 0);
+            } catch (final IOException e) {
+                LOGGER.debug("Could not set linger before reset", e);
+            }
+            if (!closed.get()) {
+                resetConnections.incrementAndGet();
+            }
+            close();
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                connections.remove(this);
+                closeQuietly(client);
+                closeQuietly(upstream);
+            }
+        }
+    }
+
+    private final class Pipe {
+        private final Connection connection;
+        private final Socket from;
+        private final Socket to;
+        private final BlockingQueue<Chunk> queue = new LinkedBlockingQueue<>(MAX_QUEUED_CHUNKS);
+        private long nextSendNanos;
+
+        private Pipe(final Connection connection, final Socket from, final Socket to) {
+            this.connection = connection;
+            this.from = from;
+            this.to = to;
+        }
+
+        private void start() {
+            pumps.execute(this::read);
+            pumps.execute(this::write);
+        }
+
+        private void read() {
+            final byte[] buffer = new byte[CHUNK_BYTES];
+            try {
+                final InputStream in = from.getInputStream();
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    final long dueNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(phase.latencyMs);
+                    queue.put(new Chunk(Arrays.copyOf(buffer, read), dueNanos));
+                }
+                queue.put(END_OF_STREAM);
+            } catch (final IOException e) {
+                connection.close();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                connection.close();
+            }
+        }
+
+        private void write() {
+            try {
+                final OutputStream out = to.getOutputStream();
+                while (true) {
+                    final Chunk chunk = queue.take();
+                    if (chunk == END_OF_STREAM) {
+                        to.shutdownOutput();
+                        return;
+                    }
+                    parkUntil(chunk.dueNanos);
+                    while (phase.stalled && running) {
+                        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(TICK_MICROS));
+                    }
+                    pace(chunk.bytes.length);
+                    out.write(chunk.bytes);
+                    forwardedBytes.addAndGet(chunk.bytes.length);
+                }
+            } catch (final IOException e) {
+                connection.close();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                connection.close();
+            }
+        }
+
+        private void pace(final int length) {
+            final long bytesPerSecond = phase.bytesPerSecond;
+            if (bytesPerSecond <= 0) {
+                return;
+            }
+            nextSendNanos = Math.max(nextSendNanos, System.nanoTime());
+            parkUntil(nextSendNanos);
+            nextSendNanos += length * 1_000_000_000L / bytesPerSecond;
+        }
+    }
+
+    private static final class Chunk {
+        private final byte[] bytes;
+        private final long dueNanos;
+
+        private Chunk(final byte[] bytes, final long dueNanos) {
+            this.bytes = bytes;
+            this.dueNanos = dueNanos;
+        }
+    }
+}
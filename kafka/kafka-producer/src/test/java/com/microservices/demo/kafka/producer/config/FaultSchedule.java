@@ -0,0 +1,126 @@
+package com.microservices.demo.kafka.producer.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timeline of network faults played by the proxy. After the last phase the network stays in that phase.
+ */
+final class FaultSchedule {
+    private final String name;
+    private final List<Phase> phases;
+    private final long durationMs;
+
+    private FaultSchedule(final String name, final List<Phase> phases) {
+        this.name = name;
+        this.phases = List.copyOf(phases);
+        this.durationMs = phases.stream().mapToLong(phase -> phase.durationMs).sum();
+    }
+
+    static Builder builder(final String name) {
+        return new Builder(name);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    long getDurationMs() {
+        return durationMs;
+    }
+
+    /**
+     * @return index of the phase active at the given time since the schedule started
+     */
+    int phaseIndexAt(final long elapsedMs) {
+        long phaseEndMs = 0L;
+        for (int i = 0; i < phases.size(); ++i) {
+            phaseEndMs += phases.get(i).durationMs;
+            if (elapsedMs < phaseEndMs) {
+                return i;
+            }
+        }
+        return phases.size() - 1;
+    }
+
+    Phase getPhase(final int index) {
+        return phases.get(index);
+    }
+
+    /**
+     * One stretch of network behaviour. Latency is added in each direction, a bandwidth of 0 is unlimited.
+     */
+    static final class Phase {
+        final long durationMs;
+        final long latencyMs;
+        final long bytesPerSecond;
+        final boolean stalled;
+        final boolean resetOnStart;
+
+        private Phase(final long durationMs,
+                      final long latencyMs,
+                      final long bytesPerSecond,
+                      final boolean stalled,
+                      final boolean resetOnStart) {
+            this.durationMs = durationMs;
+            this.latencyMs = latencyMs;
+            this.bytesPerSecond = bytesPerSecond;
+            this.stalled = stalled;
+            this.resetOnStart = resetOnStart;
+        }
+    }
+
+    static final class Builder {
+        private final String name;
+        private final List<Phase> phases = new ArrayList<>();
+
+        private Builder(final String name) {
+            this.name = name;
+        }
+
+        Builder healthy(final long durationMs) {
+            phases.add(new Phase(durationMs, 0L, 0L, false, false));
+            return this;
+        }
+
+        Builder latency(final long durationMs, final long latencyMs) {
+            phases.add(new Phase(durationMs, latencyMs, 0L, false, false));
+            return this;
+        }
+
+        Builder bandwidth(final long durationMs, final long bytesPerSecond) {
+            phases.add(new Phase(durationMs, 0L, bytesPerSecond, false, false));
+            return this;
+        }
+
+        /**
+         * Connections stay open but no byte is forwarded, like a broker stuck in a long gc pause.
+         */
+        Builder stall(final long durationMs) {
+            phases.add(new Phase(durationMs, 0L, 0L, true, false));
+            return this;
+        }
+
+        /**
+         * Resets every open connection, then forwards normally for the given time.
+         */
+        Builder reset(final long durationMs) {
+            phases.add(new Phase(durationMs, 0L, 0L, false, true));
+            return this;
+        }
+
+        Builder repeat(final int times, final Builder cycle) {
+            for (int i = 0; i < times; ++i) {
+                phases.addAll(cycle.phases);
+            }
+            return this;
+        }
+
+        FaultSchedule build() {
+            if (phases.isEmpty()) {
+                healthy(0L);
+            }
+            return new FaultSchedule(name, phases);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.microservices.demo.kafka.producer.config;
+
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.config.KafkaProducerConfigData;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.LongDeserializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Producer throughput, ack latency percentiles and loss under network faults.
+ * The embedded broker advertises the port of an in-JVM proxy, so every producer connection, also the ones opened
+ * from metadata, goes through the proxy, which plays one fault schedule per scenario. Results are written to
+ * target/fault-injection-report.json. Run with: mvn test -Pperformance
+ * <p>
+ * The producer settings default to the ones of the service and can be changed to check a tuning change, e.g.
+ * -Dperformance.acks=1 -Dperformance.request-timeout-ms=5000 -Dperformance.retry-count=0
+ */
+@Tag("performance")
+class ProducerFaultInjectionTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProducerFaultInjectionTest.class);
+    private static final String TOPIC_PREFIX = "twitter-topic-";
+    private static final int OFFERED_PER_SECOND = Integer.getInteger("performance.offered-per-second", 2_000);
+    private static final long LONG_STALL_MS = Long.getLong("performance.long-stall-ms", 15_000L);
+    private static final long ACK_TIMEOUT_MS = 300_000L;
+    private static final Path REPORT_PATH = Path.of("target", "fault-injection-report.json");
+    private static final List<String> REPORT = new ArrayList<>();
+
+    private static EmbeddedKafkaBroker broker;
+    private static FaultInjectingProxy proxy;
+
+    @BeforeAll
+    static void startBroker() throws IOException {
+        final int brokerPort = getFreePort();
+        proxy = new FaultInjectingProxy("localhost", brokerPort);
+        broker = new EmbeddedKafkaBroker(1, false, 3)
+                .kafkaPorts(brokerPort)
+                .brokerProperty("advertised.listeners", "PLAINTEXT://127.0.0.1:" + proxy.getPort())
+                .brokerProperty("auto.create.topics.enable", "false");
+        broker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void writeReport() throws IOException {
+        broker.destroy();
+        proxy.close();
+        Files.createDirectories(REPORT_PATH.getParent());
+        Files.writeString(REPORT_PATH, "[\n  " + String.join(",\n  ", REPORT) + "\n]\n", StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void healthyNetwork() throws Exception {
+        run(FaultSchedule.builder("healthy").healthy(10_000L).build());
+    }
+
+    @Test
+    public void addedLatency() throws Exception {
+        run(FaultSchedule.builder("latency-50ms").latency(10_000L, 50L).build());
+    }
+
+    @Test
+    public void limitedBandwidth() throws Exception {
+        run(FaultSchedule.builder("bandwidth-256kb").bandwidth(10_000L, 256 * 1024L).build());
+    }
+
+    @Test
+    public void shortStalls() throws Exception {
+        run(FaultSchedule.builder("stalls-500ms")
+                .repeat(4, FaultSchedule.builder("cycle").healthy(2_000L).stall(500L))
+                .build());
+    }
+
+    @Test
+    public void longStall() throws Exception {
+        run(FaultSchedule.builder("stall-" + LONG_STALL_MS + "ms")
+                .healthy(2_000L).stall(LONG_STALL_MS).healthy(3_000L)
+                .build());
+    }
+
+    @Test
+    public void connectionResets() throws Exception {
+        run(FaultSchedule.builder("resets-every-2500ms")
+                .repeat(4, FaultSchedule.builder("cycle").reset(2_500L))
+                .build());
+    }
+
+    private static void run(final FaultSchedule schedule) throws Exception {
+        final String topicName = TOPIC_PREFIX + schedule.getName();
+        broker.addTopics(new NewTopic(topicName, 3, (short) 1));
+        final KafkaTemplate<Long, TwitterAvroModel> kafkaTemplate =
+                new KafkaProducerConfig<Long, TwitterAvroModel>(kafkaConfig(), producerConfig()).kafkaTemplate();
+        //Connections and metadata are set up before the faults start.
+        kafkaTemplate.send(topicName, -1L, tweet(-1L)).get(30, TimeUnit.SECONDS);
+
+        final int count = (int) (OFFERED_PER_SECOND * schedule.getDurationMs() / 1000L);
+        final SendOutcomes outcomes = new SendOutcomes(count);
+        final long intervalNanos = 1_000_000_000L / OFFERED_PER_SECOND;
+        final long resetsBefore = proxy.getResetConnections();
+        proxy.play(schedule);
+        final long start = System.nanoTime();
+        for (int i = 0; i < count; ++i) {
+            while (System.nanoTime() < start + i * intervalNanos) {
+                Thread.onSpinWait();
+            }
+            final long id = i;
+            final long sentNanos = System.nanoTime();
+            kafkaTemplate.send(topicName, id % 1000, tweet(id)).whenComplete((result, throwable) -> {
+                if (throwable == null) {
+                    outcomes.onAck(id, sentNanos);
+                } else {
+                    outcomes.onFailure(throwable);
+                }
+            });
+        }
+        final long remainingMs = schedule.getDurationMs() - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (remainingMs > 0) {
+            Thread.sleep(remainingMs);
+        }
+        proxy.heal();
+        assertTrue(outcomes.await(count, ACK_TIMEOUT_MS), "Not every send completed");
+        kafkaTemplate.destroy();
+
+        final Map<Long, Integer> persisted = readBack(topicName);
+        final long lost = outcomes.ackedIds.stream().filter(id -> !persisted.containsKey(id)).count();
+        final long duplicates = persisted.values().stream().mapToLong(copies -> copies - 1L).sum();
+        final double seconds = Math.max(1L, outcomes.lastAckNanos.get() - start) / 1_000_000_000.0;
+        final String step = String.format(Locale.ROOT, "{\"scenario\":\"%s\",\"acks\":\"%s\"," +
+                        "\"requestTimeoutMs\":%d,\"retries\":%d,\"offeredPerSecond\":%d,\"sent\":%d,\"acked\":%d," +
+                        "\"failed\":%d,\"failures\":\"%s\",\"lost\":%d,\"duplicates\":%d,\"resets\":%d," +
+                        "\"sustainedPerSecond\":%.1f,\"p50AckMs\":%.3f,\"p99AckMs\":%.3f,\"p999AckMs\":%.3f," +
+                        "\"maxAckMs\":%.3f}",
+                schedule.getName(), producerConfig().getAcks(), producerConfig().getRequestTimeoutMs(),
+                producerConfig().getRetryCount(), OFFERED_PER_SECOND, count, outcomes.acked.get(),
+                outcomes.failed.get(), outcomes.failureCauses, lost, duplicates,
+                proxy.getResetConnections() - resetsBefore, outcomes.acked.get() / seconds,
+                outcomes.getPercentileMs(50), outcomes.getPercentileMs(99), outcomes.getPercentileMs(99.9),
+                outcomes.getPercentileMs(100));
+        LOGGER.info("Fault scenario result: {}", step);
+        REPORT.add(step);
+
+        assertEquals(0L, lost, "Acknowledged records are missing from the topic");
+    }
+
+    /**
+     * @return number of copies of every tweet id in the topic, without the warm up record
+     */
+    private static Map<Long, Integer> readBack(final String topicName) {
+        final Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, LongDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
+                "io.confluent.kafka.serializers.KafkaAvroDeserializer");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(kafkaConfig().getSchemaRegistryUrlKey(), kafkaConfig().getSchemaRegistryUrl());
+        props.put("specific.avro.reader", true);
+        final Map<Long, Integer> copies = new HashMap<>();
+        try (KafkaConsumer<Long, TwitterAvroModel> consumer = new KafkaConsumer<>(props)) {
+            final List<TopicPartition> partitions = consumer.partitionsFor(topicName).stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList();
+            consumer.assign(partitions);
+            consumer.seekToBeginning(partitions);
+            final Map<TopicPartition, Long> endOffsets = new HashMap<>(consumer.endOffsets(partitions));
+            while (!endOffsets.isEmpty()) {
+                for (final ConsumerRecord<Long, TwitterAvroModel> record : consumer.poll(Duration.ofMillis(500))) {
+                    if (record.value().getId() >= 0) {
+                        copies.merge(record.value().getId(), 1, Integer::sum);
+                    }
+                }
+                endOffsets.entrySet().removeIf(end -> consumer.position(end.getKey()) >= end.getValue());
+            }
+        }
+        return copies;
+    }
+
+    private static TwitterAvroModel tweet(final long id) {
+        return TwitterAvroModel.newBuilder()
+                .setUserId(id % 1000)
+                .setId(id)
+                .setText("Java records make Kafka producers simple")
+                .setCreatedAt(System.currentTimeMillis())
+                .build();
+    }
+
+    private static KafkaConfigData kafkaConfig() {
+        final KafkaConfigData kafkaConfigData = new KafkaConfigData();
+        kafkaConfigData.setBootstrapServers(broker.getBrokersAsString());
+        kafkaConfigData.setSchemaRegistryUrlKey("schema.registry.url");
+        kafkaConfigData.setSchemaRegistryUrl("mock://producer-fault-injection");
+        return kafkaConfigData;
+    }
+
+    private static KafkaProducerConfigData producerConfig() {
+        final KafkaProducerConfigData producerConfigData = new KafkaProducerConfigData();
+        producerConfigData.setKeySerializerClass("org.apache.kafka.common.serialization.LongSerializer");
+        producerConfigData.setValueSerializerClass("io.confluent.kafka.serializers.KafkaAvroSerializer");
+        producerConfigData.setCompressionType(System.getProperty("performance.compression-type", "snappy"));
+        producerConfigData.setAcks(System.getProperty("performance.acks", "all"));
+        producerConfigData.setBatchSize(16384);
+        producerConfigData.setBatchSizeBoostFactor(Integer.getInteger("performance.batch-size-boost-factor", 100));
+        producerConfigData.setLingerMs(Integer.getInteger("performance.linger-ms", 5));
+        producerConfigData.setRequestTimeoutMs(Integer.getInteger("performance.request-timeout-ms", 60000));
+        producerConfigData.setRetryCount(Integer.getInteger("performance.retry-count", 5));
+        producerConfigData.setReactiveMaxInFlight(1024);
+        return producerConfigData;
+    }
+
+    private static int getFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static final class SendOutcomes {
+        private final long[] latenciesNanos;
+        private final AtomicInteger acked = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicLong lastAckNanos = new AtomicLong();
+        private final Set<Long> ackedIds = ConcurrentHashMap.newKeySet();
+        private final Map<String, Integer> failureCauses = new ConcurrentHashMap<>();
+
+        private SendOutcomes(final int capacity) {
+            this.latenciesNanos = new long[capacity];
+        }
+
+        private void onAck(final long id, final long sentNanos) {
+            final long now = System.nanoTime();
+            final int index = acked.getAndIncrement();
+            if (index < latenciesNanos.length) {
+                latenciesNanos[index] = now - sentNanos;
+            }
+            ackedIds.add(id);
+            lastAckNanos.accumulateAndGet(now, Math::max);
+        }
+
+        private void onFailure(final Throwable throwable) {
+            failed.incrementAndGet();
+            final Throwable cause = throwable.getCause() == null ? throwable : throwable.getCause();
+            failureCauses.merge(cause.getClass().getSimpleName(), 1, Integer::sum);
+        }
+
+        private boolean await(final int expected, final long timeoutMs) throws InterruptedException {
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            while (acked.get() + failed.get() < expected && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            return acked.get() + failed.get() >= expected;
+        }
+
+        private double getPercentileMs(final double percentile) {
+            final int count = Math.min(acked.get(), latenciesNanos.length);
+            if (count == 0) {
+                return 0.0;
+            }
+            final long[] sorted = Arrays.copyOf(latenciesNanos, count);
+            Arrays.sort(sorted);
+            final int index = Math.min(count - 1, (int) Math.ceil(percentile / 100.0 * count) - 1);
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.microservices.demo.kafka.producer.config.bulk;
+
+import com.microservices.demo.config.BulkTopicConfigData;
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.config.KafkaProducerConfigData;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.codec.TweetBlockCodec;
+import com.microservices.demo.kafka.producer.config.KafkaProducerConfig;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.LongDeserializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Kafka records, broker log bytes, produce requests and end to end latency of the same paced tweet stream sent
+ * once as one record per tweet and once packed into blocks on a bulk topic.
+ * Run with: mvn test -Pperformance
+ */
+@Tag("performance")
+@EmbeddedKafka(count = 1, partitions = 3,
+        topics = {TweetBlockPackerPerformanceTest.RECORD_TOPIC, TweetBlockPackerPerformanceTest.BULK_TOPIC})
+class TweetBlockPackerPerformanceTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TweetBlockPackerPerformanceTest.class);
+    static final String RECORD_TOPIC = "twitter-topic";
+    static final String BULK_TOPIC = "twitter-bulk-topic";
+    private static final int RECORD_COUNT = Integer.getInteger("performance.record-count", 100_000);
+    private static final int RECORDS_PER_SECOND = Integer.getInteger("performance.records-per-second", 20_000);
+    private static final long CONSUME_TIMEOUT_MS = 120_000L;
+
+    @Test
+    public void comparesBulkTopicWithRecordTopic(final EmbeddedKafkaBroker broker) throws Exception {
+        final KafkaProducerConfig<Long, TwitterAvroModel> kafkaProducerConfig =
+                new KafkaProducerConfig<>(kafkaConfig(broker), producerConfig());
+
+        final KafkaTemplate<Long, TwitterAvroModel> kafkaTemplate = kafkaProducerConfig.kafkaTemplate();
+        final Result recordTopic = run(broker, RECORD_TOPIC, record -> List.of((TwitterAvroModel) record.value()),
+                model -> kafkaTemplate.send(RECORD_TOPIC, model.getUserId(), model), () -> {
+                    kafkaTemplate.flush();
+                    return requestCount(kafkaTemplate.metrics());
+                });
+        kafkaTemplate.destroy();
+
+        final TweetBlockPacker packer = new TweetBlockPacker(bulkTopicConfig(), kafkaProducerConfig);
+        packer.init();
+        final TweetBlockCodec codec = new TweetBlockCodec();
+        final Result bulkTopic = run(broker, BULK_TOPIC, record -> {
+            final Header header = record.headers().lastHeader(TweetBlockCodec.SCHEMA_HEADER);
+            return codec.read(TweetBlockCodec.decodeFingerprint(header.value()), (byte[]) record.value());
+        }, model -> packer.add(model.getUserId(), model), () -> {
+            final double requests = requestCount(packer.getProducerMetrics());
+            packer.shutdown();
+            return requests;
+        });
+
+        LOGGER.info("Record topic: {}", recordTopic);
+        LOGGER.info("Bulk topic:   {}", bulkTopic);
+        assertTrue(bulkTopic.kafkaRecords * 10 < recordTopic.kafkaRecords,
+                "Blocks did not cut the kafka record count");
+        assertTrue(bulkTopic.logBytes < recordTopic.logBytes, "Blocks did not cut the broker log size");
+    }
+
+    /**
+     * Sends the tweets paced to the configured rate while a consumer reads them back, every tweet carries its send
+     * time as created at.
+     */
+    private static Result run(final EmbeddedKafkaBroker broker,
+                              final String topicName,
+                              final Function<ConsumerRecord<Long, Object>, List<TwitterAvroModel>> unpack,
+                              final Consumer<TwitterAvroModel> send,
+                              final Callable<Double> finish) throws Exception {
+        final ExecutorService consumerThread = Executors.newSingleThreadExecutor();
+        final Future<List<Long>> latencies = consumerThread.submit(() -> consume(broker, topicName, unpack));
+        final Random random = new Random(42L);
+        final long intervalNanos = 1_000_000_000L / RECORDS_PER_SECOND;
+        final long start = System.nanoTime();
+        for (int i = 0; i < RECORD_COUNT; ++i) {
+            LockSupport.parkNanos(start + i * intervalNanos - System.nanoTime());
+            send.accept(TwitterAvroModel.newBuilder()
+                    .setId(i)
+                    .setUserId(random.nextInt(10_000))
+                    .setText("Java records make Kafka consumers simple " + random.nextInt())
+                    .setCreatedAt(System.currentTimeMillis())
+                    .build());
+        }
+        final double requests = finish.call();
+        final List<Long> latencyMs = latencies.get(CONSUME_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        consumerThread.shutdown();
+        assertEquals(RECORD_COUNT, latencyMs.size(), "Not every tweet was consumed from " + topicName);
+        Collections.sort(latencyMs);
+        return new Result(endOffsets(broker, topicName), logBytes(broker, topicName), requests,
+                latencyMs.get(latencyMs.size() / 2), latencyMs.get((int) (latencyMs.size() * 0.99)),
+                latencyMs.get(latencyMs.size() - 1));
+    }
+
+    private static List<Long> consume(final EmbeddedKafkaBroker broker,
+                                      final String topicName,
+                                      final Function<ConsumerRecord<Long, Object>, List<TwitterAvroModel>> unpack) {
+        final List<Long> latencyMs = new ArrayList<>(RECORD_COUNT);
+        try (KafkaConsumer<Long, Object> consumer = new KafkaConsumer<>(consumerConfig(broker, topicName))) {
+            consumer.subscribe(List.of(topicName));
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CONSUME_TIMEOUT_MS);
+            while (latencyMs.size() < RECORD_COUNT && System.nanoTime() < deadline) {
+                for (final ConsumerRecord<Long, Object> record : consumer.poll(Duration.ofMillis(100L))) {
+                    final long now = System.currentTimeMillis();
+                    unpack.apply(record).forEach(model -> latencyMs.add(now - model.getCreatedAt()));
+                }
+            }
+        }
+        return latencyMs;
+    }
+
+    private static long endOffsets(final EmbeddedKafkaBroker broker, final String topicName) {
+        try (KafkaConsumer<Long, Object> consumer = new KafkaConsumer<>(consumerConfig(broker, topicName))) {
+            return consumer.endOffsets(consumer.partitionsFor(topicName).stream()
+                            .map(info -> new TopicPartition(topicName, info.partition()))
+                            .toList())
+                    .values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    private static long logBytes(final EmbeddedKafkaBroker broker, final String topicName)
+            throws ExecutionException, InterruptedException {
+        try (AdminClient adminClient = AdminClient.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG,
+                broker.getBrokersAsString()))) {
+            return adminClient.describeLogDirs(List.of(0)).allDescriptions().get().values().stream()
+                    .flatMap(logDirs -> logDirs.values().stream())
+                    .flatMap(logDir -> logDir.replicaInfos().entrySet().stream())
+                    .filter(replica -> replica.getKey().topic().equals(topicName))
+                    .mapToLong(replica -> replica.getValue().size())
+                    .sum();
+        }
+    }
+
+    private static double requestCount(final Map<MetricName, ? extends Metric> metrics) {
+        return metrics.entrySet().stream()
+                .filter(metric -> metric.getKey().name().equals("request-total")
+                        && metric.getKey().group().equals("producer-metrics"))
+                .mapToDouble(metric -> (Double) metric.getValue().metricValue())
+                .sum();
+    }
+
+    private static Map<String, Object> consumerConfig(final EmbeddedKafkaBroker broker, final String topicName) {
+        final boolean bulk = BULK_TOPIC.equals(topicName);
+        return Map.of(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ConsumerConfig.GROUP_ID_CONFIG, "bulk-benchmark-" + topicName,
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, LongDeserializer.class.getName(),
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, bulk ? ByteArrayDeserializer.class.getName()
+                        : "io.confluent.kafka.serializers.KafkaAvroDeserializer",
+                "schema.registry.url", "mock://bulk-benchmark",
+                "specific.avro.reader", "true");
+    }
+
+    private static KafkaConfigData kafkaConfig(final EmbeddedKafkaBroker broker) {
+        final KafkaConfigData kafkaConfigData = new KafkaConfigData();
+        kafkaConfigData.setBootstrapServers(broker.getBrokersAsString());
+        kafkaConfigData.setSchemaRegistryUrlKey("schema.registry.url");
+        kafkaConfigData.setSchemaRegistryUrl("mock://bulk-benchmark");
+        kafkaConfigData.setTopicName(RECORD_TOPIC);
+        return kafkaConfigData;
+    }
+
+    private static KafkaProducerConfigData producerConfig() {
+        final KafkaProducerConfigData producerConfigData = new KafkaProducerConfigData();
+        producerConfigData.setKeySerializerClass("org.apache.kafka.common.serialization.LongSerializer");
+        producerConfigData.setValueSerializerClass("io.confluent.kafka.serializers.KafkaAvroSerializer");
+        producerConfigData.setCompressionType("snappy");
+        producerConfigData.setAcks("all");
+        producerConfigData.setBatchSize(16384);
+        producerConfigData.setBatchSizeBoostFactor(100);
+        producerConfigData.setLingerMs(5);
+        producerConfigData.setRequestTimeoutMs(60000);
+        producerConfigData.setRetryCount(5);
+        producerConfigData.setReactiveMaxInFlight(1024);
+        return producerConfigData;
+    }
+
+    private static BulkTopicConfigData bulkTopicConfig() {
+        final BulkTopicConfigData bulkTopicConfigData = new BulkTopicConfigData();
+        bulkTopicConfigData.setEnabled(true);
+        bulkTopicConfigData.setTopicName(BULK_TOPIC);
+        bulkTopicConfigData.setMaxRecords(Integer.getInteger("performance.block-records", 500));
+        bulkTopicConfigData.setMaxBytes(Integer.getInteger("performance.block-bytes", 262144));
+        bulkTopicConfigData.setMaxDelayMs(Long.getLong("performance.block-delay-ms", 50L));
+        return bulkTopicConfigData;
+    }
+
+    private record Result(long kafkaRecords, long logBytes, double produceRequests, long p50LatencyMs,
+                          long p99LatencyMs, long maxLatencyMs) {
+        @Override
+        public String toString() {
+            return String.format("%d kafka records, %d log bytes (%.1f per tweet), %.0f produce requests, " +
+                            "end to end latency p50 %d ms, p99 %d ms, max %d ms", kafkaRecords, logBytes,
+                    (double) logBytes / RECORD_COUNT, produceRequests, p50LatencyMs, p99LatencyMs, maxLatencyMs);
+        }
+    }
+}
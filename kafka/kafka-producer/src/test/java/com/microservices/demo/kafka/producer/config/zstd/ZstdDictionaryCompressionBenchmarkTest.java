@@ -0,0 +1,174 @@
+package com.microservices.demo.kafka.producer.config.zstd;
+
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.codec.ZstdDictionaryCodec;
+import com.microservices.demo.kafka.codec.ZstdDictionaryTrainer;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.record.CompressionType;
+import org.apache.kafka.common.record.MemoryRecords;
+import org.apache.kafka.common.record.MemoryRecordsBuilder;
+import org.apache.kafka.common.record.Record;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bytes per record and cpu time per record of dictionary compressed values against plain snappy and zstd batch
+ * compression, for producer batches of a few sizes. Batches are built with the same record batch format the
+ * producer sends, so the batch and record overhead is included.
+ * Run with: mvn test -Pperformance
+ */
+@Tag("performance")
+class ZstdDictionaryCompressionBenchmarkTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ZstdDictionaryCompressionBenchmarkTest.class);
+    private static final int SAMPLE_RECORDS = Integer.getInteger("performance.sample-records", 20_000);
+    private static final int MEASURED_RECORDS = Integer.getInteger("performance.record-count", 100_000);
+    private static final int[] RECORDS_PER_BATCH = {1, 5, 20, 100};
+    private static final String[] WORDS = {"java", "kafka", "spring", "boot", "microservices", "stream", "event",
+            "latency", "throughput", "partition", "consumer", "producer", "cloud", "native", "release", "today",
+            "great", "talk", "about", "the", "new", "with", "and", "for", "this", "is", "how", "we", "scale"};
+    private static final String[] HASHTAGS = {"kafka", "java", "springboot", "microservices", "devops", "cloud"};
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    @TempDir
+    Path dictionaryDirectory;
+
+    @Test
+    public void comparesDictionaryWithBatchCompression() throws IOException {
+        final Random random = new Random(42L);
+        final List<byte[]> samples = new ArrayList<>();
+        for (int i = 0; i < SAMPLE_RECORDS; ++i) {
+            samples.add(serialize(tweet(random, i)));
+        }
+        ZstdDictionaryTrainer.save(dictionaryDirectory, 1,
+                ZstdDictionaryTrainer.train(samples, ZstdDictionaryTrainer.DEFAULT_DICTIONARY_BYTES));
+        final ZstdDictionaryCodec codec = new ZstdDictionaryCodec(dictionaryDirectory,
+                ZstdDictionaryCodec.DEFAULT_LEVEL);
+
+        //Measured on tweets the dictionary has not seen.
+        final List<byte[]> values = new ArrayList<>();
+        for (int i = 0; i < MEASURED_RECORDS; ++i) {
+            values.add(serialize(tweet(random, SAMPLE_RECORDS + i)));
+        }
+        final double plainBytes = values.stream().mapToInt(value -> value.length).average().orElse(0.0);
+        LOGGER.info("Average serialized tweet: {} bytes", String.format("%.1f", plainBytes));
+
+        //Warm up the jit and the native codecs, results discarded.
+        for (final CompressionType compressionType : CompressionType.values()) {
+            measure(values, RECORDS_PER_BATCH[1], compressionType, null);
+        }
+        measure(values, RECORDS_PER_BATCH[1], CompressionType.NONE, codec);
+        for (final int recordsPerBatch : RECORDS_PER_BATCH) {
+            final Result none = measure(values, recordsPerBatch, CompressionType.NONE, null);
+            final Result snappy = measure(values, recordsPerBatch, CompressionType.SNAPPY, null);
+            final Result zstd = measure(values, recordsPerBatch, CompressionType.ZSTD, null);
+            final Result dictionary = measure(values, recordsPerBatch, CompressionType.NONE, codec);
+            LOGGER.info("{} record(s) per batch: none {}, snappy {}, zstd {}, zstd dictionary {}", recordsPerBatch,
+                    none, snappy, zstd, dictionary);
+            assertTrue(dictionary.bytesPerRecord < none.bytesPerRecord,
+                    "Dictionary compression did not shrink the records");
+        }
+    }
+
+    private static Result measure(final List<byte[]> values, final int recordsPerBatch,
+                                  final CompressionType compressionType, final ZstdDictionaryCodec codec) {
+        final Header[] headers = codec == null ? new Header[0]
+                : new Header[]{new RecordHeader(ZstdDictionaryCodec.VERSION_HEADER,
+                ZstdDictionaryCodec.encodeVersion(1))};
+        final List<MemoryRecords> batches = new ArrayList<>();
+        long bytes = 0L;
+        final long compressStart = THREADS.getCurrentThreadCpuTime();
+        for (int first = 0; first < values.size(); first += recordsPerBatch) {
+            final int last = Math.min(values.size(), first + recordsPerBatch);
+            final MemoryRecordsBuilder builder = MemoryRecords.builder(ByteBuffer.allocate(1024),
+                    compressionType, TimestampType.CREATE_TIME, 0L);
+            for (int i = first; i < last; ++i) {
+                final byte[] value = codec == null ? values.get(i) : codec.compress(1, values.get(i));
+                builder.append(i, null, value, headers);
+            }
+            final MemoryRecords batch = builder.build();
+            bytes += batch.sizeInBytes();
+            batches.add(batch);
+        }
+        final long compressNanos = THREADS.getCurrentThreadCpuTime() - compressStart;
+
+        long checksum = 0L;
+        final long decompressStart = THREADS.getCurrentThreadCpuTime();
+        for (final MemoryRecords batch : batches) {
+            for (final Record record : batch.records()) {
+                final byte[] value = new byte[record.valueSize()];
+                record.value().get(value);
+                checksum += codec == null ? value.length : codec.decompress(1, value).length;
+            }
+        }
+        final long decompressNanos = THREADS.getCurrentThreadCpuTime() - decompressStart;
+        assertEquals(values.stream().mapToLong(value -> value.length).sum(), checksum);
+        return new Result((double) bytes / values.size(), (double) compressNanos / values.size(),
+                (double) decompressNanos / values.size());
+    }
+
+    private static TwitterAvroModel tweet(final Random random, final long id) {
+        final StringBuilder text = new StringBuilder();
+        final int words = 8 + random.nextInt(30);
+        for (int i = 0; i < words; ++i) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        final List<String> hashtags = new ArrayList<>();
+        for (int i = random.nextInt(3); i > 0; --i) {
+            final String hashtag = HASHTAGS[random.nextInt(HASHTAGS.length)];
+            hashtags.add(hashtag);
+            text.append('#').append(hashtag).append(' ');
+        }
+        return TwitterAvroModel.newBuilder()
+                .setId(1_600_000_000_000_000_000L + id * 7919L)
+                .setUserId(random.nextInt(1_000_000))
+                .setText(text.toString().trim())
+                .setCreatedAt(1_680_000_000_000L + id * 13L)
+                .setHashtags(hashtags)
+                .setMentions(List.of())
+                .setUrls(List.of())
+                .build();
+    }
+
+    //Avro binary with the 5 byte magic and schema id prefix the registry serializer writes.
+    private static byte[] serialize(final TwitterAvroModel model) {
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.write(new byte[]{0, 0, 0, 0, 1});
+            final BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+            new SpecificDatumWriter<>(TwitterAvroModel.class).write(model, encoder);
+            encoder.flush();
+            return out.toByteArray();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Result(double bytesPerRecord, double compressNanosPerRecord, double decompressNanosPerRecord) {
+        @Override
+        public String toString() {
+            return String.format("[%.1f bytes, compress %.0f ns, decompress %.0f ns per record]", bytesPerRecord,
+                    compressNanosPerRecord, decompressNanosPerRecord);
+        }
+    }
+}
@@ -9,12 +9,14 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import twitter4j.TwitterException;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.Arrays;
 
+@EnableScheduling
 @SpringBootApplication
 @ComponentScan(basePackages = {"com.microservices.demo"})
 public class TwitterToKafkaServiceApplication implements CommandLineRunner {
@@ -0,0 +1,104 @@
+package com.microservices.demo.config.twitter.to.kafka.service.aggregation;
+
+/**
+ * Open addressing long to int counter map, so counting does not box keys or values.
+ * Not thread safe.
+ */
+class LongIntHashMap {
+    private static final long EMPTY_KEY = 0L;
+    private static final float LOAD_FACTOR = 0.5f;
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private boolean hasZeroKey;
+    private int zeroKeyValue;
+
+    LongIntHashMap(final int initialCapacity) {
+        final int capacity = Integer.highestOneBit(Math.max(4, (int) (initialCapacity / LOAD_FACTOR)) - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    void addTo(final long key, final int delta) {
+        if (key == EMPTY_KEY) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                ++size;
+            }
+            zeroKeyValue += delta;
+            return;
+        }
+        int index = indexOf(key);
+        while (keys[index] != EMPTY_KEY) {
+            if (keys[index] == key) {
+                values[index] += delta;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = delta;
+        if (++size > keys.length * LOAD_FACTOR) {
+            rehash();
+        }
+    }
+
+    int get(final long key) {
+        if (key == EMPTY_KEY) {
+            return hasZeroKey ? zeroKeyValue : 0;
+        }
+        int index = indexOf(key);
+        while (keys[index] != EMPTY_KEY) {
+            if (keys[index] == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(final LongIntConsumer consumer) {
+        if (hasZeroKey) {
+            consumer.accept(EMPTY_KEY, zeroKeyValue);
+        }
+        for (int i = 0; i < keys.length; ++i) {
+            if (keys[i] != EMPTY_KEY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    private int indexOf(final long key) {
+        //Fibonacci hashing spreads sequential user ids over the table.
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private void rehash() {
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+        keys = new long[oldKeys.length << 1];
+        values = new int[oldValues.length << 1];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                int index = indexOf(oldKeys[i]);
+                while (keys[index] != EMPTY_KEY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface LongIntConsumer {
+        void accept(long key, int value);
+    }
+}
@@ -0,0 +1,190 @@
+package com.microservices.demo.config.twitter.to.kafka.service.aggregation;
+
+import com.microservices.demo.config.TweetAggregationConfigData;
+import com.microservices.demo.config.TwitterToKafkaServiceConfigData;
+import com.microservices.demo.config.twitter.to.kafka.service.keyword.KeywordChangeListener;
+import com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.producer.config.service.KafkaProducer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts tweets per user and per keyword in tumbling processing time windows and publishes one aggregate record
+ * per window, so consumers that only need the counts do not have to read the whole tweet topic.
+ * Recording threads are striped by thread id over a fixed set of accumulators, which are merged when the window
+ * closes. The set does not grow with thread churn of elastic schedulers.
+ * Keyword ids never change once assigned, so new keywords can be swapped in while a window is open.
+ */
+@Component
+public class TweetAggregator implements KeywordChangeListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TweetAggregator.class);
+    private final TweetAggregationConfigData tweetAggregationConfigData;
+    private final KafkaProducer<Long, TwitterAggregateAvroModel> kafkaProducer;
+    private final boolean enabled;
+    //Every keyword seen since startup, indexed by keyword id. Only written by the keyword refresh.
+    private final Map<String, Integer> keywordIds = new HashMap<>();
+    private volatile String[] keywordNames = new String[0];
+    private volatile KeywordMatcher keywordMatcher;
+    private final WindowAccumulator[] accumulators;
+    private final ThreadLocal<int[]> matchedKeywordIds = ThreadLocal.withInitial(() -> new int[0]);
+    private ScheduledExecutorService windowCloser;
+    private long windowStart;
+
+    public TweetAggregator(final TweetAggregationConfigData tweetAggregationConfigData,
+                           final TwitterToKafkaServiceConfigData twitterToKafkaServiceConfigData,
+                           final KafkaProducer<Long, TwitterAggregateAvroModel> kafkaProducer) {
+        this.tweetAggregationConfigData = tweetAggregationConfigData;
+        this.kafkaProducer = kafkaProducer;
+        this.enabled = Boolean.TRUE.equals(tweetAggregationConfigData.getEnabled());
+        onKeywordsChanged(twitterToKafkaServiceConfigData.getTwitterKeywords());
+        this.accumulators = new WindowAccumulator[enabled
+                ? Math.max(1, tweetAggregationConfigData.getAccumulatorStripes()) : 0];
+        for (int i = 0; i < accumulators.length; ++i) {
+            accumulators[i] =
+                    new WindowAccumulator(tweetAggregationConfigData.getInitialUserCapacity(), keywordNames.length);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            final long windowMs = tweetAggregationConfigData.getWindowMs();
+            final long now = System.currentTimeMillis();
+            windowStart = now - now % windowMs;
+            windowCloser = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "tweet-aggregation-window-closer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            windowCloser.scheduleAtFixedRate(this::closeWindow, windowStart + windowMs - now, windowMs,
+                    TimeUnit.MILLISECONDS);
+            LOGGER.info("Started tweet aggregation with window of {} ms, publishing to topic {}", windowMs,
+                    tweetAggregationConfigData.getTopicName());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (windowCloser != null) {
+            LOGGER.info("Shutting down tweet aggregation.");
+            windowCloser.shutdownNow();
+        }
+    }
+
+    public void record(final TwitterAvroModel model) {
+        if (!enabled) {
+            return;
+        }
+        final KeywordMatcher matcher = keywordMatcher;
+        int[] keywordIdBuffer = matchedKeywordIds.get();
+        if (keywordIdBuffer.length < matcher.keywords().length) {
+            keywordIdBuffer = new int[matcher.keywords().length];
+            matchedKeywordIds.set(keywordIdBuffer);
+        }
+        final int matchedKeywords = matcher.match(model.getText(), keywordIdBuffer);
+        final int stripe = (int) (Thread.currentThread().getId() % accumulators.length);
+        accumulators[stripe].record(model.getUserId(), keywordIdBuffer, matchedKeywords);
+    }
+
+    /**
+     * Builds the matcher for the new keywords and swaps it in, tweets being recorded keep using the old one.
+     * Counts of removed keywords recorded in the current window are still published when it closes.
+     */
+    @Override
+    public synchronized void onKeywordsChanged(final List<String> keywords) {
+        final String[] activeKeywords = keywords.toArray(new String[0]);
+        final int[] activeKeywordIds = new int[activeKeywords.length];
+        for (int i = 0; i < activeKeywords.length; ++i) {
+            final String keyword = activeKeywords[i];
+            activeKeywordIds[i] = keywordIds.computeIfAbsent(keyword, k -> keywordIds.size());
+        }
+        final String[] names = new String[keywordIds.size()];
+        keywordIds.forEach((keyword, id) -> names[id] = keyword);
+        //Names first, so the names always cover every id the published matcher can hand out.
+        keywordNames = names;
+        keywordMatcher = new KeywordMatcher(activeKeywords, activeKeywordIds);
+    }
+
+    //Holds the same lock as the keyword refresh, so no keyword id unknown to the merged counts can show up.
+    synchronized void closeWindow() {
+        try {
+            final long windowEnd = windowStart + tweetAggregationConfigData.getWindowMs();
+            final String[] names = keywordNames;
+            final LongIntHashMap userCounts = new LongIntHashMap(tweetAggregationConfigData.getInitialUserCapacity());
+            final int[] keywordCounts = new int[names.length];
+            long tweetCount = 0L;
+            for (final WindowAccumulator windowAccumulator : accumulators) {
+                tweetCount += windowAccumulator.drainTo(userCounts, keywordCounts);
+            }
+            kafkaProducer.send(tweetAggregationConfigData.getTopicName(), windowStart,
+                    toAvroModel(windowEnd, tweetCount, userCounts, keywordCounts, names));
+            windowStart = windowEnd;
+        } catch (final RuntimeException e) {
+            LOGGER.error("Error while publishing tweet aggregate for window starting at {}", windowStart, e);
+        }
+    }
+
+    private TwitterAggregateAvroModel toAvroModel(final long windowEnd,
+                                                  final long tweetCount,
+                                                  final LongIntHashMap userCounts,
+                                                  final int[] keywordCounts,
+                                                  final String[] names) {
+        final List<Long> userIds = new ArrayList<>(userCounts.size());
+        final List<Integer> userTweetCounts = new ArrayList<>(userCounts.size());
+        userCounts.forEach((userId, count) -> {
+            userIds.add(userId);
+            userTweetCounts.add(count);
+        });
+        final List<String> matchedKeywords = new ArrayList<>();
+        final List<Integer> keywordTweetCounts = new ArrayList<>();
+        for (int i = 0; i < keywordCounts.length; ++i) {
+            if (keywordCounts[i] > 0) {
+                matchedKeywords.add(names[i]);
+                keywordTweetCounts.add(keywordCounts[i]);
+            }
+        }
+        return TwitterAggregateAvroModel.newBuilder()
+                .setWindowStart(windowStart)
+                .setWindowEnd(windowEnd)
+                .setTweetCount(tweetCount)
+                .setUserIds(userIds)
+                .setUserCounts(userTweetCounts)
+                .setKeywords(matchedKeywords)
+                .setKeywordCounts(keywordTweetCounts)
+                .build();
+    }
+
+    /**
+     * Currently configured keywords with their stable ids.
+     */
+    private record KeywordMatcher(String[] keywords, int[] ids) {
+
+        int match(final String text, final int[] matchedIds) {
+            int matched = 0;
+            if (text != null) {
+                for (int k = 0; k < keywords.length; ++k) {
+                    final String keyword = keywords[k];
+                    for (int i = 0; i <= text.length() - keyword.length(); ++i) {
+                        if (text.regionMatches(true, i, keyword, 0, keyword.length())) {
+                            matchedIds[matched++] = ids[k];
+                            break;
+                        }
+                    }
+                }
+            }
+            return matched;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.microservices.demo.config.twitter.to.kafka.service.aggregation;
+
+import java.util.Arrays;
+
+/**
+ * Counts of one stripe of recording threads for the current window. With at least as many stripes as recording
+ * threads the lock is rarely contended, the window closer takes it once per window to swap the counts out.
+ */
+class WindowAccumulator {
+    private final int initialUserCapacity;
+    private int keywordCount;
+    private LongIntHashMap userCounts;
+    private int[] keywordCounts;
+    private long tweetCount;
+
+    WindowAccumulator(final int initialUserCapacity, final int keywordCount) {
+        this.initialUserCapacity = initialUserCapacity;
+        this.keywordCount = keywordCount;
+        reset();
+    }
+
+    synchronized void record(final long userId, final int[] keywordIds, final int matchedKeywords) {
+        userCounts.addTo(userId, 1);
+        for (int i = 0; i < matchedKeywords; ++i) {
+            final int keywordId = keywordIds[i];
+            if (keywordId >= keywordCounts.length) {
+                //A keyword added after this accumulator was created.
+                keywordCount = keywordId + 1;
+                keywordCounts = Arrays.copyOf(keywordCounts, keywordCount);
+            }
+            ++keywordCounts[keywordId];
+        }
+        ++tweetCount;
+    }
+
+    /**
+     * Adds the counts of this accumulator to the given ones and starts from zero again.
+     */
+    synchronized long drainTo(final LongIntHashMap totalUserCounts, final int[] totalKeywordCounts) {
+        userCounts.forEach(totalUserCounts::addTo);
+        for (int i = 0; i < keywordCounts.length; ++i) {
+            totalKeywordCounts[i] += keywordCounts[i];
+        }
+        final long drainedTweetCount = tweetCount;
+        //An idle stripe keeps its empty counts instead of allocating new ones every window.
+        if (drainedTweetCount > 0) {
+            reset();
+        }
+        return drainedTweetCount;
+    }
+
+    private void reset() {
+        userCounts = new LongIntHashMap(initialUserCapacity);
+        keywordCounts = new int[keywordCount];
+        tweetCount = 0L;
+    }
+}
@@ -0,0 +1,55 @@
+package com.microservices.demo.config.twitter.to.kafka.service.api;
+
+import com.microservices.demo.config.twitter.to.kafka.service.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * Records the running service for a while and returns the .jfr file, e.g.
+ * curl -o pipeline.jfr "localhost:8080/admin/flight-recording?durationMs=30000"
+ */
+@RestController
+@RequestMapping("/admin")
+@ConditionalOnExpression("${flight-recorder-config.enabled:false}")
+public class FlightRecorderController {
+    private final FlightRecorder flightRecorder;
+
+    public FlightRecorderController(final FlightRecorder flightRecorder) {
+        this.flightRecorder = flightRecorder;
+    }
+
+    @GetMapping(value = "/flight-recording", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public Mono<ResponseEntity<byte[]>> record(@RequestParam(value = "durationMs", required = false)
+                                               final Long durationMs) {
+        final Duration duration = flightRecorder.getDuration(durationMs);
+        //The recording is closed when the response is done, also if the client goes away before.
+        return Mono.using(() -> {
+                    final Recording recording = flightRecorder.start(duration);
+                    if (recording == null) {
+                        throw new ResponseStatusException(HttpStatus.CONFLICT, "A flight recording is running.");
+                    }
+                    return recording;
+                },
+                recording -> Mono.delay(duration)
+                        .publishOn(Schedulers.boundedElastic())
+                        .map(tick -> flightRecorder.dump(recording)),
+                flightRecorder::close)
+                .map(content -> ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION,
+                                "attachment; filename=\"twitter-to-kafka-service.jfr\"")
+                        .body(content));
+    }
+}
@@ -0,0 +1,52 @@
+package com.microservices.demo.config.twitter.to.kafka.service.backpressure;
+
+import com.microservices.demo.config.ConsumerLagConfigData;
+import com.microservices.demo.kafka.admin.lag.ConsumerLagMonitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Slows down ingestion while the consumers of the tweets fall behind. Every tweet waits up to
+ * backpressure-max-delay-ms, scaled by the backpressure level of the {@link ConsumerLagMonitor}, on the thread that
+ * received it. The streams then read slower from the socket, or their queues fill and shed as configured.
+ */
+@Component
+@ConditionalOnExpression("${consumer-lag-config.enabled:false} && ${consumer-lag-config.backpressure-enabled:false}")
+public class LagBackpressure {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LagBackpressure.class);
+    private final ConsumerLagMonitor consumerLagMonitor;
+    private final long maxDelayNanos;
+    private final LongAdder delayedTweets = new LongAdder();
+    private final LongAdder delayNanos = new LongAdder();
+
+    public LagBackpressure(final ConsumerLagConfigData consumerLagConfigData,
+                           final ConsumerLagMonitor consumerLagMonitor) {
+        this.consumerLagMonitor = consumerLagMonitor;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(consumerLagConfigData.getBackpressureMaxDelayMs());
+    }
+
+    public void await() {
+        final long nanos = (long) (consumerLagMonitor.getBackpressureLevel() * maxDelayNanos);
+        if (nanos <= 0L) {
+            return;
+        }
+        LockSupport.parkNanos(nanos);
+        delayedTweets.increment();
+        delayNanos.add(nanos);
+    }
+
+    @Scheduled(fixedRateString = "${consumer-lag-config.stats-log-interval-ms:60000}",
+            initialDelayString = "${consumer-lag-config.stats-log-interval-ms:60000}")
+    public void logStats() {
+        LOGGER.info("Lag backpressure: level {}, delayed {} tweet(s) by {} ms in total",
+                String.format("%.2f", consumerLagMonitor.getBackpressureLevel()), delayedTweets.sum(),
+                TimeUnit.NANOSECONDS.toMillis(delayNanos.sum()));
+    }
+}
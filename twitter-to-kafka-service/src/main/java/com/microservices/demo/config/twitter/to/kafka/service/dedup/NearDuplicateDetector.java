@@ -0,0 +1,88 @@
+package com.microservices.demo.config.twitter.to.kafka.service.dedup;
+
+import com.microservices.demo.config.NearDuplicateConfigData;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Suppresses copy-paste spam waves: tweets whose text SimHash is within a few bits of a tweet seen in the recent
+ * window are either dropped or tagged as near duplicates before they are serialized. Tweets with fewer word tokens
+ * than min-tokens, like emoji or punctuation only ones, are passed without a check.
+ */
+@Component
+public class NearDuplicateDetector {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NearDuplicateDetector.class);
+    private static final String ACTION_DROP = "drop";
+    private final boolean enabled;
+    private final boolean drop;
+    private final int minTokens;
+    private final NearDuplicateIndex index;
+    private final LongAdder checkedCount = new LongAdder();
+    private final LongAdder duplicateCount = new LongAdder();
+    private final LongAdder skippedCount = new LongAdder();
+
+    public NearDuplicateDetector(final NearDuplicateConfigData nearDuplicateConfigData) {
+        this.enabled = Boolean.TRUE.equals(nearDuplicateConfigData.getEnabled());
+        this.drop = ACTION_DROP.equalsIgnoreCase(nearDuplicateConfigData.getAction());
+        this.minTokens = enabled ? nearDuplicateConfigData.getMinTokens() : 0;
+        this.index = enabled ? new NearDuplicateIndex(nearDuplicateConfigData.getCapacity(),
+                nearDuplicateConfigData.getMaxHammingDistance(),
+                nearDuplicateConfigData.getWindowMs(),
+                nearDuplicateConfigData.getMaxProbes(),
+                nearDuplicateConfigData.getTableBits(),
+                nearDuplicateConfigData.getLockStripes()) : null;
+    }
+
+    /**
+     * Checks the tweet against the recently seen ones, tagging it if it is a near duplicate and the action is tag.
+     *
+     * @return false if the tweet is a near duplicate and should be dropped
+     */
+    public boolean test(final TwitterAvroModel model) {
+        if (!enabled || model.getText() == null) {
+            return true;
+        }
+        if (SimHash.tokenCount(model.getText(), minTokens) < minTokens) {
+            skippedCount.increment();
+            return true;
+        }
+        final long simHash = SimHash.of(model.getText());
+        final boolean duplicate = index.checkAndAdd(simHash, System.currentTimeMillis());
+        checkedCount.increment();
+        if (!duplicate) {
+            return true;
+        }
+        duplicateCount.increment();
+        if (drop) {
+            return false;
+        }
+        model.setNearDuplicate(true);
+        return true;
+    }
+
+    public long getCheckedCount() {
+        return checkedCount.sum();
+    }
+
+    public long getDuplicateCount() {
+        return duplicateCount.sum();
+    }
+
+    public long getSkippedCount() {
+        return skippedCount.sum();
+    }
+
+    @Scheduled(fixedRateString = "${near-duplicate-config.stats-log-interval-ms:60000}",
+            initialDelayString = "${near-duplicate-config.stats-log-interval-ms:60000}")
+    public void logStats() {
+        if (enabled) {
+            LOGGER.info("Near duplicate detector checked {} tweet(s), found {} near duplicate(s), skipped {} " +
+                    "tweet(s) with too few words.", getCheckedCount(), getDuplicateCount(), getSkippedCount());
+        }
+    }
+}
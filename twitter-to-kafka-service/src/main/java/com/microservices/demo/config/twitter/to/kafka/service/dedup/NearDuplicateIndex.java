@@ -0,0 +1,135 @@
+package com.microservices.demo.config.twitter.to.kafka.service.dedup;
+
+import java.util.Arrays;
+
+/**
+ * Bounded index of the most recent SimHashes for near duplicate lookups.
+ * <p>
+ * Hashes are split into maxDistance + 1 bands. Two hashes within maxDistance bits of each other must share at
+ * least one band exactly, so only entries chained under one of the query's band values are compared.
+ * Each band's buckets are striped over lock stripes, a stripe keeps its entries in a fixed size ring of its own,
+ * the oldest entry is overwritten by the newest one, so memory never grows.
+ * Chains link entries by sequence number, links to overwritten or expired entries end the walk.
+ * <p>
+ * Thread safe. A stripe is checked and added to under its own lock, and two near duplicates share the stripe of
+ * their common band, so of two near duplicates added concurrently the later one still finds the earlier one.
+ */
+class NearDuplicateIndex {
+    private static final long NO_ENTRY = -1L;
+    private final long windowMs;
+    private final int maxDistance;
+    private final int maxProbes;
+    private final int bands;
+    private final int bandBits;
+    private final int tableMask;
+    private final int stripeCount;
+    private final Stripe[][] stripes;
+
+    NearDuplicateIndex(final int capacity,
+                       final int maxDistance,
+                       final long windowMs,
+                       final int maxProbes,
+                       final int tableBits,
+                       final int lockStripes) {
+        this.maxDistance = maxDistance;
+        this.windowMs = windowMs;
+        this.maxProbes = maxProbes;
+        this.bands = maxDistance + 1;
+        this.bandBits = Long.SIZE / bands;
+        this.tableMask = (1 << tableBits) - 1;
+        this.stripeCount = Math.max(1, Math.min(lockStripes, 1 << tableBits));
+        final int stripeCapacity = Math.max(1, (capacity + stripeCount - 1) / stripeCount);
+        final int stripeTableSize = ((1 << tableBits) + stripeCount - 1) / stripeCount;
+        this.stripes = new Stripe[bands][stripeCount];
+        for (int band = 0; band < bands; ++band) {
+            for (int stripe = 0; stripe < stripeCount; ++stripe) {
+                stripes[band][stripe] = new Stripe(band, stripeCapacity, stripeTableSize);
+            }
+        }
+    }
+
+    /**
+     * Looks for a near duplicate of the hash seen within the window, then adds the hash to the index.
+     *
+     * @return true if a near duplicate was found
+     */
+    boolean checkAndAdd(final long hash, final long now) {
+        boolean duplicate = false;
+        for (int band = 0; band < bands; ++band) {
+            final long bandValue = bandValue(hash, band);
+            final int bucket = bucket(bandValue, band);
+            //Every band is added to, also after a duplicate was found, so later tweets are compared against it.
+            duplicate |= stripes[band][bucket % stripeCount].checkAndAdd(hash, bandValue, bucket / stripeCount, now);
+        }
+        return duplicate;
+    }
+
+    private long bandValue(final long hash, final int band) {
+        final int shift = band * bandBits;
+        //The last band takes the remaining bits.
+        final int bits = band == bands - 1 ? Long.SIZE - shift : bandBits;
+        return bits == Long.SIZE ? hash : (hash >>> shift) & ((1L << bits) - 1);
+    }
+
+    private int bucket(final long bandValue, final int band) {
+        return (int) (((bandValue + band) * 0x9E3779B97F4A7C15L) >>> 32) & tableMask;
+    }
+
+    private final class Stripe {
+        private final int band;
+        private final int capacity;
+        private final long[] hashes;
+        private final long[] timestamps;
+        private final long[] sequences;
+        private final long[] next;
+        private final long[] heads;
+        private long nextSequence;
+
+        private Stripe(final int band, final int capacity, final int tableSize) {
+            this.band = band;
+            this.capacity = capacity;
+            this.hashes = new long[capacity];
+            this.timestamps = new long[capacity];
+            this.sequences = new long[capacity];
+            Arrays.fill(sequences, NO_ENTRY);
+            this.next = new long[capacity];
+            this.heads = new long[tableSize];
+            Arrays.fill(heads, NO_ENTRY);
+        }
+
+        private synchronized boolean checkAndAdd(final long hash, final long bandValue, final int head,
+                                                 final long now) {
+            final boolean duplicate = contains(hash, bandValue, head, now);
+            add(hash, head, now);
+            return duplicate;
+        }
+
+        private boolean contains(final long hash, final long bandValue, final int head, final long now) {
+            final long oldestTimestamp = now - windowMs;
+            long sequence = heads[head];
+            int probes = 0;
+            while (sequence != NO_ENTRY && probes++ < maxProbes) {
+                final int slot = (int) (sequence % capacity);
+                if (sequences[slot] != sequence || timestamps[slot] < oldestTimestamp) {
+                    return false;
+                }
+                if (bandValue(hashes[slot], band) == bandValue
+                        && SimHash.distance(hashes[slot], hash) <= maxDistance) {
+                    return true;
+                }
+                sequence = next[slot];
+            }
+            return false;
+        }
+
+        private void add(final long hash, final int head, final long now) {
+            final long sequence = nextSequence++;
+            final int slot = (int) (sequence % capacity);
+            hashes[slot] = hash;
+            timestamps[slot] = now;
+            sequences[slot] = sequence;
+            next[slot] = heads[head];
+            heads[head] = sequence;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.microservices.demo.config.twitter.to.kafka.service.dedup;
+
+import java.util.Arrays;
+
+/**
+ * 64 bit SimHash of a text over its lower cased word tokens. Texts that differ in a few words get hashes that
+ * differ in a few bits, so near duplicates can be found by Hamming distance.
+ */
+final class SimHash {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final ThreadLocal<int[]> WEIGHTS = ThreadLocal.withInitial(() -> new int[Long.SIZE]);
+
+    private SimHash() {
+    }
+
+    static long of(final CharSequence text) {
+        final int[] weights = WEIGHTS.get();
+        Arrays.fill(weights, 0);
+        long tokenHash = FNV_OFFSET_BASIS;
+        boolean inToken = false;
+        for (int i = 0; i <= text.length(); ++i) {
+            final char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                tokenHash = (tokenHash ^ Character.toLowerCase(c)) * FNV_PRIME;
+                inToken = true;
+            } else if (inToken) {
+                addToken(weights, mix(tokenHash));
+                tokenHash = FNV_OFFSET_BASIS;
+                inToken = false;
+            }
+        }
+        long simHash = 0L;
+        for (int bit = 0; bit < Long.SIZE; ++bit) {
+            if (weights[bit] > 0) {
+                simHash |= 1L << bit;
+            }
+        }
+        return simHash;
+    }
+
+    /**
+     * Counts the word tokens {@link #of} hashes, stopping at the limit. Texts without tokens all hash to 0 and very
+     * short ones collide easily, so their hashes say nothing about being duplicates.
+     */
+    static int tokenCount(final CharSequence text, final int limit) {
+        int tokens = 0;
+        boolean inToken = false;
+        for (int i = 0; i < text.length() && tokens < limit; ++i) {
+            final boolean letterOrDigit = Character.isLetterOrDigit(text.charAt(i));
+            if (letterOrDigit && !inToken) {
+                ++tokens;
+            }
+            inToken = letterOrDigit;
+        }
+        return tokens;
+    }
+
+    static int distance(final long first, final long second) {
+        return Long.bitCount(first ^ second);
+    }
+
+    private static void addToken(final int[] weights, final long hash) {
+        for (int bit = 0; bit < Long.SIZE; ++bit) {
+            weights[bit] += ((hash >>> bit) & 1L) == 1L ? 1 : -1;
+        }
+    }
+
+    //Murmur3 finalizer, FNV alone leaves the high bits of short tokens poorly distributed.
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
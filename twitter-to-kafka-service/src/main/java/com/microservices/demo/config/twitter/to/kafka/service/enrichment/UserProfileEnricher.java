@@ -0,0 +1,219 @@
+package com.microservices.demo.config.twitter.to.kafka.service.enrichment;
+
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.config.UserProfileConfigData;
+import com.microservices.demo.config.twitter.to.kafka.service.exception.TwitterToKafkaServiceException;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.avro.model.UserProfileAvroModel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.LongDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stamps profile attributes of the author into tweets before they are sent.
+ * The profiles are read from a compacted topic keyed by user id: every instance reads all partitions from the
+ * beginning into a bounded in memory store and keeps following the topic, a tombstone removes the user.
+ */
+@Component
+@ConditionalOnExpression("${user-profile-config.enabled:false}")
+public class UserProfileEnricher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserProfileEnricher.class);
+    static final String FOLLOWER_TIER = "follower-tier";
+    static final String REGION = "region";
+    static final String BOT_SCORE = "bot-score";
+    private final KafkaConfigData kafkaConfigData;
+    private final UserProfileConfigData userProfileConfigData;
+    private final UserProfileStore store;
+    private final boolean stampFollowerTier;
+    private final boolean stampRegion;
+    private final boolean stampBotScore;
+    private final CountDownLatch initialLoad = new CountDownLatch(1);
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadedCount = new LongAdder();
+    private volatile KafkaConsumer<Long, UserProfileAvroModel> consumer;
+    private volatile boolean running;
+    private Thread pollThread;
+
+    public UserProfileEnricher(final KafkaConfigData kafkaConfigData,
+                               final UserProfileConfigData userProfileConfigData) {
+        this.kafkaConfigData = kafkaConfigData;
+        this.userProfileConfigData = userProfileConfigData;
+        this.store = new UserProfileStore(userProfileConfigData.getMemoryBudgetBytes(),
+                Boolean.TRUE.equals(userProfileConfigData.getOffHeap()));
+        final List<String> attributes = userProfileConfigData.getStampedAttributes() == null
+                ? List.of(FOLLOWER_TIER, REGION, BOT_SCORE) : userProfileConfigData.getStampedAttributes();
+        this.stampFollowerTier = attributes.contains(FOLLOWER_TIER);
+        this.stampRegion = attributes.contains(REGION);
+        this.stampBotScore = attributes.contains(BOT_SCORE);
+    }
+
+    /**
+     * Starts following the profile topic and waits until it was read up to its end, so the first tweets are
+     * enriched already.
+     */
+    @PostConstruct
+    public void init() {
+        LOGGER.info("Loading user profiles from topic {} into {} bytes {} heap for up to {} user(s)",
+                userProfileConfigData.getTopicName(), store.memoryBytes(),
+                Boolean.TRUE.equals(userProfileConfigData.getOffHeap()) ? "off" : "on", store.maxEntries());
+        running = true;
+        pollThread = new Thread(this::poll, "user-profile-loader");
+        pollThread.setDaemon(true);
+        pollThread.start();
+        try {
+            if (!initialLoad.await(userProfileConfigData.getInitialLoadTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("User profiles not loaded after {} ms, starting with {} profile(s).",
+                        userProfileConfigData.getInitialLoadTimeoutMs(), store.size());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TwitterToKafkaServiceException("Interrupted while loading user profiles!.", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        LOGGER.info("Closing user profile loader.");
+        running = false;
+        final KafkaConsumer<Long, UserProfileAvroModel> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        try {
+            pollThread.join(userProfileConfigData.getPollTimeoutMs() * 2);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sets the configured profile attributes of the author on the model, or clears them if the author is unknown.
+     */
+    public void enrich(final TwitterAvroModel model) {
+        final long profile = store.get(model.getUserId());
+        if (profile == UserProfileStore.NOT_FOUND) {
+            missCount.increment();
+            model.setFollowerTier(null);
+            model.setRegion(null);
+            model.setBotScore(null);
+            return;
+        }
+        hitCount.increment();
+        final int followerTier = UserProfileStore.followerTier(profile);
+        final float botScore = UserProfileStore.botScore(profile);
+        model.setFollowerTier(stampFollowerTier && followerTier != UserProfileStore.NO_VALUE ? followerTier : null);
+        model.setRegion(stampRegion ? store.regionName(UserProfileStore.regionId(profile)) : null);
+        model.setBotScore(stampBotScore && !Float.isNaN(botScore) ? botScore : null);
+    }
+
+    void apply(final long userId, final UserProfileAvroModel profile) {
+        if (profile == null) {
+            store.remove(userId);
+            return;
+        }
+        store.put(userId,
+                profile.getFollowerTier() == null ? UserProfileStore.NO_VALUE : profile.getFollowerTier(),
+                profile.getRegion() == null ? null : profile.getRegion().toString(),
+                profile.getBotScore() == null ? Float.NaN : profile.getBotScore());
+        loadedCount.increment();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public double getHitRatio() {
+        final long hits = getHitCount();
+        final long lookups = hits + getMissCount();
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    @Scheduled(fixedRateString = "${user-profile-config.stats-log-interval-ms:60000}",
+            initialDelayString = "${user-profile-config.stats-log-interval-ms:60000}")
+    public void logStats() {
+        LOGGER.info("User profile cache holds {} of max {} user(s), hit ratio {} ({} hit(s), {} miss(es)), " +
+                        "{} profile update(s), {} eviction(s).", store.size(), store.maxEntries(),
+                String.format("%.3f", getHitRatio()), getHitCount(), getMissCount(), loadedCount.sum(),
+                store.evictions());
+    }
+
+    private void poll() {
+        try (KafkaConsumer<Long, UserProfileAvroModel> kafkaConsumer = new KafkaConsumer<>(getConsumerConfig())) {
+            consumer = kafkaConsumer;
+            //No consumer group, every instance needs all profiles.
+            final List<TopicPartition> partitions = kafkaConsumer
+                    .partitionsFor(userProfileConfigData.getTopicName()).stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList();
+            if (partitions.isEmpty()) {
+                LOGGER.warn("User profile topic {} has no partitions, tweets will not be enriched.",
+                        userProfileConfigData.getTopicName());
+                return;
+            }
+            kafkaConsumer.assign(partitions);
+            kafkaConsumer.seekToBeginning(partitions);
+            final Map<TopicPartition, Long> endOffsets = new HashMap<>(kafkaConsumer.endOffsets(partitions));
+            final Duration pollTimeout = Duration.ofMillis(userProfileConfigData.getPollTimeoutMs());
+            while (running) {
+                final ConsumerRecords<Long, UserProfileAvroModel> records = kafkaConsumer.poll(pollTimeout);
+                for (final ConsumerRecord<Long, UserProfileAvroModel> record : records) {
+                    if (record.key() != null) {
+                        apply(record.key(), record.value());
+                    }
+                }
+                if (initialLoad.getCount() > 0) {
+                    endOffsets.entrySet().removeIf(end -> kafkaConsumer.position(end.getKey()) >= end.getValue());
+                    if (endOffsets.isEmpty()) {
+                        LOGGER.info("Loaded {} user profile(s) from topic {}", store.size(),
+                                userProfileConfigData.getTopicName());
+                        initialLoad.countDown();
+                    }
+                }
+            }
+        } catch (final WakeupException e) {
+            if (running) {
+                LOGGER.error("User profile loader woken up while running!.", e);
+            }
+        } catch (final RuntimeException e) {
+            LOGGER.error("User profile loader stopped with an error!.", e);
+        } finally {
+            initialLoad.countDown();
+        }
+    }
+
+    private Map<String, Object> getConsumerConfig() {
+        final Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConfigData.getBootstrapServers());
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, LongDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
+                "io.confluent.kafka.serializers.KafkaAvroDeserializer");
+        props.put(kafkaConfigData.getSchemaRegistryUrlKey(), kafkaConfigData.getSchemaRegistryUrl());
+        props.put("specific.avro.reader", true);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return props;
+    }
+}
@@ -0,0 +1,271 @@
+package com.microservices.demo.config.twitter.to.kafka.service.enrichment;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Fixed size open addressing map from user id to the profile attributes stamped into tweets.
+ * <p>
+ * Every slot is 16 bytes of one byte buffer, on or off heap, so the table never grows past its memory budget and
+ * gives the garbage collector a single object to look at. When the table is full the coldest user is evicted with
+ * the clock algorithm: lookups mark their slot as referenced, the clock hand clears marks until it finds an
+ * unmarked user and evicts it. Users that were loaded but never tweeted are therefore the first to go.
+ * <p>
+ * One writer, any number of readers. Lookups are optimistic reads, retried under the read lock if a write
+ * happened at the same time.
+ */
+class UserProfileStore {
+    static final long NOT_FOUND = 0L;
+    static final int NO_VALUE = -1;
+    static final int SLOT_BYTES = 16;
+    //The referenced marks live next to the table, so readers can set them without the write lock.
+    static final int BYTES_PER_SLOT = SLOT_BYTES + 1;
+    static final int MAX_SLOTS = Integer.MAX_VALUE / SLOT_BYTES;
+    private static final int KEY_OFFSET = 0;
+    private static final int BOT_SCORE_OFFSET = 8;
+    private static final int REGION_OFFSET = 12;
+    private static final int TIER_OFFSET = 14;
+    private static final int STATE_OFFSET = 15;
+    private static final byte EMPTY = 0;
+    private static final byte OCCUPIED = 1;
+    private static final long FOUND_BIT = 1L << 56;
+    private static final float LOAD_FACTOR = 0.75f;
+    private final ByteBuffer table;
+    private final byte[] referenced;
+    private final int capacity;
+    private final int mask;
+    private final int maxEntries;
+    private final StampedLock lock = new StampedLock();
+    private final Map<String, Integer> regionIds = new HashMap<>();
+    private volatile String[] regionNames = new String[0];
+    private volatile int size;
+    private volatile long evictions;
+    private int clockHand;
+
+    UserProfileStore(final long memoryBudgetBytes, final boolean offHeap) {
+        this.capacity = capacityFor(memoryBudgetBytes);
+        this.mask = capacity - 1;
+        this.maxEntries = Math.max(1, (int) (capacity * LOAD_FACTOR));
+        this.table = offHeap ? ByteBuffer.allocateDirect(capacity * SLOT_BYTES) : ByteBuffer.allocate(capacity * SLOT_BYTES);
+        this.referenced = new byte[capacity];
+    }
+
+    /**
+     * Adds or replaces the profile of a user, evicting the coldest user if the table is full.
+     * Attributes that are not known are passed as NO_VALUE, or NaN for the bot score.
+     */
+    void put(final long userId, final int followerTier, final String region, final float botScore) {
+        final long stamp = lock.writeLock();
+        try {
+            int slot = find(userId);
+            if (slot < 0) {
+                if (size >= maxEntries) {
+                    evictOne();
+                }
+                slot = freeSlotFor(userId);
+                referenced[slot] = 0;
+                size = size + 1;
+            }
+            final int base = slot * SLOT_BYTES;
+            table.putLong(base + KEY_OFFSET, userId);
+            table.putFloat(base + BOT_SCORE_OFFSET, botScore);
+            table.putShort(base + REGION_OFFSET, (short) regionId(region));
+            table.put(base + TIER_OFFSET, (byte) Math.min(Math.max(followerTier, NO_VALUE), Byte.MAX_VALUE));
+            table.put(base + STATE_OFFSET, OCCUPIED);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the profile of a user, called for tombstones of the compacted topic.
+     */
+    void remove(final long userId) {
+        final long stamp = lock.writeLock();
+        try {
+            final int slot = find(userId);
+            if (slot >= 0) {
+                removeAt(slot);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Looks up a user and marks it as recently used.
+     *
+     * @return the packed attributes, read them with the static accessors, or NOT_FOUND
+     */
+    long get(final long userId) {
+        long stamp = lock.tryOptimisticRead();
+        int slot = find(userId);
+        long packed = slot < 0 ? NOT_FOUND : pack(slot);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                slot = find(userId);
+                packed = slot < 0 ? NOT_FOUND : pack(slot);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (slot >= 0) {
+            //A racy mark on a slot that was moved meanwhile only keeps another user warm for one more sweep.
+            referenced[slot] = 1;
+        }
+        return packed;
+    }
+
+    static int followerTier(final long packed) {
+        return (byte) (packed >>> 48);
+    }
+
+    static int regionId(final long packed) {
+        return (short) (packed >>> 32);
+    }
+
+    static float botScore(final long packed) {
+        return Float.intBitsToFloat((int) packed);
+    }
+
+    String regionName(final int regionId) {
+        final String[] names = regionNames;
+        return regionId >= 0 && regionId < names.length ? names[regionId] : null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int maxEntries() {
+        return maxEntries;
+    }
+
+    long evictions() {
+        return evictions;
+    }
+
+    /**
+     * Largest power of two slot count within the budget. The table is one int indexed byte buffer, so budgets
+     * beyond {@link #MAX_SLOTS} slots get a smaller table than they allow.
+     */
+    static int capacityFor(final long memoryBudgetBytes) {
+        final long slots = Math.min(memoryBudgetBytes / BYTES_PER_SLOT, MAX_SLOTS);
+        if (slots < 2) {
+            throw new IllegalArgumentException("User profile memory budget of " + memoryBudgetBytes +
+                    " bytes is too small!.");
+        }
+        return Integer.highestOneBit((int) slots);
+    }
+
+    long memoryBytes() {
+        return (long) capacity * BYTES_PER_SLOT;
+    }
+
+    private long pack(final int slot) {
+        final int base = slot * SLOT_BYTES;
+        return FOUND_BIT
+                | (table.get(base + TIER_OFFSET) & 0xFFL) << 48
+                | (table.getShort(base + REGION_OFFSET) & 0xFFFFL) << 32
+                | Float.floatToRawIntBits(table.getFloat(base + BOT_SCORE_OFFSET)) & 0xFFFFFFFFL;
+    }
+
+    //Probes at most the whole table, so a read racing with a write can not loop forever.
+    private int find(final long userId) {
+        int slot = home(userId);
+        for (int probes = 0; probes < capacity; ++probes) {
+            final int base = slot * SLOT_BYTES;
+            if (table.get(base + STATE_OFFSET) == EMPTY) {
+                return -1;
+            }
+            if (table.getLong(base + KEY_OFFSET) == userId) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int freeSlotFor(final long userId) {
+        int slot = home(userId);
+        while (table.get(slot * SLOT_BYTES + STATE_OFFSET) != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void evictOne() {
+        while (true) {
+            final int slot = clockHand;
+            clockHand = (clockHand + 1) & mask;
+            if (table.get(slot * SLOT_BYTES + STATE_OFFSET) == EMPTY) {
+                continue;
+            }
+            if (referenced[slot] != 0) {
+                referenced[slot] = 0;
+                continue;
+            }
+            removeAt(slot);
+            evictions = evictions + 1;
+            return;
+        }
+    }
+
+    //Backward shift deletion, so the table never fills up with tombstones.
+    private void removeAt(final int removed) {
+        int hole = removed;
+        int slot = removed;
+        while (true) {
+            slot = (slot + 1) & mask;
+            final int base = slot * SLOT_BYTES;
+            if (table.get(base + STATE_OFFSET) == EMPTY) {
+                break;
+            }
+            final int home = home(table.getLong(base + KEY_OFFSET));
+            //Entries whose home lies cyclically in (hole, slot] can not move in front of it.
+            final boolean stays = hole <= slot ? hole < home && home <= slot : hole < home || home <= slot;
+            if (!stays) {
+                copySlot(slot, hole);
+                hole = slot;
+            }
+        }
+        table.put(hole * SLOT_BYTES + STATE_OFFSET, EMPTY);
+        referenced[hole] = 0;
+        size = size - 1;
+    }
+
+    private void copySlot(final int from, final int to) {
+        for (int i = 0; i < SLOT_BYTES; i += Long.BYTES) {
+            table.putLong(to * SLOT_BYTES + i, table.getLong(from * SLOT_BYTES + i));
+        }
+        referenced[to] = referenced[from];
+    }
+
+    private int regionId(final String region) {
+        if (region == null) {
+            return NO_VALUE;
+        }
+        final Integer id = regionIds.get(region);
+        if (id != null) {
+            return id;
+        }
+        if (regionIds.size() > Short.MAX_VALUE) {
+            return NO_VALUE;
+        }
+        final int newId = regionIds.size();
+        regionIds.put(region, newId);
+        final String[] names = Arrays.copyOf(regionNames, newId + 1);
+        names[newId] = region;
+        regionNames = names;
+        return newId;
+    }
+
+    private int home(final long userId) {
+        //Fibonacci hashing spreads sequential user ids over the table.
+        return (int) ((userId * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
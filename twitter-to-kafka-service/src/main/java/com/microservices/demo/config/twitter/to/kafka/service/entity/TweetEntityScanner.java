@@ -0,0 +1,162 @@
+package com.microservices.demo.config.twitter.to.kafka.service.entity;
+
+import java.util.List;
+
+/**
+ * Extracts hashtags, mentions and urls from a tweet text in a single pass, without regular expressions.
+ * Only the extracted entities are allocated, as substrings of the text.
+ * <ul>
+ *     <li>hashtag: # or fullwidth # followed by letters, digits, marks and underscores, with at least one letter,
+ *     returned without the #</li>
+ *     <li>mention: @ or fullwidth @ followed by 1 to 15 ascii letters, digits or underscores, returned without the
+ *     @. Email addresses are not mentions</li>
+ *     <li>url: http:// or https:// up to the next whitespace, without trailing punctuation and without a closing
+ *     bracket that was not opened in the url</li>
+ * </ul>
+ * An entity only starts after the beginning of the text or a character that can not be part of a word.
+ */
+public class TweetEntityScanner {
+    private static final int MAX_MENTION_LENGTH = 15;
+    private static final char FULLWIDTH_NUMBER_SIGN = '\uFF03';
+    private static final char FULLWIDTH_COMMERCIAL_AT = '\uFF20';
+    private static final int ZERO_WIDTH_NON_JOINER = 0x200C;
+    private static final int ZERO_WIDTH_JOINER = 0x200D;
+    private static final int KATAKANA_MIDDLE_DOT = 0x30FB;
+    private static final String HTTP = "http://";
+    private static final String HTTPS = "https://";
+    private static final String TRAILING_URL_PUNCTUATION = ".,;:!?'\"";
+
+    /**
+     * Adds the entities of the text to the given lists, in order of appearance.
+     */
+    public void scan(final String text, final List<String> hashtags, final List<String> mentions,
+                     final List<String> urls) {
+        if (text == null) {
+            return;
+        }
+        final int length = text.length();
+        int i = 0;
+        while (i < length) {
+            final char c = text.charAt(i);
+            if ((c == '#' || c == FULLWIDTH_NUMBER_SIGN) && !isAfterWordOrEntity(text, i)) {
+                i = scanHashtag(text, i, hashtags);
+            } else if ((c == '@' || c == FULLWIDTH_COMMERCIAL_AT) && !isWordBefore(text, i)) {
+                i = scanMention(text, i, mentions);
+            } else if ((c == 'h' || c == 'H') && !isWordBefore(text, i)) {
+                i = scanUrl(text, i, urls);
+            } else {
+                ++i;
+            }
+        }
+    }
+
+    /**
+     * @return index to continue scanning at
+     */
+    private static int scanHashtag(final String text, final int start, final List<String> hashtags) {
+        final int length = text.length();
+        int end = start + 1;
+        boolean hasLetter = false;
+        while (end < length) {
+            final int codePoint = text.codePointAt(end);
+            if (!isHashtagCharacter(codePoint)) {
+                break;
+            }
+            hasLetter |= Character.isLetter(codePoint);
+            end += Character.charCount(codePoint);
+        }
+        if (hasLetter) {
+            hashtags.add(text.substring(start + 1, end));
+        }
+        return Math.max(end, start + 1);
+    }
+
+    private static int scanMention(final String text, final int start, final List<String> mentions) {
+        final int length = text.length();
+        int end = start + 1;
+        while (end < length && isMentionCharacter(text.charAt(end))) {
+            ++end;
+        }
+        final int nameLength = end - start - 1;
+        //Longer names are not valid user names, a following @ makes it part of an address and a following non ascii
+        //letter makes it a different word.
+        if (nameLength > 0 && nameLength <= MAX_MENTION_LENGTH
+                && (end == length || (text.charAt(end) != '@' && !isHashtagCharacter(text.codePointAt(end))))) {
+            mentions.add(text.substring(start + 1, end));
+        }
+        return Math.max(end, start + 1);
+    }
+
+    private static int scanUrl(final String text, final int start, final List<String> urls) {
+        final int schemeLength;
+        if (text.regionMatches(true, start, HTTPS, 0, HTTPS.length())) {
+            schemeLength = HTTPS.length();
+        } else if (text.regionMatches(true, start, HTTP, 0, HTTP.length())) {
+            schemeLength = HTTP.length();
+        } else {
+            return start + 1;
+        }
+        final int length = text.length();
+        int end = start + schemeLength;
+        int openParentheses = 0;
+        int openBrackets = 0;
+        while (end < length && isUrlCharacter(text.charAt(end))) {
+            final char c = text.charAt(end);
+            if (c == '(') {
+                ++openParentheses;
+            } else if (c == ')') {
+                if (openParentheses == 0) {
+                    break;
+                }
+                --openParentheses;
+            } else if (c == '[') {
+                ++openBrackets;
+            } else if (c == ']') {
+                if (openBrackets == 0) {
+                    break;
+                }
+                --openBrackets;
+            }
+            ++end;
+        }
+        while (end > start + schemeLength && TRAILING_URL_PUNCTUATION.indexOf(text.charAt(end - 1)) >= 0) {
+            --end;
+        }
+        if (end == start + schemeLength) {
+            return end;
+        }
+        urls.add(text.substring(start, end));
+        return end;
+    }
+
+    private static boolean isAfterWordOrEntity(final String text, final int index) {
+        //&#39; is an html entity, not a hashtag.
+        return index > 0 && (text.charAt(index - 1) == '&' || isWordBefore(text, index));
+    }
+
+    private static boolean isWordBefore(final String text, final int index) {
+        return index > 0 && isHashtagCharacter(text.codePointBefore(index));
+    }
+
+    private static boolean isHashtagCharacter(final int codePoint) {
+        if (codePoint < 0x80) {
+            return (codePoint >= 'a' && codePoint <= 'z') || (codePoint >= 'A' && codePoint <= 'Z')
+                    || (codePoint >= '0' && codePoint <= '9') || codePoint == '_';
+        }
+        if (Character.isLetterOrDigit(codePoint)) {
+            return true;
+        }
+        final int type = Character.getType(codePoint);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK || codePoint == ZERO_WIDTH_NON_JOINER
+                || codePoint == ZERO_WIDTH_JOINER || codePoint == KATAKANA_MIDDLE_DOT;
+    }
+
+    private static boolean isMentionCharacter(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static boolean isUrlCharacter(final char c) {
+        return !Character.isWhitespace(c) && !Character.isSpaceChar(c) && c != '"' && c != '<' && c != '>';
+    }
+}
@@ -0,0 +1,97 @@
+package com.microservices.demo.config.twitter.to.kafka.service.filter;
+
+import com.microservices.demo.config.TweetFilterConfigData;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drops tweets that downstream does not need before they are serialized and sent.
+ * Rules are compiled once at startup and evaluated cheapest first, a tweet is rejected by the first failing rule.
+ */
+@Component
+public class TweetFilter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TweetFilter.class);
+    //Wire format header, schema id, varint encoded ids and timestamp and the union indexes.
+    private static final int RECORD_OVERHEAD_BYTES = 32;
+    private final TweetFilterRule[] rules;
+
+    public TweetFilter(final TweetFilterConfigData tweetFilterConfigData) {
+        this.rules = compileRules(tweetFilterConfigData);
+    }
+
+    /**
+     * @return true if the tweet passes every rule and should be sent
+     */
+    public boolean test(final TwitterAvroModel model) {
+        for (final TweetFilterRule rule : rules) {
+            if (!rule.test(model)) {
+                rule.reject(getSerializedSize(model));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the compiled rules, in evaluation order
+     */
+    public List<TweetFilterRule> getRules() {
+        return List.of(rules);
+    }
+
+    @Scheduled(fixedRateString = "${tweet-filter-config.stats-log-interval-ms:60000}",
+            initialDelayString = "${tweet-filter-config.stats-log-interval-ms:60000}")
+    public void logStats() {
+        for (final TweetFilterRule rule : rules) {
+            LOGGER.info("Tweet filter rule {} rejected {} tweet(s), {} byte(s) not sent.", rule.getName(),
+                    rule.getRejectedCount(), rule.getRejectedBytes());
+        }
+    }
+
+    private static TweetFilterRule[] compileRules(final TweetFilterConfigData tweetFilterConfigData) {
+        final List<TweetFilterRule> compiledRules = new ArrayList<>();
+        if (Boolean.TRUE.equals(tweetFilterConfigData.getEnabled()) && tweetFilterConfigData.getRules() != null) {
+            final TweetFilterCompiler compiler = new TweetFilterCompiler();
+            for (final Map.Entry<String, String> rule : tweetFilterConfigData.getRules().entrySet()) {
+                compiledRules.add(compiler.compile(rule.getKey(), rule.getValue()));
+            }
+            //Stable sort, rules of the same cost keep their configured order.
+            compiledRules.sort(Comparator.comparingInt(TweetFilterRule::getCost));
+            compiledRules.forEach(rule -> LOGGER.info("Compiled tweet filter rule {}: {}", rule.getName(),
+                    rule.getExpression()));
+        }
+        return compiledRules.toArray(new TweetFilterRule[0]);
+    }
+
+    /**
+     * Approximate avro size of the tweet: fixed size fields plus the utf-8 length of the text.
+     */
+    private static long getSerializedSize(final TwitterAvroModel model) {
+        final String text = model.getText();
+        long size = RECORD_OVERHEAD_BYTES;
+        if (text != null) {
+            for (int i = 0; i < text.length(); ++i) {
+                final char c = text.charAt(i);
+                if (c < 0x80) {
+                    size += 1;
+                } else if (c < 0x800) {
+                    size += 2;
+                } else if (Character.isHighSurrogate(c)) {
+                    size += 4;
+                    ++i;
+                } else {
+                    size += 3;
+                }
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,200 @@
+package com.microservices.demo.config.twitter.to.kafka.service.filter;
+
+import com.microservices.demo.config.twitter.to.kafka.service.exception.TwitterToKafkaServiceException;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles filter expressions into predicates over {@link TwitterAvroModel}, once at startup.
+ * <p>
+ * Supported expressions, optionally prefixed with {@code not}:
+ * <ul>
+ *     <li>{@code userId|id|createdAt|text.length ==|!=|<|<=|>|>= 123}</li>
+ *     <li>{@code userId|id in [1, 2, 3]} and {@code userId|id not in [1, 2, 3]}</li>
+ *     <li>{@code text startsWith|endsWith|contains 'value'}</li>
+ *     <li>{@code text containsAny ['java', 'kafka']}, ignoring case</li>
+ *     <li>{@code text|createdAt isNull} and {@code text|createdAt isNotNull}</li>
+ * </ul>
+ */
+public class TweetFilterCompiler {
+    private static final Pattern EXPRESSION = Pattern.compile(
+            "^(not\\s+)?(userId|id|createdAt|text\\.length|text)\\s+" +
+                    "(==|!=|<=|>=|<|>|not\\s+in|in|startsWith|endsWith|containsAny|contains|isNull|isNotNull)" +
+                    "\\s*(.*)$");
+    private static final int COST_NULL_CHECK = 1;
+    private static final int COST_NUMBER_COMPARE = 2;
+    private static final int COST_NUMBER_IN = 3;
+    private static final int COST_TEXT_EDGE = 4;
+    private static final int COST_TEXT_CONTAINS = 8;
+
+    public TweetFilterRule compile(final String name, final String expression) {
+        final Matcher matcher = EXPRESSION.matcher(expression.trim());
+        if (!matcher.matches()) {
+            throw invalid(name, expression, "unknown field or operator");
+        }
+        final boolean negate = matcher.group(1) != null;
+        final String field = matcher.group(2);
+        final String operator = matcher.group(3).replaceAll("\\s+", " ");
+        final String argument = matcher.group(4).trim();
+
+        final int cost;
+        final Predicate<TwitterAvroModel> predicate;
+        switch (operator) {
+            case "isNull", "isNotNull" -> {
+                cost = COST_NULL_CHECK;
+                predicate = compileNullCheck(name, expression, field, operator.equals("isNull"));
+            }
+            case "in", "not in" -> {
+                cost = COST_NUMBER_IN;
+                final long[] values = parseNumbers(name, expression, parseList(name, expression, argument));
+                Arrays.sort(values);
+                final ToLongFunction<TwitterAvroModel> getter = numberGetter(name, expression, field);
+                final boolean in = operator.equals("in");
+                predicate = model -> (Arrays.binarySearch(values, getter.applyAsLong(model)) >= 0) == in;
+            }
+            case "startsWith", "endsWith", "contains", "containsAny" -> {
+                requireText(name, expression, field);
+                cost = operator.startsWith("contains") ? COST_TEXT_CONTAINS : COST_TEXT_EDGE;
+                predicate = compileText(name, expression, operator, argument);
+            }
+            default -> {
+                cost = COST_NUMBER_COMPARE;
+                predicate = compileComparison(name, expression, field, operator, argument);
+            }
+        }
+        return new TweetFilterRule(name, expression, cost, negate ? predicate.negate() : predicate);
+    }
+
+    private Predicate<TwitterAvroModel> compileNullCheck(final String name,
+                                                         final String expression,
+                                                         final String field,
+                                                         final boolean isNull) {
+        return switch (field) {
+            case "text" -> model -> (model.getText() == null) == isNull;
+            case "createdAt" -> model -> (model.getCreatedAt() == null) == isNull;
+            default -> throw invalid(name, expression, "field " + field + " can not be null");
+        };
+    }
+
+    private Predicate<TwitterAvroModel> compileComparison(final String name,
+                                                          final String expression,
+                                                          final String field,
+                                                          final String operator,
+                                                          final String argument) {
+        final long value = parseNumber(name, expression, argument);
+        final ToLongFunction<TwitterAvroModel> getter = numberGetter(name, expression, field);
+        return switch (operator) {
+            case "==" -> model -> getter.applyAsLong(model) == value;
+            case "!=" -> model -> getter.applyAsLong(model) != value;
+            case "<" -> model -> getter.applyAsLong(model) < value;
+            case "<=" -> model -> getter.applyAsLong(model) <= value;
+            case ">" -> model -> getter.applyAsLong(model) > value;
+            case ">=" -> model -> getter.applyAsLong(model) >= value;
+            default -> throw invalid(name, expression, "unknown operator " + operator);
+        };
+    }
+
+    private Predicate<TwitterAvroModel> compileText(final String name,
+                                                    final String expression,
+                                                    final String operator,
+                                                    final String argument) {
+        if (operator.equals("containsAny")) {
+            final String[] values = parseList(name, expression, argument).stream()
+                    .map(value -> parseString(name, expression, value).toLowerCase(Locale.ROOT))
+                    .toArray(String[]::new);
+            return model -> containsAnyIgnoreCase(model.getText(), values);
+        }
+        final String value = parseString(name, expression, argument);
+        return switch (operator) {
+            case "startsWith" -> model -> model.getText() != null && model.getText().startsWith(value);
+            case "endsWith" -> model -> model.getText() != null && model.getText().endsWith(value);
+            default -> model -> model.getText() != null && model.getText().contains(value);
+        };
+    }
+
+    private static boolean containsAnyIgnoreCase(final String text, final String[] values) {
+        if (text == null) {
+            return false;
+        }
+        for (final String value : values) {
+            for (int i = 0; i <= text.length() - value.length(); ++i) {
+                if (text.regionMatches(true, i, value, 0, value.length())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private ToLongFunction<TwitterAvroModel> numberGetter(final String name,
+                                                         final String expression,
+                                                         final String field) {
+        return switch (field) {
+            case "userId" -> TwitterAvroModel::getUserId;
+            case "id" -> TwitterAvroModel::getId;
+            case "createdAt" -> model -> model.getCreatedAt() == null ? Long.MIN_VALUE : model.getCreatedAt();
+            case "text.length" -> model -> model.getText() == null ? 0 : model.getText().length();
+            default -> throw invalid(name, expression, "field " + field + " is not a number");
+        };
+    }
+
+    private void requireText(final String name, final String expression, final String field) {
+        if (!field.equals("text")) {
+            throw invalid(name, expression, "field " + field + " is not a text");
+        }
+    }
+
+    private List<String> parseList(final String name, final String expression, final String argument) {
+        if (!argument.startsWith("[") || !argument.endsWith("]")) {
+            throw invalid(name, expression, "expected a list like [a, b]");
+        }
+        final List<String> values = new ArrayList<>();
+        for (final String value : argument.substring(1, argument.length() - 1).split(",")) {
+            if (!value.isBlank()) {
+                values.add(value.trim());
+            }
+        }
+        if (values.isEmpty()) {
+            throw invalid(name, expression, "list is empty");
+        }
+        return values;
+    }
+
+    private long[] parseNumbers(final String name, final String expression, final List<String> values) {
+        final long[] numbers = new long[values.size()];
+        for (int i = 0; i < numbers.length; ++i) {
+            numbers[i] = parseNumber(name, expression, values.get(i));
+        }
+        return numbers;
+    }
+
+    private long parseNumber(final String name, final String expression, final String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (final NumberFormatException e) {
+            throw invalid(name, expression, value + " is not a number");
+        }
+    }
+
+    private String parseString(final String name, final String expression, final String value) {
+        if (value.length() < 2 || value.charAt(0) != '\'' || value.charAt(value.length() - 1) != '\'') {
+            throw invalid(name, expression, "expected a quoted text like 'value'");
+        }
+        return value.substring(1, value.length() - 1);
+    }
+
+    private static TwitterToKafkaServiceException invalid(final String name,
+                                                          final String expression,
+                                                          final String reason) {
+        return new TwitterToKafkaServiceException(
+                String.format("Invalid tweet filter rule %s: '%s', %s!.", name, expression, reason));
+    }
+}
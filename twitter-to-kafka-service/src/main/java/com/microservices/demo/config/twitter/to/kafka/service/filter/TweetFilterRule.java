@@ -0,0 +1,63 @@
+package com.microservices.demo.config.twitter.to.kafka.service.filter;
+
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * A compiled filter rule. A tweet passes the rule when its predicate holds, otherwise it is rejected and counted.
+ */
+public class TweetFilterRule {
+    private final String name;
+    private final String expression;
+    private final int cost;
+    private final Predicate<TwitterAvroModel> predicate;
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder rejectedBytes = new LongAdder();
+
+    TweetFilterRule(final String name,
+                    final String expression,
+                    final int cost,
+                    final Predicate<TwitterAvroModel> predicate) {
+        this.name = name;
+        this.expression = expression;
+        this.cost = cost;
+        this.predicate = predicate;
+    }
+
+    public boolean test(final TwitterAvroModel model) {
+        return predicate.test(model);
+    }
+
+    void reject(final long bytes) {
+        rejectedCount.increment();
+        rejectedBytes.add(bytes);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * @return relative evaluation cost, cheaper rules are evaluated first
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * @return approximate serialized size of the rejected tweets, that is the bytes not sent to kafka
+     */
+    public long getRejectedBytes() {
+        return rejectedBytes.sum();
+    }
+}
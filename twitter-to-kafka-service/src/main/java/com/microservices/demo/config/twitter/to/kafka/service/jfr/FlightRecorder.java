@@ -0,0 +1,120 @@
+package com.microservices.demo.config.twitter.to.kafka.service.jfr;
+
+import com.microservices.demo.config.FlightRecorderConfigData;
+import com.microservices.demo.config.twitter.to.kafka.service.exception.TwitterToKafkaServiceException;
+import com.microservices.demo.kafka.producer.config.jfr.KafkaAckEvent;
+import com.microservices.demo.kafka.producer.config.jfr.KafkaEnqueueEvent;
+import com.microservices.demo.kafka.producer.config.jfr.KafkaSerializeEvent;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs time boxed flight recordings of the running service, with the pipeline stage events enabled on top of the
+ * configured jfr settings. Only one recording runs at a time, the stage events cost nothing outside a recording.
+ * Events carrying environment variables, system properties or jvm arguments are always disabled, the recording
+ * would otherwise hand out the credentials the service is configured with.
+ */
+@Component
+@ConditionalOnExpression("${flight-recorder-config.enabled:false}")
+public class FlightRecorder {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlightRecorder.class);
+    private static final List<Class<? extends Event>> STAGE_EVENTS = List.of(TweetReceiveEvent.class,
+            TweetParseEvent.class, TweetTransformEvent.class, KafkaSerializeEvent.class, KafkaEnqueueEvent.class,
+            KafkaAckEvent.class);
+    private static final List<String> SENSITIVE_EVENTS = List.of("jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty", "jdk.JVMInformation");
+    private final FlightRecorderConfigData flightRecorderConfigData;
+    private final AtomicBoolean recording = new AtomicBoolean();
+
+    public FlightRecorder(final FlightRecorderConfigData flightRecorderConfigData) {
+        this.flightRecorderConfigData = flightRecorderConfigData;
+    }
+
+    /**
+     * @return the requested duration, or the default one, capped at max-duration-ms
+     */
+    public Duration getDuration(final Long durationMs) {
+        final long requestedMs = durationMs == null ? flightRecorderConfigData.getDefaultDurationMs() : durationMs;
+        return Duration.ofMillis(Math.max(1L, Math.min(requestedMs, flightRecorderConfigData.getMaxDurationMs())));
+    }
+
+    /**
+     * Starts a new recording, which must be handed to {@link #dump(Recording)} or {@link #close(Recording)}.
+     *
+     * @return the started recording, or null if another recording is still running
+     */
+    public Recording start(final Duration duration) {
+        if (!recording.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            final Recording jfrRecording =
+                    new Recording(Configuration.getConfiguration(flightRecorderConfigData.getSettings()));
+            final Duration threshold = Duration.ofMillis(flightRecorderConfigData.getEventThresholdMs());
+            for (final Class<? extends Event> stageEvent : STAGE_EVENTS) {
+                jfrRecording.enable(stageEvent).withThreshold(threshold).withoutStackTrace();
+            }
+            for (final String sensitiveEvent : SENSITIVE_EVENTS) {
+                jfrRecording.disable(sensitiveEvent);
+            }
+            jfrRecording.setName("twitter-to-kafka-service");
+            jfrRecording.setToDisk(true);
+            //Stops the recording even if the caller never comes back for it.
+            jfrRecording.setDuration(duration.plusSeconds(1L));
+            jfrRecording.start();
+            LOGGER.info("Started flight recording for {} ms with settings {}", duration.toMillis(),
+                    flightRecorderConfigData.getSettings());
+            return jfrRecording;
+        } catch (final IOException | ParseException e) {
+            recording.set(false);
+            throw new TwitterToKafkaServiceException("Could not start flight recording!.", e);
+        }
+    }
+
+    /**
+     * Stops the recording and returns the content of the .jfr file.
+     */
+    public byte[] dump(final Recording jfrRecording) {
+        Path file = null;
+        try {
+            jfrRecording.stop();
+            file = Files.createTempFile("twitter-to-kafka-service-", ".jfr");
+            jfrRecording.dump(file);
+            final byte[] content = Files.readAllBytes(file);
+            LOGGER.info("Finished flight recording of {} bytes", content.length);
+            return content;
+        } catch (final IOException | IllegalStateException e) {
+            throw new TwitterToKafkaServiceException("Could not dump flight recording!.", e);
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    public void close(final Recording jfrRecording) {
+        jfrRecording.close();
+        recording.set(false);
+    }
+
+    private static void deleteQuietly(final Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (final IOException e) {
+                LOGGER.warn("Could not delete flight recording file {}", file, e);
+            }
+        }
+    }
+}
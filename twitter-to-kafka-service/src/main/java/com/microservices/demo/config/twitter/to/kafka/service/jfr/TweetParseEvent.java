@@ -0,0 +1,17 @@
+package com.microservices.demo.config.twitter.to.kafka.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.microservices.demo.TweetParse")
+@Label("Tweet Parse")
+@Category({"Microservices Demo", "Twitter To Kafka"})
+@Description("Parsing the json of a twitter v2 stream line into a status")
+public class TweetParseEvent extends Event {
+    @Label("Tweet Id")
+    @Description("0 if the line could not be parsed")
+    public long tweetId;
+}
@@ -0,0 +1,21 @@
+package com.microservices.demo.config.twitter.to.kafka.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.microservices.demo.TweetReceive")
+@Label("Tweet Receive")
+@Category({"Microservices Demo", "Twitter To Kafka"})
+@Description("Reading one line of the twitter v2 stream from the socket, the tweet id is not known before parsing")
+public class TweetReceiveEvent extends Event {
+    @Label("User Id")
+    public long userId;
+
+    @Label("Size")
+    @DataAmount
+    public int size;
+}
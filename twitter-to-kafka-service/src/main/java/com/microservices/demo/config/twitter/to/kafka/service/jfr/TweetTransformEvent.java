@@ -0,0 +1,19 @@
+package com.microservices.demo.config.twitter.to.kafka.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.microservices.demo.TweetTransform")
+@Label("Tweet Transform")
+@Category({"Microservices Demo", "Twitter To Kafka"})
+@Description("Transforming a twitter status into the avro model")
+public class TweetTransformEvent extends Event {
+    @Label("Tweet Id")
+    public long tweetId;
+
+    @Label("Recycled")
+    public boolean recycled;
+}
@@ -0,0 +1,12 @@
+package com.microservices.demo.config.twitter.to.kafka.service.keyword;
+
+import java.util.List;
+
+/**
+ * Implemented by every component that derives state from the twitter keywords.
+ * Called on the refresh thread, so implementations should build the new state there and swap it in with a single
+ * write instead of blocking the threads that handle tweets.
+ */
+public interface KeywordChangeListener {
+    void onKeywordsChanged(List<String> keywords);
+}
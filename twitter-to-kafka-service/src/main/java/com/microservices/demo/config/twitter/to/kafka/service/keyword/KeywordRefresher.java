@@ -0,0 +1,118 @@
+package com.microservices.demo.config.twitter.to.kafka.service.keyword;
+
+import com.microservices.demo.config.TwitterToKafkaServiceConfigData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Applies a new set of twitter keywords to the running stream without a restart.
+ * The keywords are read from the optional keywords file, one keyword per line, or set with {@link #refresh(List)}.
+ * Listeners are only called when the set of keywords really changed.
+ * With keyword sharding the listeners only get the keywords of this instance, and get them again after every
+ * rebalance of the instances.
+ */
+@Component
+public class KeywordRefresher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeywordRefresher.class);
+    private final TwitterToKafkaServiceConfigData configData;
+    private final List<KeywordChangeListener> listeners;
+    private final Optional<KeywordShardCoordinator> shardCoordinator;
+    private List<String> configuredKeywords;
+    private List<String> activeKeywords;
+    private long keywordsFileLastModified;
+
+    public KeywordRefresher(final TwitterToKafkaServiceConfigData configData,
+                            final List<KeywordChangeListener> listeners,
+                            final Optional<KeywordShardCoordinator> shardCoordinator) {
+        this.configData = configData;
+        this.listeners = listeners;
+        this.shardCoordinator = shardCoordinator;
+        this.configuredKeywords = List.copyOf(configData.getTwitterKeywords());
+        this.activeKeywords = configuredKeywords;
+        shardCoordinator.ifPresent(coordinator -> {
+            coordinator.setAssignmentListener(this::applyKeywords);
+            applyKeywords();
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${twitter-to-kafka-service.keyword-refresh-interval-ms:30000}",
+            initialDelayString = "${twitter-to-kafka-service.keyword-refresh-interval-ms:30000}")
+    public void refreshFromFile() {
+        final String keywordsFile = configData.getTwitterKeywordsFile();
+        if (keywordsFile == null || keywordsFile.isBlank()) {
+            return;
+        }
+        final Path path = Path.of(keywordsFile);
+        try {
+            final long lastModified = Files.getLastModifiedTime(path).toMillis();
+            if (lastModified != keywordsFileLastModified) {
+                keywordsFileLastModified = lastModified;
+                refresh(Files.readAllLines(path, StandardCharsets.UTF_8));
+            }
+        } catch (final IOException e) {
+            LOGGER.error("Could not read twitter keywords file {}", keywordsFile, e);
+        }
+    }
+
+    /**
+     * Replaces the configured keywords and notifies every listener, blank lines and lines starting with # are
+     * ignored.
+     *
+     * @return true if the keywords changed
+     */
+    public synchronized boolean refresh(final List<String> keywords) {
+        final Set<String> newKeywords = new LinkedHashSet<>();
+        for (final String keyword : keywords) {
+            final String trimmed = keyword.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                newKeywords.add(trimmed);
+            }
+        }
+        if (newKeywords.isEmpty()) {
+            LOGGER.warn("Ignoring empty list of twitter keywords, keeping {}", configuredKeywords);
+            return false;
+        }
+        if (newKeywords.equals(new LinkedHashSet<>(configuredKeywords))) {
+            return false;
+        }
+
+        LOGGER.info("Refreshing twitter keywords from {} to {}", configuredKeywords, newKeywords);
+        configuredKeywords = List.copyOf(newKeywords);
+        applyKeywords();
+        return true;
+    }
+
+    /**
+     * Hands the keywords this instance is responsible for to the listeners, if they changed.
+     * The configured twitter keywords are left as they are, listeners keep the keywords they were handed.
+     */
+    private synchronized void applyKeywords() {
+        final List<String> newActiveKeywords = shardCoordinator
+                .map(coordinator -> coordinator.select(configuredKeywords))
+                .orElse(configuredKeywords);
+        if (newActiveKeywords.equals(activeKeywords)) {
+            return;
+        }
+        shardCoordinator.ifPresent(coordinator -> LOGGER.info("Keyword shard of this instance: {} of {}",
+                newActiveKeywords, configuredKeywords));
+        activeKeywords = List.copyOf(newActiveKeywords);
+        for (final KeywordChangeListener listener : listeners) {
+            try {
+                listener.onKeywordsChanged(activeKeywords);
+            } catch (final RuntimeException e) {
+                LOGGER.error("Error while applying new twitter keywords in {}", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
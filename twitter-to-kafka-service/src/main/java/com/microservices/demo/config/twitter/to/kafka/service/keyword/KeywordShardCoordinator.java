@@ -0,0 +1,234 @@
+package com.microservices.demo.config.twitter.to.kafka.service.keyword;
+
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.config.KeywordShardConfigData;
+import com.microservices.demo.config.twitter.to.kafka.service.exception.TwitterToKafkaServiceException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shares the keywords between all instances of the service.
+ * Every keyword is hashed to one of a fixed number of slots, the slots are the partitions of a coordination topic
+ * and are handed out to the instances by kafka consumer group membership. The sticky assignor only moves the slots
+ * of instances that joined or left, so most keywords stay where they are on a rebalance.
+ * Nothing is ever written to the coordination topic, it only exists for the group assignment.
+ */
+@Component
+@ConditionalOnExpression("${keyword-shard-config.enabled:false}")
+public class KeywordShardCoordinator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeywordShardCoordinator.class);
+    private final KafkaConfigData kafkaConfigData;
+    private final KeywordShardConfigData keywordShardConfigData;
+    private final AdminClient adminClient;
+    private final CountDownLatch firstAssignment = new CountDownLatch(1);
+    private final ExecutorService assignmentNotifier = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "keyword-shard-notifier");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<Integer> assignedSlots = new TreeSet<>();
+    private volatile Set<Integer> ownedSlots = Set.of();
+    private volatile Runnable assignmentListener = () -> { };
+    private volatile Consumer<byte[], byte[]> consumer;
+    private volatile boolean running;
+    private int slots;
+    private Thread pollThread;
+
+    public KeywordShardCoordinator(final KafkaConfigData kafkaConfigData,
+                                   final KeywordShardConfigData keywordShardConfigData,
+                                   final AdminClient adminClient) {
+        this.kafkaConfigData = kafkaConfigData;
+        this.keywordShardConfigData = keywordShardConfigData;
+        this.adminClient = adminClient;
+    }
+
+    /**
+     * Joins the coordination group and waits for the first assignment, so the stream starts with its own keywords.
+     */
+    @PostConstruct
+    public void init() {
+        slots = createCoordinationTopic();
+        running = true;
+        pollThread = new Thread(this::poll, "keyword-shard-coordinator");
+        pollThread.setDaemon(true);
+        pollThread.start();
+        try {
+            if (!firstAssignment.await(keywordShardConfigData.getAssignmentTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("No keyword slots assigned after {} ms, starting without keywords.",
+                        keywordShardConfigData.getAssignmentTimeoutMs());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TwitterToKafkaServiceException("Interrupted while waiting for keyword slots!.", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        LOGGER.info("Leaving keyword shard group.");
+        running = false;
+        final Consumer<byte[], byte[]> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        try {
+            pollThread.join(keywordShardConfigData.getSessionTimeoutMs());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        assignmentNotifier.shutdownNow();
+    }
+
+    /**
+     * @return the keywords that hash to a slot of this instance, in the given order
+     */
+    public List<String> select(final List<String> keywords) {
+        final Set<Integer> owned = ownedSlots;
+        return keywords.stream().filter(keyword -> owned.contains(getSlot(keyword))).toList();
+    }
+
+    /**
+     * Called on a separate thread after every change of the owned slots.
+     */
+    public void setAssignmentListener(final Runnable assignmentListener) {
+        this.assignmentListener = assignmentListener;
+    }
+
+    public Set<Integer> getOwnedSlots() {
+        return ownedSlots;
+    }
+
+    int getSlot(final String keyword) {
+        //Same hash as the default kafka partitioner.
+        return Utils.toPositive(Utils.murmur2(keyword.getBytes(StandardCharsets.UTF_8))) % slots;
+    }
+
+    private void poll() {
+        try (Consumer<byte[], byte[]> kafkaConsumer = createConsumer(getConsumerConfig())) {
+            consumer = kafkaConsumer;
+            kafkaConsumer.subscribe(List.of(keywordShardConfigData.getCoordinationTopicName()),
+                    new SlotRebalanceListener());
+            final Duration pollTimeout = Duration.ofMillis(keywordShardConfigData.getPollTimeoutMs());
+            while (running) {
+                kafkaConsumer.poll(pollTimeout);
+            }
+        } catch (final WakeupException e) {
+            if (running) {
+                LOGGER.error("Keyword shard coordinator woken up while running!.", e);
+            }
+        } catch (final RuntimeException e) {
+            LOGGER.error("Keyword shard coordinator stopped with an error!.", e);
+        }
+    }
+
+    /**
+     * Creates the consumer that joins the coordination group, overridden in tests to run without a broker.
+     */
+    Consumer<byte[], byte[]> createConsumer(final Map<String, Object> consumerConfig) {
+        return new KafkaConsumer<>(consumerConfig);
+    }
+
+    private Map<String, Object> getConsumerConfig() {
+        final Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConfigData.getBootstrapServers());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, keywordShardConfigData.getGroupId());
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, CooperativeStickyAssignor.class.getName());
+        props.put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, keywordShardConfigData.getSessionTimeoutMs());
+        props.put(ConsumerConfig.HEARTBEAT_INTERVAL_MS_CONFIG, keywordShardConfigData.getSessionTimeoutMs() / 3);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return props;
+    }
+
+    /**
+     * Creates the coordination topic with one partition per slot if it does not exist yet.
+     *
+     * @return the number of slots, which is the partition count of the existing topic
+     */
+    private int createCoordinationTopic() {
+        final String topicName = keywordShardConfigData.getCoordinationTopicName();
+        try {
+            try {
+                adminClient.createTopics(List.of(new NewTopic(topicName, keywordShardConfigData.getSlots(),
+                        kafkaConfigData.getReplicationFactor()))).all().get();
+            } catch (final ExecutionException e) {
+                if (!(e.getCause() instanceof TopicExistsException)) {
+                    throw e;
+                }
+            }
+            final int partitions = adminClient.describeTopics(List.of(topicName)).allTopicNames().get()
+                    .get(topicName).partitions().size();
+            LOGGER.info("Sharding keywords over {} slot(s) of topic {}", partitions, topicName);
+            return partitions;
+        } catch (final ExecutionException e) {
+            throw new TwitterToKafkaServiceException("Error while creating keyword coordination topic!.", e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TwitterToKafkaServiceException("Interrupted while creating keyword coordination topic!.", e);
+        }
+    }
+
+    //Called on the poll thread, the listener is notified on its own thread to not delay the rebalance.
+    private class SlotRebalanceListener implements ConsumerRebalanceListener {
+
+        @Override
+        public void onPartitionsAssigned(final Collection<TopicPartition> partitions) {
+            partitions.forEach(partition -> assignedSlots.add(partition.partition()));
+            publish();
+            firstAssignment.countDown();
+        }
+
+        @Override
+        public void onPartitionsRevoked(final Collection<TopicPartition> partitions) {
+            partitions.forEach(partition -> assignedSlots.remove(partition.partition()));
+            publish();
+        }
+
+        @Override
+        public void onPartitionsLost(final Collection<TopicPartition> partitions) {
+            onPartitionsRevoked(partitions);
+        }
+
+        private void publish() {
+            final Set<Integer> slotsSnapshot = Set.copyOf(assignedSlots);
+            if (!slotsSnapshot.equals(ownedSlots)) {
+                ownedSlots = slotsSnapshot;
+                LOGGER.info("Owning keyword slot(s) {}", assignedSlots);
+                if (running) {
+                    assignmentNotifier.execute(() -> assignmentListener.run());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.microservices.demo.config.twitter.to.kafka.service.lane;
+
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.config.PriorityLaneConfigData;
+import com.microservices.demo.config.twitter.to.kafka.service.filter.TweetFilterCompiler;
+import com.microservices.demo.config.twitter.to.kafka.service.filter.TweetFilterRule;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.producer.config.KafkaProducerConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends every tweet through the first priority lane with a matching rule, or through the default lane.
+ * Each lane has its own producer, configured with the kafka-producer-config lane overrides, e.g. no linger and
+ * leader acks for alerting tweets and large zstd batches for the bulk stream.
+ * Queued tweets are sent later from the lane thread, so they must never be recycled avro models.
+ */
+@Component
+@ConditionalOnExpression("${priority-lane-config.enabled:false}")
+public class PriorityLaneRouter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PriorityLaneRouter.class);
+    private final PriorityLaneConfigData priorityLaneConfigData;
+    //Lanes with rules in configured order, the default lane is last and matches everything else.
+    private final ProducerLane[] lanes;
+
+    public PriorityLaneRouter(final PriorityLaneConfigData priorityLaneConfigData,
+                              final KafkaConfigData kafkaConfigData,
+                              final KafkaProducerConfig<Long, TwitterAvroModel> kafkaProducerConfig) {
+        this.priorityLaneConfigData = priorityLaneConfigData;
+        final TweetFilterCompiler compiler = new TweetFilterCompiler();
+        final List<ProducerLane> configuredLanes = new ArrayList<>();
+        if (priorityLaneConfigData.getRules() != null) {
+            for (final Map.Entry<String, List<String>> laneRules : priorityLaneConfigData.getRules().entrySet()) {
+                final List<TweetFilterRule> rules = new ArrayList<>();
+                for (final String expression : laneRules.getValue()) {
+                    rules.add(compiler.compile(laneRules.getKey(), expression));
+                }
+                configuredLanes.add(createLane(laneRules.getKey(), rules, kafkaConfigData, kafkaProducerConfig));
+            }
+        }
+        configuredLanes.add(createLane(priorityLaneConfigData.getDefaultLane(), List.of(), kafkaConfigData,
+                kafkaProducerConfig));
+        this.lanes = configuredLanes.toArray(new ProducerLane[0]);
+    }
+
+    @PostConstruct
+    public void start() {
+        for (final ProducerLane lane : lanes) {
+            lane.start();
+            LOGGER.info("Started producer lane {}", lane.getName());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (final ProducerLane lane : lanes) {
+            LOGGER.info("Shutting down producer lane {}", lane.getName());
+            lane.shutdown();
+        }
+    }
+
+    /**
+     * Queues the tweet on its lane, blocks only while that lane's queue is full.
+     */
+    public void send(final TwitterAvroModel model) {
+        getLane(model).enqueue(model);
+    }
+
+    @Scheduled(fixedRateString = "${priority-lane-config.stats-log-interval-ms:60000}",
+            initialDelayString = "${priority-lane-config.stats-log-interval-ms:60000}")
+    public void logStats() {
+        for (final ProducerLane lane : lanes) {
+            LOGGER.info("Producer lane {}: enqueued {}, sent {}, failed {}, queue depth {}, full queue waits {}",
+                    lane.getName(), lane.getEnqueuedCount(), lane.getSentCount(), lane.getFailedCount(),
+                    lane.getQueueDepth(), lane.getFullQueueWaitCount());
+        }
+    }
+
+    ProducerLane getLane(final TwitterAvroModel model) {
+        for (int i = 0; i < lanes.length - 1; ++i) {
+            if (lanes[i].matches(model)) {
+                return lanes[i];
+            }
+        }
+        return lanes[lanes.length - 1];
+    }
+
+    private ProducerLane createLane(final String name,
+                                    final List<TweetFilterRule> rules,
+                                    final KafkaConfigData kafkaConfigData,
+                                    final KafkaProducerConfig<Long, TwitterAvroModel> kafkaProducerConfig) {
+        return new ProducerLane(name, rules, priorityLaneConfigData.getQueueCapacity(),
+                kafkaProducerConfig.laneKafkaTemplate(name), kafkaConfigData.getTopicName());
+    }
+}
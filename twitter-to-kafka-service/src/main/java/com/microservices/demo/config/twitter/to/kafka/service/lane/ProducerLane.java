@@ -0,0 +1,150 @@
+package com.microservices.demo.config.twitter.to.kafka.service.lane;
+
+import com.microservices.demo.config.twitter.to.kafka.service.exception.TwitterToKafkaServiceException;
+import com.microservices.demo.config.twitter.to.kafka.service.filter.TweetFilterRule;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One priority lane: a bounded queue drained by its own sender thread into its own kafka producer.
+ * A backlog in one lane fills only that lane's queue and producer buffer, the other lanes keep sending.
+ */
+class ProducerLane {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProducerLane.class);
+    private final String name;
+    private final List<TweetFilterRule> rules;
+    private final BlockingQueue<TwitterAvroModel> queue;
+    private final KafkaTemplate<Long, TwitterAvroModel> kafkaTemplate;
+    private final String topicName;
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder fullQueueWaits = new LongAdder();
+    private volatile boolean running;
+    private Thread sender;
+
+    ProducerLane(final String name,
+                 final List<TweetFilterRule> rules,
+                 final int queueCapacity,
+                 final KafkaTemplate<Long, TwitterAvroModel> kafkaTemplate,
+                 final String topicName) {
+        this.name = name;
+        this.rules = rules;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.kafkaTemplate = kafkaTemplate;
+        this.topicName = topicName;
+    }
+
+    /**
+     * @return true if any rule of the lane matches the tweet, never for a lane without rules
+     */
+    boolean matches(final TwitterAvroModel model) {
+        for (final TweetFilterRule rule : rules) {
+            if (rule.test(model)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Queues the tweet for sending, blocks the caller only while this lane's queue is full.
+     */
+    void enqueue(final TwitterAvroModel model) {
+        enqueued.increment();
+        try {
+            if (!queue.offer(model)) {
+                fullQueueWaits.increment();
+                queue.put(model);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TwitterToKafkaServiceException("Interrupted while queueing a tweet for lane " + name + "!.", e);
+        }
+    }
+
+    void start() {
+        running = true;
+        sender = new Thread(this::send, "producer-lane-" + name);
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    /**
+     * Stops the sender thread, sends what is still queued and flushes the producer.
+     */
+    void shutdown() {
+        running = false;
+        if (sender != null) {
+            sender.interrupt();
+            try {
+                sender.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        final List<TwitterAvroModel> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(this::send);
+        kafkaTemplate.flush();
+        kafkaTemplate.destroy();
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getQueueDepth() {
+        return queue.size();
+    }
+
+    long getEnqueuedCount() {
+        return enqueued.sum();
+    }
+
+    long getSentCount() {
+        return sent.sum();
+    }
+
+    long getFailedCount() {
+        return failed.sum();
+    }
+
+    long getFullQueueWaitCount() {
+        return fullQueueWaits.sum();
+    }
+
+    private void send() {
+        while (running) {
+            try {
+                send(queue.take());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final RuntimeException e) {
+                failed.increment();
+                LOGGER.error("Error while sending a tweet of lane {}", name, e);
+            }
+        }
+    }
+
+    private void send(final TwitterAvroModel model) {
+        kafkaTemplate.send(topicName, model.getUserId(), model).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                failed.increment();
+                LOGGER.error("Error while sending message with id {} of lane {} to topic {}", model.getId(), name,
+                        topicName, throwable);
+            } else {
+                sent.increment();
+            }
+        });
+    }
+}
@@ -0,0 +1,128 @@
+package com.microservices.demo.config.twitter.to.kafka.service.listener;
+
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.config.twitter.to.kafka.service.aggregation.TweetAggregator;
+import com.microservices.demo.config.twitter.to.kafka.service.backpressure.LagBackpressure;
+import com.microservices.demo.config.twitter.to.kafka.service.dedup.NearDuplicateDetector;
+import com.microservices.demo.config.twitter.to.kafka.service.enrichment.UserProfileEnricher;
+import com.microservices.demo.config.twitter.to.kafka.service.exception.TwitterToKafkaServiceException;
+import com.microservices.demo.config.twitter.to.kafka.service.filter.TweetFilter;
+import com.microservices.demo.config.twitter.to.kafka.service.lane.PriorityLaneRouter;
+import com.microservices.demo.config.twitter.to.kafka.service.reorder.EventTimeReorderStage;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.producer.config.bulk.TweetBlockPacker;
+import com.microservices.demo.kafka.producer.config.service.KafkaProducer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Per tweet stages between the transformer and kafka. The status listener and the reactive runner both go through
+ * it, so every runner applies the same stages.
+ */
+@Component
+public class TweetPipeline {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TweetPipeline.class);
+    private final KafkaConfigData kafkaConfigData;
+    private final KafkaProducer<Long, TwitterAvroModel> kafkaProducer;
+    private final TweetFilter tweetFilter;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final TweetAggregator tweetAggregator;
+    private final Optional<UserProfileEnricher> userProfileEnricher;
+    private final Optional<PriorityLaneRouter> priorityLaneRouter;
+    private final Optional<EventTimeReorderStage> eventTimeReorderStage;
+    private final Optional<LagBackpressure> lagBackpressure;
+    private final Optional<TweetBlockPacker> tweetBlockPacker;
+
+    public TweetPipeline(final KafkaConfigData kafkaConfigData,
+                         final KafkaProducer<Long, TwitterAvroModel> kafkaProducer,
+                         final TweetFilter tweetFilter,
+                         final NearDuplicateDetector nearDuplicateDetector,
+                         final TweetAggregator tweetAggregator,
+                         final Optional<UserProfileEnricher> userProfileEnricher,
+                         final Optional<PriorityLaneRouter> priorityLaneRouter,
+                         final Optional<EventTimeReorderStage> eventTimeReorderStage,
+                         final Optional<LagBackpressure> lagBackpressure,
+                         final Optional<TweetBlockPacker> tweetBlockPacker) {
+        //Lanes send on producers of their own, tweets would silently skip the reorder stage and the bulk topic.
+        if (priorityLaneRouter.isPresent() && eventTimeReorderStage.isPresent()) {
+            throw new TwitterToKafkaServiceException("Priority lanes and the event time reorder stage can not be " +
+                    "enabled together!.");
+        }
+        if (priorityLaneRouter.isPresent() && tweetBlockPacker.isPresent()) {
+            throw new TwitterToKafkaServiceException("Priority lanes and the bulk topic can not be enabled " +
+                    "together!.");
+        }
+        //Tweet blocks carry no per tweet headers, the watermark of every tweet would be dropped.
+        if (eventTimeReorderStage.isPresent() && tweetBlockPacker.isPresent()) {
+            throw new TwitterToKafkaServiceException("The event time reorder stage and the bulk topic can not be " +
+                    "enabled together!.");
+        }
+        this.kafkaConfigData = kafkaConfigData;
+        this.kafkaProducer = kafkaProducer;
+        this.tweetFilter = tweetFilter;
+        this.nearDuplicateDetector = nearDuplicateDetector;
+        this.tweetAggregator = tweetAggregator;
+        this.userProfileEnricher = userProfileEnricher;
+        this.priorityLaneRouter = priorityLaneRouter;
+        this.eventTimeReorderStage = eventTimeReorderStage;
+        this.lagBackpressure = lagBackpressure;
+        this.tweetBlockPacker = tweetBlockPacker;
+    }
+
+    /**
+     * Blocks the calling thread while the consumers of the tweets fall behind, if lag backpressure is enabled.
+     */
+    public void awaitBackpressure() {
+        lagBackpressure.ifPresent(LagBackpressure::await);
+    }
+
+    /**
+     * Runs the filter, near duplicate, enrichment and aggregation stages.
+     *
+     * @return false if the tweet was dropped and must not be sent
+     */
+    public boolean accept(final TwitterAvroModel model) {
+        if (!tweetFilter.test(model)) {
+            LOGGER.debug("Tweet with id {} rejected by tweet filter.", model.getId());
+            return false;
+        }
+        if (!nearDuplicateDetector.test(model)) {
+            LOGGER.debug("Tweet with id {} dropped as near duplicate.", model.getId());
+            return false;
+        }
+        userProfileEnricher.ifPresent(enricher -> enricher.enrich(model));
+        tweetAggregator.record(model);
+        return true;
+    }
+
+    /**
+     * Sends an accepted tweet through the priority lanes, the reorder stage or the producer.
+     */
+    public void send(final TwitterAvroModel model) {
+        if (priorityLaneRouter.isPresent()) {
+            priorityLaneRouter.get().send(model);
+        } else if (eventTimeReorderStage.isPresent()) {
+            eventTimeReorderStage.get().add(model);
+        } else {
+            kafkaProducer.send(kafkaConfigData.getTopicName(), model.getUserId(), model);
+        }
+    }
+
+    /**
+     * @return true if tweets are still referenced after send returned, then they can not be recycled
+     */
+    public boolean holdsTweetsAfterSend() {
+        return priorityLaneRouter.isPresent() || eventTimeReorderStage.isPresent();
+    }
+
+    /**
+     * @return true if tweets must go through {@link #send} because a lane, reorder or bulk stage is enabled,
+     * instead of straight to a producer of their own
+     */
+    public boolean hasSendStage() {
+        return holdsTweetsAfterSend() || tweetBlockPacker.isPresent();
+    }
+}
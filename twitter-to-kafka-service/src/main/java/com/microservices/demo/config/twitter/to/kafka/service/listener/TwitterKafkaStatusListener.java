@@ -1,9 +1,9 @@
 package com.microservices.demo.config.twitter.to.kafka.service.listener;
 
 import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.config.TwitterToKafkaServiceConfigData;
 import com.microservices.demo.config.twitter.to.kafka.service.transformer.TwitterStatusToAvroTransformer;
 import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
-import com.microservices.demo.kafka.producer.config.service.KafkaProducer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -14,22 +14,33 @@ import twitter4j.StatusAdapter;
 public class TwitterKafkaStatusListener extends StatusAdapter {
     private static final Logger LOGGER = LoggerFactory.getLogger(TwitterKafkaStatusListener.class);
     private final KafkaConfigData kafkaConfigData;
-    private final KafkaProducer<Long, TwitterAvroModel> kafkaProducer;
     private final TwitterStatusToAvroTransformer transformer;
+    private final TweetPipeline tweetPipeline;
+    private final boolean recycleModels;
 
     public TwitterKafkaStatusListener(final KafkaConfigData kafkaConfigData,
-                                      final KafkaProducer<Long, TwitterAvroModel> kafkaProducer,
-                                      final TwitterStatusToAvroTransformer transformer) {
+                                      final TwitterToKafkaServiceConfigData twitterToKafkaServiceConfigData,
+                                      final TwitterStatusToAvroTransformer transformer,
+                                      final TweetPipeline tweetPipeline) {
         this.kafkaConfigData = kafkaConfigData;
-        this.kafkaProducer = kafkaProducer;
         this.transformer = transformer;
+        this.tweetPipeline = tweetPipeline;
+        //Lanes and the reorder stage send after onStatus returned, so the model can not be recycled.
+        this.recycleModels = twitterToKafkaServiceConfigData.getEnableAvroModelRecycling()
+                && !tweetPipeline.holdsTweetsAfterSend();
     }
 
     @Override
     public void onStatus(final Status status) {
         LOGGER.info("Received Twitter status: {}; Sending to Kafka Topic: {}", status.getText(),
                 kafkaConfigData.getTopicName());
-        final TwitterAvroModel model = transformer.getTwitterAvroModelFromStatus(status);
-        kafkaProducer.send(kafkaConfigData.getTopicName(), model.getUserId(), model);
+        tweetPipeline.awaitBackpressure();
+        //The send below serializes the model before returning, so a per thread model can be recycled.
+        final TwitterAvroModel model = recycleModels
+                ? transformer.getReusableTwitterAvroModelFromStatus(status)
+                : transformer.getTwitterAvroModelFromStatus(status);
+        if (tweetPipeline.accept(model)) {
+            tweetPipeline.send(model);
+        }
     }
-}
\ No newline at end of file
+}
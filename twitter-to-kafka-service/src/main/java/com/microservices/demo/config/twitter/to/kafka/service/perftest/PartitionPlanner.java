@@ -0,0 +1,56 @@
+package com.microservices.demo.config.twitter.to.kafka.service.perftest;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Picks the partition count for a target throughput from the perf test results.
+ * <p>
+ * For every partition count the best batch settings are taken, then the worst record size, so the plan holds for
+ * every record size of the sweep. The smallest partition count that reaches the target with headroom is
+ * recommended. If none does, the count is extrapolated from the per partition throughput of the largest count
+ * tested, which is optimistic once the brokers, not the partitions, are the bottleneck.
+ */
+public class PartitionPlanner {
+
+    public record PartitionPlan(int partitions,
+                                boolean extrapolated,
+                                double requiredRecordsPerSecond,
+                                Map<Integer, PerfTestResult> bestPerPartitionCount) {
+    }
+
+    public PartitionPlan plan(final List<PerfTestResult> results,
+                              final long targetRecordsPerSecond,
+                              final double headroom) {
+        if (results.isEmpty()) {
+            throw new IllegalArgumentException("Can not plan partitions without perf test results!.");
+        }
+        final double required = targetRecordsPerSecond * headroom;
+        final TreeMap<Integer, PerfTestResult> bestPerPartitionCount = new TreeMap<>();
+        results.stream()
+                .collect(Collectors.groupingBy(PerfTestResult::partitions,
+                        Collectors.groupingBy(PerfTestResult::recordSize)))
+                .forEach((partitions, resultsPerSize) -> bestPerPartitionCount.put(partitions, resultsPerSize
+                        .values().stream()
+                        .map(sizeResults -> sizeResults.stream()
+                                .max(Comparator.comparingDouble(PerfTestResult::recordsPerSecond)).orElseThrow())
+                        .min(Comparator.comparingDouble(PerfTestResult::recordsPerSecond)).orElseThrow()));
+
+        for (final PerfTestResult best : bestPerPartitionCount.values()) {
+            if (best.recordsPerSecond() >= required) {
+                return new PartitionPlan(best.partitions(), false, required, bestPerPartitionCount);
+            }
+        }
+        final PerfTestResult largest = bestPerPartitionCount.lastEntry().getValue();
+        final double perPartition = largest.recordsPerSecond() / largest.partitions();
+        if (perPartition <= 0.0) {
+            throw new IllegalArgumentException("No record was acknowledged with " + largest.partitions() +
+                    " partition(s), can not plan partitions!.");
+        }
+        final int partitions = (int) Math.min(Integer.MAX_VALUE, Math.ceil(required / perPartition));
+        return new PartitionPlan(Math.max(partitions, largest.partitions()), true, required, bestPerPartitionCount);
+    }
+}
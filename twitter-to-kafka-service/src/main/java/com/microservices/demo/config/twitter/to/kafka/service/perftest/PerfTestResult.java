@@ -0,0 +1,28 @@
+package com.microservices.demo.config.twitter.to.kafka.service.perftest;
+
+import java.util.Locale;
+
+/**
+ * Throughput and ack latency of one producer perf test run.
+ */
+public record PerfTestResult(int partitions,
+                             int batchSize,
+                             int lingerMs,
+                             int recordSize,
+                             int acked,
+                             int failed,
+                             double recordsPerSecond,
+                             double megabytesPerSecond,
+                             double p50LatencyMs,
+                             double p99LatencyMs,
+                             double p999LatencyMs,
+                             double maxLatencyMs) {
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "partitions %3d, batch %8d B, linger %4d ms, record %6d B: " +
+                        "%10.1f records/sec (%7.2f MB/sec), latency p50 %8.2f ms, p99 %8.2f ms, p99.9 %8.2f ms, " +
+                        "max %8.2f ms, %d failed", partitions, batchSize, lingerMs, recordSize, recordsPerSecond,
+                megabytesPerSecond, p50LatencyMs, p99LatencyMs, p999LatencyMs, maxLatencyMs, failed);
+    }
+}
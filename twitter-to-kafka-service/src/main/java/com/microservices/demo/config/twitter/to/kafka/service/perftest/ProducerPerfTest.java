@@ -0,0 +1,152 @@
+package com.microservices.demo.config.twitter.to.kafka.service.perftest;
+
+import com.microservices.demo.config.PerfTestConfigData;
+import com.microservices.demo.config.twitter.to.kafka.service.exception.TwitterToKafkaServiceException;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.producer.config.KafkaProducerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends tweets as fast as the producer accepts them, like kafka-producer-perf-test, but through the service's own
+ * producer config and avro serializer. Every run has its own producer with the batch settings under test.
+ */
+@Component
+@ConditionalOnExpression("${perf-test-config.enabled:false}")
+public class ProducerPerfTest {
+    private static final String[] WORDS = new String[] {
+            "Lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing", "elit", "Java", "Kafka", "Spring"
+    };
+    private static final int DISTINCT_TWEETS = 1024;
+    private static final long ACK_TIMEOUT_MS = 300_000L;
+    private final PerfTestConfigData perfTestConfigData;
+    private final KafkaProducerConfig<Long, TwitterAvroModel> kafkaProducerConfig;
+
+    public ProducerPerfTest(final PerfTestConfigData perfTestConfigData,
+                            final KafkaProducerConfig<Long, TwitterAvroModel> kafkaProducerConfig) {
+        this.perfTestConfigData = perfTestConfigData;
+        this.kafkaProducerConfig = kafkaProducerConfig;
+    }
+
+    public PerfTestResult run(final String topicName,
+                              final int partitions,
+                              final int batchSize,
+                              final int lingerMs,
+                              final int recordSize) {
+        final KafkaTemplate<Long, TwitterAvroModel> kafkaTemplate = kafkaProducerConfig.kafkaTemplate(Map.of(
+                ProducerConfig.BATCH_SIZE_CONFIG, batchSize,
+                ProducerConfig.LINGER_MS_CONFIG, lingerMs,
+                ProducerConfig.CLIENT_ID_CONFIG, "producer-perf-test"));
+        try {
+            //Tweets are built up front so the run measures the producer, not the text generation.
+            final TwitterAvroModel[] tweets = createTweets(recordSize);
+            final int warmupRecords = perfTestConfigData.getWarmupRecords();
+            send(kafkaTemplate, topicName, tweets, warmupRecords, new long[warmupRecords]);
+            final long[] latenciesNanos = new long[perfTestConfigData.getRecordsPerRun()];
+            return send(kafkaTemplate, topicName, tweets, latenciesNanos.length, latenciesNanos)
+                    .toResult(partitions, batchSize, lingerMs, recordSize, latenciesNanos);
+        } finally {
+            kafkaTemplate.destroy();
+        }
+    }
+
+    private Outcome send(final KafkaTemplate<Long, TwitterAvroModel> kafkaTemplate,
+                         final String topicName,
+                         final TwitterAvroModel[] tweets,
+                         final int records,
+                         final long[] latenciesNanos) {
+        final Outcome outcome = new Outcome(records);
+        outcome.startNanos = System.nanoTime();
+        for (int i = 0; i < records; ++i) {
+            final TwitterAvroModel tweet = tweets[i % tweets.length];
+            final long sentNanos = System.nanoTime();
+            kafkaTemplate.send(topicName, tweet.getUserId(), tweet).whenComplete((result, throwable) -> {
+                final long now = System.nanoTime();
+                if (throwable == null) {
+                    latenciesNanos[outcome.acked.getAndIncrement()] = now - sentNanos;
+                    outcome.bytes.add(result.getRecordMetadata().serializedValueSize());
+                } else {
+                    outcome.failed.incrementAndGet();
+                }
+                outcome.lastAckNanos.accumulateAndGet(now, Math::max);
+                outcome.completed.countDown();
+            });
+        }
+        try {
+            if (!outcome.completed.await(ACK_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new TwitterToKafkaServiceException("Perf test records not acknowledged after " +
+                        ACK_TIMEOUT_MS + " ms!.");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TwitterToKafkaServiceException("Interrupted while waiting for perf test acks!.", e);
+        }
+        return outcome;
+    }
+
+    private static TwitterAvroModel[] createTweets(final int recordSize) {
+        final Random random = new Random(recordSize);
+        final TwitterAvroModel[] tweets = new TwitterAvroModel[DISTINCT_TWEETS];
+        for (int i = 0; i < tweets.length; ++i) {
+            final StringBuilder text = new StringBuilder(recordSize + 16);
+            while (text.length() < recordSize) {
+                text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            text.setLength(recordSize);
+            tweets[i] = TwitterAvroModel.newBuilder()
+                    .setUserId(random.nextLong(1_000_000L))
+                    .setId(random.nextLong(Long.MAX_VALUE))
+                    .setText(text.toString())
+                    .setCreatedAt(System.currentTimeMillis())
+                    .build();
+        }
+        return tweets;
+    }
+
+    static double getPercentileMs(final long[] sortedNanos, final int count, final double percentile) {
+        if (count == 0) {
+            return 0.0;
+        }
+        final int index = Math.min(count - 1, (int) Math.ceil(percentile / 100.0 * count) - 1);
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static final class Outcome {
+        private final CountDownLatch completed;
+        private final AtomicInteger acked = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicLong lastAckNanos = new AtomicLong();
+        private final LongAdder bytes = new LongAdder();
+        private long startNanos;
+
+        private Outcome(final int records) {
+            this.completed = new CountDownLatch(records);
+        }
+
+        private PerfTestResult toResult(final int partitions,
+                                        final int batchSize,
+                                        final int lingerMs,
+                                        final int recordSize,
+                                        final long[] latenciesNanos) {
+            final int count = acked.get();
+            final long[] sorted = Arrays.copyOf(latenciesNanos, count);
+            Arrays.sort(sorted);
+            final double seconds = Math.max(1L, lastAckNanos.get() - startNanos) / 1_000_000_000.0;
+            return new PerfTestResult(partitions, batchSize, lingerMs, recordSize, count, failed.get(),
+                    count / seconds, bytes.sum() / seconds / (1024.0 * 1024.0),
+                    getPercentileMs(sorted, count, 50), getPercentileMs(sorted, count, 99),
+                    getPercentileMs(sorted, count, 99.9), getPercentileMs(sorted, count, 100));
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.microservices.demo.config.twitter.to.kafka.service.reorder;
+
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Min-heap of tweets by created at, emitted in event time order once the watermark passed them.
+ * <p>
+ * The watermark trails the newest event time seen by the allowed lateness and never goes back. A tweet older than
+ * the watermark is late: it can no longer be emitted in order and is emitted right away or dropped. Two bounds
+ * move the watermark ahead of the lateness when needed: a full buffer emits its oldest tweet, and a tweet held
+ * for the maximum hold time is emitted together with every older one. Tweets with the same event time keep their
+ * arrival order. Not thread safe, callers synchronize.
+ */
+class EventTimeReorderBuffer {
+    private static final Comparator<Entry> EVENT_TIME_ORDER =
+            Comparator.comparingLong((Entry entry) -> entry.eventTime).thenComparingLong(entry -> entry.sequence);
+    private final long maxLatenessMs;
+    private final long maxHoldNanos;
+    private final int maxBufferedRecords;
+    private final boolean dropLate;
+    private final Emitter emitter;
+    private final PriorityQueue<Entry> byEventTime;
+    //Same entries in arrival order for the hold bound, emitted ones are skipped when they reach the head.
+    private final ArrayDeque<Entry> byArrival = new ArrayDeque<>();
+    private long newestEventTime = Long.MIN_VALUE;
+    private long watermark = Long.MIN_VALUE;
+    private long sequence;
+    private long emittedCount;
+    private long lateCount;
+    private long droppedCount;
+    private long capacityEmitCount;
+    private long holdEmitCount;
+    private long heldCount;
+    private long holdNanosTotal;
+    private long maxHoldNanosSeen;
+
+    EventTimeReorderBuffer(final long maxLatenessMs,
+                           final long maxHoldMs,
+                           final int maxBufferedRecords,
+                           final boolean dropLate,
+                           final Emitter emitter) {
+        this.maxLatenessMs = maxLatenessMs;
+        this.maxHoldNanos = maxHoldMs * 1_000_000L;
+        this.maxBufferedRecords = maxBufferedRecords;
+        this.dropLate = dropLate;
+        this.emitter = emitter;
+        this.byEventTime = new PriorityQueue<>(Math.min(maxBufferedRecords, 1024), EVENT_TIME_ORDER);
+    }
+
+    /**
+     * Buffers the tweet and emits every tweet the watermark passed. Tweets without created at are emitted at once.
+     */
+    void add(final TwitterAvroModel model, final long nowNanos) {
+        final Long createdAt = model.getCreatedAt();
+        if (createdAt == null) {
+            emit(model);
+            return;
+        }
+        if (createdAt < watermark) {
+            ++lateCount;
+            if (dropLate) {
+                ++droppedCount;
+            } else {
+                emit(model);
+            }
+            return;
+        }
+        if (byEventTime.size() >= maxBufferedRecords) {
+            ++capacityEmitCount;
+            emitHead(nowNanos);
+        }
+        final Entry entry = new Entry(model, createdAt, nowNanos, sequence++);
+        byEventTime.add(entry);
+        byArrival.add(entry);
+        if (createdAt > newestEventTime) {
+            newestEventTime = createdAt;
+            advanceTo(newestEventTime - maxLatenessMs, nowNanos);
+        }
+        skipEmittedArrivals();
+    }
+
+    /**
+     * Emits the tweets held for the maximum hold time, together with every tweet older than them.
+     */
+    void expire(final long nowNanos) {
+        skipEmittedArrivals();
+        while (!byArrival.isEmpty() && nowNanos - byArrival.peekFirst().arrivalNanos >= maxHoldNanos) {
+            ++holdEmitCount;
+            advanceTo(byArrival.peekFirst().eventTime, nowNanos);
+            skipEmittedArrivals();
+        }
+    }
+
+    /**
+     * Emits everything still buffered in order.
+     */
+    void flush(final long nowNanos) {
+        while (!byEventTime.isEmpty()) {
+            emitHead(nowNanos);
+        }
+        byArrival.clear();
+    }
+
+    int size() {
+        return byEventTime.size();
+    }
+
+    long getWatermark() {
+        return watermark;
+    }
+
+    long getEmittedCount() {
+        return emittedCount;
+    }
+
+    long getLateCount() {
+        return lateCount;
+    }
+
+    long getDroppedCount() {
+        return droppedCount;
+    }
+
+    long getCapacityEmitCount() {
+        return capacityEmitCount;
+    }
+
+    long getHoldEmitCount() {
+        return holdEmitCount;
+    }
+
+    long getHeldCount() {
+        return heldCount;
+    }
+
+    long getHoldNanosTotal() {
+        return holdNanosTotal;
+    }
+
+    long getMaxHoldNanos() {
+        return maxHoldNanosSeen;
+    }
+
+    private void advanceTo(final long newWatermark, final long nowNanos) {
+        if (newWatermark > watermark) {
+            watermark = newWatermark;
+        }
+        while (!byEventTime.isEmpty() && byEventTime.peek().eventTime <= watermark) {
+            emitHead(nowNanos);
+        }
+    }
+
+    private void emitHead(final long nowNanos) {
+        final Entry entry = byEventTime.poll();
+        //A tweet emitted ahead of the lateness moves the watermark, anything older is late from now on.
+        if (entry.eventTime > watermark) {
+            watermark = entry.eventTime;
+        }
+        final long holdNanos = nowNanos - entry.arrivalNanos;
+        holdNanosTotal += holdNanos;
+        maxHoldNanosSeen = Math.max(maxHoldNanosSeen, holdNanos);
+        ++heldCount;
+        final TwitterAvroModel model = entry.model;
+        entry.model = null;
+        emit(model);
+    }
+
+    private void emit(final TwitterAvroModel model) {
+        ++emittedCount;
+        emitter.emit(model, watermark);
+    }
+
+    private void skipEmittedArrivals() {
+        while (!byArrival.isEmpty() && byArrival.peekFirst().model == null) {
+            byArrival.pollFirst();
+        }
+    }
+
+    interface Emitter {
+        void emit(TwitterAvroModel model, long watermark);
+    }
+
+    private static final class Entry {
+        private TwitterAvroModel model;
+        private final long eventTime;
+        private final long arrivalNanos;
+        private final long sequence;
+
+        private Entry(final TwitterAvroModel model, final long eventTime, final long arrivalNanos,
+                      final long sequence) {
+            this.model = model;
+            this.eventTime = eventTime;
+            this.arrivalNanos = arrivalNanos;
+            this.sequence = sequence;
+        }
+    }
+}
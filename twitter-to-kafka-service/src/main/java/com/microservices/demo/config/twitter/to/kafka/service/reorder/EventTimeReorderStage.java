@@ -0,0 +1,211 @@
+package com.microservices.demo.config.twitter.to.kafka.service.reorder;
+
+import com.microservices.demo.config.EventTimeReorderConfigData;
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.producer.config.service.KafkaProducer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds tweets before the send and sends them in created at order, so windowed consumers do not have to buffer
+ * reconnect backfill and tweets reordered by parallel parsing or multiple sources themselves.
+ * <p>
+ * Tweets are buffered in shards by user id, hashed like the default partitioner, so adds for different shards do
+ * not contend. With a shard count dividing the partition count of the topic, every partition is fed by one shard.
+ * Every sent record carries the watermark of its shard in the {@link #WATERMARK_HEADER} header: no later record of
+ * the shard, and so of the partition, has an older created at, except late records, which are those older than
+ * their own watermark. A tweet is held at most max-hold-ms and at most max-buffered-records tweets are held over
+ * all shards. Tweets are held longer than the send, so they must never be recycled avro models.
+ */
+@Component
+@ConditionalOnExpression("${event-time-reorder-config.enabled:false}")
+public class EventTimeReorderStage {
+    public static final String WATERMARK_HEADER = "event-time-watermark";
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventTimeReorderStage.class);
+    private static final String ACTION_DROP = "drop";
+    private final EventTimeReorderConfigData eventTimeReorderConfigData;
+    private final KafkaConfigData kafkaConfigData;
+    private final KafkaProducer<Long, TwitterAvroModel> kafkaProducer;
+    private final Shard[] shards;
+    private ScheduledExecutorService holdExpirer;
+
+    public EventTimeReorderStage(final EventTimeReorderConfigData eventTimeReorderConfigData,
+                                 final KafkaConfigData kafkaConfigData,
+                                 final KafkaProducer<Long, TwitterAvroModel> kafkaProducer) {
+        this.eventTimeReorderConfigData = eventTimeReorderConfigData;
+        this.kafkaConfigData = kafkaConfigData;
+        this.kafkaProducer = kafkaProducer;
+        final int shardCount = Math.max(1, eventTimeReorderConfigData.getShards());
+        final int maxBufferedRecordsPerShard =
+                Math.max(1, eventTimeReorderConfigData.getMaxBufferedRecords() / shardCount);
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(maxBufferedRecordsPerShard);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        final long tickMs = Math.max(1L, eventTimeReorderConfigData.getMaxHoldMs() / 10);
+        holdExpirer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "event-time-reorder-expirer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        holdExpirer.scheduleAtFixedRate(this::expire, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        LOGGER.info("Reordering tweets by created at with lateness {} ms in {} shard(s), holding up to {} tweet(s) " +
+                        "for at most {} ms", eventTimeReorderConfigData.getMaxLatenessMs(), shards.length,
+                eventTimeReorderConfigData.getMaxBufferedRecords(), eventTimeReorderConfigData.getMaxHoldMs());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        LOGGER.info("Sending tweets held for reordering!.");
+        if (holdExpirer != null) {
+            holdExpirer.shutdownNow();
+        }
+        for (final Shard shard : shards) {
+            synchronized (shard.buffer) {
+                shard.buffer.flush(System.nanoTime());
+            }
+            shard.sendReleased();
+        }
+    }
+
+    /**
+     * Buffers the tweet in the shard of its user, sending it and every other tweet the watermark of the shard passed.
+     * Released tweets are queued under the shard lock and sent outside of it, in the order they were released.
+     */
+    public void add(final TwitterAvroModel model) {
+        final Shard shard = shards[shardFor(model.getUserId(), shards.length)];
+        synchronized (shard.buffer) {
+            shard.buffer.add(model, System.nanoTime());
+        }
+        shard.sendReleased();
+    }
+
+    @Scheduled(fixedRateString = "${event-time-reorder-config.stats-log-interval-ms:60000}",
+            initialDelayString = "${event-time-reorder-config.stats-log-interval-ms:60000}")
+    public void logStats() {
+        long held = 0;
+        long emitted = 0;
+        long late = 0;
+        long dropped = 0;
+        long capacityEmits = 0;
+        long holdEmits = 0;
+        long heldTotal = 0;
+        long holdNanosTotal = 0;
+        long maxHoldNanos = 0;
+        long lowestWatermark = Long.MAX_VALUE;
+        for (final Shard shard : shards) {
+            synchronized (shard.buffer) {
+                final EventTimeReorderBuffer buffer = shard.buffer;
+                held += buffer.size();
+                emitted += buffer.getEmittedCount();
+                late += buffer.getLateCount();
+                dropped += buffer.getDroppedCount();
+                capacityEmits += buffer.getCapacityEmitCount();
+                holdEmits += buffer.getHoldEmitCount();
+                heldTotal += buffer.getHeldCount();
+                holdNanosTotal += buffer.getHoldNanosTotal();
+                maxHoldNanos = Math.max(maxHoldNanos, buffer.getMaxHoldNanos());
+                lowestWatermark = Math.min(lowestWatermark, buffer.getWatermark());
+            }
+        }
+        LOGGER.info("Event time reorder: {} held, {} sent, {} late of which {} dropped, lowest shard watermark {}, " +
+                        "released early {} time(s) by the record bound and {} time(s) by the hold bound, " +
+                        "hold avg {} ms max {} ms", held, emitted, late, dropped, lowestWatermark, capacityEmits,
+                holdEmits, TimeUnit.NANOSECONDS.toMillis(heldTotal == 0 ? 0L : holdNanosTotal / heldTotal),
+                TimeUnit.NANOSECONDS.toMillis(maxHoldNanos));
+    }
+
+    static int shardFor(final Long key, final int shardCount) {
+        if (key == null) {
+            return 0;
+        }
+        //Same bytes as the LongSerializer and same hash as the default partitioner of the record topic.
+        final byte[] keyBytes = ByteBuffer.allocate(Long.BYTES).putLong(key).array();
+        return Utils.toPositive(Utils.murmur2(keyBytes)) % shardCount;
+    }
+
+    private void expire() {
+        try {
+            for (final Shard shard : shards) {
+                synchronized (shard.buffer) {
+                    shard.buffer.expire(System.nanoTime());
+                }
+                shard.sendReleased();
+            }
+        } catch (final RuntimeException e) {
+            LOGGER.error("Error while sending tweets held for reordering", e);
+        }
+    }
+
+    private void send(final Released released) {
+        final byte[] watermarkHeader = ByteBuffer.allocate(Long.BYTES).putLong(released.watermark).array();
+        kafkaProducer.send(kafkaConfigData.getTopicName(), released.model.getUserId(), released.model,
+                List.of(new RecordHeader(WATERMARK_HEADER, watermarkHeader)));
+    }
+
+    private final class Shard {
+        private final EventTimeReorderBuffer buffer;
+        //Filled under the buffer lock, so it holds the tweets in release order.
+        private final Queue<Released> released = new ConcurrentLinkedQueue<>();
+        private final ReentrantLock sendLock = new ReentrantLock();
+
+        private Shard(final int maxBufferedRecords) {
+            this.buffer = new EventTimeReorderBuffer(eventTimeReorderConfigData.getMaxLatenessMs(),
+                    eventTimeReorderConfigData.getMaxHoldMs(),
+                    maxBufferedRecords,
+                    ACTION_DROP.equalsIgnoreCase(eventTimeReorderConfigData.getLateRecordAction()),
+                    (model, watermark) -> released.add(new Released(model, watermark)));
+        }
+
+        /**
+         * One thread at a time drains the queue, the others leave their tweets to it instead of waiting, so records
+         * of the shard enter the producer in release order without the buffer lock held.
+         */
+        private void sendReleased() {
+            while (!released.isEmpty()) {
+                if (!sendLock.tryLock()) {
+                    return;
+                }
+                try {
+                    Released next;
+                    while ((next = released.poll()) != null) {
+                        send(next);
+                    }
+                } finally {
+                    sendLock.unlock();
+                }
+            }
+        }
+    }
+
+    private static final class Released {
+        private final TwitterAvroModel model;
+        private final long watermark;
+
+        private Released(final TwitterAvroModel model, final long watermark) {
+            this.model = model;
+            this.watermark = watermark;
+        }
+    }
+}
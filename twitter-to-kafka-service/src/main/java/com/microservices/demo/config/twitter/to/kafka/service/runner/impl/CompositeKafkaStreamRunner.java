@@ -0,0 +1,182 @@
+package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
+
+import com.microservices.demo.config.CompositeSourceConfigData;
+import com.microservices.demo.config.TwitterToKafkaServiceConfigData;
+import com.microservices.demo.config.twitter.to.kafka.service.exception.TwitterToKafkaServiceException;
+import com.microservices.demo.config.twitter.to.kafka.service.keyword.KeywordChangeListener;
+import com.microservices.demo.config.twitter.to.kafka.service.listener.TwitterKafkaStatusListener;
+import com.microservices.demo.config.twitter.to.kafka.service.runner.StreamRunner;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import twitter4j.Status;
+import twitter4j.StatusListener;
+import twitter4j.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs any set of tweet sources at the same time, for example the v2 stream next to a backfill replay or a mock
+ * canary. Every source runs on its own thread and fills its own bounded queue, one dispatcher thread takes the
+ * tweets from the queues by weighted fair scheduling and hands them to a pool of workers calling the shared status
+ * listener. Tweets are striped over the workers by author, so the tweets of one author keep their order.
+ * Sources and their weights are the keys and values of composite-source-config.source-weights,
+ * known sources are mock, v1, v2 and replay.
+ */
+@Component
+@ConditionalOnExpression("${composite-source-config.enabled:false} && not ${perf-test-config.enabled:false}")
+public class CompositeKafkaStreamRunner implements StreamRunner, KeywordChangeListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompositeKafkaStreamRunner.class);
+    private final TwitterToKafkaServiceConfigData configData;
+    private final CompositeSourceConfigData compositeSourceConfigData;
+    private final TwitterKafkaStatusListener statusListener;
+    private final List<SourceQueue> sources = new CopyOnWriteArrayList<>();
+    private final List<KeywordChangeListener> keywordChangeListeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> shutdownHooks = new CopyOnWriteArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+    private volatile StripedWorkerPool<Status> workerPool;
+    private List<String> keywords;
+
+    public CompositeKafkaStreamRunner(final TwitterToKafkaServiceConfigData configData,
+                                      final CompositeSourceConfigData compositeSourceConfigData,
+                                      final TwitterKafkaStatusListener statusListener) {
+        this.configData = configData;
+        this.compositeSourceConfigData = compositeSourceConfigData;
+        this.statusListener = statusListener;
+        this.keywords = List.copyOf(configData.getTwitterKeywords());
+    }
+
+    @Override
+    public synchronized void start() {
+        final Map<String, Integer> sourceWeights = compositeSourceConfigData.getSourceWeights();
+        if (sourceWeights.isEmpty()) {
+            throw new TwitterToKafkaServiceException("No tweet sources configured for the composite runner!.");
+        }
+        final Semaphore pending = new Semaphore(0);
+        final List<StreamRunner> runners = new ArrayList<>();
+        for (final Map.Entry<String, Integer> sourceWeight : sourceWeights.entrySet()) {
+            if (sourceWeight.getValue() == null || sourceWeight.getValue() < 1) {
+                throw new TwitterToKafkaServiceException(String.format("Weight of tweet source %s must be at " +
+                        "least 1 but is %s!.", sourceWeight.getKey(), sourceWeight.getValue()));
+            }
+            final SourceQueue source = new SourceQueue(sourceWeight.getKey(), sourceWeight.getValue(),
+                    compositeSourceConfigData.getQueueCapacity(), pending);
+            sources.add(source);
+            runners.add(createRunner(source.getName(), source));
+        }
+
+        running = true;
+        final WeightedFairDispatcher dispatcher = new WeightedFairDispatcher(sources, pending);
+        final StripedWorkerPool<Status> workers = new StripedWorkerPool<>("composite",
+                compositeSourceConfigData.getWorkerThreads(), compositeSourceConfigData.getWorkerQueueCapacity(),
+                statusListener::onStatus);
+        workerPool = workers;
+        startThread("composite-dispatcher", () -> dispatch(dispatcher, workers));
+        for (int i = 0; i < runners.size(); ++i) {
+            final String name = sources.get(i).getName();
+            final StreamRunner runner = runners.get(i);
+            startThread("composite-source-" + name, () -> {
+                try {
+                    runner.start();
+                } catch (final Exception e) {
+                    LOGGER.error("Tweet source {} stopped with an error!.", name, e);
+                }
+            });
+        }
+        LOGGER.info("Started composite twitter stream with sources and weights: {}", sourceWeights);
+    }
+
+    @Override
+    public synchronized void onKeywordsChanged(final List<String> keywords) {
+        this.keywords = List.copyOf(keywords);
+        for (final KeywordChangeListener listener : keywordChangeListeners) {
+            listener.onKeywordsChanged(keywords);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${composite-source-config.stats-log-interval-ms:60000}",
+            initialDelayString = "${composite-source-config.stats-log-interval-ms:60000}")
+    public void logStats() {
+        for (final SourceQueue source : sources) {
+            LOGGER.info("Tweet source {}: received {}, dispatched {}, queued {}, waited on full queue {} time(s).",
+                    source.getName(), source.getReceivedCount(), source.getDispatchedCount(), source.getQueueDepth(),
+                    source.getFullQueueWaitCount());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        LOGGER.info("Closing composite twitter stream.");
+        running = false;
+        shutdownHooks.forEach(Runnable::run);
+        threads.forEach(Thread::interrupt);
+        if (workerPool != null) {
+            workerPool.shutdown();
+        }
+    }
+
+    private StreamRunner createRunner(final String name, final StatusListener sourceListener) {
+        switch (name) {
+            case "mock" -> {
+                final MockKafkaStreamRunner runner = new MockKafkaStreamRunner(configData, sourceListener);
+                runner.onKeywordsChanged(keywords);
+                keywordChangeListeners.add(runner);
+                return runner;
+            }
+            case "v1" -> {
+                final TwitterKafkaStreamRunner runner = new TwitterKafkaStreamRunner(configData, sourceListener);
+                runner.setKeywords(keywords);
+                keywordChangeListeners.add(runner);
+                shutdownHooks.add(runner::shutdown);
+                return runner;
+            }
+            case "v2" -> {
+                final TwitterV2StreamHelper streamHelper = new TwitterV2StreamHelper(configData, sourceListener);
+                streamHelper.setKeywords(keywords);
+                keywordChangeListeners.add(streamHelper);
+                shutdownHooks.add(streamHelper::shutdown);
+                return new TwitterV2KafkaStreamRunner(configData, streamHelper);
+            }
+            case "replay" -> {
+                return new ReplayFileStreamRunner(compositeSourceConfigData, sourceListener);
+            }
+            default -> throw new TwitterToKafkaServiceException("Unknown tweet source " + name + "!.");
+        }
+    }
+
+    private void dispatch(final WeightedFairDispatcher dispatcher, final StripedWorkerPool<Status> workers) {
+        while (running) {
+            try {
+                final Status status = dispatcher.take();
+                final User user = status.getUser();
+                //Blocks while the worker's queue is full, so the sources queues fill up and their threads wait.
+                if (user == null) {
+                    workers.submit(status);
+                } else {
+                    workers.submit(user.getId(), status);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final RuntimeException e) {
+                LOGGER.error("Error while dispatching tweet of composite twitter stream!.", e);
+            }
+        }
+    }
+
+    private void startThread(final String name, final Runnable runnable) {
+        final Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        threads.add(thread);
+        thread.start();
+    }
+}
@@ -2,32 +2,39 @@ package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
 
 import com.microservices.demo.config.TwitterToKafkaServiceConfigData;
 import com.microservices.demo.config.twitter.to.kafka.service.exception.TwitterToKafkaServiceException;
-import com.microservices.demo.config.twitter.to.kafka.service.listener.TwitterKafkaStatusListener;
+import com.microservices.demo.config.twitter.to.kafka.service.keyword.KeywordChangeListener;
 import com.microservices.demo.config.twitter.to.kafka.service.runner.StreamRunner;
+import com.microservices.demo.config.twitter.to.kafka.service.workload.MockWorkload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
 import twitter4j.Status;
+import twitter4j.StatusListener;
 import twitter4j.TwitterException;
 import twitter4j.TwitterObjectFactory;
 
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Locale;
 import java.util.Random;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @ConditionalOnExpression("${twitter-to-kafka-service.enable-mock-tweets} " +
         "&& not ${twitter-to-kafka-service.enable-v1-tweets} " +
-        "&& not ${twitter-to-kafka-service.enable-v2-tweets}")
-public class MockKafkaStreamRunner implements StreamRunner {
+        "&& not ${twitter-to-kafka-service.enable-v2-tweets} " +
+        "&& not ${composite-source-config.enabled:false} " +
+        "&& not ${perf-test-config.enabled:false}")
+public class MockKafkaStreamRunner implements StreamRunner, KeywordChangeListener {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MockKafkaStreamRunner.class);
     private final TwitterToKafkaServiceConfigData configData;
-    private final TwitterKafkaStatusListener statusListener;
+    private final StatusListener statusListener;
+    private final MockWorkload workload;
     private static final Random RANDOM = new Random();
     private static final String[] WORDS = new String[] {
             "Lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing", "elit", "Integer", "nec", "odio",
@@ -47,34 +54,38 @@ public class MockKafkaStreamRunner implements StreamRunner {
     private static final String TWEET_STATUS_CREATE_ERROR = "Error occurred while creating twitter status!";;
 
     public MockKafkaStreamRunner(final TwitterToKafkaServiceConfigData configData,
-                                 final TwitterKafkaStatusListener statusListener) {
+                                 final StatusListener statusListener) {
         this.configData = configData;
         this.statusListener = statusListener;
+        this.workload = new MockWorkload(configData, configData.getTwitterKeywords());
     }
 
     @Override
     public void start() {
-        final String[] keywords = configData.getTwitterKeywords().toArray(new String[]{});
-        final int minTweetLength = configData.getMockMinTweetLength();
-        final int maxTweetLength = configData.getMockMaxTweetLength();
-        final long sleepTimeMs = configData.getMockSleepMs();
         LOGGER.info("Starting mock filtering twitter streams for keywords: {} with min tweet size {} and " +
-                        "max tweet size {} and delay {}", keywords, minTweetLength, maxTweetLength, sleepTimeMs);
+                        "max tweet size {} and delay {}, user population {}, rate schedule {}",
+                configData.getTwitterKeywords(), configData.getMockMinTweetLength(),
+                configData.getMockMaxTweetLength(), configData.getMockSleepMs(), configData.getMockUserPopulation(),
+                configData.getMockRateSchedule());
 
-        simulateTwitterStream(keywords, minTweetLength, maxTweetLength, sleepTimeMs);
+        simulateTwitterStream();
     }
 
-    private void simulateTwitterStream(final String[] keywords,
-                                       final int minTweetLength,
-                                       final int maxTweetLength,
-                                       final long sleepTimeMs) {
+    @Override
+    public void onKeywordsChanged(final List<String> newKeywords) {
+        workload.setKeywords(newKeywords);
+        LOGGER.info("Mock twitter stream now uses keywords: {}", newKeywords);
+    }
+
+    private void simulateTwitterStream() {
         Executors.newSingleThreadExecutor().submit(() -> {
+            final long startMs = System.currentTimeMillis();
             while (true) {
                 try {
-                    final String formattedTweetAsRawJson = getFormattedTweet(keywords, minTweetLength, maxTweetLength);
+                    final String formattedTweetAsRawJson = getFormattedTweet();
                     final Status status = TwitterObjectFactory.createStatus(formattedTweetAsRawJson);
                     statusListener.onStatus(status);
-                    sleep(sleepTimeMs);
+                    sleep(workload.getSleepNanos(System.currentTimeMillis() - startMs));
                 } catch (final TwitterException e) {
                     LOGGER.error(TWEET_STATUS_CREATE_ERROR, e);
                 }
@@ -82,20 +93,20 @@ public class MockKafkaStreamRunner implements StreamRunner {
         });
     }
 
-    private void sleep(final long sleepTimeMs) {
+    private void sleep(final long sleepTimeNanos) {
         try {
-            Thread.sleep(sleepTimeMs);
+            TimeUnit.NANOSECONDS.sleep(sleepTimeNanos);
         } catch (InterruptedException e) {
             throw new TwitterToKafkaServiceException("Error while sleeping while waiting for a new status!!.", e);
         }
     }
 
-    private String getFormattedTweet(final String[] keywords, final int minTweetLength, final int maxTweetLength) {
+    private String getFormattedTweet() {
         final String[] params = new String[]{
                 ZonedDateTime.now().format(DateTimeFormatter.ofPattern(TWITTER_STATUS_DATE_FORMAT, Locale.ENGLISH)),
                 String.valueOf(ThreadLocalRandom.current().nextLong(Long.MAX_VALUE)),
-                getRandomTweetContent(keywords, minTweetLength, maxTweetLength),
-                String.valueOf(ThreadLocalRandom.current().nextLong(Long.MAX_VALUE))
+                getRandomTweetContent(),
+                String.valueOf(workload.nextUserId(RANDOM))
         };
         return formatTweetAsJsonWithParams(params);
     }
@@ -108,17 +119,17 @@ public class MockKafkaStreamRunner implements StreamRunner {
         return tweet;
     }
 
-    private String getRandomTweetContent(final String[] keywords, final int minTweetLength, final int maxTweetLength) {
+    private String getRandomTweetContent() {
         final StringBuilder tweet = new StringBuilder();
-        final int tweetLength = RANDOM.nextInt(maxTweetLength - minTweetLength + 1) + minTweetLength;
-        return constructRandomTweet(keywords, tweet, tweetLength);
+        final int tweetLength = workload.nextTweetLength(RANDOM);
+        return constructRandomTweet(workload.nextKeyword(RANDOM), tweet, tweetLength);
     }
 
-    private String constructRandomTweet(final String[] keywords, final StringBuilder tweet, final int tweetLength) {
+    private String constructRandomTweet(final String keyword, final StringBuilder tweet, final int tweetLength) {
         for (int i = 0; i < tweetLength; ++i) {
             tweet.append(WORDS[RANDOM.nextInt(WORDS.length)]).append(SPACE);
-            if (i == tweetLength / 2) {
-                tweet.append(keywords[RANDOM.nextInt(keywords.length)]).append(SPACE);
+            if (i == tweetLength / 2 && keyword != null) {
+                tweet.append(keyword).append(SPACE);
             }
         }
         return tweet.toString().trim();
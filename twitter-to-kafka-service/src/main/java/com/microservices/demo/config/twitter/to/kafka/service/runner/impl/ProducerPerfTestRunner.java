@@ -0,0 +1,133 @@
+package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
+
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.config.PerfTestConfigData;
+import com.microservices.demo.config.twitter.to.kafka.service.perftest.PartitionPlanner;
+import com.microservices.demo.config.twitter.to.kafka.service.perftest.PerfTestResult;
+import com.microservices.demo.config.twitter.to.kafka.service.perftest.ProducerPerfTest;
+import com.microservices.demo.config.twitter.to.kafka.service.runner.StreamRunner;
+import com.microservices.demo.kafka.admin.client.KafkaAdminClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Command line mode that measures the producer instead of streaming tweets, started with the perf-test profile:
+ * java -jar twitter-to-kafka-service.jar --spring.profiles.active=perf-test
+ * <p>
+ * Sweeps partition counts, batch sizes, linger times and record sizes against the configured cluster, prints the
+ * throughput and latency curves, recommends a partition count for the target throughput and optionally applies it
+ * to the plan topic. The application exits when the sweep is done.
+ */
+@Component
+@ConditionalOnExpression("${perf-test-config.enabled:false}")
+public class ProducerPerfTestRunner implements StreamRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProducerPerfTestRunner.class);
+    private final PerfTestConfigData perfTestConfigData;
+    private final KafkaConfigData kafkaConfigData;
+    private final KafkaAdminClient kafkaAdminClient;
+    private final ProducerPerfTest producerPerfTest;
+    private final ApplicationContext applicationContext;
+    private final PartitionPlanner partitionPlanner = new PartitionPlanner();
+
+    public ProducerPerfTestRunner(final PerfTestConfigData perfTestConfigData,
+                                  final KafkaConfigData kafkaConfigData,
+                                  final KafkaAdminClient kafkaAdminClient,
+                                  final ProducerPerfTest producerPerfTest,
+                                  final ApplicationContext applicationContext) {
+        this.perfTestConfigData = perfTestConfigData;
+        this.kafkaConfigData = kafkaConfigData;
+        this.kafkaAdminClient = kafkaAdminClient;
+        this.producerPerfTest = producerPerfTest;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void start() {
+        LOGGER.info("Starting producer perf test with {} record(s) per run for partition counts {}, batch sizes {}, " +
+                        "linger {} ms and record sizes {}", perfTestConfigData.getRecordsPerRun(),
+                perfTestConfigData.getPartitionCounts(), perfTestConfigData.getBatchSizes(),
+                perfTestConfigData.getLingerMs(), perfTestConfigData.getRecordSizes());
+        int exitCode = 0;
+        try {
+            final List<PerfTestResult> results = sweep();
+            printCurves(results);
+            plan(results);
+        } catch (final RuntimeException e) {
+            LOGGER.error("Producer perf test failed!.", e);
+            exitCode = 1;
+        }
+        final int finalExitCode = exitCode;
+        System.exit(SpringApplication.exit(applicationContext, () -> finalExitCode));
+    }
+
+    private List<PerfTestResult> sweep() {
+        final List<PerfTestResult> results = new ArrayList<>();
+        for (final int partitions : perfTestConfigData.getPartitionCounts()) {
+            final String topicName = perfTestConfigData.getTopicPrefix() + partitions;
+            kafkaAdminClient.createTopic(topicName, partitions);
+            try {
+                for (final int batchSize : perfTestConfigData.getBatchSizes()) {
+                    for (final int lingerMs : perfTestConfigData.getLingerMs()) {
+                        for (final int recordSize : perfTestConfigData.getRecordSizes()) {
+                            final PerfTestResult result =
+                                    producerPerfTest.run(topicName, partitions, batchSize, lingerMs, recordSize);
+                            LOGGER.info("Run: {}", result);
+                            results.add(result);
+                        }
+                    }
+                }
+            } finally {
+                if (Boolean.TRUE.equals(perfTestConfigData.getDeleteTopics())) {
+                    kafkaAdminClient.deleteTopic(topicName);
+                }
+            }
+        }
+        return results;
+    }
+
+    //One curve per record size and batch setting: throughput and p99 latency over the partition count.
+    private void printCurves(final List<PerfTestResult> results) {
+        final Map<String, List<PerfTestResult>> curves = results.stream().collect(Collectors.groupingBy(
+                result -> String.format(Locale.ROOT, "record %d B, batch %d B, linger %d ms",
+                        result.recordSize(), result.batchSize(), result.lingerMs()),
+                TreeMap::new, Collectors.toList()));
+        curves.forEach((curve, points) -> {
+            final StringBuilder line = new StringBuilder(curve).append(':');
+            points.stream().sorted(Comparator.comparingInt(PerfTestResult::partitions)).forEach(point ->
+                    line.append(String.format(Locale.ROOT, " [%d partitions: %.0f records/sec, p99 %.1f ms]",
+                            point.partitions(), point.recordsPerSecond(), point.p99LatencyMs())));
+            LOGGER.info("Curve {}", line);
+        });
+    }
+
+    private void plan(final List<PerfTestResult> results) {
+        final PartitionPlanner.PartitionPlan plan = partitionPlanner.plan(results,
+                perfTestConfigData.getTargetRecordsPerSecond(), perfTestConfigData.getHeadroom());
+        plan.bestPerPartitionCount().values().forEach(best -> LOGGER.info("Best for {} partition(s): {}",
+                best.partitions(), best));
+        LOGGER.info("Recommended partition count for {} records/sec with headroom {}: {}{}",
+                perfTestConfigData.getTargetRecordsPerSecond(), perfTestConfigData.getHeadroom(), plan.partitions(),
+                plan.extrapolated() ? " (extrapolated beyond the largest partition count tested)" : "");
+        final String planTopicName = perfTestConfigData.getPlanTopicName() == null
+                ? kafkaConfigData.getTopicName() : perfTestConfigData.getPlanTopicName();
+        if (Boolean.TRUE.equals(perfTestConfigData.getApplyPartitionCount())) {
+            kafkaAdminClient.increasePartitions(planTopicName, plan.partitions());
+        } else {
+            LOGGER.info("Not applying the partition count to topic {}, apply-partition-count is disabled.",
+                    planTopicName);
+        }
+    }
+}
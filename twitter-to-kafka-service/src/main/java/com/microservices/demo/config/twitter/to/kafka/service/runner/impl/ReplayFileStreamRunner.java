@@ -0,0 +1,67 @@
+package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
+
+import com.microservices.demo.config.CompositeSourceConfigData;
+import com.microservices.demo.config.twitter.to.kafka.service.exception.TwitterToKafkaServiceException;
+import com.microservices.demo.config.twitter.to.kafka.service.runner.StreamRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import twitter4j.StatusListener;
+import twitter4j.TwitterException;
+import twitter4j.TwitterObjectFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Replays a backfill file with one raw twitter status json per line, blocks until the whole file is read.
+ * Only used as a source of the composite runner.
+ */
+class ReplayFileStreamRunner implements StreamRunner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplayFileStreamRunner.class);
+    private final CompositeSourceConfigData compositeSourceConfigData;
+    private final StatusListener statusListener;
+
+    ReplayFileStreamRunner(final CompositeSourceConfigData compositeSourceConfigData,
+                           final StatusListener statusListener) {
+        this.compositeSourceConfigData = compositeSourceConfigData;
+        this.statusListener = statusListener;
+    }
+
+    @Override
+    public void start() throws IOException {
+        final Path replayFile = Path.of(compositeSourceConfigData.getReplayFile());
+        final long sleepTimeMs = compositeSourceConfigData.getReplaySleepMs();
+        LOGGER.info("Replaying tweets from {} with delay {}", replayFile, sleepTimeMs);
+        long replayed = 0L;
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while (line != null) {
+                if (!line.isBlank()) {
+                    try {
+                        statusListener.onStatus(TwitterObjectFactory.createStatus(line));
+                        ++replayed;
+                    } catch (final TwitterException e) {
+                        LOGGER.error("Could not create status for replayed line: {}", line, e);
+                    }
+                    sleep(sleepTimeMs);
+                }
+                line = reader.readLine();
+            }
+        }
+        LOGGER.info("Replayed {} tweet(s) from {}", replayed, replayFile);
+    }
+
+    private void sleep(final long sleepTimeMs) {
+        if (sleepTimeMs > 0) {
+            try {
+                Thread.sleep(sleepTimeMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TwitterToKafkaServiceException("Interrupted while replaying tweets!.", e);
+            }
+        }
+    }
+}
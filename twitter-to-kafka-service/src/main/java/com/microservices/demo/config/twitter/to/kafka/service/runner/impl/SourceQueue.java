@@ -0,0 +1,82 @@
+package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
+
+import com.microservices.demo.config.twitter.to.kafka.service.exception.TwitterToKafkaServiceException;
+import twitter4j.Status;
+import twitter4j.StatusAdapter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded queue of one tweet source of the composite runner, used as that source's status listener.
+ * A source that fills its queue is blocked until the dispatcher catches up, the other sources are not affected.
+ */
+class SourceQueue extends StatusAdapter {
+    private final String name;
+    private final int weight;
+    private final BlockingQueue<Status> queue;
+    //Shared by all sources, counts the statuses waiting in any of the queues.
+    private final Semaphore pending;
+    private final LongAdder received = new LongAdder();
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder fullQueueWaits = new LongAdder();
+
+    SourceQueue(final String name, final int weight, final int capacity, final Semaphore pending) {
+        this.name = name;
+        this.weight = weight;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.pending = pending;
+    }
+
+    @Override
+    public void onStatus(final Status status) {
+        received.increment();
+        try {
+            if (!queue.offer(status)) {
+                fullQueueWaits.increment();
+                queue.put(status);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TwitterToKafkaServiceException("Interrupted while queueing a tweet of source " + name + "!.", e);
+        }
+        pending.release();
+    }
+
+    /**
+     * @return the next status of this source, or null if its queue is empty
+     */
+    Status poll() {
+        final Status status = queue.poll();
+        if (status != null) {
+            dispatched.increment();
+        }
+        return status;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getWeight() {
+        return weight;
+    }
+
+    int getQueueDepth() {
+        return queue.size();
+    }
+
+    long getReceivedCount() {
+        return received.sum();
+    }
+
+    long getDispatchedCount() {
+        return dispatched.sum();
+    }
+
+    long getFullQueueWaitCount() {
+        return fullQueueWaits.sum();
+    }
+}
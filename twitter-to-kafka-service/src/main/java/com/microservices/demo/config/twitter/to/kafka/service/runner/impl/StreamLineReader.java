@@ -0,0 +1,78 @@
+package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Frames the lines of a stream without decoding them. The stream is read in chunks into one reusable buffer,
+ * every line is copied out of it once. A line that does not fit the chunk grows the buffer. Not thread safe.
+ */
+class StreamLineReader {
+    private final InputStream inputStream;
+    private byte[] chunk;
+    //Unread bytes of the chunk are chunk[position, limit).
+    private int position;
+    private int limit;
+
+    StreamLineReader(final InputStream inputStream, final int chunkSize) {
+        this.inputStream = inputStream;
+        this.chunk = new byte[chunkSize];
+    }
+
+    /**
+     * Reads the next line, the line terminator, \n or \r\n, is not included.
+     *
+     * @return the raw line, or null at the end of the stream
+     */
+    byte[] readLine() throws IOException {
+        int scanned = position;
+        while (true) {
+            for (int i = scanned; i < limit; ++i) {
+                if (chunk[i] == '\n') {
+                    final byte[] line = copyLine(i);
+                    position = i + 1;
+                    return line;
+                }
+            }
+            //The scanned bytes move to the start of the chunk, scanning goes on after them.
+            scanned = limit - position;
+            if (!fill()) {
+                if (position == limit) {
+                    return null;
+                }
+                //Last line without a terminator.
+                final byte[] line = copyLine(limit);
+                position = limit;
+                return line;
+            }
+        }
+    }
+
+    private byte[] copyLine(final int end) {
+        final int lineEnd = end > position && chunk[end - 1] == '\r' ? end - 1 : end;
+        return Arrays.copyOfRange(chunk, position, lineEnd);
+    }
+
+    /**
+     * Moves the partial line to the start of the chunk, growing it if the line fills it, and reads after it.
+     *
+     * @return false at the end of the stream
+     */
+    private boolean fill() throws IOException {
+        final int carried = limit - position;
+        if (carried == chunk.length) {
+            chunk = Arrays.copyOf(chunk, chunk.length * 2);
+        } else if (position > 0) {
+            System.arraycopy(chunk, position, chunk, 0, carried);
+        }
+        position = 0;
+        limit = carried;
+        final int read = inputStream.read(chunk, limit, chunk.length - limit);
+        if (read == -1) {
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+}
@@ -0,0 +1,114 @@
+package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
+
+import com.microservices.demo.config.twitter.to.kafka.service.exception.TwitterToKafkaServiceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Fixed set of single threaded workers, each one draining its own bounded queue.
+ * Work is striped by a key (the tweet author id), so all tweets of the same author are handled by the same worker
+ * and keep the order in which they were submitted.
+ */
+class StripedWorkerPool<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StripedWorkerPool.class);
+    private final String name;
+    private final List<BlockingQueue<T>> queues;
+    private final ExecutorService executorService;
+    private final Consumer<T> handler;
+    private volatile boolean running = true;
+    private int nextWorker;
+
+    StripedWorkerPool(final String name,
+                      final int workerThreads,
+                      final int queueCapacity,
+                      final Consumer<T> handler) {
+        this.name = name;
+        this.handler = handler;
+        this.queues = new ArrayList<>(workerThreads);
+        final AtomicInteger threadIndex = new AtomicInteger();
+        this.executorService = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            final Thread thread = new Thread(runnable, name + "-worker-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerThreads; ++i) {
+            final BlockingQueue<T> queue = new ArrayBlockingQueue<>(queueCapacity);
+            queues.add(queue);
+            executorService.submit(() -> drain(queue));
+        }
+        LOGGER.info("Started {} {} worker(s) with queue capacity {}", workerThreads, name, queueCapacity);
+    }
+
+    /**
+     * Hands a tweet to the worker owning the given stripe key.
+     * Blocks the caller when that worker's queue is full.
+     */
+    void submit(final long stripeKey, final T tweet) {
+        put(queues.get(Math.floorMod(Long.hashCode(stripeKey), queues.size())), tweet);
+    }
+
+    /**
+     * Hands a tweet without a stripe key to the workers in turn. Only called by one submitting thread.
+     */
+    void submit(final T tweet) {
+        put(queues.get(nextWorker), tweet);
+        nextWorker = (nextWorker + 1) % queues.size();
+    }
+
+    /**
+     * @return current number of pending tweets for every worker, indexed by worker.
+     */
+    int[] getQueueDepths() {
+        final int[] depths = new int[queues.size()];
+        for (int i = 0; i < depths.length; ++i) {
+            depths[i] = queues.get(i).size();
+        }
+        return depths;
+    }
+
+    void shutdown() {
+        running = false;
+        executorService.shutdownNow();
+        try {
+            executorService.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void put(final BlockingQueue<T> queue, final T tweet) {
+        try {
+            if (!queue.offer(tweet)) {
+                LOGGER.warn("{} worker queue is full, submitting thread is waiting. Queue depths: {}", name,
+                        getQueueDepths());
+                queue.put(tweet);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TwitterToKafkaServiceException("Interrupted while handing over a tweet to a worker!.", e);
+        }
+    }
+
+    private void drain(final BlockingQueue<T> queue) {
+        while (running) {
+            try {
+                handler.accept(queue.take());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final RuntimeException e) {
+                LOGGER.error("Error while processing tweet in {} worker!.", name, e);
+            }
+        }
+    }
+}
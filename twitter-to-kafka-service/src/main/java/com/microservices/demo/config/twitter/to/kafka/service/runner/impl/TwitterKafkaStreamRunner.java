@@ -1,7 +1,7 @@
 package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
 
 import com.microservices.demo.config.TwitterToKafkaServiceConfigData;
-import com.microservices.demo.config.twitter.to.kafka.service.listener.TwitterKafkaStatusListener;
+import com.microservices.demo.config.twitter.to.kafka.service.keyword.KeywordChangeListener;
 import com.microservices.demo.config.twitter.to.kafka.service.runner.StreamRunner;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
@@ -9,27 +9,40 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
 import twitter4j.FilterQuery;
+import twitter4j.StatusListener;
 import twitter4j.TwitterException;
 import twitter4j.TwitterStream;
 import twitter4j.TwitterStreamFactory;
 
 import java.util.Arrays;
+import java.util.List;
 
 @Component
 @ConditionalOnExpression("${twitter-to-kafka-service.enable-v1-tweets} " +
         "&& not ${twitter-to-kafka-service.enable-v2-tweets} " +
-        "&& not ${twitter-to-kafka-service.enable-mock-tweets}")
-public class TwitterKafkaStreamRunner implements StreamRunner {
+        "&& not ${twitter-to-kafka-service.enable-mock-tweets} " +
+        "&& not ${composite-source-config.enabled:false} " +
+        "&& not ${perf-test-config.enabled:false}")
+public class TwitterKafkaStreamRunner implements StreamRunner, KeywordChangeListener {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TwitterKafkaStreamRunner.class);
     private final TwitterToKafkaServiceConfigData configData;
-    private final TwitterKafkaStatusListener statusListener;
-    private TwitterStream twitterStream;
+    private final StatusListener statusListener;
+    private volatile TwitterStream twitterStream;
+    private volatile List<String> keywords;
 
     TwitterKafkaStreamRunner(final TwitterToKafkaServiceConfigData configData,
-                             final TwitterKafkaStatusListener statusListener) {
+                             final StatusListener statusListener) {
         this.configData = configData;
         this.statusListener = statusListener;
+        this.keywords = List.copyOf(configData.getTwitterKeywords());
+    }
+
+    /**
+     * Sets the keywords the stream filters for once it is started, a running stream is not changed.
+     */
+    void setKeywords(final List<String> keywords) {
+        this.keywords = List.copyOf(keywords);
     }
     @Override
     public void start() throws TwitterException {
@@ -46,8 +59,25 @@ public class TwitterKafkaStreamRunner implements StreamRunner {
         }
     }
 
-    private void addFilter() {
-        final String[] keywords = configData.getTwitterKeywords().toArray(new String[0]);
+    /**
+     * Re-issues the filter query, twitter4j replaces the running filter stream with one for the new keywords.
+     */
+    @Override
+    public void onKeywordsChanged(final List<String> keywords) {
+        setKeywords(keywords);
+        if (twitterStream != null) {
+            addFilter();
+        }
+    }
+
+    private synchronized void addFilter() {
+        final String[] keywords = this.keywords.toArray(new String[0]);
+        if (keywords.length == 0) {
+            //A filter needs at least one keyword, an instance without keywords does not stream.
+            twitterStream.cleanUp();
+            LOGGER.info("No keywords to filter, twitter stream is closed.");
+            return;
+        }
         final FilterQuery filterQuery = new FilterQuery(keywords);
         twitterStream.filter(filterQuery);
         LOGGER.info("Started filtering twitter stream for keywords: {}", Arrays.toString(keywords));
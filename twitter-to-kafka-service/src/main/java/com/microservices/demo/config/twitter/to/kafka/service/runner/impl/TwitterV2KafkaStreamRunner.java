@@ -9,14 +9,14 @@ import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 @Component
 @ConditionalOnExpression("${twitter-to-kafka-service.enable-v2-tweets} " +
         "&& not ${twitter-to-kafka-service.enable-v1-tweets} " +
-        "&& not ${twitter-to-kafka-service.enable-mock-tweets}")
+        "&& not ${twitter-to-kafka-service.enable-mock-tweets} " +
+        "&& not ${twitter-to-kafka-service.enable-v2-reactive:false} " +
+        "&& not ${composite-source-config.enabled:false} " +
+        "&& not ${perf-test-config.enabled:false}")
 public class TwitterV2KafkaStreamRunner implements StreamRunner {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TwitterV2KafkaStreamRunner.class);
@@ -40,7 +40,7 @@ public class TwitterV2KafkaStreamRunner implements StreamRunner {
         final String bearerToken = configData.getTwitterV2BearerToken();
         if (null  != bearerToken) {
             try {
-                streamHelper.setupRules(bearerToken, getRules());
+                streamHelper.setupRules(bearerToken, streamHelper.getKeywordRules());
                 streamHelper.connectStream(bearerToken);
             } catch (URISyntaxException | IOException e) {
                 LOGGER.error(ERROR_WHILE_STREAMING_TWEETS, e);
@@ -51,14 +51,4 @@ public class TwitterV2KafkaStreamRunner implements StreamRunner {
             throw new RuntimeException(BEARER_TOKEN_NOT_SET);
         }
     }
-
-    private Map<String, String> getRules() {
-        final List<String> keywords = configData.getTwitterKeywords();
-        final Map<String, String> rules = new HashMap<>();
-        for (final String keyword : keywords) {
-            rules.put(keyword, "Keyword: " + keyword);
-        }
-        LOGGER.info("Created filter for twitter stream for keywords: {}", keywords);
-        return rules;
-    }
 }
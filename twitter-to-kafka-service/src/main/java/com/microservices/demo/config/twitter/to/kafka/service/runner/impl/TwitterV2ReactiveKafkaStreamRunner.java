@@ -0,0 +1,189 @@
+package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
+
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.config.RetryConfigData;
+import com.microservices.demo.config.TwitterToKafkaServiceConfigData;
+import com.microservices.demo.config.twitter.to.kafka.service.exception.TwitterToKafkaServiceException;
+import com.microservices.demo.config.twitter.to.kafka.service.listener.TweetPipeline;
+import com.microservices.demo.config.twitter.to.kafka.service.runner.StreamRunner;
+import com.microservices.demo.config.twitter.to.kafka.service.transformer.TwitterStatusToAvroTransformer;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.producer.config.service.ReactiveKafkaProducer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+import twitter4j.Status;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Twitter v2 runner built as a single reactor pipeline: the stream is read with the web client, parsed and
+ * transformed on a bounded scheduler and sent with the reactive kafka sender. The sender only requests new tweets
+ * while it has room for more in flight records, so a slow broker slows down the socket read.
+ * <p>
+ * Tweets go through the same {@link TweetPipeline} as the status listener. With lanes, the reorder stage or bulk
+ * packing enabled the pipeline sends instead of the reactive sender, those stages queue tweets themselves.
+ * A tweet that fails is logged and skipped, a failed or ended stream is reconnected with backoff.
+ */
+@Component
+@ConditionalOnExpression("${twitter-to-kafka-service.enable-v2-tweets} " +
+        "&& ${twitter-to-kafka-service.enable-v2-reactive:false} " +
+        "&& not ${twitter-to-kafka-service.enable-v1-tweets} " +
+        "&& not ${twitter-to-kafka-service.enable-mock-tweets} " +
+        "&& not ${composite-source-config.enabled:false} " +
+        "&& not ${perf-test-config.enabled:false}")
+public class TwitterV2ReactiveKafkaStreamRunner implements StreamRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TwitterV2ReactiveKafkaStreamRunner.class);
+    private final TwitterToKafkaServiceConfigData configData;
+    private final KafkaConfigData kafkaConfigData;
+    private final RetryConfigData retryConfigData;
+    private final TwitterV2StreamHelper streamHelper;
+    private final TwitterStatusToAvroTransformer transformer;
+    private final TweetPipeline tweetPipeline;
+    private final ReactiveKafkaProducer<Long, TwitterAvroModel> reactiveKafkaProducer;
+    private final WebClient webClient;
+    private Scheduler parseScheduler;
+    private Disposable subscription;
+    private static final List<String> LINE_DELIMITERS = List.of("\r\n", "\n");
+    private static final String BEARER_TOKEN_NOT_SET = """
+                    There was an error trying to get the bearer token. Please make sure to set the
+                    TWITTER_BEARER_TOKEN environment variable.
+                    """;
+    private static final String ERROR_WHILE_STREAMING_TWEETS = "There was an error streaming tweets.";
+
+    public TwitterV2ReactiveKafkaStreamRunner(final TwitterToKafkaServiceConfigData configData,
+                                              final KafkaConfigData kafkaConfigData,
+                                              final RetryConfigData retryConfigData,
+                                              final TwitterV2StreamHelper streamHelper,
+                                              final TwitterStatusToAvroTransformer transformer,
+                                              final TweetPipeline tweetPipeline,
+                                              final ReactiveKafkaProducer<Long, TwitterAvroModel> reactiveKafkaProducer,
+                                              final WebClient webClient) {
+        this.configData = configData;
+        this.kafkaConfigData = kafkaConfigData;
+        this.retryConfigData = retryConfigData;
+        this.streamHelper = streamHelper;
+        this.transformer = transformer;
+        this.tweetPipeline = tweetPipeline;
+        this.reactiveKafkaProducer = reactiveKafkaProducer;
+        this.webClient = webClient;
+    }
+
+    @Override
+    public void start() {
+        final String bearerToken = configData.getTwitterV2BearerToken();
+        if (null == bearerToken) {
+            LOGGER.error(BEARER_TOKEN_NOT_SET);
+            throw new TwitterToKafkaServiceException(BEARER_TOKEN_NOT_SET);
+        }
+        try {
+            streamHelper.setupRules(bearerToken, streamHelper.getKeywordRules());
+        } catch (URISyntaxException | IOException e) {
+            LOGGER.error(ERROR_WHILE_STREAMING_TWEETS, e);
+            throw new TwitterToKafkaServiceException(ERROR_WHILE_STREAMING_TWEETS, e);
+        }
+
+        final int parseThreads = configData.getTwitterV2ReactiveParseThreads();
+        final int prefetch = configData.getTwitterV2ReactivePrefetch();
+        parseScheduler = Schedulers.newBoundedElastic(parseThreads, prefetch, "twitter-v2-parse");
+
+        final Flux<TwitterAvroModel> tweets = readLines(bearerToken)
+                .filter(line -> !line.isBlank())
+                //Parsing is done in parallel but results are emitted in stream order.
+                .flatMapSequential(line -> Mono.fromCallable(() -> getAcceptedTwitterAvroModel(line))
+                        .subscribeOn(parseScheduler)
+                        .onErrorResume(e -> {
+                            LOGGER.error("Error while processing twitter v2 line, skipping it: {}", line, e);
+                            return Mono.empty();
+                        }), parseThreads, prefetch);
+
+        if (tweetPipeline.hasSendStage()) {
+            subscription = tweets.subscribe(this::send,
+                    throwable -> LOGGER.error(ERROR_WHILE_STREAMING_TWEETS, throwable),
+                    () -> LOGGER.info("Twitter v2 stream completed."));
+        } else {
+            subscription = reactiveKafkaProducer.send(kafkaConfigData.getTopicName(), TwitterAvroModel::getUserId,
+                            tweets)
+                    .subscribe(recordMetadata -> LOGGER.debug("Received new Metadata. Topic: {}; Partition: {}; " +
+                                    "Offset: {}", recordMetadata.topic(), recordMetadata.partition(),
+                                    recordMetadata.offset()),
+                            throwable -> LOGGER.error(ERROR_WHILE_STREAMING_TWEETS, throwable),
+                            () -> LOGGER.info("Twitter v2 stream completed."));
+        }
+        LOGGER.info("Started reactive twitter v2 stream with {} parse thread(s) and prefetch {}",
+                parseThreads, prefetch);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (subscription != null) {
+            LOGGER.info("Closing reactive twitter v2 stream.");
+            subscription.dispose();
+        }
+        if (parseScheduler != null) {
+            parseScheduler.dispose();
+        }
+    }
+
+    /**
+     * Every subscription opens a new connection, so a failed stream is reconnected by resubscribing and an ended
+     * one by repeating, both after the retry-config backoff.
+     */
+    private Flux<String> readLines(final String bearerToken) {
+        final Flux<DataBuffer> body = webClient.get()
+                .uri(configData.getTwitterV2BaseUrl())
+                .header(HttpHeaders.AUTHORIZATION, String.format("Bearer %s", bearerToken))
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
+        final Duration initialInterval = Duration.ofMillis(retryConfigData.getInitialIntervalMs());
+        return StringDecoder.allMimeTypes(LINE_DELIMITERS, true)
+                .decode(body, ResolvableType.forClass(String.class), null, null)
+                .doOnComplete(() -> LOGGER.warn("Twitter v2 stream ended, reconnecting in {} ms.",
+                        initialInterval.toMillis()))
+                .repeatWhen(ended -> ended.delayElements(initialInterval))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, initialInterval)
+                        .maxBackoff(Duration.ofMillis(retryConfigData.getMaxIntervalMs()))
+                        .doBeforeRetry(signal -> LOGGER.warn("Twitter v2 stream failed, reconnecting, attempt {}.",
+                                signal.totalRetries() + 1, signal.failure())));
+    }
+
+    /**
+     * @return the tweet of the line, or null if it could not be parsed or the pipeline dropped it
+     */
+    private TwitterAvroModel getAcceptedTwitterAvroModel(final String line) {
+        final Status status = streamHelper.getStatus(line);
+        if (status == null) {
+            return null;
+        }
+        LOGGER.info("Received Twitter status: {}; Sending to Kafka Topic: {}", status.getText(),
+                kafkaConfigData.getTopicName());
+        tweetPipeline.awaitBackpressure();
+        final TwitterAvroModel model = transformer.getTwitterAvroModelFromStatus(status);
+        return tweetPipeline.accept(model) ? model : null;
+    }
+
+    private void send(final TwitterAvroModel model) {
+        try {
+            tweetPipeline.send(model);
+        } catch (final RuntimeException e) {
+            LOGGER.error("Error while sending tweet with id {}, skipping it", model.getId(), e);
+        }
+    }
+}
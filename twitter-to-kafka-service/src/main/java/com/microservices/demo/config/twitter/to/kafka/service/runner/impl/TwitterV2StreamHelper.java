@@ -1,7 +1,11 @@
 package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
 
 import com.microservices.demo.config.TwitterToKafkaServiceConfigData;
-import com.microservices.demo.config.twitter.to.kafka.service.listener.TwitterKafkaStatusListener;
+import com.microservices.demo.config.twitter.to.kafka.service.exception.TwitterToKafkaServiceException;
+import com.microservices.demo.config.twitter.to.kafka.service.jfr.TweetParseEvent;
+import com.microservices.demo.config.twitter.to.kafka.service.jfr.TweetReceiveEvent;
+import com.microservices.demo.config.twitter.to.kafka.service.keyword.KeywordChangeListener;
+import jakarta.annotation.PreDestroy;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.config.CookieSpecs;
@@ -20,17 +24,19 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
 import twitter4j.Status;
+import twitter4j.StatusListener;
 import twitter4j.TwitterException;
 import twitter4j.TwitterObjectFactory;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -38,11 +44,12 @@ import java.util.Map;
 @Component
 @ConditionalOnExpression("${twitter-to-kafka-service.enable-v2-tweets} " +
         "&& not ${twitter-to-kafka-service.enable-v1-tweets} " +
-        "&& not ${twitter-to-kafka-service.enable-mock-tweets}")
-public class TwitterV2StreamHelper {
+        "&& not ${twitter-to-kafka-service.enable-mock-tweets} " +
+        "&& not ${composite-source-config.enabled:false}")
+public class TwitterV2StreamHelper implements KeywordChangeListener {
     private static final Logger LOGGER = LoggerFactory.getLogger(TwitterV2StreamHelper.class);
     private final TwitterToKafkaServiceConfigData configData;
-    private final TwitterKafkaStatusListener statusListener;
+    private final StatusListener statusListener;
     private static final String tweetAsRawJson = """
             {
                 "created_at" :  "{0}",
@@ -51,12 +58,24 @@ public class TwitterV2StreamHelper {
                 "user"       :  {"id" : "{3}"}
             }
             """;
-    private static final String TWITTER_STATUS_DATE_FORMAT = "EEE MM dd HH:mm:ss zzz yyyy";
+    private static final String TWITTER_STATUS_DATE_FORMAT = "EEE MMM dd HH:mm:ss zzz yyyy";
+    private static final byte[] AUTHOR_ID_FIELD = "\"author_id\"".getBytes(StandardCharsets.UTF_8);
+    private static final int READ_CHUNK_SIZE = 8192;
+    private volatile StripedWorkerPool<byte[]> workerPool;
+    private volatile List<String> keywords;
 
     TwitterV2StreamHelper(final TwitterToKafkaServiceConfigData configData,
-                          final TwitterKafkaStatusListener statusListener) {
+                          final StatusListener statusListener) {
         this.configData = configData;
         this.statusListener = statusListener;
+        this.keywords = List.copyOf(configData.getTwitterKeywords());
+    }
+
+    /**
+     * Sets the keywords the rules are created for on the next connect, without changing the rules of the stream.
+     */
+    void setKeywords(final List<String> keywords) {
+        this.keywords = List.copyOf(keywords);
     }
 
     void connectStream(final String bearerToken) throws URISyntaxException, IOException {
@@ -73,39 +92,192 @@ public class TwitterV2StreamHelper {
         final HttpResponse httpResponse = httpClient.execute(httpGet);
         final HttpEntity httpEntity = httpResponse.getEntity();
         if (null != httpEntity) {
-            final BufferedReader reader = new BufferedReader(new InputStreamReader(httpEntity.getContent()));
-            String line = reader.readLine();
+            final StripedWorkerPool<byte[]> workerPool = getWorkerPool();
+            //The reader thread only frames lines, parsing and sending is done by the workers.
+            final StreamLineReader lineReader = new StreamLineReader(httpEntity.getContent(), READ_CHUNK_SIZE);
+            TweetReceiveEvent event = new TweetReceiveEvent();
+            event.begin();
+            byte[] line = lineReader.readLine();
             while (line != null) {
-                line = reader.readLine();
-                if (line.isEmpty()) {
-                    String tweet = getFormattedTweet(line);
-                    Status status = null;
-                    try {
-                        status = TwitterObjectFactory.createStatus(tweet);
-                    } catch (TwitterException e) {
-                        LOGGER.error("Could not create status for text: {}", tweet, e);
+                if (line.length > 0) {
+                    final long authorId = getAuthorId(line);
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.userId = authorId;
+                        event.size = line.length;
+                        event.commit();
                     }
-                    if (status != null) {
-                        statusListener.onStatus(status);
+                    //Without an author id there is no order to keep, the line goes to the next worker.
+                    if (authorId == 0L) {
+                        workerPool.submit(line);
+                    } else {
+                        workerPool.submit(authorId, line);
                     }
                 }
+                event = new TweetReceiveEvent();
+                event.begin();
+                line = lineReader.readLine();
+            }
+        }
+    }
+
+    /**
+     * The workers outlive a connection, lines still queued when the stream ends are handled while reconnecting.
+     */
+    private synchronized StripedWorkerPool<byte[]> getWorkerPool() {
+        if (workerPool == null) {
+            workerPool = new StripedWorkerPool<>("twitter-v2", configData.getTwitterV2WorkerThreads(),
+                    configData.getTwitterV2WorkerQueueCapacity(), this::onLine);
+        }
+        return workerPool;
+    }
+
+    /**
+     * @return current number of pending tweets for every worker, or an empty array if the stream is not connected.
+     */
+    public int[] getWorkerQueueDepths() {
+        return workerPool != null ? workerPool.getQueueDepths() : new int[0];
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (workerPool != null) {
+            LOGGER.info("Shutting down twitter v2 workers.");
+            workerPool.shutdown();
+        }
+    }
+
+    /**
+     * Converts one line of the v2 stream into a twitter status.
+     *
+     * @param data raw json line of the stream
+     * @return the status, or null if it could not be created
+     */
+    Status getStatus(final String data) {
+        final TweetParseEvent event = new TweetParseEvent();
+        event.begin();
+        final String tweet = getFormattedTweet(data);
+        Status status = null;
+        try {
+            status = TwitterObjectFactory.createStatus(tweet);
+        } catch (TwitterException e) {
+            LOGGER.error("Could not create status for text: {}", tweet, e);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.tweetId = status != null ? status.getId() : 0L;
+            event.commit();
+        }
+        return status;
+    }
+
+    private void onLine(final byte[] line) {
+        final Status status = getStatus(new String(line, StandardCharsets.UTF_8));
+        if (status != null) {
+            statusListener.onStatus(status);
+        }
+    }
+
+    /**
+     * Cheap scan for the author id, so the reader thread can pick a worker without parsing the whole tweet.
+     *
+     * @return the author id, or 0 if the line does not carry one
+     */
+    private static long getAuthorId(final byte[] line) {
+        int start = indexOf(line, AUTHOR_ID_FIELD);
+        if (start < 0) {
+            return 0L;
+        }
+        start += AUTHOR_ID_FIELD.length;
+        while (start < line.length && (line[start] == ':' || line[start] == ' ' || line[start] == '"')) {
+            ++start;
+        }
+        long authorId = 0L;
+        while (start < line.length && line[start] >= '0' && line[start] <= '9') {
+            authorId = authorId * 10 + (line[start++] - '0');
+        }
+        return authorId;
+    }
+
+    private static int indexOf(final byte[] line, final byte[] field) {
+        outer:
+        for (int i = 0; i <= line.length - field.length; ++i) {
+            for (int j = 0; j < field.length; ++j) {
+                if (line[i + j] != field[j]) {
+                    continue outer;
+                }
             }
+            return i;
         }
+        return -1;
     }
 
     /**
-     * Helper method to setup rules before streaming data
+     * Helper method to create a filter rule for every current keyword
+     *
+     * @return rule values mapped to their tags
+     */
+    Map<String, String> getKeywordRules() {
+        return getKeywordRules(keywords);
+    }
+
+    private static Map<String, String> getKeywordRules(final List<String> keywords) {
+        final Map<String, String> rules = new HashMap<>();
+        for (final String keyword : keywords) {
+            rules.put(keyword, "Keyword: " + keyword);
+        }
+        LOGGER.info("Created filter for twitter stream for keywords: {}", keywords);
+        return rules;
+    }
+
+    /**
+     * Changes the rules of the open stream to the new keywords, the stream itself stays connected.
+     */
+    @Override
+    public void onKeywordsChanged(final List<String> keywords) {
+        setKeywords(keywords);
+        final String bearerToken = configData.getTwitterV2BearerToken();
+        if (null == bearerToken) {
+            return;
+        }
+        try {
+            setupRules(bearerToken, getKeywordRules(keywords));
+        } catch (URISyntaxException | IOException e) {
+            throw new TwitterToKafkaServiceException("Error while updating twitter stream rules!.", e);
+        }
+    }
+
+    /**
+     * Helper method to setup rules before streaming data.
+     * Only the difference to the existing rules is sent: one call adding the missing rules, then one call deleting
+     * the rules that are not wanted anymore, so matching never stops for the rules that stay.
      *
      * @param bearerToken
      * @param rules
      */
-    void setupRules(final String bearerToken, final Map<String, String> rules) throws URISyntaxException, IOException {
-        final List<String> existingRules = getRules(bearerToken);
-        if (existingRules.size() > 0) {
-            deleteRules(bearerToken, existingRules);
+    synchronized void setupRules(final String bearerToken, final Map<String, String> rules)
+            throws URISyntaxException, IOException {
+        final Map<String, String> existingRules = getRules(bearerToken);
+        final Map<String, String> rulesToAdd = new LinkedHashMap<>();
+        rules.forEach((value, tag) -> {
+            if (!existingRules.containsKey(value)) {
+                rulesToAdd.put(value, tag);
+            }
+        });
+        final List<String> ruleIdsToDelete = new ArrayList<>();
+        existingRules.forEach((value, id) -> {
+            if (!rules.containsKey(value)) {
+                ruleIdsToDelete.add(id);
+            }
+        });
+        if (rulesToAdd.size() > 0) {
+            createRules(bearerToken, rulesToAdd);
+        }
+        if (ruleIdsToDelete.size() > 0) {
+            deleteRules(bearerToken, ruleIdsToDelete);
         }
-        createRules(bearerToken, rules);
-        LOGGER.info("Created rules for twitter stream: {}", rules.keySet().toArray());
+        LOGGER.info("Rules for twitter stream are up to date, added: {}, deleted {} rule(s).",
+                rulesToAdd.keySet().toArray(), ruleIdsToDelete.size());
     }
 
     /**
@@ -140,12 +312,12 @@ public class TwitterV2StreamHelper {
      * Helper method to get existing rules.
      *
      * @param bearerToken
-     * @return
+     * @return rule ids mapped by rule value
      * @throws URISyntaxException
      * @throws IOException
      */
-    private List<String> getRules(final String bearerToken) throws URISyntaxException, IOException {
-        final List<String> rules = new ArrayList<>();
+    private Map<String, String> getRules(final String bearerToken) throws URISyntaxException, IOException {
+        final Map<String, String> rules = new HashMap<>();
 
         final CloseableHttpClient httpClient = HttpClients.custom()
                 .setDefaultRequestConfig(RequestConfig.custom()
@@ -165,7 +337,7 @@ public class TwitterV2StreamHelper {
                 JSONArray jsonArray = json.getJSONArray("data");
                 for (int i = 0; i < jsonArray.length(); ++i) {
                     JSONObject jsonObject = jsonArray.getJSONObject(i);
-                    rules.add(jsonObject.getString("id"));
+                    rules.put(jsonObject.getString("value"), jsonObject.getString("id"));
                 }
             }
         }
@@ -246,10 +418,10 @@ public class TwitterV2StreamHelper {
     }
 
     private String formatTweetAsJsonWithParams(final String[] params) {
-        final String tweet = tweetAsRawJson;
+        String tweet = tweetAsRawJson;
         int i = 0;
         for (final String param : params) {
-            tweet.replace("{" + (i++) + "}", param);
+            tweet = tweet.replace("{" + (i++) + "}", param);
         }
         return tweet;
     }
@@ -0,0 +1,52 @@
+package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
+
+import twitter4j.Status;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Deficit round robin over the source queues: on its turn a source may hand over up to its weight in statuses.
+ * A source with an empty queue gives up the rest of its turn, so idle sources cost nothing and a busy source can
+ * only take the share of its weight while the others have tweets waiting.
+ * Not thread safe, {@link #take()} is called by the single dispatcher thread.
+ */
+class WeightedFairDispatcher {
+    private final SourceQueue[] sources;
+    private final int[] credits;
+    private final Semaphore pending;
+    private int current;
+
+    WeightedFairDispatcher(final List<SourceQueue> sources, final Semaphore pending) {
+        this.sources = sources.toArray(new SourceQueue[0]);
+        this.credits = new int[this.sources.length];
+        this.pending = pending;
+        this.credits[0] = this.sources[0].getWeight();
+    }
+
+    /**
+     * Waits until any source has a status and returns the one whose turn it is.
+     */
+    Status take() throws InterruptedException {
+        pending.acquire();
+        //A permit means a status is queued somewhere, so this ends within one round.
+        while (true) {
+            if (credits[current] > 0) {
+                final Status status = sources[current].poll();
+                if (status != null) {
+                    if (--credits[current] == 0) {
+                        nextSource();
+                    }
+                    return status;
+                }
+            }
+            nextSource();
+        }
+    }
+
+    private void nextSource() {
+        credits[current] = 0;
+        current = (current + 1) % sources.length;
+        credits[current] = sources[current].getWeight();
+    }
+}
@@ -1,17 +1,80 @@
 package com.microservices.demo.config.twitter.to.kafka.service.transformer;
 
+import com.microservices.demo.config.twitter.to.kafka.service.entity.TweetEntityScanner;
+import com.microservices.demo.config.twitter.to.kafka.service.jfr.TweetTransformEvent;
 import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
 import org.springframework.stereotype.Component;
 import twitter4j.Status;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 public class TwitterStatusToAvroTransformer {
+    private static final ThreadLocal<TwitterAvroModel> REUSABLE_MODEL = ThreadLocal.withInitial(TwitterAvroModel::new);
+    private final TweetEntityScanner entityScanner = new TweetEntityScanner();
+
     public TwitterAvroModel getTwitterAvroModelFromStatus(final Status status) {
-        return TwitterAvroModel.newBuilder()
+        final TweetTransformEvent event = new TweetTransformEvent();
+        event.begin();
+        //Empty array lists do not allocate their backing array before the first entity is added.
+        final List<String> hashtags = new ArrayList<>();
+        final List<String> mentions = new ArrayList<>();
+        final List<String> urls = new ArrayList<>();
+        entityScanner.scan(status.getText(), hashtags, mentions, urls);
+        final TwitterAvroModel model = TwitterAvroModel.newBuilder()
                 .setId(status.getId())
                 .setUserId(status.getUser().getId())
                 .setCreatedAt(status.getCreatedAt().getTime())
                 .setText(status.getText())
+                .setHashtags(hashtags)
+                .setMentions(mentions)
+                .setUrls(urls)
                 .build();
+        commit(event, model, false);
+        return model;
+    }
+
+    /**
+     * Fills the model owned by the calling thread instead of building a new one for every status.
+     * The model is overwritten by the next call on the same thread, so it can only be handed to a synchronous
+     * send, which serializes it before returning, and must never be kept or passed to another thread.
+     */
+    public TwitterAvroModel getReusableTwitterAvroModelFromStatus(final Status status) {
+        final TweetTransformEvent event = new TweetTransformEvent();
+        event.begin();
+        final TwitterAvroModel model = REUSABLE_MODEL.get();
+        model.setId(status.getId());
+        model.setUserId(status.getUser().getId());
+        model.setCreatedAt(status.getCreatedAt().getTime());
+        model.setText(status.getText());
+        //Every field is set, also the ones later stages only set for some tweets, so nothing leaks from the last one.
+        model.setNearDuplicate(false);
+        model.setFollowerTier(null);
+        model.setRegion(null);
+        model.setBotScore(null);
+        model.setHashtags(clear(model.getHashtags()));
+        model.setMentions(clear(model.getMentions()));
+        model.setUrls(clear(model.getUrls()));
+        entityScanner.scan(status.getText(), model.getHashtags(), model.getMentions(), model.getUrls());
+        commit(event, model, true);
+        return model;
+    }
+
+    private static List<String> clear(final List<String> entities) {
+        if (entities == null) {
+            return new ArrayList<>();
+        }
+        entities.clear();
+        return entities;
+    }
+
+    private static void commit(final TweetTransformEvent event, final TwitterAvroModel model, final boolean recycled) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.tweetId = model.getId();
+            event.recycled = recycled;
+            event.commit();
+        }
     }
 }
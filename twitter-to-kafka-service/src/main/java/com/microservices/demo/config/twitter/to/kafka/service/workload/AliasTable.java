@@ -0,0 +1,89 @@
+package com.microservices.demo.config.twitter.to.kafka.service.workload;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+/**
+ * Walker's alias method: samples an index with probability proportional to its weight in constant time, after a
+ * linear time setup. Used so the mock generator can draw from skewed distributions over large populations
+ * without a search per tweet.
+ */
+public class AliasTable {
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    public AliasTable(final double[] weights) {
+        final int size = weights.length;
+        if (size == 0) {
+            throw new IllegalArgumentException("Alias table needs at least one weight!.");
+        }
+        double total = 0.0;
+        for (final double weight : weights) {
+            if (weight < 0.0 || Double.isNaN(weight)) {
+                throw new IllegalArgumentException("Alias table weights must not be negative!.");
+            }
+            total += weight;
+        }
+        if (total <= 0.0) {
+            throw new IllegalArgumentException("Alias table weights must not all be zero!.");
+        }
+
+        probabilities = new double[size];
+        aliases = new int[size];
+        //Scaled so the average bucket is exactly 1, buckets below 1 are topped up by one bucket above 1.
+        final double[] scaled = new double[size];
+        final Deque<Integer> small = new ArrayDeque<>();
+        final Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < size; ++i) {
+            scaled[i] = weights[i] * size / total;
+            if (scaled[i] < 1.0) {
+                small.push(i);
+            } else {
+                large.push(i);
+            }
+        }
+        while (!small.isEmpty() && !large.isEmpty()) {
+            final int less = small.pop();
+            final int more = large.pop();
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small.push(more);
+            } else {
+                large.push(more);
+            }
+        }
+        //What is left is 1 up to rounding errors.
+        while (!large.isEmpty()) {
+            probabilities[large.pop()] = 1.0;
+        }
+        while (!small.isEmpty()) {
+            probabilities[small.pop()] = 1.0;
+        }
+    }
+
+    /**
+     * Zipf weights over ranks 1 to size: the weight of rank k is 1 / k^exponent.
+     */
+    public static AliasTable zipf(final int size, final double exponent) {
+        final double[] weights = new double[size];
+        for (int i = 0; i < size; ++i) {
+            weights[i] = 1.0 / Math.pow(i + 1, exponent);
+        }
+        return new AliasTable(weights);
+    }
+
+    /**
+     * @return an index between 0 and size - 1
+     */
+    public int sample(final Random random) {
+        final int bucket = random.nextInt(probabilities.length);
+        return random.nextDouble() < probabilities[bucket] ? bucket : aliases[bucket];
+    }
+
+    public int size() {
+        return probabilities.length;
+    }
+}
@@ -0,0 +1,118 @@
+package com.microservices.demo.config.twitter.to.kafka.service.workload;
+
+import com.microservices.demo.config.TwitterToKafkaServiceConfigData;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Workload model of the mock stream: who tweets, which keyword, how long the text is and how fast tweets arrive.
+ * Without the mock workload settings every choice is uniform, like the original mock stream:
+ * <ul>
+ *     <li>mock-user-population and mock-user-zipf-exponent: user ids follow a Zipf distribution over a fixed
+ *     population, so a few users write most tweets</li>
+ *     <li>mock-keyword-weights: relative popularity of the keywords, unlisted keywords have weight 1</li>
+ *     <li>mock-tweet-length-median and mock-tweet-length-sigma: log normal word count between the min and max
+ *     tweet length</li>
+ *     <li>mock-rate-schedule: see {@link RateSchedule}</li>
+ * </ul>
+ * All distributions are precomputed as alias tables, sampling costs the same for any population size.
+ */
+public class MockWorkload {
+    //User ids of the population start here, so they do not look like the small ids of test data.
+    private static final long USER_ID_OFFSET = 1_000_000L;
+    private final AliasTable userTable;
+    private final AliasTable lengthTable;
+    private final int minTweetLength;
+    private final Map<String, Double> keywordWeights;
+    private final RateSchedule rateSchedule;
+    private final long baseSleepNanos;
+    private volatile KeywordTable keywordTable;
+
+    public MockWorkload(final TwitterToKafkaServiceConfigData configData, final List<String> keywords) {
+        final Integer userPopulation = configData.getMockUserPopulation();
+        this.userTable = userPopulation != null && userPopulation > 0
+                ? AliasTable.zipf(userPopulation, configData.getMockUserZipfExponent())
+                : null;
+        this.minTweetLength = configData.getMockMinTweetLength();
+        this.lengthTable = createLengthTable(configData);
+        this.keywordWeights = configData.getMockKeywordWeights() == null ? Map.of()
+                : configData.getMockKeywordWeights();
+        this.rateSchedule = RateSchedule.create(configData);
+        this.baseSleepNanos = TimeUnit.MILLISECONDS.toNanos(configData.getMockSleepMs());
+        setKeywords(keywords);
+    }
+
+    /**
+     * Rebuilds the keyword table, tweets generated concurrently use either the old or the new keywords.
+     */
+    public void setKeywords(final List<String> keywords) {
+        final String[] names = keywords.toArray(new String[0]);
+        AliasTable table = null;
+        if (names.length > 0) {
+            final double[] weights = new double[names.length];
+            for (int i = 0; i < names.length; ++i) {
+                weights[i] = keywordWeights.getOrDefault(names[i], 1.0);
+            }
+            table = new AliasTable(weights);
+        }
+        keywordTable = new KeywordTable(names, table);
+    }
+
+    public long nextUserId(final Random random) {
+        if (userTable == null) {
+            return random.nextLong() & Long.MAX_VALUE;
+        }
+        return USER_ID_OFFSET + userTable.sample(random);
+    }
+
+    /**
+     * @return a keyword to put in the tweet, or null if there are no keywords
+     */
+    public String nextKeyword(final Random random) {
+        final KeywordTable current = keywordTable;
+        return current.table == null ? null : current.names[current.table.sample(random)];
+    }
+
+    /**
+     * @return number of words of the next tweet
+     */
+    public int nextTweetLength(final Random random) {
+        return minTweetLength + lengthTable.sample(random);
+    }
+
+    /**
+     * @return pause before the next tweet, the base sleep divided by the scheduled rate factor
+     */
+    public long getSleepNanos(final long elapsedMs) {
+        return (long) (baseSleepNanos / rateSchedule.getRateFactor(elapsedMs));
+    }
+
+    public double getRateFactor(final long elapsedMs) {
+        return rateSchedule.getRateFactor(elapsedMs);
+    }
+
+    private static AliasTable createLengthTable(final TwitterToKafkaServiceConfigData configData) {
+        final int minTweetLength = configData.getMockMinTweetLength();
+        final int maxTweetLength = configData.getMockMaxTweetLength();
+        final double[] weights = new double[maxTweetLength - minTweetLength + 1];
+        final Double median = configData.getMockTweetLengthMedian();
+        final Double sigma = configData.getMockTweetLengthSigma();
+        for (int i = 0; i < weights.length; ++i) {
+            if (median == null || sigma == null) {
+                weights[i] = 1.0;
+            } else {
+                //Log normal density at the length, the 1 / x factor keeps the long tail.
+                final int length = Math.max(1, minTweetLength + i);
+                final double z = (Math.log(length) - Math.log(median)) / sigma;
+                weights[i] = Math.exp(-0.5 * z * z) / length;
+            }
+        }
+        return new AliasTable(weights);
+    }
+
+    private record KeywordTable(String[] names, AliasTable table) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.microservices.demo.config.twitter.to.kafka.service.workload;
+
+import com.microservices.demo.config.TwitterToKafkaServiceConfigData;
+import com.microservices.demo.config.twitter.to.kafka.service.exception.TwitterToKafkaServiceException;
+
+/**
+ * Time varying tweet rate of the mock stream, as a factor of the base rate given by mock-sleep-ms.
+ */
+@FunctionalInterface
+public interface RateSchedule {
+
+    /**
+     * @param elapsedMs time since the stream started
+     * @return rate factor, 1 is the base rate, 2 twice as many tweets
+     */
+    double getRateFactor(long elapsedMs);
+
+    /**
+     * Creates the schedule named by mock-rate-schedule:
+     * <ul>
+     *     <li>constant: always the base rate</li>
+     *     <li>diurnal: sine curve over mock-rate-period-ms, between 1 - amplitude and 1 + amplitude</li>
+     *     <li>step: spike-factor times the base rate for spike-duration-ms at the start of every period</li>
+     *     <li>flash-crowd: jumps to spike-factor at the start of every period and decays back with a half life of
+     *     spike-duration-ms</li>
+     * </ul>
+     */
+    static RateSchedule create(final TwitterToKafkaServiceConfigData configData) {
+        final String schedule = configData.getMockRateSchedule() == null ? "constant" : configData.getMockRateSchedule();
+        switch (schedule) {
+            case "constant":
+                return elapsedMs -> 1.0;
+            case "diurnal": {
+                final double periodMs = configData.getMockRatePeriodMs();
+                final double amplitude = configData.getMockRateAmplitude();
+                return elapsedMs -> Math.max(0.01, 1.0 + amplitude * Math.sin(2 * Math.PI * elapsedMs / periodMs));
+            }
+            case "step": {
+                final long periodMs = configData.getMockRatePeriodMs();
+                final long spikeDurationMs = configData.getMockRateSpikeDurationMs();
+                final double spikeFactor = configData.getMockRateSpikeFactor();
+                return elapsedMs -> elapsedMs % periodMs < spikeDurationMs ? spikeFactor : 1.0;
+            }
+            case "flash-crowd": {
+                final long periodMs = configData.getMockRatePeriodMs();
+                final double halfLifeMs = configData.getMockRateSpikeDurationMs();
+                final double spikeFactor = configData.getMockRateSpikeFactor();
+                return elapsedMs -> 1.0 + (spikeFactor - 1.0) * Math.pow(0.5, (elapsedMs % periodMs) / halfLifeMs);
+            }
+            default:
+                throw new TwitterToKafkaServiceException("Unknown mock rate schedule " + schedule + "!.");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.microservices.demo.config.twitter.to.kafka.service.aggregation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntHashMapTest {
+
+    @Test
+    public void growsPastItsInitialCapacity() {
+        final LongIntHashMap map = new LongIntHashMap(4);
+        for (long key = 1; key <= 10_000; ++key) {
+            map.addTo(key, (int) key);
+        }
+
+        assertEquals(10_000, map.size());
+        for (long key = 1; key <= 10_000; ++key) {
+            assertEquals((int) key, map.get(key));
+        }
+        assertEquals(0, map.get(10_001L));
+    }
+
+    @Test
+    public void addsToCollidingKeys() {
+        final LongIntHashMap map = new LongIntHashMap(4);
+        //These keys hash to the same slot of the initial table of 8 slots, so they are found by probing.
+        final long[] keys = {1L, 12L, 17L, 28L};
+        for (final long key : keys) {
+            map.addTo(key, 1);
+            map.addTo(key, 2);
+        }
+
+        assertEquals(keys.length, map.size());
+        for (final long key : keys) {
+            assertEquals(3, map.get(key));
+        }
+    }
+
+    @Test
+    public void countsTheZeroKey() {
+        final LongIntHashMap map = new LongIntHashMap(4);
+        map.addTo(0L, 2);
+        map.addTo(0L, 3);
+
+        assertEquals(1, map.size());
+        assertEquals(5, map.get(0L));
+    }
+
+    @Test
+    public void visitsEveryEntryOnce() {
+        final LongIntHashMap map = new LongIntHashMap(4);
+        final Map<Long, Integer> expected = new HashMap<>();
+        for (long key = -50; key <= 50; ++key) {
+            map.addTo(key * 31, (int) key + 100);
+            expected.put(key * 31, (int) key + 100);
+        }
+
+        final Map<Long, Integer> visited = new HashMap<>();
+        map.forEach((key, value) -> assertNull(visited.put(key, value)));
+        assertEquals(expected, visited);
+    }
+}
@@ -0,0 +1,127 @@
+package com.microservices.demo.config.twitter.to.kafka.service.aggregation;
+
+import com.microservices.demo.config.TweetAggregationConfigData;
+import com.microservices.demo.config.TwitterToKafkaServiceConfigData;
+import com.microservices.demo.kafka.avro.model.TwitterAggregateAvroModel;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.producer.config.service.KafkaProducer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TweetAggregatorTest {
+    private final List<TwitterAggregateAvroModel> published = new ArrayList<>();
+    private final KafkaProducer<Long, TwitterAggregateAvroModel> producer =
+            (topicName, key, message) -> published.add(message);
+
+    @Test
+    public void mergesTheCountsOfEveryRecordingThread() throws InterruptedException {
+        final TweetAggregator aggregator = aggregator(List.of("java", "kafka"), 4);
+        final int threads = 16;
+        final int tweetsPerThread = 500;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; ++t) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < tweetsPerThread; ++i) {
+                        aggregator.record(tweet(i % 10, i % 2 == 0 ? "I like Java" : "Java and Kafka"));
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        aggregator.closeWindow();
+
+        final TwitterAggregateAvroModel aggregate = published.get(0);
+        assertEquals(threads * tweetsPerThread, aggregate.getTweetCount());
+        final Map<Long, Integer> userCounts = userCounts(aggregate);
+        assertEquals(10, userCounts.size());
+        userCounts.values().forEach(count -> assertEquals(threads * tweetsPerThread / 10, count));
+        assertEquals(Map.of("java", threads * tweetsPerThread, "kafka", threads * tweetsPerThread / 2),
+                keywordCounts(aggregate));
+    }
+
+    @Test
+    public void startsEveryWindowFromZero() {
+        final TweetAggregator aggregator = aggregator(List.of("java"), 2);
+        aggregator.record(tweet(1L, "java"));
+        aggregator.closeWindow();
+        aggregator.closeWindow();
+        aggregator.record(tweet(2L, "java"));
+        aggregator.closeWindow();
+
+        assertEquals(3, published.size());
+        assertEquals(1, published.get(0).getTweetCount());
+        assertEquals(0, published.get(1).getTweetCount());
+        assertEquals(Map.of(), keywordCounts(published.get(1)));
+        assertEquals(Map.of(2L, 1), userCounts(published.get(2)));
+    }
+
+    @Test
+    public void keepsCountsOfKeywordsRefreshedDuringTheWindow() {
+        final TweetAggregator aggregator = aggregator(List.of("java"), 2);
+        aggregator.record(tweet(1L, "java and kafka"));
+        aggregator.onKeywordsChanged(List.of("kafka", "avro"));
+        aggregator.record(tweet(2L, "java and kafka"));
+        aggregator.record(tweet(3L, "avro"));
+        aggregator.closeWindow();
+
+        assertEquals(Map.of("java", 1, "kafka", 1, "avro", 1), keywordCounts(published.get(0)));
+
+        aggregator.record(tweet(1L, "java and kafka"));
+        aggregator.closeWindow();
+        assertEquals(Map.of("kafka", 1), keywordCounts(published.get(1)));
+    }
+
+    private TweetAggregator aggregator(final List<String> keywords, final int stripes) {
+        final TweetAggregationConfigData tweetAggregationConfigData = new TweetAggregationConfigData();
+        tweetAggregationConfigData.setEnabled(true);
+        tweetAggregationConfigData.setTopicName("aggregate-test-topic");
+        tweetAggregationConfigData.setWindowMs(60_000L);
+        tweetAggregationConfigData.setInitialUserCapacity(4);
+        tweetAggregationConfigData.setAccumulatorStripes(stripes);
+        final TwitterToKafkaServiceConfigData configData = new TwitterToKafkaServiceConfigData();
+        configData.setTwitterKeywords(keywords);
+        return new TweetAggregator(tweetAggregationConfigData, configData, producer);
+    }
+
+    private static TwitterAvroModel tweet(final long userId, final String text) {
+        return TwitterAvroModel.newBuilder()
+                .setId(userId)
+                .setUserId(userId)
+                .setText(text)
+                .setCreatedAt(0L)
+                .build();
+    }
+
+    private static Map<Long, Integer> userCounts(final TwitterAggregateAvroModel aggregate) {
+        final Map<Long, Integer> counts = new HashMap<>();
+        for (int i = 0; i < aggregate.getUserIds().size(); ++i) {
+            counts.put(aggregate.getUserIds().get(i), aggregate.getUserCounts().get(i));
+        }
+        return counts;
+    }
+
+    private static Map<String, Integer> keywordCounts(final TwitterAggregateAvroModel aggregate) {
+        final Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < aggregate.getKeywords().size(); ++i) {
+            counts.put(aggregate.getKeywords().get(i).toString(), aggregate.getKeywordCounts().get(i));
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,64 @@
+package com.microservices.demo.config.twitter.to.kafka.service.dedup;
+
+import com.microservices.demo.config.NearDuplicateConfigData;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearDuplicateDetectorTest {
+
+    @Test
+    public void countsWordTokensUpToTheLimit() {
+        assertEquals(0, SimHash.tokenCount("😀🔥 !!! ...", 3));
+        assertEquals(2, SimHash.tokenCount("  hi, there!", 3));
+        assertEquals(3, SimHash.tokenCount("one two three four five", 3));
+    }
+
+    @Test
+    public void passesTweetsWithTooFewWordsWithoutCheck() {
+        final NearDuplicateDetector detector = new NearDuplicateDetector(config());
+
+        assertTrue(detector.test(tweet(1L, "😀😀😀")));
+        assertTrue(detector.test(tweet(2L, "🔥🔥")));
+        assertTrue(detector.test(tweet(3L, "!!!")));
+        assertTrue(detector.test(tweet(4L, "wow")));
+        assertTrue(detector.test(tweet(5L, "so cool")));
+        assertEquals(5, detector.getSkippedCount());
+        assertEquals(0, detector.getCheckedCount());
+        assertEquals(0, detector.getDuplicateCount());
+    }
+
+    @Test
+    public void dropsNearDuplicatesOfLongerTexts() {
+        final NearDuplicateDetector detector = new NearDuplicateDetector(config());
+
+        assertTrue(detector.test(tweet(1L, "Kafka streams make Java microservices simple to scale, check this out")));
+        assertFalse(detector.test(tweet(2L, "kafka streams make java microservices simple to scale, CHECK this out!!")));
+        assertEquals(2, detector.getCheckedCount());
+        assertEquals(1, detector.getDuplicateCount());
+    }
+
+    private static NearDuplicateConfigData config() {
+        final NearDuplicateConfigData configData = new NearDuplicateConfigData();
+        configData.setEnabled(true);
+        configData.setAction("drop");
+        configData.setMaxHammingDistance(3);
+        configData.setMinTokens(3);
+        configData.setWindowMs(60_000L);
+        configData.setCapacity(1024);
+        configData.setTableBits(8);
+        configData.setMaxProbes(64);
+        configData.setLockStripes(4);
+        return configData;
+    }
+
+    private static TwitterAvroModel tweet(final long id, final String text) {
+        return TwitterAvroModel.newBuilder()
+                .setId(id)
+                .setUserId(id)
+                .setText(text)
+                .setCreatedAt(0L)
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.microservices.demo.config.twitter.to.kafka.service.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearDuplicateIndexTest {
+
+    @Test
+    public void findsHashesWithinDistance() {
+        final NearDuplicateIndex index = new NearDuplicateIndex(16, 3, 1000L, 64, 8, 4);
+        final long hash = 0x0123456789abcdefL;
+        assertFalse(index.checkAndAdd(hash, 0L));
+        assertTrue(index.checkAndAdd(hash ^ 0b10010001L, 1L));
+        assertFalse(index.checkAndAdd(hash ^ 0xf000000000000000L, 2L));
+    }
+
+    @Test
+    public void forgetsExpiredAndOverwrittenHashes() {
+        final NearDuplicateIndex index = new NearDuplicateIndex(2, 3, 1000L, 64, 8, 1);
+        assertFalse(index.checkAndAdd(1L, 0L));
+        assertFalse(index.checkAndAdd(0xffffL << 40, 2000L));
+        assertFalse(index.checkAndAdd(-1L, 2001L));
+        assertFalse(index.checkAndAdd(1L, 2002L));
+    }
+
+    @Test
+    public void findsConcurrentlyAddedNearDuplicates() throws Exception {
+        final int threadCount = 8;
+        final int hashCount = 10_000;
+        final NearDuplicateIndex index = new NearDuplicateIndex(threadCount * hashCount, 3, 1000L, 64, 16, 16);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger duplicates = new AtomicInteger();
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; ++t) {
+            //Every thread adds the same hashes with a different bit flipped, so each hash is found once per copy.
+            final long flip = 1L << t;
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < hashCount; ++i) {
+                    if (index.checkAndAdd(SimHash.of("tweet number " + i) ^ flip, 0L)) {
+                        duplicates.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(duplicates.get() >= (threadCount - 1) * hashCount);
+    }
+
+    @Test
+    public void nearDuplicateTextsHaveCloseSimHashes() {
+        final long original = SimHash.of("Kafka streams make Java microservices simple to scale, check this out now");
+        final long copy = SimHash.of("kafka streams make java microservices simple to scale, check this out NOW!!");
+        final long other = SimHash.of("Elasticsearch cluster sizing guide for large search workloads in production");
+        assertEquals(original, copy);
+        assertTrue(SimHash.distance(original, other) > 3);
+    }
+}
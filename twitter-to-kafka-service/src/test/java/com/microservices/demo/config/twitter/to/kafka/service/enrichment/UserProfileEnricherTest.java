@@ -0,0 +1,44 @@
+package com.microservices.demo.config.twitter.to.kafka.service.enrichment;
+
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.config.UserProfileConfigData;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.avro.model.UserProfileAvroModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserProfileEnricherTest {
+
+    @Test
+    public void stampsConfiguredAttributesAndCountsHits() {
+        final UserProfileConfigData configData = new UserProfileConfigData();
+        configData.setMemoryBudgetBytes(1L << 16);
+        configData.setStampedAttributes(List.of(UserProfileEnricher.FOLLOWER_TIER, UserProfileEnricher.REGION));
+        final UserProfileEnricher enricher = new UserProfileEnricher(new KafkaConfigData(), configData);
+        enricher.apply(1L, new UserProfileAvroModel(1L, 2, "APAC", 0.9f));
+        enricher.apply(2L, new UserProfileAvroModel(2L, 1, "EU", 0.1f));
+        enricher.apply(2L, null);
+
+        final TwitterAvroModel known = tweet(1L);
+        enricher.enrich(known);
+        assertEquals(2, known.getFollowerTier());
+        assertEquals("APAC", known.getRegion());
+        assertNull(known.getBotScore());
+
+        final TwitterAvroModel removed = tweet(2L);
+        enricher.enrich(removed);
+        assertNull(removed.getFollowerTier());
+        assertNull(removed.getRegion());
+
+        assertEquals(1, enricher.getHitCount());
+        assertEquals(1, enricher.getMissCount());
+        assertEquals(0.5, enricher.getHitRatio());
+    }
+
+    private static TwitterAvroModel tweet(final long userId) {
+        return TwitterAvroModel.newBuilder().setUserId(userId).setId(userId).setText("text").setCreatedAt(0L).build();
+    }
+}
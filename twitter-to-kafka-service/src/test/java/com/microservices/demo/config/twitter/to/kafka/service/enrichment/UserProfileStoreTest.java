@@ -0,0 +1,91 @@
+package com.microservices.demo.config.twitter.to.kafka.service.enrichment;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserProfileStoreTest {
+
+    @Test
+    public void storesAndUpdatesProfiles() {
+        for (final boolean offHeap : new boolean[] {false, true}) {
+            final UserProfileStore store = new UserProfileStore(64 * UserProfileStore.BYTES_PER_SLOT, offHeap);
+            store.put(42L, 3, "EU", 0.25f);
+            store.put(0L, UserProfileStore.NO_VALUE, null, Float.NaN);
+
+            final long profile = store.get(42L);
+            assertNotEquals(UserProfileStore.NOT_FOUND, profile);
+            assertEquals(3, UserProfileStore.followerTier(profile));
+            assertEquals("EU", store.regionName(UserProfileStore.regionId(profile)));
+            assertEquals(0.25f, UserProfileStore.botScore(profile));
+
+            final long unknownAttributes = store.get(0L);
+            assertNotEquals(UserProfileStore.NOT_FOUND, unknownAttributes);
+            assertEquals(UserProfileStore.NO_VALUE, UserProfileStore.followerTier(unknownAttributes));
+            assertNull(store.regionName(UserProfileStore.regionId(unknownAttributes)));
+            assertTrue(Float.isNaN(UserProfileStore.botScore(unknownAttributes)));
+
+            store.put(42L, 4, "US", 0.5f);
+            assertEquals(2, store.size());
+            assertEquals(4, UserProfileStore.followerTier(store.get(42L)));
+            assertEquals(UserProfileStore.NOT_FOUND, store.get(7L));
+        }
+    }
+
+    @Test
+    public void capsTheTableAtTheLargestByteBufferForLargeBudgets() {
+        final int largestCapacity = Integer.highestOneBit(UserProfileStore.MAX_SLOTS);
+        final long largestBudget = (long) UserProfileStore.MAX_SLOTS * UserProfileStore.BYTES_PER_SLOT;
+        for (final long budget : new long[] {largestBudget, largestBudget + UserProfileStore.BYTES_PER_SLOT,
+                (1L << 27) * UserProfileStore.BYTES_PER_SLOT, 64L << 30, Long.MAX_VALUE}) {
+            final int capacity = UserProfileStore.capacityFor(budget);
+            assertEquals(largestCapacity, capacity, "Capacity for budget " + budget);
+            assertTrue(capacity * UserProfileStore.SLOT_BYTES > 0, "Table size overflows for budget " + budget);
+        }
+        assertEquals(largestCapacity / 2, UserProfileStore.capacityFor(
+                (long) largestCapacity * UserProfileStore.BYTES_PER_SLOT - 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> UserProfileStore.capacityFor(UserProfileStore.BYTES_PER_SLOT));
+    }
+
+    @Test
+    public void removeKeepsCollidingUsersReachable() {
+        final UserProfileStore store = new UserProfileStore(1024 * UserProfileStore.BYTES_PER_SLOT, false);
+        for (long userId = 1; userId <= 700; ++userId) {
+            store.put(userId, (int) (userId % 5), null, userId / 1000f);
+        }
+        for (long userId = 1; userId <= 700; userId += 2) {
+            store.remove(userId);
+        }
+        assertEquals(350, store.size());
+        for (long userId = 1; userId <= 700; ++userId) {
+            final long profile = store.get(userId);
+            if (userId % 2 == 1) {
+                assertEquals(UserProfileStore.NOT_FOUND, profile);
+            } else {
+                assertEquals(userId / 1000f, UserProfileStore.botScore(profile));
+            }
+        }
+    }
+
+    @Test
+    public void evictsUsersThatWereNotLookedUp() {
+        final UserProfileStore store = new UserProfileStore(16 * UserProfileStore.BYTES_PER_SLOT, true);
+        assertEquals(12, store.maxEntries());
+        for (long userId = 1; userId <= 12; ++userId) {
+            store.put(userId, 1, "EU", 0.0f);
+        }
+        for (long userId = 1; userId <= 6; ++userId) {
+            store.get(userId);
+        }
+        for (long userId = 13; userId <= 18; ++userId) {
+            store.put(userId, 1, "EU", 0.0f);
+        }
+
+        assertEquals(12, store.size());
+        assertEquals(6, store.evictions());
+        for (long userId = 1; userId <= 6; ++userId) {
+            assertNotEquals(UserProfileStore.NOT_FOUND, store.get(userId), "Looked up user " + userId + " evicted");
+        }
+    }
+}
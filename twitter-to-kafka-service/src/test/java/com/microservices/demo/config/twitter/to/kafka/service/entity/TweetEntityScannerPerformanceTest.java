@@ -0,0 +1,132 @@
+package com.microservices.demo.config.twitter.to.kafka.service.entity;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Nanoseconds and allocated bytes per tweet of the single pass scanner against the usual three regular expressions
+ * run by downstream services.
+ * Run with: mvn test -Pperformance
+ */
+@Tag("performance")
+class TweetEntityScannerPerformanceTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TweetEntityScannerPerformanceTest.class);
+    private static final int TWEET_COUNT = 100_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final Pattern HASHTAG =
+            Pattern.compile("(?<![\\p{L}\\p{M}\\p{N}_&])[#\\uFF03]([\\p{L}\\p{M}\\p{N}_]*\\p{L}[\\p{L}\\p{M}\\p{N}_]*)");
+    private static final Pattern MENTION =
+            Pattern.compile("(?<![\\p{L}\\p{M}\\p{N}_])[@\\uFF20]([A-Za-z0-9_]{1,15})(?![A-Za-z0-9_@\\p{L}])");
+    private static final Pattern URL = Pattern.compile("(?<![\\p{L}\\p{M}\\p{N}_])(?i:https?://)[^\\s\"<>]+" +
+            "(?<![.,;:!?'\"])");
+    private static final String[] WORDS = {"Java", "Kafka", "streams", "are", "fast", "and", "the", "microservice",
+            "日本語", "テスト", "café", "😀", "release", "notes", "today"};
+
+    @Test
+    public void scannerAgainstRegex() {
+        final List<String> tweets = createTweets();
+        final TweetEntityScanner scanner = new TweetEntityScanner();
+        final List<String> hashtags = new ArrayList<>();
+        final List<String> mentions = new ArrayList<>();
+        final List<String> urls = new ArrayList<>();
+
+        long scannerEntities = 0L;
+        long regexEntities = 0L;
+        for (int round = 0; round < WARMUP_ROUNDS; ++round) {
+            scannerEntities = runScanner(scanner, tweets, hashtags, mentions, urls);
+            regexEntities = runRegex(tweets, hashtags, mentions, urls);
+        }
+        assertEquals(regexEntities, scannerEntities, "Scanner and regex extraction found different entities");
+
+        measure("scanner", tweets, () -> runScanner(scanner, tweets, hashtags, mentions, urls));
+        measure("regex", tweets, () -> runRegex(tweets, hashtags, mentions, urls));
+    }
+
+    private static void measure(final String name, final List<String> tweets, final Runnable run) {
+        final com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+        final long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        final long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; ++round) {
+            run.run();
+        }
+        final long elapsedNanos = System.nanoTime() - start;
+        final long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        final long extractions = (long) tweets.size() * MEASURED_ROUNDS;
+        LOGGER.info("{}: {} ns/tweet, {} bytes allocated/tweet", name, elapsedNanos / extractions,
+                allocated / extractions);
+    }
+
+    private static long runScanner(final TweetEntityScanner scanner, final List<String> tweets,
+                                   final List<String> hashtags, final List<String> mentions, final List<String> urls) {
+        long entities = 0L;
+        for (final String tweet : tweets) {
+            hashtags.clear();
+            mentions.clear();
+            urls.clear();
+            scanner.scan(tweet, hashtags, mentions, urls);
+            entities += hashtags.size() + mentions.size() + urls.size();
+        }
+        return entities;
+    }
+
+    private static long runRegex(final List<String> tweets, final List<String> hashtags, final List<String> mentions,
+                                 final List<String> urls) {
+        long entities = 0L;
+        for (final String tweet : tweets) {
+            hashtags.clear();
+            mentions.clear();
+            urls.clear();
+            extract(HASHTAG, 1, tweet, hashtags);
+            extract(MENTION, 1, tweet, mentions);
+            extract(URL, 0, tweet, urls);
+            entities += hashtags.size() + mentions.size() + urls.size();
+        }
+        return entities;
+    }
+
+    private static void extract(final Pattern pattern, final int group, final String text,
+                                final List<String> entities) {
+        final Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            entities.add(matcher.group(group));
+        }
+    }
+
+    private static List<String> createTweets() {
+        final Random random = new Random(42L);
+        final List<String> tweets = new ArrayList<>(TWEET_COUNT);
+        for (int i = 0; i < TWEET_COUNT; ++i) {
+            final StringBuilder tweet = new StringBuilder();
+            final int words = 8 + random.nextInt(16);
+            for (int j = 0; j < words; ++j) {
+                final int kind = random.nextInt(20);
+                if (kind == 0) {
+                    tweet.append('#').append(WORDS[random.nextInt(WORDS.length - 1)]);
+                } else if (kind == 1) {
+                    tweet.append('@').append("user_").append(random.nextInt(10_000));
+                } else if (kind == 2) {
+                    tweet.append("https://example.com/").append(random.nextInt(1000)).append('.');
+                } else {
+                    tweet.append(WORDS[random.nextInt(WORDS.length)]);
+                }
+                tweet.append(' ');
+            }
+            tweets.add(tweet.toString());
+        }
+        return tweets;
+    }
+}
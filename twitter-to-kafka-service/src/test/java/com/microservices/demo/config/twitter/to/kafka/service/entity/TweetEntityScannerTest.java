@@ -0,0 +1,67 @@
+package com.microservices.demo.config.twitter.to.kafka.service.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TweetEntityScannerTest {
+    private static final Pattern UNICODE_ESCAPE = Pattern.compile("\\\\u([0-9A-Fa-f]{4})");
+
+    @Test
+    public void extractsEntitiesOfCorpus() throws IOException {
+        final TweetEntityScanner scanner = new TweetEntityScanner();
+        int cases = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                getClass().getResourceAsStream("/tweet-entity-corpus.tsv"), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                final String[] columns = line.split("\t", -1);
+                final String text = unescape(columns[0]);
+                final List<String> hashtags = new ArrayList<>();
+                final List<String> mentions = new ArrayList<>();
+                final List<String> urls = new ArrayList<>();
+                scanner.scan(text, hashtags, mentions, urls);
+                assertEquals(entities(columns[1]), hashtags, "Hashtags of: " + text);
+                assertEquals(entities(columns[2]), mentions, "Mentions of: " + text);
+                assertEquals(entities(columns[3]), urls, "Urls of: " + text);
+                ++cases;
+            }
+        }
+        assertTrue(cases > 25, "Corpus not read");
+    }
+
+    @Test
+    public void ignoresNullText() {
+        final List<String> hashtags = new ArrayList<>();
+        new TweetEntityScanner().scan(null, hashtags, hashtags, hashtags);
+        assertTrue(hashtags.isEmpty());
+    }
+
+    private static List<String> entities(final String column) {
+        return column.isEmpty() ? List.of() : Arrays.stream(column.split(" ")).map(TweetEntityScannerTest::unescape)
+                .toList();
+    }
+
+    private static String unescape(final String value) {
+        final Matcher matcher = UNICODE_ESCAPE.matcher(value);
+        final StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            matcher.appendReplacement(result,
+                    Matcher.quoteReplacement(String.valueOf((char) Integer.parseInt(matcher.group(1), 16))));
+        }
+        return matcher.appendTail(result).toString();
+    }
+}
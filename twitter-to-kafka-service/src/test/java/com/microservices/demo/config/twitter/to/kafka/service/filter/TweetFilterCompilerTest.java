@@ -0,0 +1,64 @@
+package com.microservices.demo.config.twitter.to.kafka.service.filter;
+
+import com.microservices.demo.config.twitter.to.kafka.service.exception.TwitterToKafkaServiceException;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TweetFilterCompilerTest {
+    private final TweetFilterCompiler compiler = new TweetFilterCompiler();
+
+    @Test
+    public void compilesNumberComparisons() {
+        final TweetFilterRule rule = compiler.compile("min-length", "text.length >= 10");
+        assertTrue(rule.test(tweet(1L, "long enough text")));
+        assertFalse(rule.test(tweet(1L, "short")));
+        assertFalse(rule.test(tweet(1L, null)));
+    }
+
+    @Test
+    public void compilesNegatedTextRules() {
+        final TweetFilterRule rule = compiler.compile("no-retweets", "not text startsWith 'RT @'");
+        assertTrue(rule.test(tweet(1L, "Hello Kafka")));
+        assertFalse(rule.test(tweet(1L, "RT @someone Hello Kafka")));
+    }
+
+    @Test
+    public void compilesNumberSets() {
+        final TweetFilterRule rule = compiler.compile("blocked-users", "userId not in [3, 1, 2]");
+        assertTrue(rule.test(tweet(4L, "text")));
+        assertFalse(rule.test(tweet(2L, "text")));
+    }
+
+    @Test
+    public void compilesContainsAnyIgnoringCase() {
+        final TweetFilterRule rule = compiler.compile("keywords", "text containsAny ['java', 'Kafka']");
+        assertTrue(rule.test(tweet(1L, "Learning JAVA today")));
+        assertTrue(rule.test(tweet(1L, "kafka streams")));
+        assertFalse(rule.test(tweet(1L, "Spring boot")));
+    }
+
+    @Test
+    public void ordersCheapChecksFirst() {
+        assertTrue(compiler.compile("a", "userId == 1").getCost()
+                < compiler.compile("b", "text contains 'x'").getCost());
+    }
+
+    @Test
+    public void rejectsInvalidExpressions() {
+        assertThrows(TwitterToKafkaServiceException.class, () -> compiler.compile("a", "user == 1"));
+        assertThrows(TwitterToKafkaServiceException.class, () -> compiler.compile("b", "text >= 1"));
+        assertThrows(TwitterToKafkaServiceException.class, () -> compiler.compile("c", "text contains x"));
+        assertThrows(TwitterToKafkaServiceException.class, () -> compiler.compile("d", "userId in []"));
+    }
+
+    private static TwitterAvroModel tweet(final long userId, final String text) {
+        return TwitterAvroModel.newBuilder()
+                .setUserId(userId)
+                .setId(1L)
+                .setText(text)
+                .setCreatedAt(0L)
+                .build();
+    }
+}
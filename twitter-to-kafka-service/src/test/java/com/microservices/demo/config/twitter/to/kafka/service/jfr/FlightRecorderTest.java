@@ -0,0 +1,74 @@
+package com.microservices.demo.config.twitter.to.kafka.service.jfr;
+
+import com.microservices.demo.config.FlightRecorderConfigData;
+import com.microservices.demo.config.twitter.to.kafka.service.transformer.TwitterStatusToAvroTransformer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import twitter4j.Status;
+import twitter4j.TwitterObjectFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderTest {
+
+    @Test
+    public void recordsPipelineStageEvents() throws Exception {
+        final FlightRecorder flightRecorder = new FlightRecorder(config());
+        final Status status = TwitterObjectFactory.createStatus("""
+                {"created_at": "Mon Oct 19 10:00:00 UTC 2026", "id": "42", "text": "Java", "user": {"id": "7"}}
+                """);
+
+        final Recording recording = flightRecorder.start(Duration.ofSeconds(10L));
+        assertNotNull(recording);
+        assertNull(flightRecorder.start(Duration.ofSeconds(10L)), "Only one recording may run at a time");
+        final byte[] content;
+        try {
+            new TwitterStatusToAvroTransformer().getTwitterAvroModelFromStatus(status);
+            content = flightRecorder.dump(recording);
+        } finally {
+            flightRecorder.close(recording);
+        }
+
+        final Path file = Files.createTempFile("flight-recorder-test", ".jfr");
+        try {
+            Files.write(file, content);
+            final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertTrue(events.stream().map(event -> event.getEventType().getName()).noneMatch(name ->
+                    name.equals("jdk.InitialEnvironmentVariable") || name.equals("jdk.InitialSystemProperty")
+                            || name.equals("jdk.JVMInformation")), "Recording contains environment or properties");
+            final List<RecordedEvent> transformEvents = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("com.microservices.demo.TweetTransform"))
+                    .toList();
+            assertEquals(1, transformEvents.size());
+            assertEquals(42L, transformEvents.get(0).getLong("tweetId"));
+        } finally {
+            Files.delete(file);
+        }
+        final Recording nextRecording = flightRecorder.start(Duration.ofSeconds(1L));
+        assertNotNull(nextRecording, "Closed recording must allow a new one");
+        flightRecorder.close(nextRecording);
+    }
+
+    @Test
+    public void capsDuration() {
+        final FlightRecorder flightRecorder = new FlightRecorder(config());
+        assertEquals(Duration.ofSeconds(30L), flightRecorder.getDuration(null));
+        assertEquals(Duration.ofMinutes(5L), flightRecorder.getDuration(3_600_000L));
+    }
+
+    private static FlightRecorderConfigData config() {
+        final FlightRecorderConfigData flightRecorderConfigData = new FlightRecorderConfigData();
+        flightRecorderConfigData.setSettings("default");
+        flightRecorderConfigData.setDefaultDurationMs(30_000L);
+        flightRecorderConfigData.setMaxDurationMs(300_000L);
+        flightRecorderConfigData.setEventThresholdMs(0L);
+        return flightRecorderConfigData;
+    }
+}
@@ -0,0 +1,53 @@
+package com.microservices.demo.config.twitter.to.kafka.service.keyword;
+
+import com.microservices.demo.config.TwitterToKafkaServiceConfigData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeywordRefresherTest {
+
+    @Test
+    public void notifiesListenersOnlyWhenKeywordsChange() {
+        final TwitterToKafkaServiceConfigData configData = new TwitterToKafkaServiceConfigData();
+        configData.setTwitterKeywords(List.of("Java", "Kafka"));
+        final List<List<String>> notifications = new ArrayList<>();
+        final KeywordRefresher refresher =
+                new KeywordRefresher(configData, List.of(notifications::add), Optional.empty());
+
+        assertFalse(refresher.refresh(List.of("Kafka", " Java ", "# comment", "")));
+        assertTrue(notifications.isEmpty());
+
+        assertTrue(refresher.refresh(List.of("Java", "Spring", "Java")));
+        assertEquals(List.of(List.of("Java", "Spring")), notifications);
+        assertEquals(List.of("Java", "Kafka"), configData.getTwitterKeywords());
+    }
+
+    @Test
+    public void keepsKeywordsWhenNewListIsEmpty() {
+        final TwitterToKafkaServiceConfigData configData = new TwitterToKafkaServiceConfigData();
+        configData.setTwitterKeywords(List.of("Java"));
+        final KeywordRefresher refresher =
+                new KeywordRefresher(configData, List.of(keywords -> fail()), Optional.empty());
+
+        assertFalse(refresher.refresh(List.of(" ", "#Kafka")));
+        assertEquals(List.of("Java"), configData.getTwitterKeywords());
+    }
+
+    @Test
+    public void failingListenerDoesNotStopOthers() {
+        final TwitterToKafkaServiceConfigData configData = new TwitterToKafkaServiceConfigData();
+        configData.setTwitterKeywords(List.of("Java"));
+        final List<List<String>> notifications = new ArrayList<>();
+        final KeywordRefresher refresher = new KeywordRefresher(configData, List.of(keywords -> {
+            throw new IllegalStateException("rules api is down");
+        }, notifications::add), Optional.empty());
+
+        assertTrue(refresher.refresh(List.of("Kafka")));
+        assertEquals(List.of(List.of("Kafka")), notifications);
+    }
+}
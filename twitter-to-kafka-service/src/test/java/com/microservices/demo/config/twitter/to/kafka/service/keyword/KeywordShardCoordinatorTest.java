@@ -0,0 +1,211 @@
+package com.microservices.demo.config.twitter.to.kafka.service.keyword;
+
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.config.KeywordShardConfigData;
+import org.apache.kafka.clients.admin.MockAdminClient;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the coordinators against mock consumers, the group assignment of the broker is played by
+ * {@link #rebalance()}, which spreads the slots over the members like a rebalance of the consumer group.
+ */
+class KeywordShardCoordinatorTest {
+    private static final String TOPIC_NAME = "twitter-keyword-shards";
+    private static final int SLOTS = 12;
+    private static final List<String> KEYWORDS = IntStream.range(0, 200).mapToObj(i -> "keyword-" + i).toList();
+    private static final long REBALANCE_TIMEOUT_MS = 10_000L;
+    private static final Node BROKER = new Node(0, "localhost", 9092);
+    private final MockAdminClient adminClient = new MockAdminClient(List.of(BROKER), BROKER);
+    private final Map<KeywordShardCoordinator, GroupMemberConsumer> members = new LinkedHashMap<>();
+    private final List<KeywordShardCoordinator> instances = new ArrayList<>();
+
+    @AfterEach
+    public void shutdown() {
+        instances.forEach(KeywordShardCoordinator::shutdown);
+        adminClient.close();
+    }
+
+    @Test
+    public void instancesShareKeywordsAndRebalanceWhenOneLeaves() throws Exception {
+        for (int i = 0; i < 3; ++i) {
+            join();
+        }
+        awaitKeywordsSharedBy(instances);
+
+        leave(instances.get(2));
+        awaitKeywordsSharedBy(instances);
+    }
+
+    @Test
+    public void notifiesListenerWhenOwnedSlotsChange() throws Exception {
+        final KeywordShardCoordinator first = join();
+        assertEquals(KEYWORDS, first.select(KEYWORDS));
+        final AtomicInteger notifications = new AtomicInteger();
+        first.setAssignmentListener(notifications::incrementAndGet);
+
+        join();
+        awaitKeywordsSharedBy(instances);
+        awaitNotifications(notifications, 1);
+        assertTrue(first.getOwnedSlots().size() < SLOTS);
+
+        leave(instances.get(1));
+        awaitKeywordsSharedBy(instances);
+        awaitNotifications(notifications, 2);
+        assertEquals(KEYWORDS, first.select(KEYWORDS));
+    }
+
+    @Test
+    public void usesPartitionCountOfExistingTopic() {
+        final KeywordShardCoordinator first = join();
+        final KeywordShardCoordinator second = join();
+
+        for (final String keyword : KEYWORDS) {
+            final int slot = first.getSlot(keyword);
+            assertTrue(slot >= 0 && slot < SLOTS);
+            assertEquals(slot, second.getSlot(keyword));
+        }
+    }
+
+    private KeywordShardCoordinator join() {
+        final KeywordShardCoordinator instance = new KeywordShardCoordinator(kafkaConfigData(),
+                keywordShardConfigData(), adminClient) {
+            @Override
+            Consumer<byte[], byte[]> createConsumer(final Map<String, Object> consumerConfig) {
+                final GroupMemberConsumer consumer = new GroupMemberConsumer();
+                synchronized (members) {
+                    members.put(this, consumer);
+                    rebalance();
+                }
+                return consumer;
+            }
+        };
+        instance.init();
+        instances.add(instance);
+        return instance;
+    }
+
+    private void leave(final KeywordShardCoordinator instance) {
+        instances.remove(instance);
+        instance.shutdown();
+        synchronized (members) {
+            members.remove(instance);
+            rebalance();
+        }
+    }
+
+    //Slot i goes to member i modulo the member count, each consumer applies its new slots on its own poll thread.
+    private void rebalance() {
+        final List<GroupMemberConsumer> consumers = new ArrayList<>(members.values());
+        for (int member = 0; member < consumers.size(); ++member) {
+            final Set<TopicPartition> assignment = new HashSet<>();
+            for (int slot = member; slot < SLOTS; slot += consumers.size()) {
+                assignment.add(new TopicPartition(TOPIC_NAME, slot));
+            }
+            final GroupMemberConsumer consumer = consumers.get(member);
+            consumer.schedulePollTask(() -> consumer.reassign(assignment));
+        }
+    }
+
+    /**
+     * Waits until every keyword is owned by exactly one of the instances and every instance owns some.
+     */
+    private static void awaitKeywordsSharedBy(final List<KeywordShardCoordinator> instances) throws Exception {
+        final long deadline = System.currentTimeMillis() + REBALANCE_TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            final Set<String> owned = new HashSet<>();
+            int ownedCount = 0;
+            boolean everyInstanceOwnsKeywords = true;
+            for (final KeywordShardCoordinator instance : instances) {
+                final List<String> shard = instance.select(KEYWORDS);
+                everyInstanceOwnsKeywords &= !shard.isEmpty();
+                owned.addAll(shard);
+                ownedCount += shard.size();
+            }
+            if (everyInstanceOwnsKeywords && owned.size() == KEYWORDS.size() && ownedCount == KEYWORDS.size()) {
+                return;
+            }
+            Thread.sleep(10L);
+        }
+        fail("Keywords were not shared by " + instances.size() + " instance(s) in time");
+    }
+
+    private static void awaitNotifications(final AtomicInteger notifications, final int expected)
+            throws Exception {
+        final long deadline = System.currentTimeMillis() + REBALANCE_TIMEOUT_MS;
+        while (notifications.get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertTrue(notifications.get() >= expected, "Assignment listener was called " + notifications.get() +
+                " time(s), expected " + expected);
+    }
+
+    /**
+     * Mock consumer that calls the rebalance listener like a cooperative rebalance, with the moved slots only.
+     */
+    private static class GroupMemberConsumer extends MockConsumer<byte[], byte[]> {
+        private ConsumerRebalanceListener rebalanceListener;
+
+        GroupMemberConsumer() {
+            super(OffsetResetStrategy.EARLIEST);
+            final Map<TopicPartition, Long> beginningOffsets = new HashMap<>();
+            for (int slot = 0; slot < SLOTS; ++slot) {
+                beginningOffsets.put(new TopicPartition(TOPIC_NAME, slot), 0L);
+            }
+            updateBeginningOffsets(beginningOffsets);
+        }
+
+        @Override
+        public synchronized void subscribe(final Collection<String> topics, final ConsumerRebalanceListener listener) {
+            rebalanceListener = listener;
+            super.subscribe(topics, listener);
+        }
+
+        private synchronized void reassign(final Set<TopicPartition> assignment) {
+            final Set<TopicPartition> revoked = new HashSet<>(assignment());
+            revoked.removeAll(assignment);
+            final Set<TopicPartition> assigned = new HashSet<>(assignment);
+            assigned.removeAll(assignment());
+            rebalance(assignment);
+            rebalanceListener.onPartitionsRevoked(revoked);
+            rebalanceListener.onPartitionsAssigned(assigned);
+        }
+    }
+
+    private static KafkaConfigData kafkaConfigData() {
+        final KafkaConfigData kafkaConfigData = new KafkaConfigData();
+        kafkaConfigData.setBootstrapServers("localhost:9092");
+        kafkaConfigData.setReplicationFactor((short) 1);
+        return kafkaConfigData;
+    }
+
+    private static KeywordShardConfigData keywordShardConfigData() {
+        final KeywordShardConfigData keywordShardConfigData = new KeywordShardConfigData();
+        keywordShardConfigData.setCoordinationTopicName(TOPIC_NAME);
+        keywordShardConfigData.setGroupId("keyword-shard-test");
+        keywordShardConfigData.setSlots(SLOTS);
+        keywordShardConfigData.setPollTimeoutMs(100L);
+        keywordShardConfigData.setSessionTimeoutMs(6000);
+        keywordShardConfigData.setAssignmentTimeoutMs(REBALANCE_TIMEOUT_MS);
+        return keywordShardConfigData;
+    }
+}
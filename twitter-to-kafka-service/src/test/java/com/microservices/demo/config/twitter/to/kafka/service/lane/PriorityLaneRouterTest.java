@@ -0,0 +1,90 @@
+package com.microservices.demo.config.twitter.to.kafka.service.lane;
+
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.config.KafkaProducerConfigData;
+import com.microservices.demo.config.PriorityLaneConfigData;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.producer.config.KafkaProducerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriorityLaneRouterTest {
+
+    @Test
+    public void routesToFirstMatchingLane() {
+        final PriorityLaneRouter router = new PriorityLaneRouter(laneConfig(), kafkaConfig(),
+                new KafkaProducerConfig<>(kafkaConfig(), producerConfig()));
+
+        assertEquals("alert", router.getLane(tweet(1L, "Kafka cluster OUTAGE in eu-west")).getName());
+        assertEquals("alert", router.getLane(tweet(783214L, "Java 21 is out")).getName());
+        assertEquals("spring", router.getLane(tweet(2L, "Spring Boot and Kafka")).getName());
+        assertEquals("bulk", router.getLane(tweet(3L, "Just a tweet about Java")).getName());
+    }
+
+    @Test
+    public void appliesLaneOverrides() {
+        final KafkaProducerConfig<Long, TwitterAvroModel> kafkaProducerConfig =
+                new KafkaProducerConfig<>(kafkaConfig(), producerConfig());
+
+        final Map<String, Object> alertConfig = kafkaProducerConfig.laneProducerConfig("alert");
+        assertEquals("0", alertConfig.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals("1", alertConfig.get(ProducerConfig.ACKS_CONFIG));
+        final Map<String, Object> bulkConfig = kafkaProducerConfig.laneProducerConfig("bulk");
+        assertEquals("zstd", bulkConfig.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+        assertEquals("all", bulkConfig.get(ProducerConfig.ACKS_CONFIG));
+        assertEquals(5, kafkaProducerConfig.producerConfig().get(ProducerConfig.LINGER_MS_CONFIG));
+    }
+
+    private static TwitterAvroModel tweet(final long userId, final String text) {
+        return TwitterAvroModel.newBuilder()
+                .setId(userId * 10)
+                .setUserId(userId)
+                .setText(text)
+                .setCreatedAt(System.currentTimeMillis())
+                .build();
+    }
+
+    private static PriorityLaneConfigData laneConfig() {
+        final Map<String, List<String>> rules = new LinkedHashMap<>();
+        rules.put("alert", List.of("text containsAny ['outage', 'incident']", "userId in [783214]"));
+        rules.put("spring", List.of("text contains 'Spring'"));
+        final PriorityLaneConfigData priorityLaneConfigData = new PriorityLaneConfigData();
+        priorityLaneConfigData.setEnabled(true);
+        priorityLaneConfigData.setDefaultLane("bulk");
+        priorityLaneConfigData.setRules(rules);
+        priorityLaneConfigData.setQueueCapacity(100);
+        return priorityLaneConfigData;
+    }
+
+    private static KafkaConfigData kafkaConfig() {
+        final KafkaConfigData kafkaConfigData = new KafkaConfigData();
+        kafkaConfigData.setBootstrapServers("localhost:9092");
+        kafkaConfigData.setSchemaRegistryUrlKey("schema.registry.url");
+        kafkaConfigData.setSchemaRegistryUrl("mock://priority-lane-test");
+        kafkaConfigData.setTopicName("twitter-topic");
+        return kafkaConfigData;
+    }
+
+    private static KafkaProducerConfigData producerConfig() {
+        final KafkaProducerConfigData producerConfigData = new KafkaProducerConfigData();
+        producerConfigData.setKeySerializerClass("org.apache.kafka.common.serialization.LongSerializer");
+        producerConfigData.setValueSerializerClass("io.confluent.kafka.serializers.KafkaAvroSerializer");
+        producerConfigData.setCompressionType("snappy");
+        producerConfigData.setAcks("all");
+        producerConfigData.setBatchSize(16384);
+        producerConfigData.setBatchSizeBoostFactor(100);
+        producerConfigData.setLingerMs(5);
+        producerConfigData.setRequestTimeoutMs(60000);
+        producerConfigData.setRetryCount(5);
+        producerConfigData.setLaneOverrides(Map.of(
+                "alert", Map.of("linger.ms", "0", "acks", "1", "compression.type", "none"),
+                "bulk", Map.of("linger.ms", "50", "batch.size", "1048576", "compression.type", "zstd")));
+        return producerConfigData;
+    }
+}
@@ -0,0 +1,132 @@
+package com.microservices.demo.config.twitter.to.kafka.service.listener;
+
+import com.microservices.demo.config.BulkTopicConfigData;
+import com.microservices.demo.config.EventTimeReorderConfigData;
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.config.KafkaProducerConfigData;
+import com.microservices.demo.config.NearDuplicateConfigData;
+import com.microservices.demo.config.PriorityLaneConfigData;
+import com.microservices.demo.config.TweetAggregationConfigData;
+import com.microservices.demo.config.TweetFilterConfigData;
+import com.microservices.demo.config.TwitterToKafkaServiceConfigData;
+import com.microservices.demo.config.twitter.to.kafka.service.aggregation.TweetAggregator;
+import com.microservices.demo.config.twitter.to.kafka.service.dedup.NearDuplicateDetector;
+import com.microservices.demo.config.twitter.to.kafka.service.exception.TwitterToKafkaServiceException;
+import com.microservices.demo.config.twitter.to.kafka.service.filter.TweetFilter;
+import com.microservices.demo.config.twitter.to.kafka.service.lane.PriorityLaneRouter;
+import com.microservices.demo.config.twitter.to.kafka.service.reorder.EventTimeReorderStage;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.producer.config.KafkaProducerConfig;
+import com.microservices.demo.kafka.producer.config.bulk.TweetBlockPacker;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TweetPipelineTest {
+
+    @Test
+    public void rejectsPriorityLanesWithEventTimeReorder() {
+        assertThrows(TwitterToKafkaServiceException.class,
+                () -> tweetPipeline(Optional.of(priorityLaneRouter()), Optional.of(eventTimeReorderStage()),
+                        Optional.empty()));
+    }
+
+    @Test
+    public void rejectsPriorityLanesWithBulkTopic() {
+        assertThrows(TwitterToKafkaServiceException.class,
+                () -> tweetPipeline(Optional.of(priorityLaneRouter()), Optional.empty(),
+                        Optional.of(tweetBlockPacker())));
+    }
+
+    @Test
+    public void rejectsEventTimeReorderWithBulkTopic() {
+        assertThrows(TwitterToKafkaServiceException.class,
+                () -> tweetPipeline(Optional.empty(), Optional.of(eventTimeReorderStage()),
+                        Optional.of(tweetBlockPacker())));
+    }
+
+    @Test
+    public void acceptsEachSendStageOnItsOwn() {
+        assertTrue(tweetPipeline(Optional.of(priorityLaneRouter()), Optional.empty(), Optional.empty())
+                .holdsTweetsAfterSend());
+        assertTrue(tweetPipeline(Optional.empty(), Optional.of(eventTimeReorderStage()), Optional.empty())
+                .holdsTweetsAfterSend());
+        assertTrue(tweetPipeline(Optional.empty(), Optional.empty(), Optional.of(tweetBlockPacker()))
+                .hasSendStage());
+    }
+
+    private static TweetPipeline tweetPipeline(final Optional<PriorityLaneRouter> priorityLaneRouter,
+                                               final Optional<EventTimeReorderStage> eventTimeReorderStage,
+                                               final Optional<TweetBlockPacker> tweetBlockPacker) {
+        final TweetFilterConfigData tweetFilterConfigData = new TweetFilterConfigData();
+        tweetFilterConfigData.setEnabled(false);
+        final NearDuplicateConfigData nearDuplicateConfigData = new NearDuplicateConfigData();
+        nearDuplicateConfigData.setEnabled(false);
+        final TweetAggregationConfigData tweetAggregationConfigData = new TweetAggregationConfigData();
+        tweetAggregationConfigData.setEnabled(false);
+        final TwitterToKafkaServiceConfigData configData = new TwitterToKafkaServiceConfigData();
+        configData.setTwitterKeywords(List.of("Java"));
+        return new TweetPipeline(kafkaConfig(), null, new TweetFilter(tweetFilterConfigData),
+                new NearDuplicateDetector(nearDuplicateConfigData),
+                new TweetAggregator(tweetAggregationConfigData, configData, null), Optional.empty(),
+                priorityLaneRouter, eventTimeReorderStage, Optional.empty(), tweetBlockPacker);
+    }
+
+    private static PriorityLaneRouter priorityLaneRouter() {
+        final PriorityLaneConfigData priorityLaneConfigData = new PriorityLaneConfigData();
+        priorityLaneConfigData.setEnabled(true);
+        priorityLaneConfigData.setDefaultLane("bulk");
+        priorityLaneConfigData.setRules(Map.of("alert", List.of("text contains 'outage'")));
+        priorityLaneConfigData.setQueueCapacity(100);
+        return new PriorityLaneRouter(priorityLaneConfigData, kafkaConfig(), kafkaProducerConfig());
+    }
+
+    private static EventTimeReorderStage eventTimeReorderStage() {
+        final EventTimeReorderConfigData eventTimeReorderConfigData = new EventTimeReorderConfigData();
+        eventTimeReorderConfigData.setEnabled(true);
+        eventTimeReorderConfigData.setMaxLatenessMs(100L);
+        eventTimeReorderConfigData.setMaxHoldMs(1000L);
+        eventTimeReorderConfigData.setMaxBufferedRecords(100);
+        eventTimeReorderConfigData.setShards(1);
+        eventTimeReorderConfigData.setLateRecordAction("send");
+        return new EventTimeReorderStage(eventTimeReorderConfigData, kafkaConfig(), null);
+    }
+
+    private static TweetBlockPacker tweetBlockPacker() {
+        final BulkTopicConfigData bulkTopicConfigData = new BulkTopicConfigData();
+        bulkTopicConfigData.setEnabled(true);
+        bulkTopicConfigData.setTopicName("twitter-bulk-topic");
+        bulkTopicConfigData.setMaxRecords(500);
+        bulkTopicConfigData.setMaxBytes(262144);
+        bulkTopicConfigData.setMaxDelayMs(50L);
+        return new TweetBlockPacker(bulkTopicConfigData, kafkaProducerConfig());
+    }
+
+    private static KafkaProducerConfig<Long, TwitterAvroModel> kafkaProducerConfig() {
+        final KafkaProducerConfigData producerConfigData = new KafkaProducerConfigData();
+        producerConfigData.setKeySerializerClass("org.apache.kafka.common.serialization.LongSerializer");
+        producerConfigData.setValueSerializerClass("io.confluent.kafka.serializers.KafkaAvroSerializer");
+        producerConfigData.setCompressionType("snappy");
+        producerConfigData.setAcks("all");
+        producerConfigData.setBatchSize(16384);
+        producerConfigData.setBatchSizeBoostFactor(100);
+        producerConfigData.setLingerMs(5);
+        producerConfigData.setRequestTimeoutMs(60000);
+        producerConfigData.setRetryCount(5);
+        producerConfigData.setLaneOverrides(Map.of());
+        return new KafkaProducerConfig<>(kafkaConfig(), producerConfigData);
+    }
+
+    private static KafkaConfigData kafkaConfig() {
+        final KafkaConfigData kafkaConfigData = new KafkaConfigData();
+        kafkaConfigData.setBootstrapServers("localhost:9092");
+        kafkaConfigData.setSchemaRegistryUrlKey("schema.registry.url");
+        kafkaConfigData.setSchemaRegistryUrl("mock://tweet-pipeline-test");
+        kafkaConfigData.setTopicName("twitter-topic");
+        return kafkaConfigData;
+    }
+}
@@ -0,0 +1,45 @@
+package com.microservices.demo.config.twitter.to.kafka.service.perftest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionPlannerTest {
+    private final PartitionPlanner planner = new PartitionPlanner();
+
+    @Test
+    public void picksSmallestPartitionCountReachingTargetForEveryRecordSize() {
+        final List<PerfTestResult> results = List.of(
+                result(1, 16384, 140, 20_000), result(1, 1048576, 140, 40_000), result(1, 1048576, 1024, 15_000),
+                result(3, 16384, 140, 50_000), result(3, 1048576, 140, 90_000), result(3, 1048576, 1024, 35_000),
+                result(6, 1048576, 140, 150_000), result(6, 1048576, 1024, 70_000));
+
+        final PartitionPlanner.PartitionPlan plan = planner.plan(results, 40_000L, 1.5);
+
+        assertEquals(6, plan.partitions());
+        assertFalse(plan.extrapolated());
+        assertEquals(60_000.0, plan.requiredRecordsPerSecond());
+        assertEquals(1024, plan.bestPerPartitionCount().get(3).recordSize());
+        assertEquals(1048576, plan.bestPerPartitionCount().get(1).batchSize());
+    }
+
+    @Test
+    public void extrapolatesFromLargestPartitionCount() {
+        final List<PerfTestResult> results = List.of(result(1, 16384, 140, 10_000), result(4, 16384, 140, 32_000));
+
+        final PartitionPlanner.PartitionPlan plan = planner.plan(results, 100_000L, 1.0);
+
+        assertEquals(13, plan.partitions());
+        assertTrue(plan.extrapolated());
+    }
+
+    private static PerfTestResult result(final int partitions,
+                                         final int batchSize,
+                                         final int recordSize,
+                                         final double recordsPerSecond) {
+        return new PerfTestResult(partitions, batchSize, 5, recordSize, 1000, 0, recordsPerSecond,
+                recordsPerSecond * recordSize / (1024.0 * 1024.0), 1.0, 5.0, 10.0, 20.0);
+    }
+}
@@ -0,0 +1,115 @@
+package com.microservices.demo.config.twitter.to.kafka.service.reorder;
+
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventTimeReorderBufferTest {
+    private static final long MS = 1_000_000L;
+    private final List<Long> emittedIds = new ArrayList<>();
+    private final List<Long> watermarks = new ArrayList<>();
+
+    @Test
+    public void emitsInEventTimeOrderOnceTheWatermarkPassed() {
+        final EventTimeReorderBuffer buffer = buffer(100L, 10_000L, 1000, false);
+        buffer.add(tweet(1L, 1000L), 0L);
+        buffer.add(tweet(2L, 960L), 0L);
+        buffer.add(tweet(3L, 1050L), 0L);
+        assertEquals(List.of(), emittedIds);
+
+        buffer.add(tweet(4L, 1120L), 0L);
+        assertEquals(List.of(2L, 1L), emittedIds);
+        assertEquals(List.of(1020L, 1020L), watermarks);
+
+        buffer.add(tweet(5L, 1300L), 0L);
+        assertEquals(List.of(2L, 1L, 3L, 4L), emittedIds);
+        assertEquals(1, buffer.size());
+    }
+
+    @Test
+    public void keepsArrivalOrderForEqualEventTimes() {
+        final EventTimeReorderBuffer buffer = buffer(0L, 10_000L, 1000, false);
+        buffer.add(tweet(1L, 500L), 0L);
+        buffer.add(tweet(2L, 500L), 0L);
+        buffer.flush(0L);
+
+        assertEquals(List.of(1L, 2L), emittedIds);
+    }
+
+    @Test
+    public void sendsOrDropsLateTweets() {
+        final EventTimeReorderBuffer sending = buffer(100L, 10_000L, 1000, false);
+        sending.add(tweet(1L, 1000L), 0L);
+        sending.add(tweet(2L, 800L), 0L);
+        assertEquals(List.of(2L), emittedIds);
+        assertEquals(1, sending.getLateCount());
+        assertEquals(0, sending.getDroppedCount());
+
+        emittedIds.clear();
+        final EventTimeReorderBuffer dropping = buffer(100L, 10_000L, 1000, true);
+        dropping.add(tweet(1L, 1000L), 0L);
+        dropping.add(tweet(2L, 800L), 0L);
+        assertEquals(List.of(), emittedIds);
+        assertEquals(1, dropping.getDroppedCount());
+    }
+
+    @Test
+    public void releasesOldestTweetWhenFull() {
+        final EventTimeReorderBuffer buffer = buffer(10_000L, 10_000L, 2, false);
+        buffer.add(tweet(1L, 300L), 0L);
+        buffer.add(tweet(2L, 100L), 0L);
+        buffer.add(tweet(3L, 200L), 0L);
+
+        assertEquals(List.of(2L), emittedIds);
+        assertEquals(100L, buffer.getWatermark());
+        assertEquals(1, buffer.getCapacityEmitCount());
+        assertEquals(2, buffer.size());
+    }
+
+    @Test
+    public void releasesTweetsHeldForTheMaximumHoldTime() {
+        final EventTimeReorderBuffer buffer = buffer(10_000L, 50L, 1000, false);
+        buffer.add(tweet(1L, 500L), 0L);
+        buffer.add(tweet(2L, 400L), 20 * MS);
+        buffer.add(tweet(3L, 600L), 40 * MS);
+
+        buffer.expire(49 * MS);
+        assertEquals(List.of(), emittedIds);
+        buffer.expire(50 * MS);
+        assertEquals(List.of(2L, 1L), emittedIds);
+        assertEquals(500L, buffer.getWatermark());
+        buffer.expire(90 * MS);
+        assertEquals(List.of(2L, 1L, 3L), emittedIds);
+        assertEquals(50 * MS, buffer.getMaxHoldNanos());
+    }
+
+    @Test
+    public void passesTweetsWithoutEventTimeThrough() {
+        final EventTimeReorderBuffer buffer = buffer(100L, 10_000L, 1000, false);
+        buffer.add(tweet(1L, null), 0L);
+
+        assertEquals(List.of(1L), emittedIds);
+        assertEquals(0, buffer.size());
+    }
+
+    private EventTimeReorderBuffer buffer(final long maxLatenessMs, final long maxHoldMs, final int maxRecords,
+                                          final boolean dropLate) {
+        return new EventTimeReorderBuffer(maxLatenessMs, maxHoldMs, maxRecords, dropLate, (model, watermark) -> {
+            emittedIds.add(model.getId());
+            watermarks.add(watermark);
+        });
+    }
+
+    private static TwitterAvroModel tweet(final long id, final Long createdAt) {
+        return TwitterAvroModel.newBuilder()
+                .setId(id)
+                .setUserId(id)
+                .setText("tweet " + id)
+                .setCreatedAt(createdAt)
+                .build();
+    }
+}
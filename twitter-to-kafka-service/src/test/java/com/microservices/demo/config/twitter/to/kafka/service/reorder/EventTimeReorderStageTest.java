@@ -0,0 +1,125 @@
+package com.microservices.demo.config.twitter.to.kafka.service.reorder;
+
+import com.microservices.demo.config.EventTimeReorderConfigData;
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.producer.config.service.KafkaProducer;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.utils.Utils;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventTimeReorderStageTest {
+    private static final String TOPIC = "reorder-test-topic";
+
+    @Test
+    public void mapsEveryPartitionToOneShard() {
+        for (long userId = 0; userId < 1000; userId++) {
+            final byte[] keyBytes = ByteBuffer.allocate(Long.BYTES).putLong(userId).array();
+            final int partition = Utils.toPositive(Utils.murmur2(keyBytes)) % 6;
+            assertEquals(partition % 3, EventTimeReorderStage.shardFor(userId, 3));
+        }
+    }
+
+    @Test
+    public void sendsTheTweetsOfEveryUserInOrderFromConcurrentAdds() throws InterruptedException {
+        final RecordingProducer producer = new RecordingProducer();
+        final EventTimeReorderStage stage = new EventTimeReorderStage(reorderConfig(4), kafkaConfig(), producer);
+        final int threads = 8;
+        final int tweetsPerThread = 2000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            final long userId = t;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < tweetsPerThread; i++) {
+                        stage.add(tweet(userId * tweetsPerThread + i, userId, 1000L + i));
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        stage.shutdown();
+
+        assertEquals(threads, producer.createdAtByUser.size());
+        for (final List<Long> createdAts : producer.createdAtByUser.values()) {
+            assertEquals(tweetsPerThread, createdAts.size());
+            for (int i = 1; i < createdAts.size(); i++) {
+                assertTrue(createdAts.get(i - 1) < createdAts.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void sendsTheShardWatermarkInTheHeader() {
+        final RecordingProducer producer = new RecordingProducer();
+        final EventTimeReorderStage stage = new EventTimeReorderStage(reorderConfig(1), kafkaConfig(), producer);
+        stage.add(tweet(1L, 1L, 1000L));
+        stage.add(tweet(2L, 2L, 1200L));
+
+        assertEquals(List.of(1100L), producer.watermarks);
+    }
+
+    private static EventTimeReorderConfigData reorderConfig(final int shards) {
+        final EventTimeReorderConfigData configData = new EventTimeReorderConfigData();
+        configData.setEnabled(true);
+        configData.setMaxLatenessMs(100L);
+        configData.setMaxHoldMs(10_000L);
+        configData.setMaxBufferedRecords(100_000);
+        configData.setShards(shards);
+        configData.setLateRecordAction("send");
+        return configData;
+    }
+
+    private static KafkaConfigData kafkaConfig() {
+        final KafkaConfigData configData = new KafkaConfigData();
+        configData.setTopicName(TOPIC);
+        return configData;
+    }
+
+    private static TwitterAvroModel tweet(final long id, final long userId, final long createdAt) {
+        return TwitterAvroModel.newBuilder()
+                .setId(id)
+                .setUserId(userId)
+                .setText("tweet " + id)
+                .setCreatedAt(createdAt)
+                .build();
+    }
+
+    private static final class RecordingProducer implements KafkaProducer<Long, TwitterAvroModel> {
+        private final Map<Long, List<Long>> createdAtByUser = new ConcurrentHashMap<>();
+        private final List<Long> watermarks = new ArrayList<>();
+
+        @Override
+        public void send(final String topicName, final Long key, final TwitterAvroModel message) {
+            send(topicName, key, message, List.of());
+        }
+
+        @Override
+        public synchronized void send(final String topicName, final Long key, final TwitterAvroModel message,
+                                      final List<Header> headers) {
+            assertEquals(TOPIC, topicName);
+            createdAtByUser.computeIfAbsent(key, userId -> new ArrayList<>()).add(message.getCreatedAt());
+            headers.stream()
+                    .filter(header -> EventTimeReorderStage.WATERMARK_HEADER.equals(header.key()))
+                    .forEach(header -> watermarks.add(ByteBuffer.wrap(header.value()).getLong()));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects acknowledgement latencies of one load step into a preallocated array.
+ */
+class AckLatencyRecorder {
+    private final long[] latenciesNanos;
+    private final AtomicInteger recorded = new AtomicInteger();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong lastAckNanos = new AtomicLong();
+
+    AckLatencyRecorder(final int capacity) {
+        this.latenciesNanos = new long[capacity];
+    }
+
+    void onAck(final long sentNanos) {
+        final long now = System.nanoTime();
+        final int index = recorded.getAndIncrement();
+        if (index < latenciesNanos.length) {
+            latenciesNanos[index] = now - sentNanos;
+        }
+        lastAckNanos.accumulateAndGet(now, Math::max);
+    }
+
+    void onFailure() {
+        failed.incrementAndGet();
+    }
+
+    boolean awaitAcks(final int expected, final long timeoutMs) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (recorded.get() + failed.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return recorded.get() + failed.get() >= expected;
+    }
+
+    int getAcked() {
+        return recorded.get();
+    }
+
+    long getFailed() {
+        return failed.get();
+    }
+
+    long getLastAckNanos() {
+        return lastAckNanos.get();
+    }
+
+    double getPercentileMs(final double percentile) {
+        final int count = Math.min(recorded.get(), latenciesNanos.length);
+        if (count == 0) {
+            return 0.0;
+        }
+        final long[] sorted = Arrays.copyOf(latenciesNanos, count);
+        Arrays.sort(sorted);
+        final int index = Math.min(count - 1, (int) Math.ceil(percentile / 100.0 * count) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,50 @@
+package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Machine readable result of the performance suite, written as a json array with one entry per load step.
+ */
+class PerformanceReport {
+    private final List<String> steps = new ArrayList<>();
+
+    void addStep(final String scenario,
+                 final int offeredPerSecond,
+                 final int sent,
+                 final AckLatencyRecorder recorder,
+                 final long startNanos,
+                 final long allocatedBytes) {
+        final double seconds = Math.max(1L, recorder.getLastAckNanos() - startNanos) / 1_000_000_000.0;
+        steps.add(String.format(Locale.ROOT, "{\"scenario\":\"%s\",\"offeredPerSecond\":%d,\"sent\":%d," +
+                        "\"acked\":%d,\"failed\":%d,\"sustainedPerSecond\":%.1f,\"p50AckMs\":%.3f," +
+                        "\"p99AckMs\":%.3f,\"p999AckMs\":%.3f,\"allocatedBytesPerRecord\":%d}",
+                scenario, offeredPerSecond, sent, recorder.getAcked(), recorder.getFailed(),
+                recorder.getAcked() / seconds, recorder.getPercentileMs(50), recorder.getPercentileMs(99),
+                recorder.getPercentileMs(99.9), sent == 0 ? 0 : allocatedBytes / sent));
+    }
+
+    void write(final Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, "[\n  " + String.join(",\n  ", steps) + "\n]\n", StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return bytes allocated so far by all live threads of the jvm
+     */
+    static long getAllocatedBytes() {
+        final com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0L;
+        for (final long allocated : threadMXBean.getThreadAllocatedBytes(threadMXBean.getAllThreadIds())) {
+            total += Math.max(0L, allocated);
+        }
+        return total;
+    }
+}
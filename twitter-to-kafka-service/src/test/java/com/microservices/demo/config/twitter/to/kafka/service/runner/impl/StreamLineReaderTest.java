@@ -0,0 +1,78 @@
+package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamLineReaderTest {
+
+    @Test
+    public void framesLinesWithoutTerminators() throws IOException {
+        assertEquals(List.of("first", "", "second", "third"), readLines("first\n\r\nsecond\r\nthird\n", 64, 64));
+    }
+
+    @Test
+    public void returnsTheLastLineWithoutTerminator() throws IOException {
+        assertEquals(List.of("first", "last"), readLines("first\nlast", 64, 64));
+        assertEquals(List.of(), readLines("", 64, 64));
+    }
+
+    @Test
+    public void carriesLinesOverChunkBoundaries() throws IOException {
+        final String text = "{\"id\":\"1\"}\r\n{\"id\":\"22\"}\n\n{\"id\":\"333\"}\r\n";
+        final List<String> expected = List.of("{\"id\":\"1\"}", "{\"id\":\"22\"}", "", "{\"id\":\"333\"}");
+        for (int readSize = 1; readSize <= 7; ++readSize) {
+            assertEquals(expected, readLines(text, 8, readSize), "Read size " + readSize);
+        }
+    }
+
+    @Test
+    public void growsTheChunkForLongLines() throws IOException {
+        final String longLine = "x".repeat(10_000);
+        assertEquals(List.of("short", longLine, "after"), readLines("short\n" + longLine + "\r\nafter\n", 16, 5));
+    }
+
+    @Test
+    public void keepsMultiByteCharactersIntact() throws IOException {
+        assertEquals(List.of("Java ☕ und Kafka 🚀", "ok"), readLines("Java ☕ und Kafka 🚀\nok\n", 4, 3));
+    }
+
+    private static List<String> readLines(final String text, final int chunkSize, final int readSize)
+            throws IOException {
+        final StreamLineReader reader =
+                new StreamLineReader(new SlowInputStream(text.getBytes(StandardCharsets.UTF_8), readSize), chunkSize);
+        final List<String> lines = new ArrayList<>();
+        byte[] line = reader.readLine();
+        while (line != null) {
+            lines.add(new String(line, StandardCharsets.UTF_8));
+            line = reader.readLine();
+        }
+        assertNull(reader.readLine());
+        return lines;
+    }
+
+    /**
+     * Hands out at most a few bytes per read, like a stream delivering partial network packets.
+     */
+    private static final class SlowInputStream extends FilterInputStream {
+        private final int readSize;
+
+        private SlowInputStream(final byte[] bytes, final int readSize) {
+            super(new ByteArrayInputStream(bytes));
+            this.readSize = readSize;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            return super.read(b, off, Math.min(len, readSize));
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
+
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.config.KafkaProducerConfigData;
+import com.microservices.demo.config.NearDuplicateConfigData;
+import com.microservices.demo.config.RetryConfigData;
+import com.microservices.demo.config.TweetAggregationConfigData;
+import com.microservices.demo.config.TweetFilterConfigData;
+import com.microservices.demo.config.TwitterToKafkaServiceConfigData;
+import com.microservices.demo.config.twitter.to.kafka.service.aggregation.TweetAggregator;
+import com.microservices.demo.config.twitter.to.kafka.service.dedup.NearDuplicateDetector;
+import com.microservices.demo.config.twitter.to.kafka.service.filter.TweetFilter;
+import com.microservices.demo.config.twitter.to.kafka.service.listener.TweetPipeline;
+import com.microservices.demo.config.twitter.to.kafka.service.listener.TwitterKafkaStatusListener;
+import com.microservices.demo.config.twitter.to.kafka.service.transformer.TwitterStatusToAvroTransformer;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.producer.config.KafkaProducerConfig;
+import com.microservices.demo.kafka.producer.config.service.KafkaProducer;
+import com.microservices.demo.kafka.producer.config.service.ReactiveKafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.kafka.sender.SenderRecord;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the producer path and the twitter v2 runners against an embedded three broker cluster at increasing
+ * offered load and writes sustained throughput, ack latency percentiles and allocation per record to
+ * target/performance-report.json. Run with: mvn test -Pperformance
+ * <p>
+ * The schema registry is replaced by the serializer's in memory mock registry. The v1 runner needs the real
+ * twitter api and the mock runner can not be stopped, so they are not part of the suite.
+ */
+@Tag("performance")
+@EmbeddedKafka(count = 3, partitions = 3, topics = StreamRunnerPerformanceTest.TOPIC_NAME,
+        brokerProperties = {"auto.create.topics.enable=false"})
+class StreamRunnerPerformanceTest {
+    static final String TOPIC_NAME = "twitter-topic";
+    private static final int[] OFFERED_LOADS = {1_000, 5_000, 20_000};
+    private static final int STEP_SECONDS = Integer.getInteger("performance.step-seconds", 5);
+    private static final long ACK_TIMEOUT_MS = 60_000L;
+    private static final Path REPORT_PATH = Path.of("target", "performance-report.json");
+    private static final PerformanceReport REPORT = new PerformanceReport();
+
+    private static StubTwitterV2Server server;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        server = new StubTwitterV2Server();
+    }
+
+    @AfterAll
+    static void writeReport() throws Exception {
+        server.close();
+        REPORT.write(REPORT_PATH);
+    }
+
+    @Test
+    public void producerPath(final EmbeddedKafkaBroker broker) throws Exception {
+        final KafkaTemplate<Long, TwitterAvroModel> kafkaTemplate = producerConfig(broker).kafkaTemplate();
+        for (final int offeredLoad : OFFERED_LOADS) {
+            final int count = offeredLoad * STEP_SECONDS;
+            final AckLatencyRecorder recorder = new AckLatencyRecorder(count);
+            final KafkaProducer<Long, TwitterAvroModel> producer = ackTrackingProducer(kafkaTemplate, recorder);
+            final long intervalNanos = 1_000_000_000L / offeredLoad;
+            final long allocatedBefore = PerformanceReport.getAllocatedBytes();
+            final long start = System.nanoTime();
+            for (int i = 0; i < count; ++i) {
+                while (System.nanoTime() < start + i * intervalNanos) {
+                    Thread.onSpinWait();
+                }
+                final TwitterAvroModel model = TwitterAvroModel.newBuilder()
+                        .setUserId(i % 1000)
+                        .setId(System.nanoTime())
+                        .setText("Java records make Kafka producers simple")
+                        .setCreatedAt(System.currentTimeMillis())
+                        .build();
+                producer.send(TOPIC_NAME, model.getUserId(), model);
+            }
+            assertTrue(recorder.awaitAcks(count, ACK_TIMEOUT_MS), "Not every record was acknowledged");
+            REPORT.addStep("producer", offeredLoad, count, recorder, start,
+                    PerformanceReport.getAllocatedBytes() - allocatedBefore);
+        }
+        kafkaTemplate.destroy();
+    }
+
+    @Test
+    public void twitterV2WorkerPoolRunner(final EmbeddedKafkaBroker broker) throws Exception {
+        final KafkaTemplate<Long, TwitterAvroModel> kafkaTemplate = producerConfig(broker).kafkaTemplate();
+        for (final int offeredLoad : OFFERED_LOADS) {
+            final int count = offeredLoad * STEP_SECONDS;
+            final AckLatencyRecorder recorder = new AckLatencyRecorder(count);
+            final TwitterToKafkaServiceConfigData configData = twitterConfig();
+            final TwitterV2StreamHelper streamHelper = new TwitterV2StreamHelper(configData,
+                    statusListener(configData, ackTrackingProducer(kafkaTemplate, recorder)));
+            final TwitterV2KafkaStreamRunner runner = new TwitterV2KafkaStreamRunner(configData, streamHelper);
+            server.setLoad(count, offeredLoad);
+
+            final long allocatedBefore = PerformanceReport.getAllocatedBytes();
+            final long start = System.nanoTime();
+            runner.start();
+            assertTrue(recorder.awaitAcks(count, ACK_TIMEOUT_MS), "Not every tweet was acknowledged");
+            REPORT.addStep("twitter-v2-worker-pool", offeredLoad, count, recorder, start,
+                    PerformanceReport.getAllocatedBytes() - allocatedBefore);
+            streamHelper.shutdown();
+        }
+        kafkaTemplate.destroy();
+    }
+
+    @Test
+    public void twitterV2ReactiveRunner(final EmbeddedKafkaBroker broker) throws Exception {
+        final ReactiveKafkaProducerTemplate<Long, TwitterAvroModel> reactiveTemplate =
+                producerConfig(broker).reactiveKafkaProducerTemplate();
+        final TwitterStatusToAvroTransformer transformer = new TwitterStatusToAvroTransformer();
+        for (final int offeredLoad : OFFERED_LOADS) {
+            final int count = offeredLoad * STEP_SECONDS;
+            final AckLatencyRecorder recorder = new AckLatencyRecorder(count);
+            final TwitterToKafkaServiceConfigData configData = twitterConfig();
+            final TwitterV2StreamHelper streamHelper = new TwitterV2StreamHelper(configData, null);
+            final TwitterV2ReactiveKafkaStreamRunner runner = new TwitterV2ReactiveKafkaStreamRunner(configData,
+                    kafkaConfig(broker), retryConfig(), streamHelper, transformer, tweetPipeline(configData, null),
+                    ackTrackingReactiveProducer(reactiveTemplate, recorder),
+                    WebClient.create());
+            server.setLoad(count, offeredLoad);
+
+            final long allocatedBefore = PerformanceReport.getAllocatedBytes();
+            final long start = System.nanoTime();
+            runner.start();
+            assertTrue(recorder.awaitAcks(count, ACK_TIMEOUT_MS), "Not every tweet was acknowledged");
+            REPORT.addStep("twitter-v2-reactive", offeredLoad, count, recorder, start,
+                    PerformanceReport.getAllocatedBytes() - allocatedBefore);
+            runner.shutdown();
+        }
+        reactiveTemplate.close();
+    }
+
+    private static KafkaProducer<Long, TwitterAvroModel> ackTrackingProducer(
+            final KafkaTemplate<Long, TwitterAvroModel> kafkaTemplate, final AckLatencyRecorder recorder) {
+        return (topicName, key, message) -> {
+            final long sentNanos = message.getId();
+            kafkaTemplate.send(topicName, key, message).whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    recorder.onFailure();
+                } else {
+                    recorder.onAck(sentNanos);
+                }
+            });
+        };
+    }
+
+    private static ReactiveKafkaProducer<Long, TwitterAvroModel> ackTrackingReactiveProducer(
+            final ReactiveKafkaProducerTemplate<Long, TwitterAvroModel> reactiveTemplate,
+            final AckLatencyRecorder recorder) {
+        return new ReactiveKafkaProducer<>() {
+            @Override
+            public Flux<RecordMetadata> send(final String topicName,
+                                             final Function<TwitterAvroModel, Long> keyMapper,
+                                             final Flux<TwitterAvroModel> messages) {
+                return reactiveTemplate.send(messages.map(message -> SenderRecord.create(
+                                new ProducerRecord<>(topicName, keyMapper.apply(message), message), message.getId())))
+                        .doOnNext(result -> {
+                            if (result.exception() != null) {
+                                recorder.onFailure();
+                            } else {
+                                recorder.onAck(result.correlationMetadata());
+                            }
+                        })
+                        .map(result -> result.recordMetadata());
+            }
+        };
+    }
+
+    private static TwitterKafkaStatusListener statusListener(final TwitterToKafkaServiceConfigData configData,
+                                                             final KafkaProducer<Long, TwitterAvroModel> producer) {
+        final KafkaConfigData kafkaConfigData = new KafkaConfigData();
+        kafkaConfigData.setTopicName(TOPIC_NAME);
+        return new TwitterKafkaStatusListener(kafkaConfigData, configData, new TwitterStatusToAvroTransformer(),
+                tweetPipeline(configData, producer));
+    }
+
+    private static TweetPipeline tweetPipeline(final TwitterToKafkaServiceConfigData configData,
+                                               final KafkaProducer<Long, TwitterAvroModel> producer) {
+        final KafkaConfigData kafkaConfigData = new KafkaConfigData();
+        kafkaConfigData.setTopicName(TOPIC_NAME);
+        return new TweetPipeline(kafkaConfigData, producer, tweetFilter(), nearDuplicateDetector(),
+                tweetAggregator(configData), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(),
+                Optional.empty());
+    }
+
+    private static RetryConfigData retryConfig() {
+        final RetryConfigData retryConfigData = new RetryConfigData();
+        retryConfigData.setInitialIntervalMs(1000L);
+        retryConfigData.setMaxIntervalMs(10000L);
+        return retryConfigData;
+    }
+
+    private static TweetFilter tweetFilter() {
+        final TweetFilterConfigData tweetFilterConfigData = new TweetFilterConfigData();
+        tweetFilterConfigData.setEnabled(false);
+        return new TweetFilter(tweetFilterConfigData);
+    }
+
+    private static NearDuplicateDetector nearDuplicateDetector() {
+        final NearDuplicateConfigData nearDuplicateConfigData = new NearDuplicateConfigData();
+        nearDuplicateConfigData.setEnabled(false);
+        return new NearDuplicateDetector(nearDuplicateConfigData);
+    }
+
+    private static TweetAggregator tweetAggregator(final TwitterToKafkaServiceConfigData configData) {
+        final TweetAggregationConfigData tweetAggregationConfigData = new TweetAggregationConfigData();
+        tweetAggregationConfigData.setEnabled(false);
+        return new TweetAggregator(tweetAggregationConfigData, configData, null);
+    }
+
+    private static TwitterToKafkaServiceConfigData twitterConfig() {
+        final TwitterToKafkaServiceConfigData configData = new TwitterToKafkaServiceConfigData();
+        configData.setTwitterKeywords(List.of("Java", "Microservice", "Spring", "Kafka", "Elasticsearch"));
+        configData.setTwitterV2BaseUrl(server.getStreamUrl());
+        configData.setTwitterV2RulesBaseUrl(server.getRulesUrl());
+        configData.setTwitterV2BearerToken("performance-test");
+        configData.setTwitterV2WorkerThreads(4);
+        configData.setTwitterV2WorkerQueueCapacity(1000);
+        configData.setTwitterV2ReactiveParseThreads(4);
+        configData.setTwitterV2ReactivePrefetch(256);
+        configData.setEnableAvroModelRecycling(false);
+        return configData;
+    }
+
+    private static KafkaConfigData kafkaConfig(final EmbeddedKafkaBroker broker) {
+        final KafkaConfigData kafkaConfigData = new KafkaConfigData();
+        kafkaConfigData.setBootstrapServers(broker.getBrokersAsString());
+        kafkaConfigData.setSchemaRegistryUrlKey("schema.registry.url");
+        kafkaConfigData.setSchemaRegistryUrl("mock://performance-test");
+        kafkaConfigData.setTopicName(TOPIC_NAME);
+        return kafkaConfigData;
+    }
+
+    //Same settings as application.yml, so the suite measures the producer as it is tuned for production.
+    private static KafkaProducerConfig<Long, TwitterAvroModel> producerConfig(final EmbeddedKafkaBroker broker) {
+        final KafkaProducerConfigData producerConfigData = new KafkaProducerConfigData();
+        producerConfigData.setKeySerializerClass("org.apache.kafka.common.serialization.LongSerializer");
+        producerConfigData.setValueSerializerClass("io.confluent.kafka.serializers.KafkaAvroSerializer");
+        producerConfigData.setCompressionType("snappy");
+        producerConfigData.setAcks("all");
+        producerConfigData.setBatchSize(16384);
+        producerConfigData.setBatchSizeBoostFactor(100);
+        producerConfigData.setLingerMs(5);
+        producerConfigData.setRequestTimeoutMs(60000);
+        producerConfigData.setRetryCount(5);
+        producerConfigData.setReactiveMaxInFlight(1024);
+        return new KafkaProducerConfig<>(kafkaConfig(broker), producerConfigData);
+    }
+}
@@ -0,0 +1,81 @@
+package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedWorkerPoolTest {
+    private final Map<String, List<String>> linesByThread = new ConcurrentHashMap<>();
+
+    @Test
+    public void keepsReadOrderOfEveryAuthorOnOneWorker() throws Exception {
+        final CountDownLatch handled = new CountDownLatch(400);
+        final StripedWorkerPool<byte[]> pool = pool(4, handled);
+        try {
+            for (int i = 0; i < 100; ++i) {
+                for (long author = 1L; author <= 4L; ++author) {
+                    pool.submit(author, line(author + ":" + i));
+                }
+            }
+            assertTrue(handled.await(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdown();
+        }
+
+        for (long author = 1L; author <= 4L; ++author) {
+            final String prefix = author + ":";
+            final List<String> workers = linesByThread.entrySet().stream()
+                    .filter(entry -> entry.getValue().stream().anyMatch(line -> line.startsWith(prefix)))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            assertEquals(1, workers.size());
+            final List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 100; ++i) {
+                expected.add(prefix + i);
+            }
+            assertEquals(expected, linesByThread.get(workers.get(0)).stream()
+                    .filter(line -> line.startsWith(prefix)).toList());
+        }
+    }
+
+    @Test
+    public void spreadsLinesWithoutAuthorOverAllWorkers() throws Exception {
+        final CountDownLatch handled = new CountDownLatch(8);
+        final StripedWorkerPool<byte[]> pool = pool(4, handled);
+        try {
+            for (int i = 0; i < 8; ++i) {
+                pool.submit(line("no-author:" + i));
+            }
+            assertTrue(handled.await(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(4, linesByThread.size());
+        final Set<Integer> sizes = new HashSet<>();
+        linesByThread.values().forEach(lines -> sizes.add(lines.size()));
+        assertEquals(Set.of(2), sizes);
+    }
+
+    private StripedWorkerPool<byte[]> pool(final int workers, final CountDownLatch handled) {
+        return new StripedWorkerPool<>("test", workers, 1000, line -> {
+            linesByThread.computeIfAbsent(Thread.currentThread().getName(), name -> new ArrayList<>())
+                    .add(new String(line, StandardCharsets.UTF_8));
+            handled.countDown();
+        });
+    }
+
+    private static byte[] line(final String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,104 @@
+package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Local stand-in for the twitter v2 filtered stream and rules endpoints. Every stream request gets the configured
+ * number of tweets written at the configured rate, then the stream ends. Tweet ids are the System.nanoTime() of
+ * the write, so acknowledgement latency can be computed from the id.
+ */
+class StubTwitterV2Server implements AutoCloseable {
+    private static final String STREAM_PATH = "/2/tweets/search/stream";
+    private static final String RULES_PATH = "/2/tweets/search/stream/rules";
+    private static final String TWEET = "{\"data\":{\"id\":\"%d\",\"created_at\":\"2023-04-01T10:15:30.000Z\"," +
+            "\"author_id\":\"%d\",\"text\":\"%s\"}}\n";
+    private static final String[] TEXTS = {
+            "Java records make Kafka producers simple",
+            "Spring Boot microservice with Kafka and Elasticsearch",
+            "Benchmarking the Kafka producer with different linger settings",
+            "Why Microservice teams love Spring"
+    };
+    private final HttpServer server;
+    private volatile int tweetCount;
+    private volatile int tweetsPerSecond;
+    private volatile int malformedEvery;
+
+    StubTwitterV2Server() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext(STREAM_PATH, this::stream);
+        server.createContext(RULES_PATH, this::rules);
+        server.start();
+    }
+
+    void setLoad(final int tweetCount, final int tweetsPerSecond) {
+        this.tweetCount = tweetCount;
+        this.tweetsPerSecond = tweetsPerSecond;
+    }
+
+    /**
+     * Writes a line that is not json before every n-th tweet, 0 for none.
+     */
+    void setMalformedEvery(final int malformedEvery) {
+        this.malformedEvery = malformedEvery;
+    }
+
+    String getStreamUrl() {
+        return getBaseUrl() + STREAM_PATH + "?tweet.fields=created_at,author_id";
+    }
+
+    String getRulesUrl() {
+        return getBaseUrl() + RULES_PATH;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private void stream(final HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, 0);
+        final long intervalNanos = 1_000_000_000L / tweetsPerSecond;
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            final long start = System.nanoTime();
+            for (int i = 0; i < tweetCount; ++i) {
+                final long due = start + i * intervalNanos;
+                long now = System.nanoTime();
+                if (now < due) {
+                    LockSupport.parkNanos(due - now);
+                    now = System.nanoTime();
+                }
+                if (malformedEvery > 0 && i % malformedEvery == 0) {
+                    outputStream.write("{not json\n".getBytes(StandardCharsets.UTF_8));
+                }
+                outputStream.write(String.format(TWEET, now, i % 1000, TEXTS[i % TEXTS.length])
+                        .getBytes(StandardCharsets.UTF_8));
+                if (i % 64 == 0) {
+                    outputStream.flush();
+                }
+            }
+        }
+    }
+
+    private void rules(final HttpExchange exchange) throws IOException {
+        final byte[] body = "{\"meta\":{\"sent\":\"2023-04-01T10:15:30.000Z\"}}".getBytes(StandardCharsets.UTF_8);
+        exchange.getRequestBody().readAllBytes();
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+}
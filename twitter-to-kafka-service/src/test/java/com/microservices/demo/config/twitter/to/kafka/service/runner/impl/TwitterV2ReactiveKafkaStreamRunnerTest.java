@@ -0,0 +1,93 @@
+package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
+
+import com.microservices.demo.config.KafkaConfigData;
+import com.microservices.demo.config.NearDuplicateConfigData;
+import com.microservices.demo.config.RetryConfigData;
+import com.microservices.demo.config.TweetAggregationConfigData;
+import com.microservices.demo.config.TweetFilterConfigData;
+import com.microservices.demo.config.TwitterToKafkaServiceConfigData;
+import com.microservices.demo.config.twitter.to.kafka.service.aggregation.TweetAggregator;
+import com.microservices.demo.config.twitter.to.kafka.service.dedup.NearDuplicateDetector;
+import com.microservices.demo.config.twitter.to.kafka.service.filter.TweetFilter;
+import com.microservices.demo.config.twitter.to.kafka.service.listener.TweetPipeline;
+import com.microservices.demo.config.twitter.to.kafka.service.transformer.TwitterStatusToAvroTransformer;
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import com.microservices.demo.kafka.producer.config.service.ReactiveKafkaProducer;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwitterV2ReactiveKafkaStreamRunnerTest {
+
+    @Test
+    public void skipsMalformedLinesAndReconnectsWhenTheStreamEnds() throws Exception {
+        final AtomicInteger sent = new AtomicInteger();
+        final CountDownLatch reconnected = new CountDownLatch(25);
+        final ReactiveKafkaProducer<Long, TwitterAvroModel> producer = (topicName, keyMapper, messages) ->
+                messages.doOnNext(message -> {
+                    sent.incrementAndGet();
+                    reconnected.countDown();
+                }).thenMany(Flux.empty());
+        try (StubTwitterV2Server server = new StubTwitterV2Server()) {
+            server.setLoad(10, 1000);
+            server.setMalformedEvery(3);
+            final TwitterToKafkaServiceConfigData configData = twitterConfig(server);
+            final TwitterV2ReactiveKafkaStreamRunner runner = new TwitterV2ReactiveKafkaStreamRunner(configData,
+                    kafkaConfig(), retryConfig(), new TwitterV2StreamHelper(configData, null),
+                    new TwitterStatusToAvroTransformer(), tweetPipeline(configData), producer, WebClient.create());
+            runner.start();
+            try {
+                //Each connection sends 10 tweets, 25 tweets need the third connection.
+                assertTrue(reconnected.await(10, TimeUnit.SECONDS), "Only " + sent.get() + " tweet(s) sent");
+            } finally {
+                runner.shutdown();
+            }
+        }
+    }
+
+    private static TweetPipeline tweetPipeline(final TwitterToKafkaServiceConfigData configData) {
+        final TweetFilterConfigData tweetFilterConfigData = new TweetFilterConfigData();
+        tweetFilterConfigData.setEnabled(false);
+        final NearDuplicateConfigData nearDuplicateConfigData = new NearDuplicateConfigData();
+        nearDuplicateConfigData.setEnabled(false);
+        final TweetAggregationConfigData tweetAggregationConfigData = new TweetAggregationConfigData();
+        tweetAggregationConfigData.setEnabled(false);
+        return new TweetPipeline(kafkaConfig(), null, new TweetFilter(tweetFilterConfigData),
+                new NearDuplicateDetector(nearDuplicateConfigData),
+                new TweetAggregator(tweetAggregationConfigData, configData, null), Optional.empty(),
+                Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty());
+    }
+
+    private static TwitterToKafkaServiceConfigData twitterConfig(final StubTwitterV2Server server) {
+        final TwitterToKafkaServiceConfigData configData = new TwitterToKafkaServiceConfigData();
+        configData.setTwitterKeywords(List.of("Java"));
+        configData.setTwitterV2BaseUrl(server.getStreamUrl());
+        configData.setTwitterV2RulesBaseUrl(server.getRulesUrl());
+        configData.setTwitterV2BearerToken("test");
+        configData.setTwitterV2ReactiveParseThreads(2);
+        configData.setTwitterV2ReactivePrefetch(16);
+        configData.setEnableAvroModelRecycling(false);
+        return configData;
+    }
+
+    private static KafkaConfigData kafkaConfig() {
+        final KafkaConfigData kafkaConfigData = new KafkaConfigData();
+        kafkaConfigData.setTopicName("twitter-topic");
+        return kafkaConfigData;
+    }
+
+    private static RetryConfigData retryConfig() {
+        final RetryConfigData retryConfigData = new RetryConfigData();
+        retryConfigData.setInitialIntervalMs(50L);
+        retryConfigData.setMaxIntervalMs(200L);
+        return retryConfigData;
+    }
+}
@@ -0,0 +1,25 @@
+package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
+
+import com.microservices.demo.config.TwitterToKafkaServiceConfigData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwitterV2StreamHelperTest {
+
+    @Test
+    public void buildsRulesFromChangedKeywords() {
+        final TwitterToKafkaServiceConfigData configData = new TwitterToKafkaServiceConfigData();
+        configData.setTwitterKeywords(List.of("Java"));
+        final TwitterV2StreamHelper streamHelper = new TwitterV2StreamHelper(configData, null);
+        assertEquals(Map.of("Java", "Keyword: Java"), streamHelper.getKeywordRules());
+
+        streamHelper.onKeywordsChanged(List.of("Kafka", "Spring"));
+
+        assertEquals(Map.of("Kafka", "Keyword: Kafka", "Spring", "Keyword: Spring"), streamHelper.getKeywordRules());
+        assertEquals(List.of("Java"), configData.getTwitterKeywords());
+    }
+}
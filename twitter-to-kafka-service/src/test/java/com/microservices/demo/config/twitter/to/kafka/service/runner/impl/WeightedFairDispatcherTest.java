@@ -0,0 +1,51 @@
+package com.microservices.demo.config.twitter.to.kafka.service.runner.impl;
+
+import org.junit.jupiter.api.Test;
+import twitter4j.TwitterException;
+import twitter4j.TwitterObjectFactory;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightedFairDispatcherTest {
+
+    @Test
+    public void sharesDispatchesByWeightWhileSourcesAreBusy() throws Exception {
+        final Semaphore pending = new Semaphore(0);
+        final SourceQueue firehose = new SourceQueue("firehose", 3, 100, pending);
+        final SourceQueue backfill = new SourceQueue("backfill", 1, 100, pending);
+        fill(firehose, 1L, 80);
+        fill(backfill, 2L, 80);
+
+        final WeightedFairDispatcher dispatcher = new WeightedFairDispatcher(List.of(firehose, backfill), pending);
+        for (int i = 0; i < 40; ++i) {
+            dispatcher.take();
+        }
+        assertEquals(30, firehose.getDispatchedCount());
+        assertEquals(10, backfill.getDispatchedCount());
+    }
+
+    @Test
+    public void idleSourceDoesNotHoldBackOthers() throws Exception {
+        final Semaphore pending = new Semaphore(0);
+        final SourceQueue idle = new SourceQueue("idle", 10, 100, pending);
+        final SourceQueue busy = new SourceQueue("busy", 1, 100, pending);
+        fill(busy, 2L, 5);
+
+        final WeightedFairDispatcher dispatcher = new WeightedFairDispatcher(List.of(idle, busy), pending);
+        for (int i = 0; i < 5; ++i) {
+            assertEquals(2L, dispatcher.take().getUser().getId());
+        }
+        fill(idle, 1L, 1);
+        assertEquals(1L, dispatcher.take().getUser().getId());
+    }
+
+    private static void fill(final SourceQueue source, final long userId, final int count) throws TwitterException {
+        for (int i = 0; i < count; ++i) {
+            source.onStatus(TwitterObjectFactory.createStatus(
+                    "{\"id\": " + i + ", \"text\": \"tweet\", \"user\": {\"id\": " + userId + "}}"));
+        }
+    }
+}
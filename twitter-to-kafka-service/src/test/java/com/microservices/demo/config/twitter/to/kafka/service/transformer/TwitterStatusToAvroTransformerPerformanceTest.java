@@ -0,0 +1,95 @@
+package com.microservices.demo.config.twitter.to.kafka.service.transformer;
+
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import twitter4j.Status;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Nanoseconds and allocated bytes per tweet of transforming and serializing with a new model per tweet against the
+ * recycled per thread model. Statuses are parsed up front, so only the transform and the serialization are measured.
+ * Run with: mvn test -Pperformance
+ */
+@Tag("performance")
+class TwitterStatusToAvroTransformerPerformanceTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TwitterStatusToAvroTransformerPerformanceTest.class);
+    private static final int TWEET_COUNT = 100_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+    private final SpecificDatumWriter<TwitterAvroModel> writer = new SpecificDatumWriter<>(TwitterAvroModel.class);
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream(1024);
+    private BinaryEncoder encoder;
+
+    @Test
+    public void newModelAgainstRecycledModel() throws Exception {
+        final List<Status> statuses = createStatuses();
+        final TwitterStatusToAvroTransformer transformer = new TwitterStatusToAvroTransformer();
+
+        long newBytes = 0L;
+        long recycledBytes = 0L;
+        for (int round = 0; round < WARMUP_ROUNDS; ++round) {
+            newBytes = run(statuses, transformer::getTwitterAvroModelFromStatus);
+            recycledBytes = run(statuses, transformer::getReusableTwitterAvroModelFromStatus);
+        }
+        assertEquals(newBytes, recycledBytes, "New and recycled models serialized differently");
+
+        final long newAllocated = measure("new model", statuses, transformer::getTwitterAvroModelFromStatus);
+        final long recycledAllocated = measure("recycled model", statuses,
+                transformer::getReusableTwitterAvroModelFromStatus);
+        assertTrue(recycledAllocated < newAllocated, "Recycling did not reduce allocation");
+    }
+
+    private long measure(final String name, final List<Status> statuses,
+                         final Function<Status, TwitterAvroModel> transform) throws IOException {
+        final com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+        final long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        final long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; ++round) {
+            run(statuses, transform);
+        }
+        final long elapsedNanos = System.nanoTime() - start;
+        final long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        final long tweets = (long) statuses.size() * MEASURED_ROUNDS;
+        LOGGER.info("{}: {} ns/tweet, {} bytes allocated/tweet", name, elapsedNanos / tweets, allocated / tweets);
+        return allocated;
+    }
+
+    //Serializes into one reused buffer, like the producer serializes a record before send returns.
+    private long run(final List<Status> statuses, final Function<Status, TwitterAvroModel> transform)
+            throws IOException {
+        long bytes = 0L;
+        for (final Status status : statuses) {
+            output.reset();
+            encoder = EncoderFactory.get().binaryEncoder(output, encoder);
+            writer.write(transform.apply(status), encoder);
+            encoder.flush();
+            bytes += output.size();
+        }
+        return bytes;
+    }
+
+    private static List<Status> createStatuses() throws Exception {
+        final List<Status> statuses = new ArrayList<>(TWEET_COUNT);
+        for (int i = 0; i < TWEET_COUNT; ++i) {
+            statuses.add(TwitterStatusToAvroTransformerTest.status(i, i % 1000,
+                    "Kafka producer tuning #java #kafka with @user_" + i % 100 + " https://example.com/" + i));
+        }
+        return statuses;
+    }
+}
@@ -0,0 +1,62 @@
+package com.microservices.demo.config.twitter.to.kafka.service.transformer;
+
+import com.microservices.demo.kafka.avro.model.TwitterAvroModel;
+import org.junit.jupiter.api.Test;
+import twitter4j.Status;
+import twitter4j.TwitterException;
+import twitter4j.TwitterObjectFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwitterStatusToAvroTransformerTest {
+    private final TwitterStatusToAvroTransformer transformer = new TwitterStatusToAvroTransformer();
+
+    @Test
+    public void resetsEveryFieldOfTheReusedModel() throws Exception {
+        final TwitterAvroModel first = transformer.getReusableTwitterAvroModelFromStatus(
+                status(1L, 10L, "#java with @spring at https://example.com/kafka"));
+        first.setNearDuplicate(true);
+        first.setFollowerTier(3);
+        first.setRegion("eu");
+        first.setBotScore(0.9f);
+
+        final TwitterAvroModel second = transformer.getReusableTwitterAvroModelFromStatus(
+                status(2L, 20L, "plain tweet"));
+
+        assertSame(first, second);
+        final TwitterAvroModel expected = transformer.getTwitterAvroModelFromStatus(status(2L, 20L, "plain tweet"));
+        assertEquals(expected, second);
+        assertFalse(second.getNearDuplicate());
+        assertEquals(List.of(), second.getHashtags());
+        assertEquals(List.of(), second.getMentions());
+        assertEquals(List.of(), second.getUrls());
+        assertNull(second.getFollowerTier());
+        assertNull(second.getRegion());
+        assertNull(second.getBotScore());
+    }
+
+    @Test
+    public void reusesModelOnlyWithinOneThread() throws Exception {
+        final TwitterAvroModel mine = transformer.getReusableTwitterAvroModelFromStatus(status(1L, 10L, "tweet"));
+        final TwitterAvroModel[] other = new TwitterAvroModel[1];
+        final Thread thread = new Thread(() -> {
+            try {
+                other[0] = transformer.getReusableTwitterAvroModelFromStatus(status(2L, 20L, "tweet"));
+            } catch (final TwitterException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertNotSame(mine, other[0]);
+        assertEquals(1L, mine.getId());
+    }
+
+    static Status status(final long id, final long userId, final String text) throws TwitterException {
+        return TwitterObjectFactory.createStatus("{\"id\": " + id + ", \"text\": \"" + text + "\", " +
+                "\"created_at\": \"Sat Apr 01 10:15:30 +0000 2023\", \"user\": {\"id\": " + userId + "}}");
+    }
+}
@@ -0,0 +1,116 @@
+package com.microservices.demo.config.twitter.to.kafka.service.workload;
+
+import com.microservices.demo.config.TwitterToKafkaServiceConfigData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MockWorkloadTest {
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    public void aliasTableSamplesProportionalToWeights() {
+        final AliasTable aliasTable = new AliasTable(new double[]{1.0, 0.0, 3.0, 6.0});
+        final Random random = new Random(42L);
+        final int[] counts = new int[aliasTable.size()];
+        for (int i = 0; i < SAMPLES; ++i) {
+            ++counts[aliasTable.sample(random)];
+        }
+        assertEquals(0.1, (double) counts[0] / SAMPLES, 0.01);
+        assertEquals(0, counts[1]);
+        assertEquals(0.3, (double) counts[2] / SAMPLES, 0.01);
+        assertEquals(0.6, (double) counts[3] / SAMPLES, 0.01);
+    }
+
+    @Test
+    public void zipfUsersAreSkewedOverFixedPopulation() {
+        final TwitterToKafkaServiceConfigData configData = configData();
+        configData.setMockUserPopulation(10_000);
+        configData.setMockUserZipfExponent(1.1);
+        final MockWorkload workload = new MockWorkload(configData, List.of("Java"));
+        final Random random = new Random(42L);
+        long hottestUserTweets = 0L;
+        final long hottestUserId = 1_000_000L;
+        for (int i = 0; i < SAMPLES; ++i) {
+            final long userId = workload.nextUserId(random);
+            assertTrue(userId >= hottestUserId && userId < hottestUserId + 10_000, "User outside population");
+            if (userId == hottestUserId) {
+                ++hottestUserTweets;
+            }
+        }
+        //1 / H(10000, 1.1), about 15% of all tweets for the top user.
+        assertEquals(0.15, (double) hottestUserTweets / SAMPLES, 0.02);
+    }
+
+    @Test
+    public void keywordsFollowWeightsAndSurviveRefresh() {
+        final TwitterToKafkaServiceConfigData configData = configData();
+        configData.setMockKeywordWeights(Map.of("Java", 3.0));
+        final MockWorkload workload = new MockWorkload(configData, List.of("Java", "Kafka"));
+        final Random random = new Random(42L);
+        int java = 0;
+        for (int i = 0; i < SAMPLES; ++i) {
+            if ("Java".equals(workload.nextKeyword(random))) {
+                ++java;
+            }
+        }
+        assertEquals(0.75, (double) java / SAMPLES, 0.01);
+
+        workload.setKeywords(List.of());
+        assertNull(workload.nextKeyword(random));
+        workload.setKeywords(List.of("Spring"));
+        assertEquals("Spring", workload.nextKeyword(random));
+    }
+
+    @Test
+    public void tweetLengthsStayInRange() {
+        final TwitterToKafkaServiceConfigData configData = configData();
+        configData.setMockTweetLengthMedian(9.0);
+        configData.setMockTweetLengthSigma(0.4);
+        final MockWorkload workload = new MockWorkload(configData, List.of("Java"));
+        final Random random = new Random(42L);
+        final int[] counts = new int[16];
+        for (int i = 0; i < SAMPLES; ++i) {
+            ++counts[workload.nextTweetLength(random)];
+        }
+        for (int length = 0; length < 5; ++length) {
+            assertEquals(0, counts[length]);
+        }
+        assertTrue(counts[8] > counts[5] && counts[8] > counts[15], "Lengths should peak near the median");
+    }
+
+    @Test
+    public void rateSchedules() {
+        final TwitterToKafkaServiceConfigData configData = configData();
+        configData.setMockRatePeriodMs(1000L);
+        configData.setMockRateAmplitude(0.5);
+        configData.setMockRateSpikeFactor(10.0);
+        configData.setMockRateSpikeDurationMs(100L);
+
+        assertEquals(1.0, RateSchedule.create(configData).getRateFactor(123L));
+        configData.setMockRateSchedule("diurnal");
+        assertEquals(1.5, RateSchedule.create(configData).getRateFactor(250L), 1e-9);
+        assertEquals(0.5, RateSchedule.create(configData).getRateFactor(750L), 1e-9);
+        configData.setMockRateSchedule("step");
+        assertEquals(10.0, RateSchedule.create(configData).getRateFactor(1050L));
+        assertEquals(1.0, RateSchedule.create(configData).getRateFactor(1150L));
+        configData.setMockRateSchedule("flash-crowd");
+        assertEquals(10.0, RateSchedule.create(configData).getRateFactor(2000L), 1e-9);
+        assertEquals(5.5, RateSchedule.create(configData).getRateFactor(2100L), 1e-9);
+
+        final MockWorkload workload = new MockWorkload(configData, List.of("Java"));
+        assertEquals(1_000_000L, workload.getSleepNanos(0L));
+    }
+
+    private static TwitterToKafkaServiceConfigData configData() {
+        final TwitterToKafkaServiceConfigData configData = new TwitterToKafkaServiceConfigData();
+        configData.setMockMinTweetLength(5);
+        configData.setMockMaxTweetLength(15);
+        configData.setMockSleepMs(10L);
+        return configData;
+    }
+}